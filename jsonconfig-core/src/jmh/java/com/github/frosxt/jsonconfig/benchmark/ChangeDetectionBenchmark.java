@@ -0,0 +1,84 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.runtime.mutate.PathMutator;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.writer.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares detecting a change between two versions of a large configuration
+ * by serializing both with comparing them structurally.
+ * <p>
+ * The mutable versions differ in one deep value and have their hashes
+ * cached, so {@code equalsCachedHashes} stops at the root. Persistent
+ * versions keep their hashes for good, and hashing a new version only visits
+ * the containers on the changed path, since the rest is shared with the
+ * version before it.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeDetectionBenchmark {
+    private static final String PATH = "section-1000.records.5.weight";
+
+    private JsonObject current;
+    private JsonObject edited;
+    private PersistentJsonObject version;
+    private PersistentJsonObject nextVersion;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] document = ParallelParseBenchmark.generate(2_000, 10);
+        current = (JsonObject) new JsonParser(new Utf8JsonLexer(document), null).parse();
+        edited = (JsonObject) new JsonParser(new Utf8JsonLexer(document), null).parse();
+        PathMutator.set(edited, PATH, 0.5, null);
+        current.hashCode();
+        edited.hashCode();
+
+        version = PersistentJsonObject.copyOf(current);
+        nextVersion = version.with(PATH, JsonNumber.of(0.5));
+    }
+
+    @Benchmark
+    public boolean serializeAndCompare() throws IOException {
+        return serialize(current).equals(serialize(edited));
+    }
+
+    @Benchmark
+    public boolean equalsCachedHashes() {
+        return current.equals(edited);
+    }
+
+    @Benchmark
+    public boolean equalsSharedVersions() {
+        return version.equals(nextVersion);
+    }
+
+    private static String serialize(final JsonNode node) throws IOException {
+        final StringWriter out = new StringWriter();
+        new JsonWriter(out, 2).write(node);
+        return out.toString();
+    }
+}
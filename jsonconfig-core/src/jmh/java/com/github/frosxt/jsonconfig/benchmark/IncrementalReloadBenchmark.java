@@ -0,0 +1,63 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.reader.IncrementalJsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing an edited document again with reparsing only the section
+ * around the edit. Each invocation switches between two versions of the
+ * document that differ in one value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncrementalReloadBenchmark {
+    private final ByteBuffer[] versions = new ByteBuffer[2];
+    private IncrementalJsonParser parser;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] original = ParallelParseBenchmark.generate(2_000, 50);
+        final String text = new String(original, StandardCharsets.UTF_8);
+        final int edit = text.indexOf("\"id\": 7", text.indexOf("\"section-1000\""));
+        final String edited = text.substring(0, edit) + "\"id\": 8" + text.substring(edit + 7);
+
+        versions[0] = ByteBuffer.wrap(original);
+        versions[1] = ByteBuffer.wrap(edited.getBytes(StandardCharsets.UTF_8));
+        parser = new IncrementalJsonParser(null);
+        parser.parse(versions[0]);
+    }
+
+    @Benchmark
+    public JsonNode fullParse() throws IOException {
+        next ^= 1;
+        return new JsonParser(new Utf8JsonLexer(versions[next]), null).parse();
+    }
+
+    @Benchmark
+    public JsonNode incrementalParse() throws IOException {
+        next ^= 1;
+        return parser.parse(versions[next]);
+    }
+}
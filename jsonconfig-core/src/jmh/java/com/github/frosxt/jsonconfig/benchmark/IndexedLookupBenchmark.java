@@ -0,0 +1,66 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.reader.IndexedJsonFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading one value of a large file by loading the file, by opening
+ * it through its saved offset index, and through an index that is already
+ * open.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexedLookupBenchmark {
+    private static final String PATH = "section-1000.records[40].name";
+
+    private Path file;
+    private IndexedJsonFile indexed;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("indexed", ".json");
+        Files.write(file, ParallelParseBenchmark.generate(2_000, 50));
+        indexed = JsonConfigurations.openIndexed(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + IndexedJsonFile.INDEX_SUFFIX));
+    }
+
+    @Benchmark
+    public String loadAndGet() throws IOException {
+        return JsonConfigurations.load(file).getString(PATH);
+    }
+
+    @Benchmark
+    public String openIndexedAndGet() throws IOException {
+        return JsonConfigurations.openIndexed(file).getString(PATH);
+    }
+
+    @Benchmark
+    public String indexedGet() throws IOException {
+        return indexed.getString(PATH);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares loading a newline-delimited file by splitting its lines by hand
+ * with the sequential and parallel record streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NdjsonBenchmark {
+    private Path file;
+    private JsonParseOptions parallel;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            builder.append("{\"id\": ").append(i)
+                    .append(", \"name\": \"entity-").append(random.nextInt(100_000)).append('"')
+                    .append(", \"enabled\": ").append(random.nextBoolean())
+                    .append(", \"limits\": {\"daily\": ").append(random.nextInt(1000))
+                    .append(", \"ratio\": ").append(random.nextDouble()).append("}}\n");
+        }
+        file = Files.createTempFile("records", ".ndjson");
+        Files.writeString(file, builder.toString(), StandardCharsets.UTF_8);
+        parallel = new JsonParseOptions().parallel(true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long splitLines() throws IOException {
+        long count = 0;
+        for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            final JsonConfiguration record = JsonConfigurations.load(new StringReader(line));
+            count += record.getInt("id") >= 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        try (Stream<JsonConfiguration> records = JsonConfigurations.loadLines(file)) {
+            return records.filter(record -> record.getInt("id") >= 0).count();
+        }
+    }
+
+    @Benchmark
+    public long parallelStream() throws IOException {
+        try (Stream<JsonConfiguration> records = JsonConfigurations.loadLines(file, parallel)) {
+            return records.filter(record -> record.getInt("id") >= 0).count();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting number tokens through a string and
+ * {@link Double#parseDouble} with the lexer's direct conversion.
+ * <p>
+ * Run with {@code ./gradlew :jsonconfig-core:jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParsingBenchmark {
+    @Param({"coordinates", "probabilities", "integers"})
+    public String shape;
+
+    private byte[] document;
+    private JsonParseOptions fastDouble;
+    private JsonParseOptions exact;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder("{\"values\": [");
+        for (int i = 0; i < 10_000; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            switch (shape) {
+                case "coordinates" -> builder.append(random.nextDouble() * 360 - 180);
+                case "probabilities" -> builder.append(random.nextDouble() / 1000);
+                default -> builder.append(random.nextInt(1_000_000));
+            }
+        }
+        document = builder.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        fastDouble = new JsonParseOptions().numberMode(JsonOptions.NumberMode.FAST_DOUBLE);
+        exact = new JsonParseOptions().numberMode(JsonOptions.NumberMode.EXACT);
+    }
+
+    @Benchmark
+    public double tokensViaString() throws IOException {
+        final Utf8JsonLexer lexer = new Utf8JsonLexer(document);
+        double sum = 0;
+        TokenType token;
+        while ((token = lexer.nextToken()) != TokenType.EOF) {
+            if (token == TokenType.NUMBER) {
+                sum += Double.parseDouble(lexer.getTokenValue());
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double tokensDirect() throws IOException {
+        final Utf8JsonLexer lexer = new Utf8JsonLexer(document);
+        double sum = 0;
+        TokenType token;
+        while ((token = lexer.nextToken()) != TokenType.EOF) {
+            if (token == TokenType.NUMBER) {
+                sum += lexer.getTokenDouble();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public JsonConfiguration loadFastDouble() throws IOException {
+        return JsonConfigurations.load(document, fastDouble);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadExact() throws IOException {
+        return JsonConfigurations.load(document, exact);
+    }
+}
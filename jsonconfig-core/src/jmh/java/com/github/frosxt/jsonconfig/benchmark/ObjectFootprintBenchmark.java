@@ -0,0 +1,156 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the heap retained by parsed configuration trees, reported as the
+ * {@code retainedBytes} counter per document.
+ * <p>
+ * The {@code linked} layout copies every object of the parsed tree into a
+ * {@link LinkedHashMap} over the same values, which is how objects stored
+ * their members before the compact layout. The document resembles a server
+ * configuration: a few settings sections, a large message table, and many
+ * small objects for ranks, worlds and items.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class ObjectFootprintBenchmark {
+    private static final int COPIES = 50;
+
+    @Param({"compact", "linked"})
+    public String layout;
+
+    private byte[] document;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() {
+        document = serverConfig(new Random(5)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object retain(final Footprint footprint) throws IOException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final Object[] trees = new Object[COPIES];
+        final long before = used(memory);
+        for (int i = 0; i < COPIES; i++) {
+            final JsonNode root = new JsonParser(new Utf8JsonLexer(document), null).parse();
+            trees[i] = layout.equals("linked") ? linked(root) : root;
+        }
+        footprint.retainedBytes = (used(memory) - before) / COPIES;
+        return trees;
+    }
+
+    private static long used(final MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Object linked(final JsonNode node) {
+        if (node instanceof final JsonObject object) {
+            final Map<String, Object> members = new LinkedHashMap<>();
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                members.put(member.getKey(), linked(member.getValue()));
+            }
+            return members;
+        }
+        if (node instanceof final JsonArray array) {
+            final List<Object> elements = new ArrayList<>(array.size());
+            for (final JsonNode element : array) {
+                elements.add(linked(element));
+            }
+            return elements;
+        }
+        return node;
+    }
+
+    static String serverConfig(final Random random) {
+        final StringBuilder builder = new StringBuilder("{\n");
+        builder.append("  \"server\": {\"host\": \"0.0.0.0\", \"port\": 25565, \"motd\": \"Welcome\",")
+                .append(" \"max-players\": 500, \"online-mode\": true},\n");
+        builder.append("  \"database\": {\"url\": \"jdbc:mysql://db:3306/game\", \"user\": \"game\",")
+                .append(" \"pool\": {\"min\": 2, \"max\": 16, \"timeout-ms\": 30000}},\n");
+
+        builder.append("  \"messages\": {");
+        for (int i = 0; i < 300; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("\"message.").append(i).append("\": \"&7Message text number ").append(i).append('"');
+        }
+        builder.append("},\n");
+
+        builder.append("  \"ranks\": [");
+        for (int i = 0; i < 40; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("{\"name\": \"rank-").append(i).append("\", \"prefix\": \"&").append(i % 10)
+                    .append("[R").append(i).append("]\", \"weight\": ").append(i).append(", \"permissions\": [");
+            for (int j = 0; j < 1 + random.nextInt(6); j++) {
+                builder.append(j > 0 ? ", " : "").append("\"perm.node.").append(j).append('"');
+            }
+            builder.append("]}");
+        }
+        builder.append("],\n");
+
+        builder.append("  \"worlds\": {");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("\"world-").append(i).append("\": {\"spawn\": {\"x\": ").append(random.nextInt(1000))
+                    .append(", \"y\": 64, \"z\": ").append(random.nextInt(1000))
+                    .append(", \"yaw\": 0.5, \"pitch\": 0}, \"flags\": {\"pvp\": ").append(random.nextBoolean())
+                    .append(", \"mobs\": true, \"weather\": false}, \"border\": 5000}");
+        }
+        builder.append("},\n");
+
+        builder.append("  \"items\": [");
+        for (int i = 0; i < 1_000; i++) {
+            if (i > 0) {
+                builder.append(",\n    ");
+            }
+            builder.append("{\"id\": ").append(i).append(", \"material\": \"DIAMOND_SWORD\", \"name\": \"Item ")
+                    .append(i).append("\", \"lore\": [\"line one\", \"line two\"], \"enchants\": {\"sharpness\": ")
+                    .append(random.nextInt(5)).append(", \"unbreaking\": 3}, \"price\": ")
+                    .append(random.nextInt(10_000) / 100.0).append('}');
+        }
+        return builder.append("]\n}\n").toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sequential and parallel parsing of a document whose root holds
+ * many independent sections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelParseBenchmark {
+    private byte[] document;
+    private JsonParseOptions sequential;
+    private JsonParseOptions parallel;
+
+    @Setup
+    public void setup() {
+        document = generate(2_000, 10);
+        sequential = new JsonParseOptions();
+        parallel = new JsonParseOptions().parallel(true);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadSequential() throws IOException {
+        return JsonConfigurations.load(document, sequential);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadParallel() throws IOException {
+        return JsonConfigurations.load(document, parallel);
+    }
+
+    /**
+     * Builds a document of root sections, each holding a list of records.
+     */
+    static byte[] generate(final int sections, final int records) {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder("{\n");
+        for (int i = 0; i < sections; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            builder.append("  \"section-").append(i).append("\": {\"enabled\": ").append(random.nextBoolean())
+                    .append(", \"records\": [");
+            for (int j = 0; j < records; j++) {
+                if (j > 0) {
+                    builder.append(", ");
+                }
+                builder.append("{\"id\": ").append(j)
+                        .append(", \"name\": \"record-").append(random.nextInt(100_000)).append('"')
+                        .append(", \"weight\": ").append(random.nextDouble())
+                        .append(", \"tags\": [\"alpha\", \"beta\"]}");
+            }
+            builder.append("]}");
+        }
+        return builder.append("\n}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
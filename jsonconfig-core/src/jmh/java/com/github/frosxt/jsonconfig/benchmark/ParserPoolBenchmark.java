@@ -0,0 +1,54 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParserPool;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a fresh parser per call with pooled lexers for small documents.
+ * Run with the gc profiler to see the bytes allocated per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserPoolBenchmark {
+    private static final String SNIPPET = "{\"event\": \"join\", \"player\": \"Steve\", \"world\": \"lobby\", "
+            + "\"x\": 12, \"y\": 64, \"z\": -30, \"flags\": [\"new\", \"vip\"]}";
+
+    private JsonParserPool pool;
+    private JsonParseOptions options;
+
+    @Setup
+    public void setup() {
+        pool = new JsonParserPool();
+        options = new JsonParseOptions();
+    }
+
+    @Benchmark
+    public JsonNode parseFresh() throws IOException {
+        return new JsonParser(new StringReader(SNIPPET), options).parse();
+    }
+
+    @Benchmark
+    public JsonNode parsePooled() throws IOException {
+        return pool.parse(new StringReader(SNIPPET), options);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.runtime.copy.NodeCloner;
+import com.github.frosxt.jsonconfig.runtime.mutate.PathMutator;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares producing an updated copy of a configuration tree by deep cloning
+ * and setting a path with producing one from a persistent tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistentUpdateBenchmark {
+    private static final String PATH = "section-1000.records.5.weight";
+
+    private JsonObject root;
+    private PersistentJsonObject persistent;
+    private int counter;
+
+    @Setup
+    public void setup() throws IOException {
+        root = (JsonObject) new JsonParser(new Utf8JsonLexer(ParallelParseBenchmark.generate(2_000, 10)), null)
+                .parse();
+        persistent = PersistentJsonObject.copyOf(root);
+    }
+
+    @Benchmark
+    public JsonObject cloneAndSet() {
+        final JsonObject copy = (JsonObject) NodeCloner.cloneNode(root);
+        PathMutator.set(copy, PATH, counter++, null);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentJsonObject persistentWith() {
+        return persistent.with(PATH, JsonNumber.of(counter++));
+    }
+}
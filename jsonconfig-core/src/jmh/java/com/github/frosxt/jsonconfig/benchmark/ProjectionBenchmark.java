@@ -0,0 +1,57 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a whole file with loading a handful of its paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+    private Path file;
+    private Set<String> paths;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("projection", ".json");
+        Files.write(file, ParallelParseBenchmark.generate(2_000, 10));
+        paths = Set.of("section-10.enabled", "section-500.records[3].name", "section-1999");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadAll() throws IOException {
+        return JsonConfigurations.load(file);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadPaths() throws IOException {
+        return JsonConfigurations.load(file, paths);
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the heap retained by parsed configuration trees with shared
+ * scalar nodes, reported as the {@code retainedBytes} counter per document.
+ * <p>
+ * The {@code fresh} setting copies every number and string of the parsed
+ * tree into a node of its own, which is how scalars were stored before small
+ * numbers and interned strings were shared. The {@code shared} setting
+ * parses with string interning enabled.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class ScalarFlyweightBenchmark {
+    private static final int COPIES = 50;
+
+    @Param({"shared", "fresh"})
+    public String scalars;
+
+    private byte[] document;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() {
+        document = ObjectFootprintBenchmark.serverConfig(new Random(5)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object retain(final Footprint footprint) throws IOException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final boolean shared = scalars.equals("shared");
+        final JsonParseOptions options = new JsonParseOptions().internStrings(shared);
+        final Object[] trees = new Object[COPIES];
+        final long before = used(memory);
+        for (int i = 0; i < COPIES; i++) {
+            final JsonNode root = new JsonParser(new Utf8JsonLexer(document), options).parse();
+            trees[i] = shared ? root : fresh(root);
+        }
+        footprint.retainedBytes = (used(memory) - before) / COPIES;
+        return trees;
+    }
+
+    private static long used(final MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static JsonNode fresh(final JsonNode node) {
+        if (node instanceof final JsonObject object) {
+            final JsonObject copy = new JsonObject(object.size());
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                copy.add(member.getKey(), fresh(member.getValue()));
+            }
+            return copy;
+        }
+        if (node instanceof final JsonArray array) {
+            final JsonArray copy = new JsonArray(array.size());
+            for (final JsonNode element : array) {
+                copy.add(fresh(element));
+            }
+            return copy;
+        }
+        if (node instanceof final JsonString string) {
+            return new JsonString(new String(string.getValue()));
+        }
+        if (node instanceof final JsonNumber number) {
+            final String text = number.toString();
+            return new JsonNumber(number.isIntegral() ? new BigInteger(text) : new BigDecimal(text));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a file holding a large array with streaming the array's
+ * elements. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamArrayBenchmark {
+    private static final int ENTRIES = 200_000;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        final StringBuilder builder = new StringBuilder("{\"version\": 3, \"bans\": [");
+        for (int i = 0; i < ENTRIES; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            builder.append("{\"uuid\": \"").append(i).append("-4f3a-9c1e\", \"reason\": \"spam\", \"until\": ")
+                    .append(1_700_000_000L + i).append('}');
+        }
+        builder.append("]}");
+
+        file = Files.createTempFile("bans", ".json");
+        Files.write(file, builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int loadAll() throws IOException {
+        return JsonConfigurations.load(file).getList("bans").size();
+    }
+
+    @Benchmark
+    public long streamArray() throws IOException {
+        return JsonConfigurations.streamArray(file, "bans").count();
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.AbstractJsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares run-based string scanning with scanning one character at a time
+ * on a config made mostly of strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringScanningBenchmark {
+    private String text;
+    private byte[] bytes;
+    private JsonParseOptions options;
+
+    @Setup
+    public void setup() {
+        text = generate(2_000);
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+        options = new JsonParseOptions();
+    }
+
+    @Benchmark
+    public JsonNode readerRuns() throws IOException {
+        return new JsonParser(new JsonLexer(new StringReader(text)), options).parse();
+    }
+
+    @Benchmark
+    public JsonNode readerPerCharacter() throws IOException {
+        return new JsonParser(new CharacterLexer(text), options).parse();
+    }
+
+    @Benchmark
+    public JsonNode bytesRuns() throws IOException {
+        return new JsonParser(new Utf8JsonLexer(bytes), options).parse();
+    }
+
+    /**
+     * Builds a message-bundle style config: many keys with sentence values.
+     */
+    static String generate(final int entries) {
+        final Random random = new Random(1);
+        final String[] words = {"the", "player", "has", "joined", "server", "welcome", "back", "to", "your",
+                "inventory", "is", "full", "please", "try", "again", "later"};
+        final StringBuilder builder = new StringBuilder("{\n  \"messages\": {\n");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            builder.append("    \"message.").append(i).append("\": \"");
+            final int length = 4 + random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                builder.append(j > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+            }
+            if (random.nextInt(8) == 0) {
+                builder.append("\\n&7{player}");
+            }
+            builder.append('"');
+        }
+        return builder.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Baseline lexer that hands string characters to the shared grammar one
+     * at a time, as the lexers did before runs were scanned.
+     */
+    private static final class CharacterLexer extends AbstractJsonLexer {
+        private final String text;
+        private int position;
+
+        private CharacterLexer(final String text) {
+            this.text = text;
+            read();
+        }
+
+        @Override
+        protected void read() {
+            if (position >= text.length()) {
+                current = -1;
+                return;
+            }
+            current = text.charAt(position++);
+            offset++;
+        }
+
+        @Override
+        protected void locate(final int offset) {
+            line = 1;
+            column = 0;
+            for (int i = 0; i < offset; i++) {
+                if (text.charAt(i) == '\n') {
+                    line++;
+                    column = 0;
+                } else {
+                    column++;
+                }
+            }
+        }
+
+        @Override
+        protected int plainRun() {
+            return 1;
+        }
+
+        @Override
+        protected boolean closesString(final int length) {
+            return false;
+        }
+
+        @Override
+        protected String runString(final int length, final SymbolTable symbolTable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void skipRun(final int length, final boolean keep) {
+            if (keep) {
+                appendText((char) current);
+            }
+            read();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.index.StructuralIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar parser with the two-stage indexed parser on a
+ * multi-megabyte document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StructuralIndexBenchmark {
+    private byte[] document;
+    private JsonParseOptions scalar;
+    private JsonParseOptions indexed;
+
+    @Setup
+    public void setup() {
+        document = generate(20_000);
+        scalar = new JsonParseOptions();
+        indexed = new JsonParseOptions().structuralIndex(true);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadScalar() throws IOException {
+        return JsonConfigurations.load(document, scalar);
+    }
+
+    @Benchmark
+    public JsonConfiguration loadIndexed() throws IOException {
+        return JsonConfigurations.load(document, indexed);
+    }
+
+    @Benchmark
+    public StructuralIndex indexOnly() {
+        return StructuralIndex.build(ByteBuffer.wrap(document));
+    }
+
+    /**
+     * Builds a document of records shaped like a typical generated config.
+     */
+    static byte[] generate(final int records) {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder("{\n  \"records\": [\n");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            builder.append("    {\"id\": ").append(i)
+                    .append(", \"name\": \"record-").append(random.nextInt(100_000)).append('"')
+                    .append(", \"enabled\": ").append(random.nextBoolean())
+                    .append(", \"weight\": ").append(random.nextDouble())
+                    .append(", \"tags\": [\"alpha\", \"beta\", \"gamma\"]")
+                    .append(", \"owner\": {\"team\": \"core\", \"contact\": \"ops@example.com\"}}");
+        }
+        return builder.append("\n  ]\n}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures the heap retained by a generated configuration that repeats the
+ * same blocks, reported as the {@code retainedBytes} counter per document,
+ * and the time to load it with and without sharing identical subtrees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class SubtreeDedupBenchmark {
+    private static final int COPIES = 10;
+
+    @Param({"true", "false"})
+    public boolean deduplicate;
+
+    private byte[] document;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() {
+        document = generatedConfig(5000).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object retain(final Footprint footprint) throws IOException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final JsonParseOptions options = new JsonParseOptions().deduplicate(deduplicate);
+        final Object[] configs = new Object[COPIES];
+        final long before = used(memory);
+        for (int i = 0; i < COPIES; i++) {
+            configs[i] = load(options);
+        }
+        footprint.retainedBytes = (used(memory) - before) / COPIES;
+        return configs;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public JsonConfiguration load() throws IOException {
+        return load(new JsonParseOptions().deduplicate(deduplicate));
+    }
+
+    private JsonConfiguration load(final JsonParseOptions options) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(ByteBuffer.wrap(document), options);
+    }
+
+    private static long used(final MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Builds a configuration in the shape produced by generators: many
+     * entries, each with its own name but one of a few identical permission
+     * and limit blocks.
+     */
+    static String generatedConfig(final int entries) {
+        final String[] roles = {"member", "moderator", "admin"};
+        final StringBuilder builder = new StringBuilder("{\"users\": {");
+        for (int i = 0; i < entries; i++) {
+            final int role = i % roles.length;
+            builder.append(i > 0 ? ", " : "").append("\"user-").append(i).append("\": {\"id\": ").append(i)
+                    .append(", \"role\": \"").append(roles[role]).append("\", \"permissions\": {");
+            for (int j = 0; j <= role * 4 + 4; j++) {
+                builder.append(j > 0 ? ", " : "").append("\"perm.node.").append(j).append("\": ").append(j % 3 != 0);
+            }
+            builder.append("}, \"limits\": {\"homes\": ").append(role * 2 + 1)
+                    .append(", \"rate\": {\"window-ms\": 60000, \"max\": ").append(100 << role)
+                    .append("}}, \"channels\": [\"global\", \"trade\", \"").append(roles[role]).append("\"]}");
+        }
+        return builder.append("}}").toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.frosxt.jsonconfig.benchmark;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares read-only configurations stored on a tape with the node tree:
+ * the heap retained per document, reported as the {@code retainedBytes}
+ * counter, the time to load it, and the time for typed lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class TapeConfigurationBenchmark {
+    private static final int ENTRIES = 5000;
+    private static final int COPIES = 10;
+
+    @Param({"true", "false"})
+    public boolean tape;
+
+    private byte[] document;
+    private JsonConfiguration config;
+    private String[] rolePaths;
+    private String[] ratePaths;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        document = SubtreeDedupBenchmark.generatedConfig(ENTRIES).getBytes(StandardCharsets.UTF_8);
+        config = load();
+        rolePaths = new String[ENTRIES];
+        ratePaths = new String[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            rolePaths[i] = "users.user-" + i + ".role";
+            ratePaths[i] = "users.user-" + i + ".limits.rate.max";
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Object retain(final Footprint footprint) throws IOException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final Object[] configs = new Object[COPIES];
+        final long before = used(memory);
+        for (int i = 0; i < COPIES; i++) {
+            configs[i] = load();
+        }
+        footprint.retainedBytes = (used(memory) - before) / COPIES;
+        return configs;
+    }
+
+    @Benchmark
+    public JsonConfiguration load() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(document);
+        return tape ? JsonConfigurations.loadReadOnly(buffer, null)
+                : JsonConfigurationImpl.loadConfiguration(buffer, null);
+    }
+
+    @Benchmark
+    public void lookup(final Blackhole blackhole) {
+        for (int i = 0; i < ENTRIES; i += 7) {
+            blackhole.consume(config.getString(rolePaths[i]));
+            blackhole.consume(config.getInt(ratePaths[i]));
+        }
+    }
+
+    private static long used(final MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
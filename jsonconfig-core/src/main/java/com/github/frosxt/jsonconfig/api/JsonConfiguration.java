@@ -45,6 +45,20 @@ public interface JsonConfiguration extends JsonSection {
      */
     void save(Path path) throws IOException;
 
+    /**
+     * Reloads the configuration from a file, replacing its content in place.
+     * <p>
+     * If the configuration was loaded from the file with
+     * {@link JsonParseOptions#reloadable(boolean)} set, or reloaded before,
+     * only the innermost section around the changed bytes is reparsed. Changes
+     * made in memory since then are only overwritten where the file changed.
+     * </p>
+     * 
+     * @param path file path
+     * @throws IOException if reading or parsing fails, leaving the content unchanged
+     */
+    void reload(Path path) throws IOException;
+
     /**
      * Merges another configuration into this one.
      * 
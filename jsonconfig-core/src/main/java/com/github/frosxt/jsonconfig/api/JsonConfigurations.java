@@ -1,10 +1,19 @@
 package com.github.frosxt.jsonconfig.api;
 
+import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
+import com.github.frosxt.jsonconfig.reader.IndexedJsonFile;
 import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import com.github.frosxt.jsonconfig.runtime.config.TapeConfiguration;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Static factory for loading JSON configurations.
@@ -28,6 +37,13 @@ public final class JsonConfigurations {
 
     /**
      * Loads configuration from a file with parse options.
+     * <p>
+     * Large files are memory-mapped and lexed straight from the mapping, see
+     * {@link JsonParseOptions#loadMode(JsonParseOptions.LoadMode)}. With
+     * {@link JsonParseOptions#lazyDepth(int) lazy parsing}, deferred
+     * containers are parsed from the mapping when first accessed, so a mapped
+     * file must not be modified until then.
+     * </p>
      * 
      * @param path         file path
      * @param parseOptions options for parsing (duplicate keys, number mode)
@@ -38,6 +54,190 @@ public final class JsonConfigurations {
         return JsonConfigurationImpl.loadConfiguration(path, parseOptions);
     }
 
+    /**
+     * Loads only the given paths of a file.
+     *
+     * @param path  file path
+     * @param paths paths to load, e.g. {@code "database.host"}
+     * @return configuration holding the requested paths
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration load(final Path path, final Set<String> paths) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(path, paths, null);
+    }
+
+    /**
+     * Loads only the given paths of a file with parse options.
+     * <p>
+     * The whole file is still validated, but members and elements off the
+     * requested paths are skipped without creating their values. Everything
+     * below a requested path is loaded. Requested paths missing from the file
+     * are simply absent from the result.
+     * </p>
+     *
+     * @param path         file path
+     * @param paths        paths to load, e.g. {@code "database.host"}
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return configuration holding the requested paths
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration load(final Path path, final Set<String> paths,
+                                         final JsonParseOptions parseOptions) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(path, paths, parseOptions);
+    }
+
+    /**
+     * Streams the elements of an array in a file without loading the document.
+     *
+     * @param path      file path
+     * @param arrayPath path of the array, e.g. {@code "bans"}
+     * @return lazy stream of the elements
+     * @throws IOException if read fails
+     */
+    public static Stream<JsonNode> streamArray(final Path path, final String arrayPath) throws IOException {
+        return JsonConfigurationImpl.streamArray(path, arrayPath, null);
+    }
+
+    /**
+     * Streams the elements of an array in a file with parse options.
+     * <p>
+     * The file is memory-mapped and skimmed up to the array, then elements are
+     * parsed one at a time as the stream is consumed, so heap use is bounded
+     * by the largest element. The rest of the file is validated after the last
+     * element. A missing path or a value that is not an array fails before the
+     * stream is returned.
+     * </p>
+     * <p>
+     * The first member with a matching key is streamed, so the LAST_WINS and
+     * COLLECT duplicate key policies are rejected. With ERROR, a later member
+     * with the same key as one on the path fails the stream like a load would;
+     * duplicate keys inside the skipped values are not checked.
+     * </p>
+     *
+     * @param path         file path
+     * @param arrayPath    path of the array, e.g. {@code "routes.v4"}
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return lazy stream of the elements
+     * @throws IOException              if read fails
+     * @throws JsonConfigException      if there is no array at the path
+     * @throws IllegalArgumentException if the duplicate key policy is LAST_WINS or COLLECT
+     */
+    public static Stream<JsonNode> streamArray(final Path path, final String arrayPath,
+                                               final JsonParseOptions parseOptions) throws IOException {
+        return JsonConfigurationImpl.streamArray(path, arrayPath, parseOptions);
+    }
+
+    /**
+     * Opens a file for point lookups through a saved offset index.
+     *
+     * @param path file path
+     * @return file answering lookups by path
+     * @throws IOException if read fails
+     */
+    public static IndexedJsonFile openIndexed(final Path path) throws IOException {
+        return IndexedJsonFile.open(path, null);
+    }
+
+    /**
+     * Opens a file for point lookups through a saved offset index, with parse
+     * options.
+     * <p>
+     * The first open validates the file and saves the byte offsets of its
+     * objects and arrays down to {@link JsonParseOptions#indexDepth()} next to
+     * it; later opens only check that the file is unchanged. Each lookup then
+     * parses just the innermost recorded container on its path, so reading a
+     * few values of a large file costs far less than loading it.
+     * </p>
+     *
+     * @param path         file path
+     * @param parseOptions options for parsing (duplicate keys, number mode, index depth)
+     * @return file answering lookups by path
+     * @throws IOException if read fails
+     */
+    public static IndexedJsonFile openIndexed(final Path path, final JsonParseOptions parseOptions)
+            throws IOException {
+        return IndexedJsonFile.open(path, parseOptions);
+    }
+
+    /**
+     * Loads a read-only configuration from a file.
+     *
+     * @param path file path
+     * @return read-only configuration
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration loadReadOnly(final Path path) throws IOException {
+        return TapeConfiguration.load(path, null);
+    }
+
+    /**
+     * Loads a read-only configuration from a file, with parse options.
+     * <p>
+     * The document is stored on a {@link com.github.frosxt.jsonconfig.reader.JsonTape}:
+     * a flat array of tokens plus a buffer of string text, instead of a node
+     * per value. Typed getters such as {@link JsonSection#getString(String)}
+     * and {@link JsonSection#getInt(String)} read straight from the tape, so a
+     * very large configuration costs the garbage collector a few arrays. Methods
+     * that modify the configuration throw
+     * {@link UnsupportedOperationException}, and the COLLECT duplicate key
+     * policy is not supported.
+     * </p>
+     *
+     * @param path         file path
+     * @param parseOptions options for parsing (duplicate keys, number mode, load mode)
+     * @return read-only configuration
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration loadReadOnly(final Path path, final JsonParseOptions parseOptions)
+            throws IOException {
+        return TapeConfiguration.load(path, parseOptions);
+    }
+
+    /**
+     * Loads a read-only configuration from the remaining bytes of a buffer.
+     * The buffer's position is not modified, and the configuration does not
+     * refer to it.
+     *
+     * @param buffer       encoded json
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return read-only configuration
+     * @throws IOException if the input cannot be decoded
+     */
+    public static JsonConfiguration loadReadOnly(final ByteBuffer buffer, final JsonParseOptions parseOptions)
+            throws IOException {
+        return TapeConfiguration.load(buffer, parseOptions);
+    }
+
+    /**
+     * Loads configuration from a UTF-8 encoded file without blocking the
+     * calling thread.
+     *
+     * @param path file path
+     * @return future completed with the loaded configuration
+     */
+    public static CompletableFuture<JsonConfiguration> loadAsync(final Path path) {
+        return JsonConfigurationImpl.loadConfigurationAsync(path, null);
+    }
+
+    /**
+     * Loads configuration from a UTF-8 encoded file with parse options without
+     * blocking the calling thread.
+     * <p>
+     * The file is read through an asynchronous channel and parsed chunk by
+     * chunk as the reads complete. The future completes exceptionally with the
+     * {@link IOException} or {@link com.github.frosxt.jsonconfig.api.exception.JsonParseException}
+     * a blocking load would have thrown.
+     * </p>
+     *
+     * @param path         file path
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return future completed with the loaded configuration
+     */
+    public static CompletableFuture<JsonConfiguration> loadAsync(final Path path,
+                                                                 final JsonParseOptions parseOptions) {
+        return JsonConfigurationImpl.loadConfigurationAsync(path, parseOptions);
+    }
+
     /**
      * Loads configuration from a reader.
      * 
@@ -51,6 +251,12 @@ public final class JsonConfigurations {
 
     /**
      * Loads configuration from a reader with parse options.
+     * <p>
+     * The lexer and its buffers are borrowed from
+     * {@link com.github.frosxt.jsonconfig.reader.JsonParserPool#shared()}, so
+     * keys are interned through the pool's tables unless the options set a
+     * table of their own.
+     * </p>
      * 
      * @param reader       reader
      * @param parseOptions options for parsing (duplicate keys, number mode)
@@ -60,4 +266,161 @@ public final class JsonConfigurations {
     public static JsonConfiguration load(final Reader reader, final JsonParseOptions parseOptions) throws IOException {
         return JsonConfigurationImpl.loadConfiguration(reader, parseOptions);
     }
+
+    /**
+     * Loads configuration from UTF-8 encoded bytes.
+     * <p>
+     * The bytes are lexed directly without decoding them to characters first. A
+     * UTF-16 or UTF-32 byte order mark switches to the matching decoder.
+     * </p>
+     * 
+     * @param bytes encoded json
+     * @return loaded configuration
+     * @throws IOException if the input cannot be decoded
+     */
+    public static JsonConfiguration load(final byte[] bytes) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(ByteBuffer.wrap(bytes), null);
+    }
+
+    /**
+     * Loads configuration from UTF-8 encoded bytes with parse options.
+     * <p>
+     * With {@link JsonParseOptions#lazyDepth(int) lazy parsing}, the bytes are
+     * copied first, so the array can be reused once this method returns.
+     * </p>
+     * 
+     * @param bytes        encoded json
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return loaded configuration
+     * @throws IOException if the input cannot be decoded
+     */
+    public static JsonConfiguration load(final byte[] bytes, final JsonParseOptions parseOptions) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(ownInput(ByteBuffer.wrap(bytes), parseOptions), parseOptions);
+    }
+
+    /**
+     * Loads configuration from the remaining bytes of a buffer.
+     * The buffer's position is not modified.
+     * 
+     * @param buffer encoded json
+     * @return loaded configuration
+     * @throws IOException if the input cannot be decoded
+     */
+    public static JsonConfiguration load(final ByteBuffer buffer) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(buffer, null);
+    }
+
+    /**
+     * Loads configuration from the remaining bytes of a buffer with parse options.
+     * <p>
+     * With {@link JsonParseOptions#lazyDepth(int) lazy parsing}, the remaining
+     * bytes are copied first, so the buffer can be reused once this method
+     * returns.
+     * </p>
+     * 
+     * @param buffer       encoded json
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return loaded configuration
+     * @throws IOException if the input cannot be decoded
+     */
+    public static JsonConfiguration load(final ByteBuffer buffer, final JsonParseOptions parseOptions)
+            throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(ownInput(buffer, parseOptions), parseOptions);
+    }
+
+    /**
+     * Copies caller-owned input when containers are deferred, since they are
+     * parsed from the input later, after the caller may have reused it.
+     */
+    private static ByteBuffer ownInput(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        if (parseOptions == null || parseOptions.lazyDepth() == 0) {
+            return buffer;
+        }
+        final ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate()).flip();
+        return copy;
+    }
+
+    /**
+     * Loads configuration from a stream of UTF-8 encoded bytes.
+     * The stream is read to its end but not closed.
+     * 
+     * @param input input stream
+     * @return loaded configuration
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration load(final InputStream input) throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(input, null);
+    }
+
+    /**
+     * Loads configuration from a stream of UTF-8 encoded bytes with parse options.
+     * The stream is read to its end but not closed.
+     * 
+     * @param input        input stream
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return loaded configuration
+     * @throws IOException if read fails
+     */
+    public static JsonConfiguration load(final InputStream input, final JsonParseOptions parseOptions)
+            throws IOException {
+        return JsonConfigurationImpl.loadConfiguration(input, parseOptions);
+    }
+
+    /**
+     * Loads a file of newline-delimited JSON, one configuration per line.
+     *
+     * @param path file path
+     * @return lazy stream of configurations in file order
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<JsonConfiguration> loadLines(final Path path) throws IOException {
+        return JsonConfigurationImpl.loadLines(path, null);
+    }
+
+    /**
+     * Loads a file of newline-delimited JSON with parse options.
+     * <p>
+     * The file is memory-mapped and every line is parsed when the stream
+     * reaches it, so memory use does not grow with the file. With
+     * {@link JsonParseOptions#parallel(boolean)} the stream is parallel and
+     * chunks of lines are parsed on the fork/join pool. Blank lines are
+     * skipped. A record that is invalid or not an object fails the stream with
+     * a {@link com.github.frosxt.jsonconfig.api.exception.JsonParseException}
+     * or an {@link java.io.UncheckedIOException}.
+     * </p>
+     *
+     * @param path         file path
+     * @param parseOptions options for parsing (duplicate keys, number mode)
+     * @return lazy stream of configurations in file order
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<JsonConfiguration> loadLines(final Path path, final JsonParseOptions parseOptions)
+            throws IOException {
+        return JsonConfigurationImpl.loadLines(path, parseOptions);
+    }
+
+    /**
+     * Loads newline-delimited JSON from a reader, one configuration per line.
+     * Closing the stream closes the reader.
+     *
+     * @param reader reader
+     * @return lazy stream of configurations in input order
+     * @throws IOException if read fails
+     */
+    public static Stream<JsonConfiguration> loadLines(final Reader reader) throws IOException {
+        return JsonConfigurationImpl.loadLines(reader, null);
+    }
+
+    /**
+     * Saves configurations as newline-delimited JSON, one compact record per
+     * line.
+     *
+     * @param path    file path
+     * @param records configurations or sections to write
+     * @throws IOException if write fails
+     */
+    public static void saveLines(final Path path, final Iterable<? extends JsonSection> records) throws IOException {
+        JsonConfigurationImpl.saveLines(path, records);
+    }
 }
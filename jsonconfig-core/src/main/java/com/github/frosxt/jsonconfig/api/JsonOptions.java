@@ -72,7 +72,15 @@ public interface JsonOptions {
      * </p>
      */
     enum NumberMode {
-        EXACT, FAST_DOUBLE
+        /** Integers as BigInteger, decimals as BigDecimal. */
+        EXACT,
+        /** Every number as a double. */
+        FAST_DOUBLE,
+        /**
+         * Integers as long and decimals as double, falling back to BigInteger or
+         * BigDecimal only for values outside those ranges.
+         */
+        LONG_OR_DOUBLE
     }
 
     /**
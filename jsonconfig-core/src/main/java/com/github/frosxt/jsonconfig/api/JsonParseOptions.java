@@ -1,12 +1,48 @@
 package com.github.frosxt.jsonconfig.api;
 
+import com.github.frosxt.jsonconfig.api.parse.ParseHandler;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
+
 /**
  * Options that affect JSON parsing behavior.
  * Separate from runtime options since these must be set before parsing.
  */
 public class JsonParseOptions {
+    /**
+     * Default file size from which {@link LoadMode#AUTO} maps files instead of
+     * reading them onto the heap.
+     */
+    public static final long DEFAULT_MAPPED_THRESHOLD = 16L * 1024 * 1024;
+
+    /**
+     * Default input size from which {@link #parallel(boolean)} parses the root
+     * members in parallel.
+     */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Default depth down to which {@link JsonConfigurations#openIndexed(java.nio.file.Path, JsonParseOptions)}
+     * records containers.
+     */
+    public static final int DEFAULT_INDEX_DEPTH = 4;
+
     private JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy = JsonOptions.DuplicateKeyPolicy.ERROR;
     private JsonOptions.NumberMode numberMode = JsonOptions.NumberMode.EXACT;
+    private LoadMode loadMode = LoadMode.AUTO;
+    private long mappedThreshold = DEFAULT_MAPPED_THRESHOLD;
+    private int lazyDepth = 0;
+    private boolean internKeys = true;
+    private boolean structuralIndex = false;
+    private boolean parallel = false;
+    private long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private SymbolTable symbolTable;
+    private boolean internStrings = false;
+    private JsonStringTable stringTable;
+    private ParseHandler handler;
+    private boolean reloadable = false;
+    private boolean deduplicate = false;
+    private int indexDepth = DEFAULT_INDEX_DEPTH;
 
     public JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy() {
         return duplicateKeyPolicy;
@@ -25,4 +61,349 @@ public class JsonParseOptions {
         this.numberMode = mode;
         return this;
     }
+
+    /**
+     * How files are brought into memory before lexing.
+     */
+    public enum LoadMode {
+        /** Maps files at or above {@link #mappedThreshold()}, reads smaller ones. */
+        AUTO,
+        /** Always reads the whole file into a heap buffer. */
+        HEAP,
+        /** Always maps the file and lexes straight from the mapping. */
+        MAPPED
+    }
+
+    public LoadMode loadMode() {
+        return loadMode;
+    }
+
+    public JsonParseOptions loadMode(final LoadMode mode) {
+        this.loadMode = mode;
+        return this;
+    }
+
+    public long mappedThreshold() {
+        return mappedThreshold;
+    }
+
+    /**
+     * Sets the file size in bytes from which {@link LoadMode#AUTO} maps files.
+     *
+     * @param bytes threshold in bytes
+     * @return this options instance
+     */
+    public JsonParseOptions mappedThreshold(final long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Mapped threshold cannot be negative");
+        }
+
+        this.mappedThreshold = bytes;
+        return this;
+    }
+
+    public int lazyDepth() {
+        return lazyDepth;
+    }
+
+    /**
+     * Sets the nesting depth from which objects and arrays are parsed lazily.
+     * <p>
+     * A deferred container is validated while loading but only its position in
+     * the source is kept; it is parsed on first access. A depth of 1 defers every
+     * container directly under the root, 2 defers the containers below those,
+     * and 0 (the default) parses everything eagerly. Duplicate keys inside a
+     * deferred container are reported when it is first accessed.
+     * </p>
+     * <p>
+     * Only byte input (files, byte arrays and buffers) can be deferred; input
+     * read through a {@link java.io.Reader} is always parsed eagerly. Deferred
+     * containers keep the source buffer or file mapping reachable until they are
+     * loaded, and are parsed from it then. Byte arrays and buffers passed to
+     * {@link JsonConfigurations#load(byte[], JsonParseOptions)} are copied for
+     * this, but a memory-mapped file (see {@link #loadMode(LoadMode)}) is read in
+     * place: it must not be modified while deferred containers are unloaded, or
+     * they load its new content or fail to parse.
+     * </p>
+     *
+     * @param depth nesting depth, or 0 to disable lazy parsing
+     * @return this options instance
+     */
+    public JsonParseOptions lazyDepth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Lazy depth cannot be negative");
+        }
+
+        this.lazyDepth = depth;
+        return this;
+    }
+
+    public boolean internKeys() {
+        return internKeys;
+    }
+
+    /**
+     * Sets whether object keys are canonicalized while parsing.
+     * <p>
+     * When enabled (the default) every occurrence of a key shares a single
+     * {@link String} instance, which saves heap for documents that repeat the
+     * same keys and lets key comparisons succeed on identity.
+     * </p>
+     *
+     * @param value true to intern keys
+     * @return this options instance
+     */
+    public JsonParseOptions internKeys(final boolean value) {
+        this.internKeys = value;
+        return this;
+    }
+
+    public SymbolTable symbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Sets the symbol table used to intern keys. Sharing one table across loads
+     * lets configurations with the same keys share their key strings. If no
+     * table is set, each load uses its own.
+     *
+     * @param table symbol table or null for a table per load
+     * @return this options instance
+     */
+    public JsonParseOptions symbolTable(final SymbolTable table) {
+        this.symbolTable = table;
+        return this;
+    }
+
+    public boolean internStrings() {
+        return internStrings;
+    }
+
+    /**
+     * Sets whether short string values are canonicalized while parsing.
+     * <p>
+     * When enabled every occurrence of a value of at most
+     * {@link JsonStringTable#MAX_LENGTH} characters shares a single node,
+     * which saves heap for documents that repeat enum-like values. It costs a
+     * table lookup per string value, so it is disabled by default.
+     * </p>
+     *
+     * @param value true to intern string values
+     * @return this options instance
+     */
+    public JsonParseOptions internStrings(final boolean value) {
+        this.internStrings = value;
+        return this;
+    }
+
+    public JsonStringTable stringTable() {
+        return stringTable;
+    }
+
+    /**
+     * Sets the table used to intern string values. Sharing one table across
+     * loads lets configurations share their value nodes. If no table is set,
+     * each load uses its own.
+     *
+     * @param table string table or null for a table per load
+     * @return this options instance
+     */
+    public JsonParseOptions stringTable(final JsonStringTable table) {
+        this.stringTable = table;
+        return this;
+    }
+
+    public boolean structuralIndex() {
+        return structuralIndex;
+    }
+
+    /**
+     * Sets whether byte input is parsed in two stages: a SIMD pass that indexes
+     * the structural characters and a pass that builds the tree from that
+     * index. This pays off for files of several megabytes.
+     * <p>
+     * It requires running with {@code --add-modules jdk.incubator.vector};
+     * without the module, and for input that is not UTF-8 or with
+     * {@link #lazyDepth(int)} set, the regular parser is used.
+     * </p>
+     *
+     * @param value true to parse through a structural index
+     * @return this options instance
+     */
+    public JsonParseOptions structuralIndex(final boolean value) {
+        this.structuralIndex = value;
+        return this;
+    }
+
+    public boolean parallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether the members of a large root object are parsed in parallel
+     * on the common fork/join pool.
+     * <p>
+     * Members are located with a quick structural scan and parsed as separate
+     * tasks, then the root object is assembled in source order. Duplicate keys
+     * and errors are reported as in a sequential parse. Input smaller than
+     * {@link #parallelThreshold()}, input that is not UTF-8 and parses with
+     * {@link #lazyDepth(int)} set use the regular parser.
+     * </p>
+     * <p>
+     * Record streams from {@link JsonConfigurations#loadLines(java.nio.file.Path, JsonParseOptions)}
+     * are made parallel, parsing chunks of lines concurrently.
+     * </p>
+     *
+     * @param value true to parse root members in parallel
+     * @return this options instance
+     */
+    public JsonParseOptions parallel(final boolean value) {
+        this.parallel = value;
+        return this;
+    }
+
+    public long parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the input size in bytes from which {@link #parallel(boolean)} takes
+     * effect.
+     *
+     * @param bytes threshold in bytes
+     * @return this options instance
+     */
+    public JsonParseOptions parallelThreshold(final long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+
+        this.parallelThreshold = bytes;
+        return this;
+    }
+
+    public ParseHandler handler() {
+        return handler;
+    }
+
+    /**
+     * Sets callbacks that see every key and value while the tree is built and
+     * may rename, replace or drop them.
+     * <p>
+     * With a handler set, sections are not deferred and the structural index
+     * and parallel parsers are not used, since the handler has to see the
+     * values in document order.
+     * </p>
+     *
+     * @param handler handler or null for none
+     * @return this options instance
+     */
+    public JsonParseOptions handler(final ParseHandler handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    public boolean reloadable() {
+        return reloadable;
+    }
+
+    /**
+     * Sets whether a configuration loaded from a file keeps what it needs to
+     * reload that file incrementally.
+     * <p>
+     * The configuration keeps hashes of the file's blocks and the byte spans
+     * of its larger sections, so {@link JsonConfiguration#reload(java.nio.file.Path)}
+     * only reparses the innermost section around an edit. Sections are not
+     * deferred, and the structural index and parallel parsers are not used.
+     * </p>
+     *
+     * @param value true to keep the source map of loaded files
+     * @return this options instance
+     */
+    public JsonParseOptions reloadable(final boolean value) {
+        this.reloadable = value;
+        return this;
+    }
+
+    public boolean deduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * Sets whether identical subtrees of a loaded configuration share one
+     * instance.
+     * <p>
+     * After parsing, objects and arrays that occur more than once are
+     * replaced by a single immutable copy, which saves heap for generated
+     * configurations that repeat the same blocks. Shared subtrees are
+     * copy-on-write through the setters of the configuration and its
+     * sections, so setting a value below one occurrence does not change the
+     * others. Raw nodes returned by {@link JsonSection#getNode(String)} may be
+     * these immutable copies, whose mutating methods throw
+     * {@link UnsupportedOperationException}; change them through the setters
+     * or modify a copy. The pass hashes the whole tree, so deferred sections
+     * are parsed. It does not apply to reloadable configurations, which update
+     * their containers in place, or to NDJSON records.
+     * </p>
+     *
+     * @param value true to share identical subtrees
+     * @return this options instance
+     */
+    public JsonParseOptions deduplicate(final boolean value) {
+        this.deduplicate = value;
+        return this;
+    }
+
+    public int indexDepth() {
+        return indexDepth;
+    }
+
+    /**
+     * Sets the nesting depth down to which an indexed file records the byte
+     * offsets of objects and arrays.
+     * <p>
+     * A lookup seeks to the deepest recorded container on its path and parses
+     * only that container's span. A depth of 1 records the containers directly
+     * under the root, 2 the containers below those, and so on; deeper indexes
+     * make lookups cheaper but the index larger. An index saved with another
+     * depth is rebuilt.
+     * </p>
+     *
+     * @param depth nesting depth, 0 to record only the root
+     * @return this options instance
+     */
+    public JsonParseOptions indexDepth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Index depth cannot be negative");
+        }
+
+        this.indexDepth = depth;
+        return this;
+    }
+
+    /**
+     * Creates a copy of these options.
+     *
+     * @return independent copy
+     */
+    public JsonParseOptions copy() {
+        final JsonParseOptions copy = new JsonParseOptions();
+        copy.duplicateKeyPolicy = duplicateKeyPolicy;
+        copy.numberMode = numberMode;
+        copy.loadMode = loadMode;
+        copy.mappedThreshold = mappedThreshold;
+        copy.lazyDepth = lazyDepth;
+        copy.internKeys = internKeys;
+        copy.structuralIndex = structuralIndex;
+        copy.parallel = parallel;
+        copy.parallelThreshold = parallelThreshold;
+        copy.symbolTable = symbolTable;
+        copy.internStrings = internStrings;
+        copy.stringTable = stringTable;
+        copy.handler = handler;
+        copy.reloadable = reloadable;
+        copy.deduplicate = deduplicate;
+        copy.indexDepth = indexDepth;
+        return copy;
+    }
 }
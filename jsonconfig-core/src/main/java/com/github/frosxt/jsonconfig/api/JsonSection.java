@@ -339,6 +339,12 @@ public interface JsonSection {
 
     /**
      * Gets the raw JsonNode at the path.
+     * <p>
+     * With {@link JsonParseOptions#deduplicate(boolean)}, objects and arrays
+     * may be shared, immutable nodes that throw
+     * {@link UnsupportedOperationException} when modified; use the setters
+     * of this section to change them.
+     * </p>
      * 
      * @param path path
      * @return JsonNode or null
@@ -95,6 +95,16 @@ public class ConcurrentJsonConfiguration implements JsonConfiguration {
         }
     }
 
+    @Override
+    public void reload(final Path path) throws IOException {
+        lock.writeLock().lock();
+        try {
+            delegate.reload(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     @Override
     public void merge(final JsonConfiguration other, final MergeStrategy strategy) {
         write(() -> delegate.merge(other, strategy));
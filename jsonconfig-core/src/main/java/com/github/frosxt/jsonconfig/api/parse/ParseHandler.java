@@ -0,0 +1,56 @@
+package com.github.frosxt.jsonconfig.api.parse;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+
+/**
+ * Callbacks invoked while a document is parsed, so validation and
+ * transformation happen in the same pass that builds the tree.
+ * <p>
+ * Values are reported bottom-up as they are completed: the members of an
+ * object are handled before {@link #onEndObject(ParsePath, JsonObject)} is
+ * called for the object itself. Returning {@code null} drops a member or
+ * element; dropped elements do not leave a gap in their array, and element
+ * paths carry the index the element gets in the built array. Dropping the
+ * root yields a JSON null. Throwing from a callback aborts the parse.
+ * </p>
+ * <p>
+ * The path passed to a callback is only valid during the call.
+ * </p>
+ */
+public interface ParseHandler {
+
+    /**
+     * Called for each object key before its value is parsed.
+     *
+     * @param path path of the object holding the key
+     * @param key  key as read
+     * @return key to store the member under, or null to drop the member
+     *         without building its value
+     */
+    default String onKey(final ParsePath path, final String key) {
+        return key;
+    }
+
+    /**
+     * Called for each completed scalar or array.
+     *
+     * @param path  path of the value
+     * @param value parsed value
+     * @return value to keep, or null to drop it
+     */
+    default JsonNode onValue(final ParsePath path, final JsonNode value) {
+        return value;
+    }
+
+    /**
+     * Called for each completed object, after all of its members were handled.
+     *
+     * @param path   path of the object
+     * @param object parsed object
+     * @return value to keep, or null to drop it
+     */
+    default JsonNode onEndObject(final ParsePath path, final JsonObject object) {
+        return object;
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.frosxt.jsonconfig.api.parse;
+
+/**
+ * Position of a value in the document being parsed, as a list of object keys
+ * and array indexes from the root.
+ * <p>
+ * {@link Object#toString()} renders the path in the syntax accepted by
+ * {@link com.github.frosxt.jsonconfig.api.JsonSection#get(String)}, e.g.
+ * {@code servers[2].name}, with the root as the empty string. The string is
+ * only built when asked for.
+ * </p>
+ */
+public interface ParsePath {
+
+    /**
+     * Gets the number of segments; 0 for the root.
+     *
+     * @return depth of the value
+     */
+    int size();
+
+    /**
+     * Gets the object key of a segment.
+     *
+     * @param segment segment index, from 0 to {@link #size()} - 1
+     * @return key, or null if the segment is an array index
+     */
+    String key(int segment);
+
+    /**
+     * Gets the array index of a segment.
+     *
+     * @param segment segment index, from 0 to {@link #size()} - 1
+     * @return index, or -1 if the segment is an object key
+     */
+    int index(int segment);
+}
@@ -0,0 +1,432 @@
+package com.github.frosxt.jsonconfig.api.stream;
+
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.io.FileBuffers;
+import com.github.frosxt.jsonconfig.reader.lex.AbstractJsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.LexerFactory;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A pull reader over a JSON document.
+ * <p>
+ * Tokens are read one at a time without building a
+ * {@link com.github.frosxt.jsonconfig.tree.JsonNode} tree, so memory use stays
+ * constant regardless of the document size. Values that are not needed can be
+ * passed over with {@link #skipValue()}, which validates the skipped input but
+ * never materializes its strings or numbers.
+ * </p>
+ *
+ * <pre>{@code
+ * try (JsonStreamReader reader = JsonStreamReader.open(path)) {
+ *     reader.beginObject();
+ *     while (reader.hasNext()) {
+ *         if (reader.nextName().equals("port")) {
+ *             port = reader.nextInt();
+ *         } else {
+ *             reader.skipValue();
+ *         }
+ *     }
+ *     reader.endObject();
+ * }
+ * }</pre>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class JsonStreamReader implements Closeable {
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final AbstractJsonLexer lexer;
+    private final Closeable source;
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+    private JsonToken peeked;
+
+    /**
+     * Creates a reader over decoded characters.
+     *
+     * @param reader source, closed by {@link #close()}
+     * @throws IOException if reading fails
+     */
+    public JsonStreamReader(final Reader reader) throws IOException {
+        this(interning(new JsonLexer(reader)), reader);
+    }
+
+    /**
+     * Creates a reader over a UTF-8 byte stream. The stream is consumed
+     * incrementally.
+     *
+     * @param input source, closed by {@link #close()}
+     * @throws IOException if reading fails
+     */
+    public JsonStreamReader(final InputStream input) throws IOException {
+        this(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a reader over encoded bytes.
+     *
+     * @param bytes encoded json
+     * @throws IOException if the input cannot be decoded
+     */
+    public JsonStreamReader(final byte[] bytes) throws IOException {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates a reader over the remaining bytes of a buffer. The buffer's
+     * position is not modified.
+     *
+     * @param buffer encoded json
+     * @throws IOException if the input cannot be decoded
+     */
+    public JsonStreamReader(final ByteBuffer buffer) throws IOException {
+        this(interning(LexerFactory.create(buffer)), null);
+    }
+
+    /**
+     * Creates a reader over an existing lexer positioned before the first
+     * token.
+     *
+     * @param lexer lexer
+     */
+    public JsonStreamReader(final AbstractJsonLexer lexer) {
+        this(lexer, null);
+    }
+
+    private JsonStreamReader(final AbstractJsonLexer lexer, final Closeable source) {
+        this.lexer = lexer;
+        this.source = source;
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    private static AbstractJsonLexer interning(final AbstractJsonLexer lexer) {
+        lexer.setSymbolTable(new SymbolTable());
+        return lexer;
+    }
+
+    /**
+     * Opens a reader over a memory-mapped file.
+     *
+     * @param path file path
+     * @return reader
+     * @throws IOException if the file cannot be mapped
+     */
+    public static JsonStreamReader open(final Path path) throws IOException {
+        return new JsonStreamReader(FileBuffers.map(path));
+    }
+
+    /**
+     * Returns the type of the next token without consuming it.
+     *
+     * @return next token
+     * @throws IOException if reading fails
+     */
+    public JsonToken peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        final int scope = stack[stackSize - 1];
+        switch (scope) {
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                TokenType type = lexer.peekToken();
+                if (type == TokenType.END_OBJECT) {
+                    return peeked = JsonToken.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    type = skipComma(type, TokenType.END_OBJECT);
+                }
+                if (type != TokenType.STRING) {
+                    throw error("Expected string key");
+                }
+                return peeked = JsonToken.NAME;
+            }
+            case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+                TokenType type = lexer.peekToken();
+                if (type == TokenType.END_ARRAY) {
+                    return peeked = JsonToken.END_ARRAY;
+                }
+                if (scope == NONEMPTY_ARRAY) {
+                    type = skipComma(type, TokenType.END_ARRAY);
+                }
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                return peeked = valueToken(type);
+            }
+            case DANGLING_NAME -> {
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                return peeked = valueToken(lexer.peekToken());
+            }
+            case EMPTY_DOCUMENT -> {
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                return peeked = valueToken(lexer.peekToken());
+            }
+            default -> {
+                if (lexer.peekToken() != TokenType.EOF) {
+                    throw error("Expected EOF");
+                }
+                return peeked = JsonToken.END_DOCUMENT;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current object or array has another element.
+     *
+     * @return true if another member or element follows
+     * @throws IOException if reading fails
+     */
+    public boolean hasNext() throws IOException {
+        final JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        lexer.nextToken();
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        lexer.nextToken();
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        lexer.nextToken();
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        lexer.nextToken();
+        stackSize--;
+    }
+
+    /**
+     * Consumes the next member name.
+     *
+     * @return member name
+     * @throws IOException if reading fails
+     */
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        lexer.nextKey();
+        final String name = lexer.getTokenValue();
+        consumeColon();
+        return name;
+    }
+
+    public String nextString() throws IOException {
+        expect(JsonToken.STRING);
+        lexer.nextToken();
+        return lexer.getTokenValue();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        return lexer.nextToken() == TokenType.TRUE;
+    }
+
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        lexer.nextToken();
+    }
+
+    /**
+     * Consumes the next number as a long.
+     *
+     * @return value
+     * @throws IOException        if reading fails
+     * @throws JsonParseException if the number is not an integer in the long
+     *                            range
+     */
+    public long nextLong() throws IOException {
+        expect(JsonToken.NUMBER);
+        lexer.nextToken();
+        if (lexer.isLongToken()) {
+            return lexer.getTokenLong();
+        }
+
+        final String text = lexer.getTokenValue();
+        try {
+            return new BigDecimal(text).longValueExact();
+        } catch (final ArithmeticException e) {
+            throw error("Expected a long but was " + text);
+        }
+    }
+
+    /**
+     * Consumes the next number as an int.
+     *
+     * @return value
+     * @throws IOException        if reading fails
+     * @throws JsonParseException if the number is not an integer in the int
+     *                            range
+     */
+    public int nextInt() throws IOException {
+        expect(JsonToken.NUMBER);
+        lexer.nextToken();
+        if (lexer.isLongToken()) {
+            final long value = lexer.getTokenLong();
+            if ((int) value != value) {
+                throw error("Expected an int but was " + value);
+            }
+            return (int) value;
+        }
+
+        final String text = lexer.getTokenValue();
+        try {
+            return new BigDecimal(text).intValueExact();
+        } catch (final ArithmeticException e) {
+            throw error("Expected an int but was " + text);
+        }
+    }
+
+    public double nextDouble() throws IOException {
+        expect(JsonToken.NUMBER);
+        lexer.nextToken();
+        return lexer.getTokenDouble();
+    }
+
+    public BigDecimal nextBigDecimal() throws IOException {
+        return new BigDecimal(nextNumberText());
+    }
+
+    /**
+     * Skips the next value, including all nested values of an object or array.
+     * If the next token is a member name, the name and its value are skipped.
+     *
+     * @throws IOException if reading fails
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        boolean pendingValue;
+
+        do {
+            final JsonToken token = peek();
+            pendingValue = false;
+
+            switch (token) {
+                case BEGIN_OBJECT -> {
+                    peeked = null;
+                    lexer.nextToken();
+                    push(EMPTY_OBJECT);
+                    depth++;
+                }
+                case BEGIN_ARRAY -> {
+                    peeked = null;
+                    lexer.nextToken();
+                    push(EMPTY_ARRAY);
+                    depth++;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == 0) {
+                        throw error("Expected a value but found " + token);
+                    }
+                    peeked = null;
+                    lexer.nextToken();
+                    stackSize--;
+                    depth--;
+                }
+                case NAME -> {
+                    peeked = null;
+                    lexer.skipToken();
+                    consumeColon();
+                    pendingValue = depth == 0;
+                }
+                case END_DOCUMENT -> throw error("Expected a value but found " + token);
+                default -> {
+                    peeked = null;
+                    lexer.skipToken();
+                }
+            }
+        } while (depth > 0 || pendingValue);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    private String nextNumberText() throws IOException {
+        expect(JsonToken.NUMBER);
+        lexer.nextToken();
+        return lexer.getTokenValue();
+    }
+
+    private void expect(final JsonToken expected) throws IOException {
+        final JsonToken token = peek();
+        if (token != expected) {
+            throw error("Expected " + expected + " but found " + token);
+        }
+        peeked = null;
+    }
+
+    private void consumeColon() throws IOException {
+        final TokenType type = lexer.nextToken();
+        if (type != TokenType.COLON) {
+            throw error("Expected COLON but found " + type);
+        }
+        stack[stackSize - 1] = DANGLING_NAME;
+    }
+
+    private TokenType skipComma(final TokenType type, final TokenType end) throws IOException {
+        if (type != TokenType.COMMA) {
+            throw error("Expected COMMA or " + end + " but found " + type);
+        }
+        lexer.nextToken();
+
+        final TokenType next = lexer.peekToken();
+        if (next == end) {
+            throw error("Trailing comma not allowed");
+        }
+        return next;
+    }
+
+    private JsonToken valueToken(final TokenType type) {
+        return switch (type) {
+            case START_OBJECT -> JsonToken.BEGIN_OBJECT;
+            case START_ARRAY -> JsonToken.BEGIN_ARRAY;
+            case STRING -> JsonToken.STRING;
+            case NUMBER -> JsonToken.NUMBER;
+            case TRUE, FALSE -> JsonToken.BOOLEAN;
+            case NULL -> JsonToken.NULL;
+            default -> throw error("Unexpected token: " + type);
+        };
+    }
+
+    private void push(final int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize << 1);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private JsonParseException error(final String message) {
+        return new JsonParseException(message, lexer.getLine(), lexer.getColumn());
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.frosxt.jsonconfig.api.stream;
+
+/**
+ * Kinds of tokens returned by {@link JsonStreamReader#peek()}.
+ */
+public enum JsonToken {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    /** An object member name. */
+    NAME,
+    STRING,
+    NUMBER,
+    /** {@code true} or {@code false}. */
+    BOOLEAN,
+    NULL,
+    /** The end of the document. */
+    END_DOCUMENT
+}
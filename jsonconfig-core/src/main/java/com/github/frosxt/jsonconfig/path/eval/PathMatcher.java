@@ -0,0 +1,117 @@
+package com.github.frosxt.jsonconfig.path.eval;
+
+import com.github.frosxt.jsonconfig.path.JsonPath;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie of compiled paths, used to decide while parsing which members and
+ * elements of a document are needed.
+ * <p>
+ * Each matcher stands for a position in the document. A member or element
+ * with no {@link #child(String) child} matcher is not on any requested path
+ * and can be skipped. A {@link #isComplete() complete} matcher marks the end
+ * of a requested path, below which everything is needed.
+ * </p>
+ */
+public final class PathMatcher {
+    private final Map<String, PathMatcher> children = new HashMap<>();
+    private boolean complete;
+    private int lastIndex = -1;
+
+    private PathMatcher() {
+    }
+
+    /**
+     * Compiles paths into a matcher for the document root. An empty path
+     * selects the whole document.
+     *
+     * @param paths paths in the syntax accepted by {@link JsonPath#compile(String)}
+     * @return root matcher
+     */
+    public static PathMatcher compile(final Collection<String> paths) {
+        if (paths == null) {
+            throw new IllegalArgumentException("Paths cannot be null");
+        }
+
+        final PathMatcher root = new PathMatcher();
+        for (final String path : paths) {
+            PathMatcher matcher = root;
+            for (final String segment : JsonPath.compile(path).getSegments()) {
+                if (matcher.complete) {
+                    break;
+                }
+                matcher = matcher.add(segment);
+            }
+            matcher.complete = true;
+            // Whatever lies below a complete matcher is needed anyway
+            matcher.children.clear();
+            matcher.lastIndex = -1;
+        }
+        return root;
+    }
+
+    private PathMatcher add(final String segment) {
+        final PathMatcher child = children.computeIfAbsent(segment, key -> new PathMatcher());
+        final int index = index(segment);
+        if (index >= 0) {
+            // Indexes resolve numerically, so "01" also selects element 1
+            children.putIfAbsent(Integer.toString(index), child);
+            lastIndex = Math.max(lastIndex, index);
+        }
+        return child;
+    }
+
+    /**
+     * Checks whether a requested path ends here, so the whole value is needed.
+     *
+     * @return true if the value must be parsed completely
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Gets the matcher for an object member.
+     *
+     * @param key member key
+     * @return matcher or null if no requested path passes through the member
+     */
+    public PathMatcher child(final String key) {
+        return children.get(key);
+    }
+
+    /**
+     * Gets the matcher for an array element.
+     *
+     * @param index element index
+     * @return matcher or null if no requested path passes through the element
+     */
+    public PathMatcher child(final int index) {
+        return index <= lastIndex ? children.get(Integer.toString(index)) : null;
+    }
+
+    /**
+     * Gets the highest array index a requested path passes through.
+     *
+     * @return highest index or -1 if no path continues with an index
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    private static int index(final String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.DeferredContent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A container recorded by its position in the source buffer during a lazy
+ * parse. The container is parsed when it is first accessed; containers nested
+ * inside it are deferred again.
+ */
+final class DeferredSlice<T extends JsonNode> implements DeferredContent<T> {
+    private final ByteBuffer source;
+    private final int start;
+    private final int end;
+    private final int line;
+    private final int column;
+    private final JsonParseOptions parseOptions;
+    private final Class<T> type;
+
+    DeferredSlice(final ByteBuffer source, final int start, final int end, final int line, final int column,
+            final JsonParseOptions parseOptions, final Class<T> type) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.line = line;
+        this.column = column;
+        this.parseOptions = parseOptions;
+        this.type = type;
+    }
+
+    @Override
+    public T load() {
+        final ByteBuffer slice = source.duplicate();
+        // The byte after the container is the lookahead a duplicate key at its end is reported after
+        slice.limit(Math.min(end + 1, source.limit())).position(start);
+
+        try {
+            final JsonParser parser = new JsonParser(new Utf8JsonLexer(slice, line, column), parseOptions, 1);
+            return type.cast(parser.parseDeferred());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.api.parse.ParseHandler;
+import com.github.frosxt.jsonconfig.reader.lex.ByteOrderMark;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Push parser for UTF-8 input arriving in chunks, e.g. from an
+ * {@link java.nio.channels.AsynchronousFileChannel} or a socket.
+ * <p>
+ * Bytes are handed over with {@link #feed(ByteBuffer)} as they arrive and
+ * parsed as far as they go, so no thread waits for input. The open containers
+ * are kept on an explicit stack between chunks. A token that is cut off at the
+ * end of a chunk stays buffered, and later chunks are only scanned for its
+ * end; it is lexed again once it may be complete, so a long string arriving
+ * in many chunks is lexed once. Consumed bytes are dropped.
+ * {@link #endOfInput()} parses the rest and returns the document.
+ * </p>
+ * <p>
+ * Results, error messages and error positions match a {@link JsonParser} over
+ * a {@link Utf8JsonLexer}. A leading UTF-8 byte order mark is skipped; other
+ * encodings are not supported. Deferred sections are not created, the whole
+ * tree is built while parsing. A {@link ParseHandler} from the options is
+ * called as in a {@link JsonParser}. An error inside a cut-off token may be
+ * reported by the call that completes the token rather than the one that
+ * delivered the bad byte. After an error the parser cannot be used any
+ * further.
+ * </p>
+ */
+public class FeedableJsonParser {
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy;
+    private final JsonOptions.NumberMode numberMode;
+    private final SymbolTable symbolTable;
+    private final JsonStringTable stringTable;
+    private final ParseHandler handler;
+    private final PathStack path;
+    private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int base;
+    private int line = 1;
+    private int column = 0;
+    private boolean markChecked;
+    private boolean ended;
+
+    private Utf8JsonLexer lexer;
+    private State state = State.VALUE;
+    private JsonNode value;
+    private JsonNode root;
+    private int droppedFrom = -1;
+
+    // Buffered bytes of a cut-off token already scanned for its end, or 0 if there is none
+    private int scanned;
+    private boolean cutOffString;
+    private boolean escaped;
+
+    /**
+     * Creates a parser for one document.
+     *
+     * @param parseOptions parse options or null for defaults
+     */
+    public FeedableJsonParser(final JsonParseOptions parseOptions) {
+        final JsonParseOptions options = parseOptions != null ? parseOptions : new JsonParseOptions();
+        this.duplicateKeyPolicy = options.duplicateKeyPolicy();
+        this.numberMode = options.numberMode();
+        this.handler = options.handler();
+        this.path = handler != null ? new PathStack() : null;
+
+        if (options.internKeys()) {
+            this.symbolTable = options.symbolTable() != null ? options.symbolTable() : new SymbolTable();
+        } else {
+            this.symbolTable = null;
+        }
+        this.stringTable = JsonParser.stringTable(options);
+    }
+
+    /**
+     * Parses the remaining bytes of a chunk as far as possible. The bytes are
+     * copied, so the buffer can be reused once this method returns.
+     *
+     * @param chunk next bytes of the document
+     * @throws IOException        if parsing fails
+     * @throws JsonParseException if the bytes read so far are not valid JSON
+     */
+    public void feed(final ByteBuffer chunk) throws IOException {
+        if (ended) {
+            throw new IllegalStateException("Input has already ended");
+        }
+
+        final int size = chunk.remaining();
+        if (length + size > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + size));
+        }
+        chunk.get(data, length, size);
+        length += size;
+        parse();
+    }
+
+    /**
+     * Parses the bytes still buffered and returns the document.
+     *
+     * @return parsed root node
+     * @throws IOException        if parsing fails
+     * @throws JsonParseException if the document is invalid or incomplete
+     */
+    public JsonNode endOfInput() throws IOException {
+        if (ended) {
+            throw new IllegalStateException("Input has already ended");
+        }
+
+        ended = true;
+        parse();
+        return root;
+    }
+
+    private void parse() throws IOException {
+        if (!markChecked) {
+            if (length < ByteOrderMark.UTF_8.length() && !ended) {
+                return;
+            }
+            if (ByteOrderMark.UTF_8.matches(ByteBuffer.wrap(data, 0, length))) {
+                // The mark counts towards offsets but not columns
+                base += ByteOrderMark.UTF_8.length();
+                drop(ByteOrderMark.UTF_8.length());
+            }
+            markChecked = true;
+        }
+        if (!ended && scanned > 0 && !mayComplete()) {
+            return;
+        }
+        scanned = 0;
+
+        lexer = new Utf8JsonLexer(ByteBuffer.wrap(data, 0, length), line, column + 1, base);
+        lexer.setSymbolTable(symbolTable);
+
+        int consumed = 0;
+        while (root == null) {
+            final TokenType token;
+            try {
+                token = state == State.OBJECT_START || state == State.OBJECT_NEXT ? lexer.nextKey()
+                        : lexer.nextToken();
+            } catch (final JsonParseException e) {
+                // A token cut off by the end of the chunk may still be completed
+                if (!ended && e.getOffset() >= base + length - 1) {
+                    break;
+                }
+                throw e;
+            }
+
+            // Without a character after it, a token might continue in the next chunk
+            if (!ended && lexer.getPosition() >= length) {
+                if (token == TokenType.EOF) {
+                    consumed = length;
+                }
+                break;
+            }
+
+            accept(token);
+            consumed = lexer.getPosition();
+        }
+
+        lexer = null;
+        advance(consumed);
+        if (root == null && !ended) {
+            scanCutOff();
+        }
+    }
+
+    /**
+     * Starts scanning the token left at the start of the buffer, after any
+     * whitespace, for its end.
+     */
+    private void scanCutOff() {
+        int start = 0;
+        while (start < length && (data[start] == ' ' || data[start] == '\t' || data[start] == '\n'
+                || data[start] == '\r')) {
+            start++;
+        }
+        cutOffString = start < length && data[start] == '"';
+        if (!cutOffString && (start == length || !isTokenByte(data[start]))) {
+            return;
+        }
+        escaped = false;
+        scanned = start + 1;
+        if (mayComplete()) {
+            scanned = 0;
+        }
+    }
+
+    /**
+     * Scans the bytes buffered since the last scan for the end of the cut-off
+     * token, or for a byte the lexer would reject right away.
+     *
+     * @return true if the token should be lexed again
+     */
+    private boolean mayComplete() {
+        while (scanned < length) {
+            final byte b = data[scanned++];
+            if (!cutOffString) {
+                if (!isTokenByte(b)) {
+                    return true;
+                }
+            } else if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = true;
+            } else if (b == '"' || b >= 0 && b < 0x20) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void accept(final TokenType token) {
+        switch (state) {
+            case VALUE -> startValue(token);
+            case ARRAY_START -> {
+                if (token == TokenType.END_ARRAY) {
+                    close();
+                } else {
+                    startElement(token);
+                }
+            }
+            case ARRAY_NEXT -> {
+                if (token == TokenType.END_ARRAY) {
+                    throw error("Trailing comma not allowed");
+                }
+                startElement(token);
+            }
+            case OBJECT_START -> {
+                if (token == TokenType.END_OBJECT) {
+                    close();
+                } else {
+                    key(token);
+                }
+            }
+            case OBJECT_NEXT -> {
+                if (token == TokenType.END_OBJECT) {
+                    throw error("Trailing comma not allowed");
+                }
+                key(token);
+            }
+            case COLON -> {
+                if (token != TokenType.COLON) {
+                    throw error("Expected " + TokenType.COLON + " but found " + token);
+                }
+                state = State.VALUE;
+            }
+            case AFTER_VALUE -> afterValue(token);
+        }
+    }
+
+    private void startValue(final TokenType token) {
+        switch (token) {
+            case START_OBJECT -> {
+                stack.push(new Frame(new JsonObject()));
+                state = State.OBJECT_START;
+            }
+            case START_ARRAY -> {
+                stack.push(new Frame(new JsonArray()));
+                state = State.ARRAY_START;
+            }
+            case STRING -> complete(JsonParser.toString(lexer, stringTable));
+            case NUMBER -> complete(JsonParser.toNumber(lexer, numberMode));
+            case TRUE -> complete(JsonBoolean.TRUE);
+            case FALSE -> complete(JsonBoolean.FALSE);
+            case NULL -> complete(JsonNull.INSTANCE);
+            default -> throw error("Unexpected token: " + token);
+        }
+    }
+
+    private void startElement(final TokenType token) {
+        if (path != null) {
+            path.push(((JsonArray) stack.peek().container).size());
+        }
+        startValue(token);
+    }
+
+    private void key(final TokenType token) {
+        if (token != TokenType.STRING) {
+            throw error("Expected string key");
+        }
+
+        final String key = lexer.getTokenValue();
+        if (handler != null) {
+            final String name = droppedFrom < 0 ? handler.onKey(path, key) : key;
+            if (name == null) {
+                // The value is still parsed for validation but no handler sees it
+                droppedFrom = stack.size();
+            }
+            path.push(name != null ? name : key);
+            stack.peek().key = name;
+        } else {
+            stack.peek().key = key;
+        }
+        state = State.COLON;
+    }
+
+    /**
+     * Adds the completed value to its container, once the token following it
+     * is known, and checks that token.
+     */
+    private void afterValue(final TokenType token) {
+        final Frame frame = stack.peek();
+        if (frame == null) {
+            if (token != TokenType.EOF) {
+                throw error("Expected EOF");
+            }
+            root = handler != null ? handle(value) : value;
+            if (root == null) {
+                root = JsonNull.INSTANCE;
+            }
+            return;
+        }
+
+        if (handler != null) {
+            if (droppedFrom < 0) {
+                value = handle(value);
+            } else if (droppedFrom == stack.size() && frame.key == null) {
+                droppedFrom = -1;
+            }
+            path.pop();
+        }
+
+        // A null key or value was dropped by the handler
+        if (frame.container instanceof final JsonObject object) {
+            if (frame.key != null && value != null) {
+                if (!object.has(frame.key)) {
+                    object.add(frame.key, value);
+                } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+                    throw error("Duplicate key: " + frame.key);
+                } else {
+                    JsonParser.mergeDuplicate(object, frame.key, value, duplicateKeyPolicy);
+                }
+            }
+            value = null;
+            next(token, TokenType.END_OBJECT, State.OBJECT_NEXT);
+        } else {
+            if (value != null) {
+                ((JsonArray) frame.container).add(value);
+            }
+            value = null;
+            next(token, TokenType.END_ARRAY, State.ARRAY_NEXT);
+        }
+    }
+
+    private void next(final TokenType token, final TokenType end, final State afterComma) {
+        if (token == TokenType.COMMA) {
+            state = afterComma;
+        } else if (token == end) {
+            close();
+        } else {
+            throw error("Expected " + end + " but found " + token);
+        }
+    }
+
+    private JsonNode handle(final JsonNode node) {
+        return node instanceof final JsonObject object ? handler.onEndObject(path, object) : handler.onValue(path, node);
+    }
+
+    private void close() {
+        complete(stack.pop().container);
+    }
+
+    private void complete(final JsonNode node) {
+        value = node;
+        state = State.AFTER_VALUE;
+    }
+
+    private JsonParseException error(final String message) {
+        return new JsonParseException(message, lexer.getLine(), lexer.getColumn());
+    }
+
+    /**
+     * Drops consumed bytes, moving the line and column past them.
+     */
+    private void advance(final int consumed) {
+        for (int i = 0; i < consumed; i++) {
+            final byte b = data[i];
+            if (b == '\n') {
+                line++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                column++;
+            }
+        }
+        base += consumed;
+        drop(consumed);
+    }
+
+    /**
+     * Checks whether a byte can be part of a number or literal.
+     */
+    private static boolean isTokenByte(final byte b) {
+        return b >= '0' && b <= '9' || b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b == '+' || b == '-'
+                || b == '.';
+    }
+
+    private void drop(final int count) {
+        if (count == 0) {
+            return;
+        }
+        System.arraycopy(data, count, data, 0, length - count);
+        length -= count;
+    }
+
+    private enum State {
+        VALUE,
+        ARRAY_START,
+        ARRAY_NEXT,
+        OBJECT_START,
+        OBJECT_NEXT,
+        COLON,
+        AFTER_VALUE
+    }
+
+    /**
+     * An open container and, for objects, the key of the member being parsed.
+     */
+    private static final class Frame {
+        private final JsonNode container;
+        private String key;
+
+        private Frame(final JsonNode container) {
+            this.container = container;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Parser for a document that is parsed again after being edited, e.g. a
+ * large configuration file that is reloaded when an operator changes a value.
+ * <p>
+ * Each parse keeps hashes of the document's blocks, counted from the start
+ * and from the end, and the byte spans of its larger containers. When the
+ * next version shares a prefix and a suffix of blocks with the last one, only
+ * the innermost container around the changed bytes is reparsed, and the new
+ * container replaces the old one in the existing tree. Otherwise, or if the
+ * edit breaks the document, the whole document is parsed again, so results
+ * and errors are those of a {@link JsonParser}. A root object keeps its
+ * identity across parses, so references to it see the new document.
+ * </p>
+ * <p>
+ * Sections are never deferred. With a {@link JsonParseOptions#handler()
+ * handler} set, every parse is a full parse, since handlers see paths from
+ * the root, and so is every parse with the
+ * {@link JsonOptions.DuplicateKeyPolicy#COLLECT COLLECT} policy, which adds
+ * values to arrays parsed earlier. The tree must not be modified between
+ * parses.
+ * </p>
+ */
+public class IncrementalJsonParser {
+    /** Length of a hashed block, and the shortest container that is recorded. */
+    static final int BLOCK_SIZE = 512;
+
+    private final JsonParseOptions parseOptions;
+    private JsonNode root;
+    private SourceMap sourceMap;
+    private long[] headHashes;
+    private long[] tailHashes;
+    private int length;
+    private int parsedLength;
+
+    /**
+     * Creates a parser.
+     *
+     * @param parseOptions parse options or null for defaults
+     */
+    public IncrementalJsonParser(final JsonParseOptions parseOptions) {
+        this(parseOptions, null);
+    }
+
+    /**
+     * Creates a parser whose first parse replaces the members of an existing
+     * root object.
+     *
+     * @param parseOptions parse options or null for defaults
+     * @param root         root object to fill, or null to create one
+     */
+    public IncrementalJsonParser(final JsonParseOptions parseOptions, final JsonObject root) {
+        this.parseOptions = parseOptions != null ? parseOptions : new JsonParseOptions();
+        this.root = root;
+    }
+
+    /**
+     * Parses the next version of the document. The buffer's position and
+     * limit are not modified.
+     * <p>
+     * If only part of the document was reparsed, the returned root is the
+     * one returned by the previous call, with the changed container replaced.
+     * </p>
+     *
+     * @param buffer UTF-8 encoded document
+     * @return parsed root node
+     * @throws IOException if parsing fails
+     */
+    public JsonNode parse(final ByteBuffer buffer) throws IOException {
+        final int base = buffer.position();
+        final int newLength = buffer.remaining();
+        final long[] head = hashBlocks(buffer, base, newLength, false);
+        final long[] tail = hashBlocks(buffer, base, newLength, true);
+
+        if (!isIncremental() || !reparse(buffer, base, newLength, head, tail)) {
+            final SourceMap spans = new SourceMap(base, BLOCK_SIZE);
+            final JsonParser parser = new JsonParser(new Utf8JsonLexer(buffer), parseOptions, 0);
+            parser.setSourceMap(spans);
+            final JsonNode parsed = parser.parse();
+            if (root instanceof final JsonObject previous && parsed instanceof final JsonObject object) {
+                previous.keySet().clear();
+                for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                    previous.add(member.getKey(), member.getValue());
+                }
+                spans.replaceNode(object, previous);
+            } else {
+                root = parsed;
+            }
+            sourceMap = spans;
+            parsedLength = newLength;
+        }
+
+        headHashes = head;
+        tailHashes = tail;
+        length = newLength;
+        return root;
+    }
+
+    /**
+     * Gets the number of bytes parsed by the last call to
+     * {@link #parse(ByteBuffer)}: 0 if the document was unchanged, the length
+     * of the reparsed container, or the length of the document.
+     *
+     * @return bytes parsed
+     */
+    public int getParsedLength() {
+        return parsedLength;
+    }
+
+    private boolean isIncremental() {
+        return sourceMap != null && parseOptions.handler() == null
+                && parseOptions.duplicateKeyPolicy() != JsonOptions.DuplicateKeyPolicy.COLLECT;
+    }
+
+    private boolean reparse(final ByteBuffer buffer, final int base, final int newLength, final long[] head,
+                            final long[] tail) throws IOException {
+        int prefix = 0;
+        while (prefix < head.length && prefix < headHashes.length && head[prefix] == headHashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < tail.length && suffix < tailHashes.length && tail[suffix] == tailHashes[suffix]) {
+            suffix++;
+        }
+
+        final int from = prefix * BLOCK_SIZE;
+        if (newLength == length && from + suffix * BLOCK_SIZE >= length) {
+            parsedLength = 0;
+            return true;
+        }
+
+        // The changed bytes lie between the shared blocks, which may overlap when bytes were inserted
+        final int shared = Math.min(suffix * BLOCK_SIZE, Math.min(length, newLength) - from);
+        final int entry = sourceMap.enclosing(from, length - shared);
+        if (entry < 0 || sourceMap.parent(entry) == null) {
+            return false;
+        }
+
+        final int delta = newLength - length;
+        final int start = sourceMap.start(entry);
+        final int end = sourceMap.end(entry) + delta;
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(base + end).position(base + start);
+
+        final SourceMap spans = new SourceMap(base, BLOCK_SIZE);
+        final JsonNode node;
+        try {
+            final JsonParser parser = new JsonParser(new Utf8JsonLexer(slice, 1, 1), parseOptions, 0);
+            parser.setSourceMap(spans);
+            node = parser.parse();
+        } catch (final JsonParseException e) {
+            // A full parse reports the error at its position in the document
+            return false;
+        }
+
+        if (!replace(sourceMap.parent(entry), sourceMap.node(entry), node)) {
+            // The old container was merged or dropped as a duplicate key
+            return false;
+        }
+        sourceMap.splice(entry, spans, delta);
+        parsedLength = end - start;
+        return true;
+    }
+
+    private static boolean replace(final JsonNode parent, final JsonNode old, final JsonNode node) {
+        if (parent instanceof final JsonObject object) {
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                if (member.getValue() == old) {
+                    member.setValue(node);
+                    return true;
+                }
+            }
+        } else if (parent instanceof final JsonArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                if (array.get(i) == old) {
+                    array.set(i, node);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hashes the complete blocks of a document, counted from its start or from
+     * its end.
+     */
+    private static long[] hashBlocks(final ByteBuffer buffer, final int base, final int length,
+                                     final boolean fromEnd) {
+        final long[] hashes = new long[length / BLOCK_SIZE];
+        for (int i = 0; i < hashes.length; i++) {
+            final int from = fromEnd ? base + length - (i + 1) * BLOCK_SIZE : base + i * BLOCK_SIZE;
+            long hash = 0;
+            for (int j = from; j < from + BLOCK_SIZE; j += Long.BYTES) {
+                hash = Long.rotateLeft((hash ^ buffer.getLong(j)) * 0x9E3779B97F4A7C15L, 31);
+            }
+            hashes[i] = hash;
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.path.JsonPath;
+import com.github.frosxt.jsonconfig.path.eval.PathMatcher;
+import com.github.frosxt.jsonconfig.path.eval.PathResolver;
+import com.github.frosxt.jsonconfig.reader.io.FileBuffers;
+import com.github.frosxt.jsonconfig.reader.lex.AbstractJsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.LexerFactory;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A memory-mapped JSON file answering point lookups without parsing the
+ * whole document.
+ * <p>
+ * Opening the file records the byte offsets of its objects and arrays down to
+ * {@link JsonParseOptions#indexDepth()} in a sidecar file named after it with
+ * an {@code .idx} suffix. Later opens reuse the sidecar while the file's size,
+ * modification time and content hash match, which costs one pass over the
+ * bytes instead of a parse. A lookup finds the deepest recorded container on
+ * its path and parses only that container's span, skipping the values off the
+ * path.
+ * </p>
+ * <p>
+ * Lookups are thread-safe. The file must not change while it is open; open it
+ * again after it was modified. Values are parsed anew on every lookup, so
+ * returned nodes can be modified freely.
+ * </p>
+ */
+public final class IndexedJsonFile {
+    /** Suffix appended to the file name to get the sidecar index file. */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private final ByteBuffer buffer;
+    private final OffsetIndex index;
+    private final JsonParseOptions parseOptions;
+
+    private IndexedJsonFile(final ByteBuffer buffer, final OffsetIndex index, final JsonParseOptions parseOptions) {
+        this.buffer = buffer;
+        this.index = index;
+        this.parseOptions = parseOptions;
+    }
+
+    /**
+     * Opens a file, building and saving its index if there is no current one.
+     *
+     * @param path         UTF-8 encoded file whose root is an object
+     * @param parseOptions parse options or null for defaults
+     * @return opened file
+     * @throws IOException if reading the file or writing the index fails, or
+     *                     the file is not UTF-8 or has no root object
+     */
+    public static IndexedJsonFile open(final Path path, final JsonParseOptions parseOptions) throws IOException {
+        // Handlers would see paths relative to the parsed span, so none is called
+        final JsonParseOptions options = (parseOptions != null ? parseOptions.copy() : new JsonParseOptions())
+                .handler(null);
+        final ByteBuffer buffer = FileBuffers.map(path);
+        final long[] stamp = {buffer.limit(), Files.getLastModifiedTime(path).toMillis(), OffsetIndex.hash(buffer)};
+        final Path file = path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+        final int depth = options.indexDepth();
+        final int policy = options.duplicateKeyPolicy().ordinal();
+
+        OffsetIndex index = OffsetIndex.read(file, stamp, depth, policy);
+        if (index == null) {
+            final AbstractJsonLexer lexer = LexerFactory.create(buffer);
+            if (!(lexer instanceof Utf8JsonLexer)) {
+                throw new IOException("Indexed files must be UTF-8 encoded: " + path);
+            }
+
+            index = new OffsetIndex(depth, policy);
+            new JsonParser(lexer, options, 0).index(index);
+            if (index.size() == 0 || !index.isObject(0)) {
+                throw new IOException("Root of configuration must be a JSON object: " + path);
+            }
+            index.write(file, stamp);
+        }
+        return new IndexedJsonFile(buffer, index, options);
+    }
+
+    /**
+     * Gets the value at a path.
+     *
+     * @param path path, e.g. {@code "regions.eu.nodes[4000].host"}, or empty for the root
+     * @return parsed value or null if the path does not exist
+     * @throws IOException if parsing the value fails
+     */
+    public JsonNode getNode(final String path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        final List<String> segments = path.isEmpty() ? List.of() : JsonPath.compile(path).getSegments();
+        PathMatcher matcher = PathMatcher.compile(List.of(path));
+        int entry = 0;
+        int matched = 0;
+        while (matched < segments.size()) {
+            final String segment = segments.get(matched);
+            final int child = index.child(entry, segment);
+            if (child < 0) {
+                break;
+            }
+            final PathMatcher next = index.isObject(entry) ? matcher.child(segment)
+                    : matcher.child(Integer.parseInt(segment));
+            if (next == null) {
+                break;
+            }
+            matcher = next;
+            entry = child;
+            matched++;
+        }
+
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(index.end(entry)).position(index.start(entry));
+        final JsonParser parser = new JsonParser(new Utf8JsonLexer(slice, index.line(entry), index.column(entry)),
+                parseOptions, 0);
+        if (matched == segments.size()) {
+            return parser.parse();
+        }
+        // Collected duplicates turn values of any type into arrays, which a projection cannot follow
+        final JsonNode container = parseOptions.duplicateKeyPolicy() == JsonOptions.DuplicateKeyPolicy.COLLECT
+                ? parser.parse() : parser.parse(matcher);
+        return PathResolver.get(container, new JsonPath(path, segments.subList(matched, segments.size())));
+    }
+
+    /**
+     * Gets a string, or the text of another scalar.
+     *
+     * @param path path
+     * @return value or null if missing or null
+     * @throws IOException if parsing the value fails
+     */
+    public String getString(final String path) throws IOException {
+        return getString(path, null);
+    }
+
+    public String getString(final String path, final String def) throws IOException {
+        final JsonNode node = getNode(path);
+        if (node instanceof final JsonString s) {
+            return s.getValue();
+        }
+        return node != null && !(node instanceof JsonNull) ? node.toString() : def;
+    }
+
+    public int getInt(final String path) throws IOException {
+        return getInt(path, 0);
+    }
+
+    public int getInt(final String path, final int def) throws IOException {
+        return getNode(path) instanceof final JsonNumber n ? n.intValue() : def;
+    }
+
+    public long getLong(final String path) throws IOException {
+        return getLong(path, 0);
+    }
+
+    public long getLong(final String path, final long def) throws IOException {
+        return getNode(path) instanceof final JsonNumber n ? n.longValue() : def;
+    }
+
+    public double getDouble(final String path) throws IOException {
+        return getDouble(path, 0.0);
+    }
+
+    public double getDouble(final String path, final double def) throws IOException {
+        return getNode(path) instanceof final JsonNumber n ? n.doubleValue() : def;
+    }
+
+    public boolean getBoolean(final String path) throws IOException {
+        return getBoolean(path, false);
+    }
+
+    public boolean getBoolean(final String path, final boolean def) throws IOException {
+        return getNode(path) instanceof final JsonBoolean b ? b.getValue() : def;
+    }
+}
@@ -0,0 +1,261 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.index.StructuralIndex;
+import com.github.frosxt.jsonconfig.reader.lex.ByteOrderMark;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser that builds the tree by walking a {@link StructuralIndex} instead of
+ * lexing every byte.
+ * <p>
+ * Whitespace is never visited, containers are created with their exact size,
+ * and keys and strings made of plain ASCII are copied straight out of the
+ * buffer. Numbers, literals and all other strings are read by a
+ * {@link Utf8JsonLexer} moved to the indexed position, so they follow the same
+ * grammar as {@link JsonParser}. If the document turns out to be invalid the
+ * input is parsed again with {@link JsonParser}, so errors carry the same
+ * messages and positions on both paths.
+ * </p>
+ */
+public class IndexedJsonParser {
+    private static final Mismatch MISMATCH = new Mismatch();
+
+    private final ByteBuffer buffer;
+    private final JsonParseOptions parseOptions;
+    private final JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy;
+    private final JsonOptions.NumberMode numberMode;
+    private final SymbolTable symbolTable;
+    private final JsonStringTable stringTable;
+    private final Utf8JsonLexer lexer;
+    private StructuralIndex index;
+    private int cursor;
+
+    /**
+     * Creates a parser over the remaining bytes of a UTF-8 buffer.
+     *
+     * @param buffer       UTF-8 encoded document
+     * @param parseOptions parse options or null for defaults
+     */
+    public IndexedJsonParser(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        this.buffer = buffer;
+        this.parseOptions = parseOptions != null ? parseOptions : new JsonParseOptions();
+        this.duplicateKeyPolicy = this.parseOptions.duplicateKeyPolicy();
+        this.numberMode = this.parseOptions.numberMode();
+
+        if (this.parseOptions.internKeys()) {
+            this.symbolTable = this.parseOptions.symbolTable() != null ? this.parseOptions.symbolTable()
+                    : new SymbolTable();
+        } else {
+            this.symbolTable = null;
+        }
+        this.stringTable = JsonParser.stringTable(this.parseOptions);
+        this.lexer = new Utf8JsonLexer(buffer);
+        this.lexer.setSymbolTable(symbolTable);
+    }
+
+    /**
+     * Checks whether the options ask for indexed parsing and it can be used for
+     * the input, i.e. the input is UTF-8, no subtrees are deferred and the
+     * Vector API is available.
+     *
+     * @param buffer       input
+     * @param parseOptions parse options
+     * @return true if {@link IndexedJsonParser} should be used
+     */
+    public static boolean supports(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        if (parseOptions == null || !parseOptions.structuralIndex() || parseOptions.lazyDepth() > 0
+                || parseOptions.handler() != null) {
+            return false;
+        }
+        final ByteOrderMark mark = ByteOrderMark.detect(buffer);
+        return (mark == null || mark == ByteOrderMark.UTF_8) && StructuralIndex.isVectorized();
+    }
+
+    public JsonNode parse() throws IOException {
+        index = StructuralIndex.build(buffer);
+        if (index.isBalanced() && index.count() > 0) {
+            try {
+                cursor = 0;
+                final JsonNode root = parseValue();
+                if (cursor == index.count()) {
+                    return root;
+                }
+            } catch (final Mismatch | JsonParseException e) {
+                // Reported by the scalar parser below
+            }
+        }
+
+        return new JsonParser(new Utf8JsonLexer(buffer), parseOptions).parse();
+    }
+
+    private JsonNode parseValue() throws IOException {
+        final int position = next();
+        return switch (buffer.get(position)) {
+            case '{' -> parseObject();
+            case '[' -> parseArray();
+            case '"' -> {
+                cursor++;
+                final String value = readString(position, false);
+                yield stringTable != null ? stringTable.intern(value) : new JsonString(value);
+            }
+            case '}', ']', ':', ',' -> throw MISMATCH;
+            default -> parseLiteral(position);
+        };
+    }
+
+    private JsonObject parseObject() throws IOException {
+        final int open = cursor;
+        final JsonObject object = new JsonObject(index.size(open));
+        cursor++;
+        if (index.end(open) == cursor) {
+            cursor++;
+            return object;
+        }
+
+        while (true) {
+            final int keyPosition = next();
+            if (buffer.get(keyPosition) != '"') {
+                throw MISMATCH;
+            }
+            cursor++;
+            final String key = readString(keyPosition, true);
+            expect(':');
+
+            final JsonNode value = parseValue();
+            if (object.has(key)) {
+                if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+                    throw MISMATCH;
+                }
+                JsonParser.mergeDuplicate(object, key, value, duplicateKeyPolicy);
+            } else {
+                object.add(key, value);
+            }
+
+            if (cursor == index.end(open)) {
+                cursor++;
+                return object;
+            }
+            expect(',');
+        }
+    }
+
+    private JsonArray parseArray() throws IOException {
+        final int open = cursor;
+        final JsonArray array = new JsonArray(index.size(open));
+        cursor++;
+        if (index.end(open) == cursor) {
+            cursor++;
+            return array;
+        }
+
+        while (true) {
+            array.add(parseValue());
+
+            if (cursor == index.end(open)) {
+                cursor++;
+                return array;
+            }
+            expect(',');
+        }
+    }
+
+    private String readString(final int position, final boolean key) throws IOException {
+        final int limit = buffer.limit();
+        int end = position + 1;
+        while (end < limit) {
+            final byte b = buffer.get(end);
+            if (b == '"') {
+                break;
+            }
+            // Escapes, control characters and non-ASCII bytes (negative) need the lexer
+            if (b == '\\' || b < 0x20) {
+                return lexString(position, key);
+            }
+            end++;
+        }
+        if (end == limit) {
+            throw MISMATCH;
+        }
+
+        final int start = position + 1;
+        final int length = end - start;
+        if (key && symbolTable != null) {
+            return symbolTable.intern(buffer, start, length);
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.ISO_8859_1);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private String lexString(final int position, final boolean key) throws IOException {
+        lexer.reset(position);
+        if (key) {
+            lexer.nextKey();
+        } else {
+            lexer.nextToken();
+        }
+        return lexer.getTokenValue();
+    }
+
+    private JsonNode parseLiteral(final int position) throws IOException {
+        lexer.reset(position);
+        final JsonNode node = switch (lexer.nextToken()) {
+            case NUMBER -> JsonParser.toNumber(lexer, numberMode);
+            case TRUE -> JsonBoolean.TRUE;
+            case FALSE -> JsonBoolean.FALSE;
+            case NULL -> JsonNull.INSTANCE;
+            default -> throw MISMATCH;
+        };
+        cursor++;
+
+        // The index does not mark bytes glued to a number or literal, as in 12x
+        final TokenType following = lexer.peekToken();
+        if (cursor < index.count() ? lexer.getTokenStart() != index.position(cursor) : following != TokenType.EOF) {
+            throw MISMATCH;
+        }
+        return node;
+    }
+
+    private int next() {
+        if (cursor >= index.count()) {
+            throw MISMATCH;
+        }
+        return index.position(cursor);
+    }
+
+    private void expect(final char expected) {
+        if (buffer.get(next()) != expected) {
+            throw MISMATCH;
+        }
+        cursor++;
+    }
+
+    /**
+     * Signals that the document does not follow the expected grammar. It only
+     * triggers the scalar parse, so it carries no stack trace.
+     */
+    private static final class Mismatch extends RuntimeException {
+        private Mismatch() {
+            super(null, null, false, false);
+        }
+    }
+}
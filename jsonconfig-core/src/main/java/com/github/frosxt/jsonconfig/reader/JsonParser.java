@@ -4,8 +4,14 @@ import com.github.frosxt.jsonconfig.api.JsonOptions;
 import com.github.frosxt.jsonconfig.api.JsonParseOptions;
 import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
 import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.api.parse.ParseHandler;
+import com.github.frosxt.jsonconfig.path.JsonPath;
+import com.github.frosxt.jsonconfig.path.eval.PathMatcher;
+import com.github.frosxt.jsonconfig.reader.lex.AbstractJsonLexer;
 import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
 import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.container.JsonArray;
 import com.github.frosxt.jsonconfig.tree.container.JsonObject;
@@ -13,52 +19,714 @@ import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JsonParser {
-    private final JsonLexer lexer;
+    private final AbstractJsonLexer lexer;
+    private final JsonParseOptions parseOptions;
     private final JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy;
     private final JsonOptions.NumberMode numberMode;
+    private final JsonStringTable stringTable;
+    private final ByteBuffer lazySource;
+    private final int lazyDepth;
+    private final ParseHandler handler;
+    private final PathStack path;
+    private SourceMap sourceMap;
+    private int depth;
+    private boolean skipping;
     private TokenType currentToken;
 
     public JsonParser(final Reader reader, final JsonOptions options) throws IOException {
-        this.lexer = new JsonLexer(reader);
-        this.duplicateKeyPolicy = options != null ? options.duplicateKeyPolicy() : JsonOptions.DuplicateKeyPolicy.ERROR;
-        this.numberMode = options != null ? options.numberMode() : JsonOptions.NumberMode.EXACT;
-        this.currentToken = lexer.nextToken();
+        this(new JsonLexer(reader), options != null
+                ? new JsonParseOptions().duplicateKeyPolicy(options.duplicateKeyPolicy()).numberMode(options.numberMode())
+                : null);
     }
 
     public JsonParser(final Reader reader, final JsonParseOptions parseOptions) throws IOException {
-        this.lexer = new JsonLexer(reader);
-        this.duplicateKeyPolicy = parseOptions != null ? parseOptions.duplicateKeyPolicy() : JsonOptions.DuplicateKeyPolicy.ERROR;
-        this.numberMode = parseOptions != null ? parseOptions.numberMode() : JsonOptions.NumberMode.EXACT;
+        this(new JsonLexer(reader), parseOptions);
+    }
+
+    /**
+     * Creates a parser over an existing lexer, e.g. one created by
+     * {@link com.github.frosxt.jsonconfig.reader.lex.LexerFactory}.
+     *
+     * @param lexer        lexer positioned on the first character
+     * @param parseOptions parse options or null for defaults
+     * @throws IOException if reading the first token fails
+     */
+    public JsonParser(final AbstractJsonLexer lexer, final JsonParseOptions parseOptions) throws IOException {
+        this(lexer, parseOptions, parseOptions != null ? parseOptions.lazyDepth() : 0);
+    }
+
+    JsonParser(final AbstractJsonLexer lexer, final JsonParseOptions parseOptions, final int lazyDepth)
+            throws IOException {
+        this(lexer, parseOptions, lazyDepth, null);
+    }
+
+    /**
+     * Creates a parser that interns keys through {@code defaultSymbolTable}
+     * when the options ask for interning but set no table.
+     */
+    JsonParser(final AbstractJsonLexer lexer, final JsonParseOptions parseOptions, final int lazyDepth,
+               final SymbolTable defaultSymbolTable) throws IOException {
+        this.lexer = lexer;
+        this.handler = parseOptions != null ? parseOptions.handler() : null;
+        this.path = handler != null ? new PathStack() : null;
+        // A handler must see every value, so nothing is deferred
+        this.lazySource = lazyDepth > 0 && handler == null && lexer instanceof final Utf8JsonLexer utf8
+                ? utf8.getBuffer() : null;
+        this.lazyDepth = lazyDepth;
+
+        final JsonParseOptions options = parseOptions != null ? parseOptions : new JsonParseOptions();
+        SymbolTable symbolTable = null;
+        if (options.internKeys()) {
+            if (options.symbolTable() != null) {
+                symbolTable = options.symbolTable();
+            } else {
+                symbolTable = defaultSymbolTable != null ? defaultSymbolTable : new SymbolTable();
+            }
+        }
+        lexer.setSymbolTable(symbolTable);
+        this.stringTable = stringTable(options);
+
+        // Deferred sections are parsed later, so they must not see later changes to the options
+        this.parseOptions = lazySource != null
+                ? options.copy().symbolTable(symbolTable).stringTable(stringTable) : options;
+        this.duplicateKeyPolicy = this.parseOptions.duplicateKeyPolicy();
+        this.numberMode = this.parseOptions.numberMode();
         this.currentToken = lexer.nextToken();
     }
 
     public JsonNode parse() throws IOException {
-        final JsonNode result = parseValue();
+        final JsonNode result = handler != null ? handleRoot(parseValue()) : parseValue();
+        if (currentToken != TokenType.EOF) {
+            throw new JsonParseException("Expected EOF", lexer.getLine(), lexer.getColumn());
+        }
+        return result;
+    }
+
+    /**
+     * Parses the container a deferred section was recorded at. Its lexer may
+     * see the byte after the container, as the lexer of the first parse did,
+     * so errors report the same positions; the token there is not checked.
+     */
+    JsonNode parseDeferred() throws IOException {
+        return parseValue();
+    }
+
+    /**
+     * Parses only the parts of the document a matcher selects.
+     * <p>
+     * Members and elements off the requested paths are validated in skip mode,
+     * which creates no strings or numbers, and left out of the tree. Skipped
+     * array elements before a selected index are kept as nulls so indexes stay
+     * valid. Duplicate keys are only checked among the members that are kept.
+     * </p>
+     *
+     * @param matcher paths to load
+     * @return parsed root node holding the selected branches
+     * @throws IOException if reading fails
+     */
+    public JsonNode parse(final PathMatcher matcher) throws IOException {
+        final JsonNode result = handler != null ? handleRoot(parseProjected(matcher)) : parseProjected(matcher);
         if (currentToken != TokenType.EOF) {
             throw new JsonParseException("Expected EOF", lexer.getLine(), lexer.getColumn());
         }
         return result;
     }
 
+    /**
+     * Streams the elements of the array at a path without building the rest
+     * of the document.
+     * <p>
+     * Members and elements before the array are validated in skip mode. The
+     * elements are then parsed one at a time as the stream is consumed, so
+     * memory use is bounded by the largest element. Once the last element
+     * was returned, the rest of the document is validated and errors there
+     * are thrown by the stream.
+     * </p>
+     * <p>
+     * The first member with a matching key is streamed, so only the ERROR and
+     * FIRST_WINS duplicate key policies are supported. With ERROR, a later
+     * member with the same key as one on the path is reported like a load
+     * reports it; duplicate keys inside skipped values are not checked.
+     * </p>
+     *
+     * @param arrayPath path of the array, in the syntax accepted by {@link JsonPath#compile(String)}
+     * @return lazy stream of the elements in document order
+     * @throws IOException              if reading fails
+     * @throws JsonConfigException      if there is no array at the path
+     * @throws IllegalArgumentException if the duplicate key policy is LAST_WINS or COLLECT
+     */
+    public Stream<JsonNode> streamArray(final String arrayPath) throws IOException {
+        if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.LAST_WINS
+                || duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.COLLECT) {
+            throw new IllegalArgumentException("Streamed arrays do not support the " + duplicateKeyPolicy
+                    + " duplicate key policy");
+        }
+
+        PathMatcher matcher = PathMatcher.compile(List.of(arrayPath));
+        final List<String> segments = JsonPath.compile(arrayPath).getSegments();
+        // Whether each container entered on the way is an object, to validate its rest later
+        final boolean[] objects = new boolean[segments.size()];
+        int levels = 0;
+        while (!matcher.isComplete()) {
+            final boolean object = currentToken == TokenType.START_OBJECT;
+            if (!object && currentToken != TokenType.START_ARRAY) {
+                matcher = null;
+            } else {
+                matcher = object ? seekMember(matcher) : seekElement(matcher);
+            }
+            if (matcher == null) {
+                throw new JsonConfigException("No array at path: " + arrayPath);
+            }
+            objects[levels++] = object;
+        }
+        if (currentToken != TokenType.START_ARRAY) {
+            throw new JsonConfigException("No array at path: " + arrayPath);
+        }
+
+        consume(TokenType.START_ARRAY);
+        return StreamSupport.stream(new ElementSpliterator(objects, segments, levels), false);
+    }
+
+    /**
+     * Moves to the value of the first member on a requested path, skipping
+     * the members before it.
+     *
+     * @return matcher of the member, or null if the object has none
+     */
+    private PathMatcher seekMember(final PathMatcher matcher) throws IOException {
+        consumeBeforeKey(TokenType.START_OBJECT);
+        while (currentToken != TokenType.END_OBJECT) {
+            if (currentToken != TokenType.STRING) {
+                throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+            }
+            final String key = lexer.getTokenValue();
+            consume(TokenType.STRING);
+
+            final PathMatcher child = matcher.child(key);
+            if (child != null) {
+                consume(TokenType.COLON);
+                if (path != null) {
+                    path.push(key);
+                }
+                return child;
+            }
+            skipMember();
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consumeBeforeKey(TokenType.COMMA);
+            if (currentToken == TokenType.END_OBJECT) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+        consume(TokenType.END_OBJECT);
+        return null;
+    }
+
+    /**
+     * Moves to the element on a requested path, skipping the elements before it.
+     *
+     * @return matcher of the element, or null if the array is too short
+     */
+    private PathMatcher seekElement(final PathMatcher matcher) throws IOException {
+        consumeBefore(TokenType.START_ARRAY, matcher.child(0) == null);
+        for (int index = 0; currentToken != TokenType.END_ARRAY; index++) {
+            final PathMatcher child = matcher.child(index);
+            if (child != null) {
+                if (path != null) {
+                    path.push(index);
+                }
+                return child;
+            }
+            skipping = true;
+            try {
+                skipValue();
+            } finally {
+                skipping = false;
+            }
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consumeBefore(TokenType.COMMA, matcher.child(index + 1) == null);
+            if (currentToken == TokenType.END_ARRAY) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+        consume(TokenType.END_ARRAY);
+        return null;
+    }
+
+    /**
+     * Validates the remaining members or elements of a container the parser
+     * is inside of, and its closing bracket, in skip mode.
+     *
+     * @param key key of the member on the path, checked for a later duplicate
+     */
+    private void skipRest(final boolean object, final String key) throws IOException {
+        final TokenType end = object ? TokenType.END_OBJECT : TokenType.END_ARRAY;
+        // Keys are only decoded to find a later duplicate of the key on the path
+        final boolean checkKeys = object && duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR;
+        while (currentToken == TokenType.COMMA) {
+            skipping = !checkKeys;
+            consumeBeforeKey(TokenType.COMMA);
+            skipping = true;
+            if (currentToken == end) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+            boolean duplicate = false;
+            if (object) {
+                if (currentToken != TokenType.STRING) {
+                    throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+                }
+                duplicate = checkKeys && key.equals(lexer.getTokenValue());
+                consume(TokenType.STRING);
+                consume(TokenType.COLON);
+            }
+            skipValue();
+            if (duplicate) {
+                throw new JsonParseException("Duplicate key: " + key, lexer.getLine(), lexer.getColumn());
+            }
+        }
+        consume(end);
+    }
+
+    /**
+     * Parses the elements of a streamed array one at a time.
+     */
+    private final class ElementSpliterator extends Spliterators.AbstractSpliterator<JsonNode> {
+        private final boolean[] objects;
+        private final List<String> segments;
+        private final int levels;
+        private int index;
+        private boolean started;
+        private boolean done;
+
+        private ElementSpliterator(final boolean[] objects, final List<String> segments, final int levels) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.objects = objects;
+            this.segments = segments;
+            this.levels = levels;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super JsonNode> action) {
+            try {
+                while (!done) {
+                    // The comma is consumed late, so nothing after an element is read before it is asked for
+                    if (started) {
+                        if (currentToken == TokenType.COMMA) {
+                            consume(TokenType.COMMA);
+                            if (currentToken == TokenType.END_ARRAY) {
+                                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(),
+                                        lexer.getColumn());
+                            }
+                        } else if (currentToken != TokenType.END_ARRAY) {
+                            throw new JsonParseException("Expected " + TokenType.END_ARRAY + " but found "
+                                    + currentToken, lexer.getLine(), lexer.getColumn());
+                        }
+                    }
+                    started = true;
+
+                    if (currentToken == TokenType.END_ARRAY) {
+                        finish();
+                        return false;
+                    }
+
+                    final JsonNode element = next();
+                    if (element != null) {
+                        action.accept(element);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private JsonNode next() throws IOException {
+            if (handler == null) {
+                return parseValue();
+            }
+            path.push(index++);
+            final JsonNode element = handle(parseValue());
+            path.pop();
+            return element;
+        }
+
+        private void finish() throws IOException {
+            done = true;
+            skipping = true;
+            try {
+                consume(TokenType.END_ARRAY);
+                for (int level = levels - 1; level >= 0; level--) {
+                    skipRest(objects[level], segments.get(level));
+                }
+            } finally {
+                skipping = false;
+            }
+            if (currentToken != TokenType.EOF) {
+                throw new JsonParseException("Expected EOF", lexer.getLine(), lexer.getColumn());
+            }
+        }
+    }
+
+    /**
+     * Records the spans of the containers parsed from now on.
+     */
+    void setSourceMap(final SourceMap sourceMap) {
+        this.sourceMap = sourceMap;
+    }
+
+    /**
+     * Validates the document without building it, recording the containers
+     * down to the depth of an offset index. Deeper values are skipped, except
+     * that the keys of deeper objects are still checked for duplicates when
+     * duplicates are errors, so the file fails as it would when loaded.
+     *
+     * @param index empty index to record into, linked on return
+     * @throws IOException if reading fails
+     */
+    void index(final OffsetIndex index) throws IOException {
+        indexValue(index, -1, null, -1, 0);
+        if (currentToken != TokenType.EOF) {
+            throw new JsonParseException("Expected EOF", lexer.getLine(), lexer.getColumn());
+        }
+        index.link();
+    }
+
+    /**
+     * Records or skips a value.
+     *
+     * @return entry of the value, or -1 if it was not recorded
+     */
+    private int indexValue(final OffsetIndex index, final int parent, final String key, final int element,
+                            final int level) throws IOException {
+        final boolean object = currentToken == TokenType.START_OBJECT;
+        final boolean recorded = level <= index.getDepth();
+        if (!object && currentToken != TokenType.START_ARRAY
+                || !recorded && duplicateKeyPolicy != JsonOptions.DuplicateKeyPolicy.ERROR) {
+            skipping = true;
+            try {
+                skipValue();
+            } finally {
+                skipping = false;
+            }
+            return -1;
+        }
+
+        final int entry = recorded ? index.open(parent, key, element, object, lexer.getTokenStart(),
+                lexer.getTokenLine(), lexer.getTokenColumn()) : -1;
+        if (object) {
+            indexObject(index, entry, level);
+        } else {
+            indexArray(index, entry, level);
+        }
+        if (recorded) {
+            index.close(entry, lexer.getTokenStart() + 1);
+        }
+        consumeBefore(currentToken, true);
+        return entry;
+    }
+
+    /**
+     * Records the members of an object, leaving the closing brace current.
+     */
+    private void indexObject(final OffsetIndex index, final int entry, final int level) throws IOException {
+        consumeBeforeKey(TokenType.START_OBJECT);
+        // Entry recorded for each key, to unlink it when a duplicate replaces it
+        final Map<String, Integer> members = new HashMap<>();
+
+        while (currentToken != TokenType.END_OBJECT) {
+            if (currentToken != TokenType.STRING) {
+                throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+            }
+            final String key = lexer.getTokenValue();
+            final int line = lexer.getTokenLine();
+            final int column = lexer.getTokenColumn();
+            consume(TokenType.STRING);
+
+            final Integer previous = members.get(key);
+            if (previous == null) {
+                consumeBefore(TokenType.COLON, true);
+                members.put(key, indexValue(index, entry, key, -1, level + 1));
+            } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+                throw new JsonParseException("Duplicate key: " + key, line, column);
+            } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.FIRST_WINS) {
+                skipMember();
+            } else {
+                if (previous >= 0) {
+                    index.unlink(previous);
+                }
+                if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.LAST_WINS) {
+                    consumeBefore(TokenType.COLON, true);
+                    members.put(key, indexValue(index, entry, key, -1, level + 1));
+                } else {
+                    // Collected values become a new array, so lookups parse the object instead
+                    members.put(key, -1);
+                    skipMember();
+                }
+            }
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consumeBeforeKey(TokenType.COMMA);
+            if (currentToken == TokenType.END_OBJECT) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+
+        if (currentToken != TokenType.END_OBJECT) {
+            throw new JsonParseException("Expected " + TokenType.END_OBJECT + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    /**
+     * Records the elements of an array, leaving the closing bracket current.
+     */
+    private void indexArray(final OffsetIndex index, final int entry, final int level) throws IOException {
+        consumeBefore(TokenType.START_ARRAY, true);
+
+        for (int element = 0; currentToken != TokenType.END_ARRAY; element++) {
+            indexValue(index, entry, null, element, level + 1);
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consumeBefore(TokenType.COMMA, true);
+            if (currentToken == TokenType.END_ARRAY) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+
+        if (currentToken != TokenType.END_ARRAY) {
+            throw new JsonParseException("Expected " + TokenType.END_ARRAY + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    /**
+     * Writes the document to a tape instead of building nodes.
+     *
+     * @param tape empty tape to append to
+     * @throws IOException if reading fails
+     */
+    void tape(final JsonTape.Builder tape) throws IOException {
+        tapeValue(tape);
+        if (currentToken != TokenType.EOF) {
+            throw new JsonParseException("Expected EOF", lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    private void tapeValue(final JsonTape.Builder tape) throws IOException {
+        switch (currentToken) {
+            case START_OBJECT:
+                tapeObject(tape);
+                break;
+            case START_ARRAY:
+                tapeArray(tape);
+                break;
+            case STRING:
+                tape.string(lexer.getTokenValue());
+                consume(TokenType.STRING);
+                break;
+            case NUMBER:
+                tapeNumber(tape);
+                consume(TokenType.NUMBER);
+                break;
+            case TRUE:
+                tape.literal(JsonTape.TRUE);
+                consume(TokenType.TRUE);
+                break;
+            case FALSE:
+                tape.literal(JsonTape.FALSE);
+                consume(TokenType.FALSE);
+                break;
+            case NULL:
+                tape.literal(JsonTape.NULL);
+                consume(TokenType.NULL);
+                break;
+            default:
+                throw new JsonParseException("Unexpected token: " + currentToken, lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    private void tapeObject(final JsonTape.Builder tape) throws IOException {
+        final int container = tape.open(JsonTape.OBJECT);
+        consumeBeforeKey(TokenType.START_OBJECT);
+        // Tape index of each key, to move its value when a duplicate replaces it
+        final Map<String, Integer> members = new HashMap<>();
+
+        while (currentToken != TokenType.END_OBJECT) {
+            if (currentToken != TokenType.STRING) {
+                throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+            }
+            final String key = lexer.getTokenValue();
+            consume(TokenType.STRING);
+
+            final Integer previous = members.get(key);
+            consume(TokenType.COLON);
+            final int member = tape.key(key);
+            tapeValue(tape);
+            if (previous == null) {
+                members.put(key, member);
+            } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+                // Reported after the value, where a parse reports it
+                throw new JsonParseException("Duplicate key: " + key, lexer.getLine(), lexer.getColumn());
+            } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.FIRST_WINS) {
+                // Read like a parse reads a dropped value, so an invalid number still fails the load
+                tape.hide(member);
+            } else {
+                tape.replace(previous, member);
+            }
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consumeBeforeKey(TokenType.COMMA);
+            if (currentToken == TokenType.END_OBJECT) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+
+        if (currentToken != TokenType.END_OBJECT) {
+            throw new JsonParseException("Expected " + TokenType.END_OBJECT + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+        tape.close(container, members.size());
+        consume(TokenType.END_OBJECT);
+    }
+
+    private void tapeArray(final JsonTape.Builder tape) throws IOException {
+        final int container = tape.open(JsonTape.ARRAY);
+        consume(TokenType.START_ARRAY);
+
+        int count = 0;
+        while (currentToken != TokenType.END_ARRAY) {
+            tapeValue(tape);
+            count++;
+
+            if (currentToken != TokenType.COMMA) {
+                break;
+            }
+            consume(TokenType.COMMA);
+            if (currentToken == TokenType.END_ARRAY) {
+                throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+            }
+        }
+
+        if (currentToken != TokenType.END_ARRAY) {
+            throw new JsonParseException("Expected " + TokenType.END_ARRAY + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+        tape.close(container, count);
+        consume(TokenType.END_ARRAY);
+    }
+
+    /**
+     * Appends the number token the lexer was just advanced past, as the kind
+     * of number {@link #toNumber} would create.
+     */
+    private void tapeNumber(final JsonTape.Builder tape) {
+        if (numberMode == JsonOptions.NumberMode.EXACT) {
+            if (lexer.isLongToken()) {
+                tape.number(JsonTape.EXACT_LONG, lexer.getTokenLong());
+            } else if (lexer.isIntegralToken()) {
+                tape.bigInteger(lexer.getTokenValue());
+            } else {
+                tape.bigDecimal(decimalText(lexer.getTokenValue()), lexer.getTokenDouble());
+            }
+            return;
+        }
+        if (numberMode == JsonOptions.NumberMode.LONG_OR_DOUBLE) {
+            if (lexer.isLongToken()) {
+                tape.number(JsonTape.LONG, lexer.getTokenLong());
+                return;
+            }
+            if (lexer.isIntegralToken()) {
+                tape.bigInteger(lexer.getTokenValue());
+                return;
+            }
+        }
+
+        final double value = lexer.getTokenDouble();
+        if (Double.isFinite(value)) {
+            tape.number(JsonTape.DOUBLE, Double.doubleToRawLongBits(value));
+        } else if (lexer.isIntegralToken()) {
+            tape.bigInteger(lexer.getTokenValue());
+        } else {
+            tape.bigDecimal(decimalText(lexer.getTokenValue()), value);
+        }
+    }
+
+    /**
+     * Checks the text of a decimal kept on a tape, so an invalid number fails
+     * the load as {@link #exactNumber(String)} fails a parse, and not when it
+     * is read.
+     */
+    private static String decimalText(final String value) {
+        try {
+            new BigDecimal(value);
+        } catch (final NumberFormatException e) {
+            throw new JsonConfigException("Invalid number: " + value, e);
+        }
+        return value;
+    }
+
+    /**
+     * Parses the value of an object member, leaving the token that follows it
+     * current. Used with {@link #expectMemberEnd()} when members are parsed
+     * separately from their object.
+     */
+    JsonNode parseMemberValue() throws IOException {
+        return parseValue();
+    }
+
+    /**
+     * Checks that the token following a member value is a comma or the end of
+     * the object, failing the same way {@link #parse()} does.
+     */
+    void expectMemberEnd() throws IOException {
+        if (currentToken != TokenType.COMMA && currentToken != TokenType.END_OBJECT) {
+            throw new JsonParseException("Expected " + TokenType.END_OBJECT + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+    }
+
     private JsonNode parseValue() throws IOException {
         switch (currentToken) {
             case START_OBJECT:
-                return parseObject();
+                return isDeferred() ? deferObject() : parseObject();
             case START_ARRAY:
-                return parseArray();
+                return isDeferred() ? deferArray() : parseArray();
             case STRING:
-                final JsonString string = new JsonString(lexer.getTokenValue());
+                final JsonString string = toString(lexer, stringTable);
                 consume(TokenType.STRING);
                 return string;
             case NUMBER:
-                final JsonNumber number = parseNumber(lexer.getTokenValue());
+                final JsonNumber number = parseNumber();
                 consume(TokenType.NUMBER);
                 return number;
             case TRUE:
@@ -77,7 +745,9 @@ public class JsonParser {
 
     private JsonObject parseObject() throws IOException {
         final JsonObject object = new JsonObject();
-        consume(TokenType.START_OBJECT);
+        final int entry = sourceMap != null ? sourceMap.open(lexer.getTokenStart(), object) : -1;
+        consumeBeforeKey(TokenType.START_OBJECT);
+        depth++;
 
         while (currentToken != TokenType.END_OBJECT) {
             if (currentToken != TokenType.STRING) {
@@ -86,18 +756,85 @@ public class JsonParser {
             final String key = lexer.getTokenValue();
             consume(TokenType.STRING);
 
-            consume(TokenType.COLON);
+            if (handler != null) {
+                final String name = handler.onKey(path, key);
+                if (name == null) {
+                    skipMember();
+                } else {
+                    consume(TokenType.COLON);
+                    path.push(name);
+                    addMember(object, name, handle(parseValue()));
+                    path.pop();
+                }
+            } else {
+                consume(TokenType.COLON);
 
-            final JsonNode value = parseValue();
+                final JsonNode value = parseValue();
 
-            if (object.has(key)) {
-                handleDuplicateKey(object, key, value);
+                if (object.has(key)) {
+                    handleDuplicateKey(object, key, value);
+                } else {
+                    object.add(key, value);
+                }
+            }
+
+            if (currentToken == TokenType.COMMA) {
+                consumeBeforeKey(TokenType.COMMA);
+                if (currentToken == TokenType.END_OBJECT) {
+                    throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+                }
             } else {
-                object.add(key, value);
+                break;
+            }
+        }
+
+        depth--;
+        if (sourceMap != null) {
+            sourceMap.close(entry, lexer.getTokenStart() + 1);
+        }
+        consume(TokenType.END_OBJECT);
+        return object;
+    }
+
+    private JsonNode parseProjected(final PathMatcher matcher) throws IOException {
+        if (matcher.isComplete()) {
+            return parseValue();
+        }
+        return switch (currentToken) {
+            case START_OBJECT -> projectObject(matcher);
+            case START_ARRAY -> projectArray(matcher);
+            default -> parseValue();
+        };
+    }
+
+    private JsonObject projectObject(final PathMatcher matcher) throws IOException {
+        final JsonObject object = new JsonObject();
+        consumeBeforeKey(TokenType.START_OBJECT);
+        depth++;
+
+        while (currentToken != TokenType.END_OBJECT) {
+            if (currentToken != TokenType.STRING) {
+                throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+            }
+            final String key = lexer.getTokenValue();
+            consume(TokenType.STRING);
+
+            final PathMatcher child = matcher.child(key);
+            final String name = child != null && handler != null ? handler.onKey(path, key) : key;
+            if (child == null || name == null) {
+                skipMember();
+            } else if (handler != null) {
+                consume(TokenType.COLON);
+                path.push(name);
+                addMember(object, name, handle(parseProjected(child)));
+                path.pop();
+            } else {
+                consume(TokenType.COLON);
+                addMember(object, key, parseProjected(child));
             }
 
             if (currentToken == TokenType.COMMA) {
-                consume(TokenType.COMMA);
+                consumeBeforeKey(TokenType.COMMA);
                 if (currentToken == TokenType.END_OBJECT) {
                     throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
                 }
@@ -106,19 +843,115 @@ public class JsonParser {
             }
         }
 
+        depth--;
         consume(TokenType.END_OBJECT);
         return object;
     }
 
+    private JsonArray projectArray(final PathMatcher matcher) throws IOException {
+        final JsonArray array = new JsonArray();
+        int index = 0;
+        // An element that will be skipped is read in skip mode from its first token
+        consumeBefore(TokenType.START_ARRAY, matcher.child(index) == null);
+        depth++;
+
+        while (currentToken != TokenType.END_ARRAY) {
+            final PathMatcher child = matcher.child(index);
+            if (child == null) {
+                skipping = true;
+                try {
+                    skipValue();
+                } finally {
+                    skipping = false;
+                }
+                if (index < matcher.getLastIndex()) {
+                    array.add(JsonNull.INSTANCE);
+                }
+            } else if (handler != null) {
+                path.push(array.size());
+                final JsonNode value = handle(parseProjected(child));
+                path.pop();
+                if (value != null) {
+                    array.add(value);
+                }
+            } else {
+                array.add(parseProjected(child));
+            }
+            index++;
+
+            if (currentToken == TokenType.COMMA) {
+                consumeBefore(TokenType.COMMA, matcher.child(index) == null);
+                if (currentToken == TokenType.END_ARRAY) {
+                    throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+                }
+            } else {
+                break;
+            }
+        }
+
+        depth--;
+        consume(TokenType.END_ARRAY);
+        return array;
+    }
+
+    /**
+     * Skips the colon and value of a member that is not kept.
+     */
+    private void skipMember() throws IOException {
+        skipping = true;
+        try {
+            consume(TokenType.COLON);
+            skipValue();
+        } finally {
+            skipping = false;
+        }
+    }
+
+    private void addMember(final JsonObject object, final String key, final JsonNode value) {
+        if (value == null) {
+            return;
+        }
+        if (object.has(key)) {
+            handleDuplicateKey(object, key, value);
+        } else {
+            object.add(key, value);
+        }
+    }
+
+    private JsonNode handle(final JsonNode value) {
+        return value instanceof final JsonObject object ? handler.onEndObject(path, object) : handler.onValue(path, value);
+    }
+
+    private JsonNode handleRoot(final JsonNode value) {
+        final JsonNode result = handle(value);
+        return result != null ? result : JsonNull.INSTANCE;
+    }
+
+    private void consumeBefore(final TokenType expected, final boolean skip) throws IOException {
+        skipping = skip;
+        try {
+            consume(expected);
+        } finally {
+            skipping = false;
+        }
+    }
+
     private void handleDuplicateKey(final JsonObject object, final String key, final JsonNode newValue) {
-        switch (duplicateKeyPolicy) {
-            case ERROR:
-                throw new JsonParseException("Duplicate key: " + key, lexer.getLine(), lexer.getColumn());
+        if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+            throw new JsonParseException("Duplicate key: " + key, lexer.getLine(), lexer.getColumn());
+        }
+        mergeDuplicate(object, key, newValue, duplicateKeyPolicy);
+    }
+
+    /**
+     * Applies a non-failing duplicate key policy.
+     */
+    static void mergeDuplicate(final JsonObject object, final String key, final JsonNode newValue,
+                               final JsonOptions.DuplicateKeyPolicy policy) {
+        switch (policy) {
             case LAST_WINS:
                 object.add(key, newValue);
                 break;
-            case FIRST_WINS:
-                break;
             case COLLECT:
                 final JsonNode existing = object.get(key);
                 final JsonArray array;
@@ -133,16 +966,29 @@ public class JsonParser {
 
                 array.add(newValue);
                 break;
+            case FIRST_WINS:
+            default:
+                break;
         }
     }
 
     private JsonArray parseArray() throws IOException {
         final JsonArray array = new JsonArray();
+        final int entry = sourceMap != null ? sourceMap.open(lexer.getTokenStart(), array) : -1;
         consume(TokenType.START_ARRAY);
+        depth++;
 
         while (currentToken != TokenType.END_ARRAY) {
-            final JsonNode value = parseValue();
-            array.add(value);
+            if (handler != null) {
+                path.push(array.size());
+                final JsonNode value = handle(parseValue());
+                path.pop();
+                if (value != null) {
+                    array.add(value);
+                }
+            } else {
+                array.add(parseValue());
+            }
 
             if (currentToken == TokenType.COMMA) {
                 consume(TokenType.COMMA);
@@ -154,29 +1000,207 @@ public class JsonParser {
             }
         }
 
+        depth--;
+        if (sourceMap != null) {
+            sourceMap.close(entry, lexer.getTokenStart() + 1);
+        }
         consume(TokenType.END_ARRAY);
         return array;
     }
 
-    private JsonNumber parseNumber(final String value) {
-        if (numberMode == JsonOptions.NumberMode.FAST_DOUBLE) {
-            return new JsonNumber(Double.parseDouble(value));
-        } else {
-            try {
-                if (value.indexOf('.') == -1 && value.indexOf('e') == -1 && value.indexOf('E') == -1) {
-                    return new JsonNumber(new BigInteger(value));
-                } else {
-                    return new JsonNumber(new BigDecimal(value));
+    private boolean isDeferred() {
+        return lazySource != null && depth >= lazyDepth;
+    }
+
+    private JsonObject deferObject() throws IOException {
+        final int start = lexer.getTokenStart();
+        final int line = lexer.getTokenLine();
+        final int column = lexer.getTokenColumn();
+
+        skipping = true;
+        try {
+            skipObject();
+        } finally {
+            skipping = false;
+        }
+
+        final int end = lexer.getTokenStart() + 1;
+        consume(TokenType.END_OBJECT);
+        return new JsonObject(new DeferredSlice<>(lazySource, start, end, line, column, parseOptions, JsonObject.class));
+    }
+
+    private JsonArray deferArray() throws IOException {
+        final int start = lexer.getTokenStart();
+        final int line = lexer.getTokenLine();
+        final int column = lexer.getTokenColumn();
+
+        skipping = true;
+        try {
+            skipArray();
+        } finally {
+            skipping = false;
+        }
+
+        final int end = lexer.getTokenStart() + 1;
+        consume(TokenType.END_ARRAY);
+        return new JsonArray(new DeferredSlice<>(lazySource, start, end, line, column, parseOptions, JsonArray.class));
+    }
+
+    /**
+     * Validates an object without building it, leaving the closing brace as the
+     * current token.
+     */
+    private void skipObject() throws IOException {
+        consume(TokenType.START_OBJECT);
+
+        while (currentToken != TokenType.END_OBJECT) {
+            if (currentToken != TokenType.STRING) {
+                throw new JsonParseException("Expected string key", lexer.getLine(), lexer.getColumn());
+            }
+            consume(TokenType.STRING);
+            consume(TokenType.COLON);
+            skipValue();
+
+            if (currentToken == TokenType.COMMA) {
+                consumeBeforeKey(TokenType.COMMA);
+                if (currentToken == TokenType.END_OBJECT) {
+                    throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
+                }
+            } else {
+                break;
+            }
+        }
+
+        if (currentToken != TokenType.END_OBJECT) {
+            throw new JsonParseException("Expected " + TokenType.END_OBJECT + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    /**
+     * Validates an array without building it, leaving the closing bracket as
+     * the current token.
+     */
+    private void skipArray() throws IOException {
+        consume(TokenType.START_ARRAY);
+
+        while (currentToken != TokenType.END_ARRAY) {
+            skipValue();
+
+            if (currentToken == TokenType.COMMA) {
+                consume(TokenType.COMMA);
+                if (currentToken == TokenType.END_ARRAY) {
+                    throw new JsonParseException("Trailing comma not allowed", lexer.getLine(), lexer.getColumn());
                 }
-            } catch (final NumberFormatException e) {
-                throw new JsonConfigException("Invalid number: " + value, e);
+            } else {
+                break;
+            }
+        }
+
+        if (currentToken != TokenType.END_ARRAY) {
+            throw new JsonParseException("Expected " + TokenType.END_ARRAY + " but found " + currentToken,
+                    lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    private void skipValue() throws IOException {
+        switch (currentToken) {
+            case START_OBJECT:
+                skipObject();
+                consume(TokenType.END_OBJECT);
+                break;
+            case START_ARRAY:
+                skipArray();
+                consume(TokenType.END_ARRAY);
+                break;
+            case STRING:
+            case NUMBER:
+            case TRUE:
+            case FALSE:
+            case NULL:
+                consume(currentToken);
+                break;
+            default:
+                throw new JsonParseException("Unexpected token: " + currentToken, lexer.getLine(), lexer.getColumn());
+        }
+    }
+
+    private JsonNumber parseNumber() {
+        return toNumber(lexer, numberMode);
+    }
+
+    /**
+     * Gets the table string values are interned through, or null if the
+     * options do not ask for interning.
+     */
+    static JsonStringTable stringTable(final JsonParseOptions options) {
+        if (!options.internStrings()) {
+            return null;
+        }
+        return options.stringTable() != null ? options.stringTable() : new JsonStringTable();
+    }
+
+    /**
+     * Converts the string token the lexer was just advanced past.
+     */
+    static JsonString toString(final AbstractJsonLexer lexer, final JsonStringTable stringTable) {
+        final String value = lexer.getTokenValue();
+        return stringTable != null ? stringTable.intern(value) : new JsonString(value);
+    }
+
+    /**
+     * Converts the number token the lexer was just advanced past.
+     */
+    static JsonNumber toNumber(final AbstractJsonLexer lexer, final JsonOptions.NumberMode numberMode) {
+        if (numberMode == JsonOptions.NumberMode.EXACT) {
+            return lexer.isLongToken() ? JsonNumber.exact(lexer.getTokenLong()) : exactNumber(lexer.getTokenValue());
+        }
+        if (numberMode == JsonOptions.NumberMode.LONG_OR_DOUBLE) {
+            if (lexer.isLongToken()) {
+                return JsonNumber.of(lexer.getTokenLong());
+            }
+            if (lexer.isIntegralToken()) {
+                return new JsonNumber(new BigInteger(lexer.getTokenValue()));
             }
         }
+
+        final double value = lexer.getTokenDouble();
+        // Out of double range, keep the exact value instead of an infinity
+        return Double.isFinite(value) ? JsonNumber.of(value) : exactNumber(lexer.getTokenValue());
+    }
+
+    private static JsonNumber exactNumber(final String value) {
+        try {
+            if (isIntegral(value)) {
+                return new JsonNumber(new BigInteger(value));
+            } else {
+                return new JsonNumber(new BigDecimal(value));
+            }
+        } catch (final NumberFormatException e) {
+            throw new JsonConfigException("Invalid number: " + value, e);
+        }
+    }
+
+    private static boolean isIntegral(final String value) {
+        return value.indexOf('.') == -1 && value.indexOf('e') == -1 && value.indexOf('E') == -1;
     }
 
     private void consume(final TokenType expected) throws IOException {
         if (currentToken == expected) {
-            currentToken = lexer.nextToken();
+            currentToken = skipping ? lexer.skipToken() : lexer.nextToken();
+        } else {
+            throw new JsonParseException("Expected " + expected + " but found " + currentToken, lexer.getLine(),
+                    lexer.getColumn());
+        }
+    }
+
+    /**
+     * Consumes a token that is followed by an object key, so a following string
+     * is read through the symbol table.
+     */
+    private void consumeBeforeKey(final TokenType expected) throws IOException {
+        if (currentToken == expected) {
+            currentToken = skipping ? lexer.skipToken() : lexer.nextKey();
         } else {
             throw new JsonParseException("Expected " + expected + " but found " + currentToken, lexer.getLine(),
                     lexer.getColumn());
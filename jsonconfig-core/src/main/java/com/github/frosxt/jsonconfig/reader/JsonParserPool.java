@@ -0,0 +1,107 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of lexers and symbol tables for parsing many small documents.
+ * <p>
+ * Every parse borrows a lexer with its character buffers and a symbol table,
+ * and hands them back when done, so steady-state parses only allocate the
+ * resulting tree. The pool is lock-free and not bound to threads, which makes
+ * it usable from virtual threads. When all pooled lexers are in use a new one
+ * is created, and lexers returned to a full pool are dropped.
+ * </p>
+ * <p>
+ * Keys are interned through the borrowed table unless the options set their
+ * own table or disable interning, so documents parsed through one pool share
+ * their key strings.
+ * </p>
+ */
+public final class JsonParserPool {
+    private static final JsonParserPool SHARED = new JsonParserPool();
+
+    private final AtomicReferenceArray<Context> contexts;
+
+    /**
+     * Creates a pool keeping two lexers per available processor.
+     */
+    public JsonParserPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a pool keeping at most the given number of idle lexers.
+     *
+     * @param size maximum number of pooled lexers
+     */
+    public JsonParserPool(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.contexts = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Gets the pool used by {@link com.github.frosxt.jsonconfig.api.JsonConfigurations#load(Reader)}.
+     *
+     * @return shared pool
+     */
+    public static JsonParserPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Parses the content of a reader with a pooled lexer.
+     *
+     * @param reader       input
+     * @param parseOptions parse options or null for defaults
+     * @return parsed root node
+     * @throws IOException if reading fails
+     */
+    public JsonNode parse(final Reader reader, final JsonParseOptions parseOptions) throws IOException {
+        final Context context = acquire();
+        try {
+            context.lexer.reset(reader);
+            return new JsonParser(context.lexer, parseOptions, 0, context.symbolTable).parse();
+        } finally {
+            context.lexer.reset(null);
+            release(context);
+        }
+    }
+
+    private Context acquire() throws IOException {
+        for (int i = 0; i < contexts.length(); i++) {
+            final Context context = contexts.getAndSet(i, null);
+            if (context != null) {
+                return context;
+            }
+        }
+        return new Context();
+    }
+
+    private void release(final Context context) {
+        for (int i = 0; i < contexts.length(); i++) {
+            if (contexts.get(i) == null && contexts.compareAndSet(i, null, context)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A lexer and the symbol table used with it.
+     */
+    private static final class Context {
+        private final JsonLexer lexer = new JsonLexer(null);
+        private final SymbolTable symbolTable = new SymbolTable();
+
+        private Context() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.LexerFactory;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A parsed document stored as a flat array of tokens instead of nodes.
+ * <p>
+ * Every value is one or two {@code long} words on the tape: the top byte holds
+ * its type and the rest a payload. Objects and arrays start with a word
+ * pointing past their end and holding their size, so a value is skipped in one
+ * step; object members are a key word followed by the value. Strings and keys,
+ * and numbers that need their text to stay exact, are stored in a separate
+ * character buffer, where repeated keys and strings share their text. Objects
+ * with many members also get a hash table of their members in an int array.
+ * A whole document is therefore a handful of arrays, however many values it
+ * holds, and the garbage collector never has to trace it.
+ * </p>
+ * <p>
+ * Values are addressed by their index on the tape, starting with the root at
+ * {@link #root()}. The accessors read values straight from the tape; only
+ * {@link #node(int)} creates nodes. A tape is immutable and can be read from
+ * several threads.
+ * </p>
+ */
+public final class JsonTape {
+    static final byte OBJECT = 1;
+    static final byte ARRAY = 2;
+    static final byte END = 3;
+    static final byte KEY = 4;
+    /**
+     * Key of a member replaced by a later duplicate. The member keeps its
+     * position, and its payload is the index of the member holding the value.
+     */
+    static final byte MOVED_KEY = 5;
+    static final byte STRING = 6;
+    static final byte LONG = 7;
+    static final byte EXACT_LONG = 8;
+    static final byte DOUBLE = 9;
+    static final byte BIG_INTEGER = 10;
+    static final byte BIG_DECIMAL = 11;
+    static final byte TRUE = 12;
+    static final byte FALSE = 13;
+    static final byte NULL = 14;
+    /** Key of a member that replaced an earlier one or was dropped; skipped in iteration. */
+    static final byte HIDDEN_KEY = 15;
+
+    private static final int TYPE_SHIFT = 56;
+    private static final long PAYLOAD_MASK = (1L << TYPE_SHIFT) - 1;
+    private static final int SIZE_SHIFT = 32;
+    /** Largest size stored in a container word; larger containers are counted. */
+    private static final int MAX_STORED_SIZE = (1 << (TYPE_SHIFT - SIZE_SHIFT)) - 1;
+    /** Objects with more members than this are found through a hash table. */
+    private static final int HASHED_SIZE = 8;
+
+    private final long[] tape;
+    private final char[] text;
+    // Sorted indexes of hashed objects, and where each one's table starts
+    private final int[] hashed;
+    private final int[] tableStarts;
+    // Each table is its capacity followed by slots holding a member index + 1
+    private final int[] tables;
+
+    private JsonTape(final long[] tape, final char[] text, final int[] hashed) {
+        this.tape = tape;
+        this.text = text;
+        this.hashed = hashed;
+        this.tableStarts = new int[hashed.length];
+
+        int length = 0;
+        for (final int object : hashed) {
+            length += 1 + capacity(size(object));
+        }
+        this.tables = new int[length];
+
+        int start = 0;
+        for (int i = 0; i < hashed.length; i++) {
+            tableStarts[i] = start;
+            start = fillTable(hashed[i], start);
+        }
+    }
+
+    private static int capacity(final int size) {
+        return Integer.highestOneBit(size - 1) << 2;
+    }
+
+    private static int slot(final int hash, final int mask) {
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private int fillTable(final int object, final int start) {
+        final int capacity = capacity(size(object));
+        final int mask = capacity - 1;
+        tables[start] = capacity;
+        for (int member = first(object); member >= 0; member = next(object, member)) {
+            int slot = slot(keyHash(payload(resolve(member))), mask);
+            while (tables[start + 1 + slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            tables[start + 1 + slot] = member + 1;
+        }
+        return start + 1 + capacity;
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer into a tape. The buffer's
+     * position is not modified, and the tape does not refer to it.
+     * <p>
+     * Numbers are stored as the number mode of the options would parse them,
+     * and duplicate keys follow their policy. Lazy depth, handlers and string
+     * interning do not apply to tapes.
+     * </p>
+     *
+     * @param buffer       encoded json
+     * @param parseOptions parse options or null for defaults
+     * @return parsed tape
+     * @throws IOException              if the input cannot be decoded or parsed
+     * @throws IllegalArgumentException if the options collect duplicate keys
+     */
+    public static JsonTape parse(final ByteBuffer buffer, final JsonParseOptions parseOptions) throws IOException {
+        final JsonParseOptions options = (parseOptions != null ? parseOptions.copy() : new JsonParseOptions())
+                .handler(null);
+        if (options.duplicateKeyPolicy() == JsonOptions.DuplicateKeyPolicy.COLLECT) {
+            throw new IllegalArgumentException("Tapes do not support the COLLECT duplicate key policy");
+        }
+
+        final Builder builder = new Builder(Math.max(16, buffer.remaining() >> 2));
+        new JsonParser(LexerFactory.create(buffer), options, 0).tape(builder);
+        return builder.build();
+    }
+
+    /**
+     * Gets the index of the root value.
+     *
+     * @return root index
+     */
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of words on the tape.
+     *
+     * @return tape length
+     */
+    public int length() {
+        return tape.length;
+    }
+
+    private byte type(final int index) {
+        return (byte) (tape[index] >>> TYPE_SHIFT);
+    }
+
+    private int payload(final int index) {
+        return (int) (tape[index] & PAYLOAD_MASK);
+    }
+
+    public boolean isObject(final int index) {
+        return type(index) == OBJECT;
+    }
+
+    public boolean isArray(final int index) {
+        return type(index) == ARRAY;
+    }
+
+    public boolean isString(final int index) {
+        return type(index) == STRING;
+    }
+
+    public boolean isNumber(final int index) {
+        final byte type = type(index);
+        return type >= LONG && type <= BIG_DECIMAL;
+    }
+
+    public boolean isBoolean(final int index) {
+        final byte type = type(index);
+        return type == TRUE || type == FALSE;
+    }
+
+    public boolean isNull(final int index) {
+        return type(index) == NULL;
+    }
+
+    /**
+     * Gets the index following a value and everything inside it.
+     */
+    private int skip(final int index) {
+        return switch (type(index)) {
+            case OBJECT, ARRAY -> payload(index);
+            case LONG, EXACT_LONG, DOUBLE, BIG_DECIMAL -> index + 2;
+            default -> index + 1;
+        };
+    }
+
+    /**
+     * Gets the number of members of an object or elements of an array.
+     *
+     * @param container index of an object or array
+     * @return size
+     */
+    public int size(final int container) {
+        final int stored = (int) ((tape[container] & PAYLOAD_MASK) >>> SIZE_SHIFT);
+        if (stored < MAX_STORED_SIZE) {
+            return stored;
+        }
+        int size = 0;
+        for (int child = first(container); child >= 0; child = next(container, child)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Gets the first member of an object or element of an array.
+     *
+     * @param container index of an object or array
+     * @return index of the member's key or the element, or -1 if it is empty
+     */
+    public int first(final int container) {
+        return live(container, container + 1);
+    }
+
+    /**
+     * Gets the member or element following another in the same container.
+     *
+     * @param container index of an object or array
+     * @param child     index returned by {@link #first(int)} or this method
+     * @return index of the next member's key or element, or -1 if there is none
+     */
+    public int next(final int container, final int child) {
+        final boolean member = type(container) == OBJECT;
+        return live(container, member ? skip(child + 1) : skip(child));
+    }
+
+    private int live(final int container, final int from) {
+        final int end = payload(container) - 1;
+        int index = from;
+        while (index < end && type(index) == HIDDEN_KEY) {
+            index = skip(index + 1);
+        }
+        return index < end ? index : -1;
+    }
+
+    /**
+     * Gets the key of an object member.
+     *
+     * @param member index of the member
+     * @return key
+     */
+    public String key(final int member) {
+        return text(payload(resolve(member)));
+    }
+
+    /**
+     * Gets the value of an object member.
+     *
+     * @param member index of the member
+     * @return index of the value
+     */
+    public int value(final int member) {
+        return resolve(member) + 1;
+    }
+
+    /**
+     * Gets the member holding the key and value of a member that may have
+     * been replaced by a duplicate.
+     */
+    private int resolve(final int member) {
+        return type(member) == MOVED_KEY ? payload(member) : member;
+    }
+
+    /**
+     * Finds a member of an object by key or an element of an array by index.
+     * With duplicate keys, the member kept by the duplicate key policy is found.
+     *
+     * @param container index of any value
+     * @param segment   key, or decimal index for arrays
+     * @return index of the value, or -1 if there is none
+     */
+    public int find(final int container, final String segment) {
+        final byte type = type(container);
+        if (type == OBJECT) {
+            final int table = Arrays.binarySearch(hashed, container);
+            if (table >= 0) {
+                return findHashed(tableStarts[table], segment);
+            }
+            for (int member = first(container); member >= 0; member = next(container, member)) {
+                final int holder = resolve(member);
+                if (keyEquals(payload(holder), segment)) {
+                    return holder + 1;
+                }
+            }
+        } else if (type == ARRAY) {
+            final int element;
+            try {
+                element = Integer.parseInt(segment);
+            } catch (final NumberFormatException e) {
+                return -1;
+            }
+            int child = element >= 0 ? first(container) : -1;
+            for (int i = 0; i < element && child >= 0; i++) {
+                child = next(container, child);
+            }
+            return child;
+        }
+        return -1;
+    }
+
+    private int findHashed(final int start, final String segment) {
+        final int mask = tables[start] - 1;
+        int slot = slot(segment.hashCode(), mask);
+        int member;
+        while ((member = tables[start + 1 + slot] - 1) >= 0) {
+            final int holder = resolve(member);
+            if (keyEquals(payload(holder), segment)) {
+                return holder + 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Hashes stored text the way {@link String#hashCode()} hashes the string.
+     */
+    private int keyHash(final int offset) {
+        final int end = offset + 2 + length(offset);
+        int hash = 0;
+        for (int i = offset + 2; i < end; i++) {
+            hash = 31 * hash + text[i];
+        }
+        return hash;
+    }
+
+    private boolean keyEquals(final int offset, final String key) {
+        final int length = length(offset);
+        if (length != key.length()) {
+            return false;
+        }
+        final int start = offset + 2;
+        for (int i = 0; i < length; i++) {
+            if (text[start + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String stringValue(final int index) {
+        return text(payload(index));
+    }
+
+    public boolean booleanValue(final int index) {
+        return type(index) == TRUE;
+    }
+
+    /**
+     * Gets a number as an int, converting it the way
+     * {@link JsonNumber#intValue()} does.
+     */
+    public int intValue(final int index) {
+        return switch (type(index)) {
+            case LONG, EXACT_LONG -> (int) tape[index + 1];
+            case DOUBLE -> (int) Double.longBitsToDouble(tape[index + 1]);
+            default -> number(index).intValue();
+        };
+    }
+
+    /**
+     * Gets a number as a long, converting it the way
+     * {@link JsonNumber#longValue()} does.
+     */
+    public long longValue(final int index) {
+        return switch (type(index)) {
+            case LONG, EXACT_LONG -> tape[index + 1];
+            case DOUBLE -> (long) Double.longBitsToDouble(tape[index + 1]);
+            default -> number(index).longValue();
+        };
+    }
+
+    /**
+     * Gets a number as a double, converting it the way
+     * {@link JsonNumber#doubleValue()} does.
+     */
+    public double doubleValue(final int index) {
+        return switch (type(index)) {
+            case LONG, EXACT_LONG -> tape[index + 1];
+            case DOUBLE, BIG_DECIMAL -> Double.longBitsToDouble(tape[index + 1]);
+            default -> number(index).doubleValue();
+        };
+    }
+
+    private JsonNumber number(final int index) {
+        return (JsonNumber) node(index);
+    }
+
+    /**
+     * Creates the node a parser would have built for a value. Objects and
+     * arrays are built with everything inside them, and every call returns new
+     * containers.
+     *
+     * @param index index of the value
+     * @return new node
+     */
+    public JsonNode node(final int index) {
+        return switch (type(index)) {
+            case OBJECT -> {
+                final JsonObject object = new JsonObject(size(index));
+                for (int member = first(index); member >= 0; member = next(index, member)) {
+                    object.add(key(member), node(value(member)));
+                }
+                yield object;
+            }
+            case ARRAY -> {
+                final JsonArray array = new JsonArray(size(index));
+                for (int element = first(index); element >= 0; element = next(index, element)) {
+                    array.add(node(element));
+                }
+                yield array;
+            }
+            case STRING -> new JsonString(stringValue(index));
+            case LONG -> JsonNumber.of(tape[index + 1]);
+            case EXACT_LONG -> JsonNumber.exact(tape[index + 1]);
+            case DOUBLE -> JsonNumber.of(Double.longBitsToDouble(tape[index + 1]));
+            case BIG_INTEGER -> new JsonNumber(new BigInteger(text(payload(index))));
+            case BIG_DECIMAL -> new JsonNumber(new BigDecimal(text(payload(index))));
+            case TRUE -> JsonBoolean.TRUE;
+            case FALSE -> JsonBoolean.FALSE;
+            default -> JsonNull.INSTANCE;
+        };
+    }
+
+    private int length(final int offset) {
+        return text[offset] << 16 | text[offset + 1];
+    }
+
+    private String text(final int offset) {
+        return new String(text, offset + 2, length(offset));
+    }
+
+    /**
+     * Appends words and text while a document is parsed.
+     */
+    static final class Builder {
+        private long[] tape;
+        private int size;
+        private char[] text = new char[256];
+        private int textSize;
+        private final Map<String, Integer> textOffsets = new HashMap<>();
+        private int[] hashed = new int[16];
+        private int hashedSize;
+
+        Builder(final int capacity) {
+            this.tape = new long[capacity];
+        }
+
+        private int append(final byte type, final long payload) {
+            return appendWord((long) type << TYPE_SHIFT | payload);
+        }
+
+        private int appendWord(final long word) {
+            if (size == tape.length) {
+                tape = Arrays.copyOf(tape, tape.length << 1);
+            }
+            tape[size] = word;
+            return size++;
+        }
+
+        /**
+         * Opens an object or array, to be closed with {@link #close(int, int)}.
+         *
+         * @return index of the container
+         */
+        int open(final byte type) {
+            return append(type, 0);
+        }
+
+        void close(final int container, final int count) {
+            append(END, container);
+            tape[container] |= (long) Math.min(count, MAX_STORED_SIZE) << SIZE_SHIFT | size;
+            if (count > HASHED_SIZE && (byte) (tape[container] >>> TYPE_SHIFT) == OBJECT) {
+                if (hashedSize == hashed.length) {
+                    hashed = Arrays.copyOf(hashed, hashedSize << 1);
+                }
+                hashed[hashedSize++] = container;
+            }
+        }
+
+        /**
+         * Appends a key.
+         *
+         * @return index of the member
+         */
+        int key(final String key) {
+            return append(KEY, sharedText(key));
+        }
+
+        /**
+         * Replaces a member with a later duplicate, keeping the position of
+         * the original.
+         *
+         * @param original  index of the first member with the key
+         * @param duplicate index of the member just appended
+         */
+        void replace(final int original, final int duplicate) {
+            tape[original] = (long) MOVED_KEY << TYPE_SHIFT | duplicate;
+            hide(duplicate);
+        }
+
+        /**
+         * Hides a member from lookups and iteration, for a later duplicate
+         * that the first member is kept over.
+         *
+         * @param member index of the member just appended
+         */
+        void hide(final int member) {
+            tape[member] = tape[member] & PAYLOAD_MASK | (long) HIDDEN_KEY << TYPE_SHIFT;
+        }
+
+        void string(final String value) {
+            append(STRING, sharedText(value));
+        }
+
+        void literal(final byte type) {
+            append(type, 0);
+        }
+
+        /**
+         * Appends a number whose value fits in the word after its type.
+         */
+        void number(final byte type, final long bits) {
+            append(type, 0);
+            appendWord(bits);
+        }
+
+        void bigInteger(final String value) {
+            append(BIG_INTEGER, appendText(value));
+        }
+
+        void bigDecimal(final String value, final double nearest) {
+            append(BIG_DECIMAL, appendText(value));
+            appendWord(Double.doubleToRawLongBits(nearest));
+        }
+
+        private int sharedText(final String value) {
+            final Integer offset = textOffsets.get(value);
+            if (offset != null) {
+                return offset;
+            }
+            final int appended = appendText(value);
+            textOffsets.put(value, appended);
+            return appended;
+        }
+
+        private int appendText(final String value) {
+            final int length = value.length();
+            final int offset = textSize;
+            if (offset + 2 + length > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length << 1, offset + 2 + length));
+            }
+            text[offset] = (char) (length >>> 16);
+            text[offset + 1] = (char) length;
+            value.getChars(0, length, text, offset + 2);
+            textSize = offset + 2 + length;
+            return offset;
+        }
+
+        JsonTape build() {
+            // Objects close innermost first, so their indexes are not in order
+            final int[] sorted = Arrays.copyOf(hashed, hashedSize);
+            Arrays.sort(sorted);
+            return new JsonTape(Arrays.copyOf(tape, size), Arrays.copyOf(text, textSize), sorted);
+        }
+    }
+}
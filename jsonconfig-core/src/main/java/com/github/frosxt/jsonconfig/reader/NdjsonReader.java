@@ -0,0 +1,274 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.ByteOrderMark;
+import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader for newline-delimited JSON, where every line holds one document.
+ * <p>
+ * Records are parsed one at a time as they are consumed, so memory use is
+ * bounded by the longest line rather than the input size. Blank lines are
+ * skipped. Error positions refer to the line of the record in the input.
+ * All records share one symbol table, unless the options set their own table
+ * or disable interning.
+ * </p>
+ * <p>
+ * Byte input is read through {@link #stream(ByteBuffer, JsonParseOptions)},
+ * whose streams can be split at line boundaries and parsed in parallel since
+ * the records are independent. Character input is read line by line through
+ * an instance of this class.
+ * </p>
+ */
+public class NdjsonReader implements Iterator<JsonNode>, Closeable {
+    private static final int MIN_SPLIT_BYTES = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final JsonParseOptions parseOptions;
+    private final JsonLexer lexer;
+    private String pending;
+    private int pendingLine;
+    private int line;
+
+    /**
+     * Creates a reader over decoded characters.
+     *
+     * @param reader       source, closed by {@link #close()}
+     * @param parseOptions parse options or null for defaults
+     * @throws IOException if creating the lexer fails
+     */
+    public NdjsonReader(final Reader reader, final JsonParseOptions parseOptions) throws IOException {
+        this.reader = reader instanceof final BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.parseOptions = sharedTable(parseOptions);
+        this.lexer = new JsonLexer(null);
+    }
+
+    /**
+     * Streams the records of UTF-8 encoded bytes. The buffer's position is not
+     * modified. A parallel stream parses chunks of lines concurrently.
+     *
+     * @param buffer       UTF-8 encoded records
+     * @param parseOptions parse options or null for defaults
+     * @return lazy stream of records in input order
+     */
+    public static Stream<JsonNode> stream(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        int start = buffer.position();
+        if (ByteOrderMark.UTF_8.matches(buffer)) {
+            start += ByteOrderMark.UTF_8.length();
+        }
+        return StreamSupport.stream(new LineSpliterator(buffer, start, buffer.limit(), 1, sharedTable(parseOptions)),
+                false);
+    }
+
+    /**
+     * Streams the remaining records of this reader. Closing the stream closes
+     * the reader.
+     *
+     * @return lazy stream of records in input order
+     */
+    public Stream<JsonNode> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+            try {
+                close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null) {
+            return true;
+        }
+
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!isBlank(text)) {
+                    pending = text;
+                    pendingLine = line;
+                    return true;
+                }
+            }
+            return false;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the next record.
+     *
+     * @return parsed record
+     * @throws com.github.frosxt.jsonconfig.api.exception.JsonParseException if the record is invalid
+     * @throws UncheckedIOException if reading fails
+     */
+    @Override
+    public JsonNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final String text = pending;
+        pending = null;
+        try {
+            lexer.reset(new StringReader(text), pendingLine);
+            return new JsonParser(lexer, parseOptions).parse();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                lexer.reset(null);
+            } catch (final IOException ignored) {
+                // Dropping the reader reads nothing
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Copies the options so all records intern their keys, and string values
+     * if enabled, through one table each.
+     */
+    private static JsonParseOptions sharedTable(final JsonParseOptions parseOptions) {
+        final JsonParseOptions options = parseOptions != null ? parseOptions.copy() : new JsonParseOptions();
+        if (options.internKeys() && options.symbolTable() == null) {
+            options.symbolTable(new SymbolTable());
+        }
+        if (options.internStrings() && options.stringTable() == null) {
+            options.stringTable(new JsonStringTable());
+        }
+        return options;
+    }
+
+    private static boolean isBlank(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(final ByteBuffer buffer, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * Walks the lines of a byte range. Splitting hands the first half of the
+     * remaining lines to a new spliterator, counting its lines so both halves
+     * know the line numbers of their records.
+     */
+    private static final class LineSpliterator implements Spliterator<JsonNode> {
+        private final ByteBuffer buffer;
+        private final JsonParseOptions parseOptions;
+        private final int end;
+        private int position;
+        private int line;
+
+        private LineSpliterator(final ByteBuffer buffer, final int position, final int end, final int line,
+                                final JsonParseOptions parseOptions) {
+            this.buffer = buffer;
+            this.position = position;
+            this.end = end;
+            this.line = line;
+            this.parseOptions = parseOptions;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super JsonNode> action) {
+            while (position < end) {
+                final int start = position;
+                final int lineEnd = lineEnd(start);
+                final int recordLine = line++;
+                position = Math.min(lineEnd + 1, end);
+                if (isBlank(buffer, start, lineEnd)) {
+                    continue;
+                }
+
+                final ByteBuffer record = buffer.duplicate().position(start).limit(lineEnd);
+                try {
+                    action.accept(new JsonParser(new Utf8JsonLexer(record, recordLine, 1), parseOptions).parse());
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<JsonNode> trySplit() {
+            if (end - position < MIN_SPLIT_BYTES) {
+                return null;
+            }
+
+            final int split = lineEnd(position + (end - position) / 2) + 1;
+            if (split >= end) {
+                return null;
+            }
+
+            final LineSpliterator prefix = new LineSpliterator(buffer, position, split, line, parseOptions);
+            for (int i = position; i < split; i++) {
+                if (buffer.get(i) == '\n') {
+                    line++;
+                }
+            }
+            position = split;
+            return prefix;
+        }
+
+        private int lineEnd(final int from) {
+            int i = from;
+            while (i < end && buffer.get(i) != '\n') {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Byte spans of the objects and arrays of a document down to a fixed depth,
+ * with their keys or element indexes, so a value can be found without
+ * parsing the containers around it.
+ * <p>
+ * Entry 0 is the root. Entries are found from their parent and key through an
+ * open-addressing table over the entry arrays, built once all entries are
+ * recorded. An index is saved next to its file and reused while the file's
+ * size, modification time and content hash are unchanged.
+ * </p>
+ */
+final class OffsetIndex {
+    private static final int MAGIC = 0x4A434958;
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int depth;
+    private final int policy;
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] elements = new int[INITIAL_CAPACITY];
+    private boolean[] objects = new boolean[INITIAL_CAPACITY];
+    private boolean[] unlinked = new boolean[INITIAL_CAPACITY];
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] columns = new int[INITIAL_CAPACITY];
+    private int[] table;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param depth  deepest level recorded, the root being level 0
+     * @param policy ordinal of the duplicate key policy the index was built with
+     */
+    OffsetIndex(final int depth, final int policy) {
+        this.depth = depth;
+        this.policy = policy;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Records the start of a container.
+     *
+     * @param parent  entry of the enclosing container, or -1 for the root
+     * @param key     member key, or null for an array element or the root
+     * @param element element index if {@code key} is null
+     * @param object  whether the container is an object
+     * @param start   buffer position of the opening bracket
+     * @param line    line of the opening bracket
+     * @param column  column of the opening bracket
+     * @return entry to pass to {@link #close(int, int)}
+     */
+    int open(final int parent, final String key, final int element, final boolean object, final int start,
+             final int line, final int column) {
+        if (size == starts.length) {
+            final int capacity = size * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            elements = Arrays.copyOf(elements, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            unlinked = Arrays.copyOf(unlinked, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+        }
+
+        final int entry = size++;
+        parents[entry] = parent;
+        keys[entry] = key;
+        elements[entry] = element;
+        objects[entry] = object;
+        starts[entry] = start;
+        lines[entry] = line;
+        columns[entry] = column;
+        return entry;
+    }
+
+    /**
+     * Records the end of a container.
+     *
+     * @param entry entry returned by {@link #open(int, String, int, boolean, int, int, int)}
+     * @param end   buffer position after the closing bracket
+     */
+    void close(final int entry, final int end) {
+        ends[entry] = end;
+    }
+
+    /**
+     * Keeps a container from being looked up, e.g. when a later member with
+     * the same key replaces it.
+     */
+    void unlink(final int entry) {
+        unlinked[entry] = true;
+    }
+
+    /**
+     * Builds the lookup table once all entries are recorded.
+     */
+    void link() {
+        table = new int[Integer.highestOneBit(Math.max(size, 1)) << 2];
+        final int mask = table.length - 1;
+        for (int entry = 1; entry < size; entry++) {
+            if (!unlinked[entry]) {
+                int slot = slot(entry) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+    }
+
+    /**
+     * Finds the recorded container at a path segment below an entry.
+     *
+     * @param parent  entry of a container
+     * @param segment member key, or element index if the container is an array
+     * @return entry or -1 if the value is not a recorded container
+     */
+    int child(final int parent, final String segment) {
+        final boolean object = objects[parent];
+        int element = -1;
+        if (!object) {
+            try {
+                element = Integer.parseInt(segment);
+            } catch (final NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        final int mask = table.length - 1;
+        int slot = hash(parent, object ? segment.hashCode() : element) & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (parents[entry] == parent && (object ? segment.equals(keys[entry]) : elements[entry] == element)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(final int entry) {
+        return hash(parents[entry], keys[entry] != null ? keys[entry].hashCode() : elements[entry]);
+    }
+
+    private static int hash(final int parent, final int segment) {
+        final int hash = (parent * 0x9E3779B9) ^ segment;
+        return hash ^ (hash >>> 16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isObject(final int entry) {
+        return objects[entry];
+    }
+
+    int start(final int entry) {
+        return starts[entry];
+    }
+
+    int end(final int entry) {
+        return ends[entry];
+    }
+
+    int line(final int entry) {
+        return lines[entry];
+    }
+
+    int column(final int entry) {
+        return columns[entry];
+    }
+
+    /**
+     * Hashes the content of a buffer, from position to limit.
+     *
+     * @param buffer file content
+     * @return 64-bit hash
+     */
+    static long hash(final ByteBuffer buffer) {
+        final int limit = buffer.limit();
+        long hash = limit;
+        int i = buffer.position();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            hash = Long.rotateLeft((hash ^ buffer.getLong(i)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        for (; i < limit; i++) {
+            hash = Long.rotateLeft((hash ^ buffer.get(i)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        return hash;
+    }
+
+    /**
+     * Saves the index, replacing the file at once so readers never see a
+     * partly written index.
+     *
+     * @param file  index file
+     * @param stamp size, modification time and hash of the indexed file
+     * @throws IOException if writing fails
+     */
+    void write(final Path file, final long[] stamp) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (final long value : stamp) {
+                out.writeLong(value);
+            }
+            out.writeInt(depth);
+            out.writeInt(policy);
+            out.writeInt(size);
+
+            for (int i = 0; i < size; i++) {
+                out.writeInt(parents[i]);
+                out.writeBoolean(objects[i]);
+                out.writeBoolean(unlinked[i]);
+                out.writeInt(starts[i]);
+                out.writeInt(ends[i]);
+                out.writeInt(lines[i]);
+                out.writeInt(columns[i]);
+                if (keys[i] != null) {
+                    final byte[] key = keys[i].getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(key.length);
+                    out.write(key);
+                } else if (i > 0) {
+                    out.writeInt(elements[i]);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a saved index if it was built for the same file content and
+     * settings.
+     *
+     * @param file   index file
+     * @param stamp  size, modification time and hash of the indexed file
+     * @param depth  expected depth
+     * @param policy expected duplicate key policy ordinal
+     * @return linked index, or null if there is none or it is stale or damaged
+     * @throws IOException if reading fails
+     */
+    static OffsetIndex read(final Path file, final long[] stamp, final int depth, final int policy)
+            throws IOException {
+        final ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                return null;
+            }
+            for (final long value : stamp) {
+                if (in.getLong() != value) {
+                    return null;
+                }
+            }
+            if (in.getInt() != depth || in.getInt() != policy) {
+                return null;
+            }
+
+            final int size = in.getInt();
+            if (size <= 0) {
+                return null;
+            }
+            final OffsetIndex index = new OffsetIndex(depth, policy);
+            for (int i = 0; i < size; i++) {
+                final int parent = in.getInt();
+                final boolean object = in.get() != 0;
+                final boolean unlinked = in.get() != 0;
+                final int start = in.getInt();
+                final int end = in.getInt();
+                final int line = in.getInt();
+                final int column = in.getInt();
+                if (parent >= i || (parent < 0) != (i == 0)) {
+                    return null;
+                }
+
+                String key = null;
+                int element = -1;
+                if (i > 0 && index.objects[parent]) {
+                    final int length = in.getInt();
+                    if (length < 0 || length > in.remaining()) {
+                        return null;
+                    }
+                    key = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+                    in.position(in.position() + length);
+                } else if (i > 0) {
+                    element = in.getInt();
+                }
+
+                index.open(parent, key, element, object, start, line, column);
+                index.close(i, end);
+                index.unlinked[i] = unlinked;
+            }
+            index.link();
+            return index;
+        } catch (final BufferUnderflowException e) {
+            return null;
+        }
+    }
+}
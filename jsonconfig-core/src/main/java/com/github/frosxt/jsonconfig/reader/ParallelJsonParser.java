@@ -0,0 +1,323 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.index.StructuralIndex;
+import com.github.frosxt.jsonconfig.reader.lex.ByteOrderMark;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parser that parses the members of the root object in parallel.
+ * <p>
+ * A {@link StructuralIndex} locates the key and the byte range of every root
+ * member. The values are then parsed by {@link JsonParser}s running as
+ * fork/join tasks on the common pool, each seeded with the line and column of
+ * its value, and the root object is assembled in source order. Errors are
+ * reported for the first failing member in document order and duplicate keys
+ * are resolved while assembling, so results and error positions match a
+ * sequential parse. Input whose root members cannot be located is parsed
+ * sequentially.
+ * </p>
+ */
+public class ParallelJsonParser {
+    private static final int MIN_TASK_BYTES = 64 * 1024;
+
+    private final ByteBuffer buffer;
+    private final JsonParseOptions parseOptions;
+    private final SymbolTable symbolTable;
+
+    private int tracked;
+    private int line = 1;
+    private int column = 0;
+
+    /**
+     * Creates a parser over the remaining bytes of a UTF-8 buffer.
+     *
+     * @param buffer       UTF-8 encoded document
+     * @param parseOptions parse options or null for defaults
+     */
+    public ParallelJsonParser(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        this.buffer = buffer;
+        final JsonParseOptions options = parseOptions != null ? parseOptions : new JsonParseOptions();
+
+        if (options.internKeys()) {
+            this.symbolTable = options.symbolTable() != null ? options.symbolTable() : new SymbolTable();
+        } else {
+            this.symbolTable = null;
+        }
+        // Member parsers share one symbol table and one string table; both are safe for concurrent use
+        this.parseOptions = options.copy().symbolTable(symbolTable).stringTable(JsonParser.stringTable(options));
+    }
+
+    /**
+     * Checks whether the options ask for parallel parsing and it can be used
+     * for the input, i.e. the input is UTF-8, at least
+     * {@link JsonParseOptions#parallelThreshold()} bytes long and no subtrees
+     * are deferred.
+     *
+     * @param buffer       input
+     * @param parseOptions parse options
+     * @return true if {@link ParallelJsonParser} should be used
+     */
+    public static boolean supports(final ByteBuffer buffer, final JsonParseOptions parseOptions) {
+        if (parseOptions == null || !parseOptions.parallel() || parseOptions.lazyDepth() > 0
+                || parseOptions.handler() != null || buffer.remaining() < parseOptions.parallelThreshold()) {
+            return false;
+        }
+        final ByteOrderMark mark = ByteOrderMark.detect(buffer);
+        return mark == null || mark == ByteOrderMark.UTF_8;
+    }
+
+    public JsonNode parse() throws IOException {
+        final StructuralIndex index = StructuralIndex.build(buffer);
+        final Members members = locateMembers(index);
+        if (members == null) {
+            return new JsonParser(new Utf8JsonLexer(buffer), parseOptions).parse();
+        }
+
+        final Results results = new Results(members.count);
+        ForkJoinPool.commonPool().invoke(new ParseTask(members, results, 0, members.count));
+
+        final JsonOptions.DuplicateKeyPolicy duplicateKeyPolicy = parseOptions.duplicateKeyPolicy();
+        final JsonObject root = new JsonObject(members.count);
+        for (int i = 0; i < members.count; i++) {
+            if (results.failures[i] != null) {
+                throw results.failures[i];
+            }
+
+            // Same order as JsonParser: the duplicate check precedes the separator check
+            final String key = members.keys[i];
+            final JsonNode value = results.values[i];
+            if (!root.has(key)) {
+                root.add(key, value);
+            } else if (duplicateKeyPolicy == JsonOptions.DuplicateKeyPolicy.ERROR) {
+                throw duplicateKey(members, i);
+            } else {
+                JsonParser.mergeDuplicate(root, key, value, duplicateKeyPolicy);
+            }
+
+            if (results.endFailures[i] != null) {
+                throw results.endFailures[i];
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Finds the key and value range of every root member, or returns null if
+     * the root is not an object whose members can be located from the index.
+     */
+    private Members locateMembers(final StructuralIndex index) throws IOException {
+        final int count = index.count();
+        if (!index.isBalanced() || count < 3 || buffer.get(index.position(0)) != '{' || index.end(0) != count - 1) {
+            return null;
+        }
+
+        tracked = buffer.position();
+        if (ByteOrderMark.UTF_8.matches(buffer)) {
+            tracked += ByteOrderMark.UTF_8.length();
+        }
+        final Utf8JsonLexer keyLexer = new Utf8JsonLexer(buffer);
+        keyLexer.setSymbolTable(symbolTable);
+        final Members members = new Members(Math.max(16, index.size(0)));
+
+        int entry = 1;
+        while (true) {
+            if (entry + 2 >= count) {
+                return null;
+            }
+            final int keyPosition = index.position(entry);
+            if (buffer.get(keyPosition) != '"' || buffer.get(index.position(entry + 1)) != ':') {
+                return null;
+            }
+            try {
+                keyLexer.reset(keyPosition);
+                keyLexer.nextKey();
+            } catch (final JsonParseException e) {
+                return null;
+            }
+
+            final int valueEntry = entry + 2;
+            final int valuePosition = index.position(valueEntry);
+            final byte first = buffer.get(valuePosition);
+            if (first == '}' || first == ']' || first == ':' || first == ',') {
+                return null;
+            }
+            final int separatorEntry = (first == '{' || first == '[' ? index.end(valueEntry) : valueEntry) + 1;
+            final int separatorPosition = index.position(separatorEntry);
+            final byte separator = buffer.get(separatorPosition);
+            if (separator != ',' && (separator != '}' || separatorEntry != count - 1)) {
+                return null;
+            }
+
+            advanceTo(valuePosition);
+            members.add(keyLexer.getTokenValue(), valuePosition, separatorPosition, line, column);
+
+            if (separator == '}') {
+                return members;
+            }
+            entry = separatorEntry + 1;
+        }
+    }
+
+    /**
+     * Moves the line and column tracking past the byte at the given position,
+     * counting the same way {@link Utf8JsonLexer} does.
+     */
+    private void advanceTo(final int position) {
+        for (; tracked <= position; tracked++) {
+            final byte b = buffer.get(tracked);
+            if (b == '\n') {
+                line++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                column++;
+            }
+        }
+    }
+
+    /**
+     * Creates a lexer over one member value. The slice runs up to the byte
+     * after the separator, so the lexer ends in the same state as in a
+     * sequential parse.
+     */
+    private Utf8JsonLexer memberLexer(final Members members, final int i) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(Math.min(members.separators[i] + 2, buffer.limit())).position(members.starts[i]);
+        return new Utf8JsonLexer(slice, members.lines[i], members.columns[i]);
+    }
+
+    private void parseMember(final Members members, final Results results, final int i) throws IOException {
+        final JsonParser parser = new JsonParser(memberLexer(members, i), parseOptions);
+        results.values[i] = parser.parseMemberValue();
+        try {
+            parser.expectMemberEnd();
+        } catch (final JsonParseException e) {
+            results.endFailures[i] = e;
+        }
+    }
+
+    /**
+     * Creates the error a sequential parse reports for a duplicate key, at
+     * the position after the member's value. The value is parsed again to
+     * find that position, as it is only needed on this path.
+     */
+    private JsonParseException duplicateKey(final Members members, final int i) throws IOException {
+        final Utf8JsonLexer lexer = memberLexer(members, i);
+        new JsonParser(lexer, parseOptions).parseMemberValue();
+        return new JsonParseException("Duplicate key: " + members.keys[i], lexer.getLine(), lexer.getColumn());
+    }
+
+    /**
+     * Parses a range of members, splitting it while it spans enough bytes.
+     */
+    private final class ParseTask extends RecursiveAction {
+        private final Members members;
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        private ParseTask(final Members members, final Results results, final int from, final int to) {
+            this.members = members;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && members.separators[to - 1] - members.starts[from] > MIN_TASK_BYTES) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(members, results, from, middle), new ParseTask(members, results, middle, to));
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                // Members after a failure are never reported
+                if (i > results.firstFailure.get()) {
+                    return;
+                }
+                try {
+                    parseMember(members, results, i);
+                } catch (final JsonConfigException e) {
+                    fail(i, e);
+                } catch (final IOException e) {
+                    fail(i, new UncheckedIOException(e));
+                }
+            }
+        }
+
+        private void fail(final int i, final RuntimeException e) {
+            results.failures[i] = e;
+            results.firstFailure.accumulateAndGet(i, Math::min);
+        }
+    }
+
+    /**
+     * Root members in source order: the key, the value's first byte, the
+     * separator after the value and the line and column of the value.
+     */
+    private static final class Members {
+        private String[] keys;
+        private int[] starts;
+        private int[] separators;
+        private int[] lines;
+        private int[] columns;
+        private int count;
+
+        private Members(final int capacity) {
+            keys = new String[capacity];
+            starts = new int[capacity];
+            separators = new int[capacity];
+            lines = new int[capacity];
+            columns = new int[capacity];
+        }
+
+        private void add(final String key, final int start, final int separator, final int line, final int column) {
+            if (count == keys.length) {
+                final int capacity = count << 1;
+                keys = Arrays.copyOf(keys, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                separators = Arrays.copyOf(separators, capacity);
+                lines = Arrays.copyOf(lines, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+            }
+            keys[count] = key;
+            starts[count] = start;
+            separators[count] = separator;
+            lines[count] = line;
+            columns[count] = column;
+            count++;
+        }
+    }
+
+    /**
+     * Outcome of every member parse. An invalid token after the value is kept
+     * apart so it can be reported after the duplicate check.
+     */
+    private static final class Results {
+        private final JsonNode[] values;
+        private final RuntimeException[] failures;
+        private final JsonParseException[] endFailures;
+        private final AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+
+        private Results(final int count) {
+            values = new JsonNode[count];
+            failures = new RuntimeException[count];
+            endFailures = new JsonParseException[count];
+        }
+    }
+}
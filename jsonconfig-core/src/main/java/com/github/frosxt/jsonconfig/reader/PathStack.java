@@ -0,0 +1,77 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.api.parse.ParsePath;
+import com.github.frosxt.jsonconfig.path.syntax.PathEscaper;
+
+import java.util.Arrays;
+
+/**
+ * Mutable {@link ParsePath} kept in step with the parser's position.
+ */
+final class PathStack implements ParsePath {
+    private String[] keys = new String[16];
+    private int[] indexes = new int[16];
+    private int size;
+
+    void push(final String key) {
+        grow();
+        keys[size] = key;
+        indexes[size++] = -1;
+    }
+
+    void push(final int index) {
+        grow();
+        keys[size] = null;
+        indexes[size++] = index;
+    }
+
+    void pop() {
+        keys[--size] = null;
+    }
+
+    private void grow() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            indexes = Arrays.copyOf(indexes, size * 2);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String key(final int segment) {
+        checkSegment(segment);
+        return keys[segment];
+    }
+
+    @Override
+    public int index(final int segment) {
+        checkSegment(segment);
+        return indexes[segment];
+    }
+
+    private void checkSegment(final int segment) {
+        if (segment < 0 || segment >= size) {
+            throw new IndexOutOfBoundsException("Segment " + segment + " out of bounds for path of size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == null) {
+                builder.append('[').append(indexes[i]).append(']');
+            } else {
+                if (!builder.isEmpty()) {
+                    builder.append('.');
+                }
+                builder.append(PathEscaper.escapeSegment(keys[i]));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.frosxt.jsonconfig.reader;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.util.Arrays;
+
+/**
+ * Byte spans of the containers of a parsed document, in document order, each
+ * with its node and the node of its parent container.
+ * <p>
+ * Containers shorter than a minimum span are not recorded, which keeps the
+ * map small for documents made of many small objects. The parent of a
+ * recorded container is always recorded as well, since it is longer.
+ * </p>
+ */
+final class SourceMap {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int base;
+    private final int minSpan;
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private JsonNode[] nodes = new JsonNode[INITIAL_CAPACITY];
+    private JsonNode[] parents = new JsonNode[INITIAL_CAPACITY];
+    private int[] open = new int[16];
+    private int depth;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param base    buffer position of document offset 0
+     * @param minSpan length below which containers are not recorded
+     */
+    SourceMap(final int base, final int minSpan) {
+        this.base = base;
+        this.minSpan = minSpan;
+    }
+
+    /**
+     * Records the start of a container.
+     *
+     * @param position buffer position of the opening bracket
+     * @param node     container being parsed
+     * @return entry to pass to {@link #close(int, int)}
+     */
+    int open(final int position, final JsonNode node) {
+        if (size == starts.length) {
+            final int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            nodes = Arrays.copyOf(nodes, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+        }
+        if (depth == open.length) {
+            open = Arrays.copyOf(open, depth * 2);
+        }
+
+        final int entry = size++;
+        starts[entry] = position - base;
+        nodes[entry] = node;
+        parents[entry] = depth > 0 ? nodes[open[depth - 1]] : null;
+        open[depth++] = entry;
+        return entry;
+    }
+
+    /**
+     * Records the end of a container, dropping it if it is too short. Its
+     * nested containers are shorter, so they were dropped before it.
+     *
+     * @param entry    entry returned by {@link #open(int, JsonNode)}
+     * @param position buffer position after the closing bracket
+     */
+    void close(final int entry, final int position) {
+        depth--;
+        ends[entry] = position - base;
+        if (ends[entry] - starts[entry] < minSpan) {
+            size = entry;
+            nodes[entry] = null;
+            parents[entry] = null;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int start(final int entry) {
+        return starts[entry];
+    }
+
+    int end(final int entry) {
+        return ends[entry];
+    }
+
+    JsonNode node(final int entry) {
+        return nodes[entry];
+    }
+
+    JsonNode parent(final int entry) {
+        return parents[entry];
+    }
+
+    /**
+     * Makes the entries of a container refer to another node, e.g. one its
+     * members were moved to.
+     *
+     * @param node        recorded node
+     * @param replacement node to record instead
+     */
+    void replaceNode(final JsonNode node, final JsonNode replacement) {
+        for (int i = 0; i < size; i++) {
+            if (nodes[i] == node) {
+                nodes[i] = replacement;
+            }
+            if (parents[i] == node) {
+                parents[i] = replacement;
+            }
+        }
+    }
+
+    /**
+     * Finds the innermost container whose brackets lie outside a range, so
+     * that the range can change without touching them.
+     *
+     * @param from offset of the first byte of the range
+     * @param to   offset after the last byte of the range
+     * @return entry or -1 if no recorded container encloses the range
+     */
+    int enclosing(final int from, final int to) {
+        // The last container starting before the range is the deepest candidate
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (starts[middle] < from) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        // Walking back, the first container ending after the range encloses it
+        for (int entry = high; entry >= 0; entry--) {
+            if (ends[entry] > to) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces a container and its nested containers with the containers of
+     * its reparsed span, moving later spans by the change in length.
+     *
+     * @param entry    entry of the replaced container
+     * @param replaced spans recorded while reparsing, with the same base
+     * @param delta    change in length of the container
+     */
+    void splice(final int entry, final SourceMap replaced, final int delta) {
+        final int oldEnd = ends[entry];
+        int next = entry + 1;
+        while (next < size && starts[next] < oldEnd) {
+            next++;
+        }
+
+        final int length = entry + replaced.size + (size - next);
+        final int[] newStarts = new int[Math.max(length, INITIAL_CAPACITY)];
+        final int[] newEnds = new int[newStarts.length];
+        final JsonNode[] newNodes = new JsonNode[newStarts.length];
+        final JsonNode[] newParents = new JsonNode[newStarts.length];
+
+        System.arraycopy(starts, 0, newStarts, 0, entry);
+        System.arraycopy(ends, 0, newEnds, 0, entry);
+        System.arraycopy(nodes, 0, newNodes, 0, entry);
+        System.arraycopy(parents, 0, newParents, 0, entry);
+        for (int i = 0; i < entry; i++) {
+            // Containers before the entry that end after it enclose it
+            if (newEnds[i] >= oldEnd) {
+                newEnds[i] += delta;
+            }
+        }
+
+        System.arraycopy(replaced.starts, 0, newStarts, entry, replaced.size);
+        System.arraycopy(replaced.ends, 0, newEnds, entry, replaced.size);
+        System.arraycopy(replaced.nodes, 0, newNodes, entry, replaced.size);
+        System.arraycopy(replaced.parents, 0, newParents, entry, replaced.size);
+        if (replaced.size > 0) {
+            newParents[entry] = parents[entry];
+        }
+
+        final int moved = entry + replaced.size;
+        for (int i = next; i < size; i++) {
+            final int target = moved + i - next;
+            newStarts[target] = starts[i] + delta;
+            newEnds[target] = ends[i] + delta;
+            newNodes[target] = nodes[i];
+            newParents[target] = parents[i];
+        }
+
+        starts = newStarts;
+        ends = newEnds;
+        nodes = newNodes;
+        parents = newParents;
+        size = length;
+    }
+}
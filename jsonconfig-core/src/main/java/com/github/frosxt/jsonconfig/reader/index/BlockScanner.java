@@ -0,0 +1,59 @@
+package com.github.frosxt.jsonconfig.reader.index;
+
+/**
+ * Classifies the bytes of a 64-byte block into bit masks, one bit per byte
+ * with the lowest bit for the first byte.
+ */
+abstract class BlockScanner {
+    static final int BLOCK_SIZE = 64;
+
+    long quotes;
+    long backslashes;
+    long operators;
+    long whitespace;
+
+    /**
+     * Classifies {@link #BLOCK_SIZE} bytes starting at {@code offset}.
+     *
+     * @param bytes  input, with at least a full block after offset
+     * @param offset start of the block
+     */
+    abstract void scan(byte[] bytes, int offset);
+
+    /**
+     * Creates the vectorized scanner if the {@code jdk.incubator.vector} module
+     * is available, otherwise a scalar one.
+     *
+     * @return block scanner
+     */
+    static BlockScanner create() {
+        if (VectorSupport.AVAILABLE) {
+            return new VectorBlockScanner();
+        }
+        return new ScalarBlockScanner();
+    }
+
+    /**
+     * Looks up the vector module once. The vectorized scanner is only loaded
+     * if the module is present, so the other classes work without it.
+     */
+    static final class VectorSupport {
+        static final boolean AVAILABLE = detect();
+
+        private VectorSupport() {
+            throw new UnsupportedOperationException("This class cannot be instantiated.");
+        }
+
+        private static boolean detect() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return false;
+            }
+            try {
+                new VectorBlockScanner().scan(new byte[BLOCK_SIZE], 0);
+                return true;
+            } catch (final LinkageError e) {
+                return false;
+            }
+        }
+    }
+}
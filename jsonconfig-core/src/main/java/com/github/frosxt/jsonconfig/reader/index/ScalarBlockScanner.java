@@ -0,0 +1,32 @@
+package com.github.frosxt.jsonconfig.reader.index;
+
+/**
+ * Block scanner testing one byte at a time.
+ */
+final class ScalarBlockScanner extends BlockScanner {
+
+    @Override
+    void scan(final byte[] bytes, final int offset) {
+        long quote = 0;
+        long backslash = 0;
+        long operator = 0;
+        long space = 0;
+
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            final long bit = 1L << i;
+            switch (bytes[offset + i]) {
+                case '"' -> quote |= bit;
+                case '\\' -> backslash |= bit;
+                case '{', '}', '[', ']', ':', ',' -> operator |= bit;
+                case ' ', '\t', '\n', '\r' -> space |= bit;
+                default -> {
+                }
+            }
+        }
+
+        quotes = quote;
+        backslashes = backslash;
+        operators = operator;
+        whitespace = space;
+    }
+}
@@ -0,0 +1,246 @@
+package com.github.frosxt.jsonconfig.reader.index;
+
+import com.github.frosxt.jsonconfig.reader.lex.ByteOrderMark;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Positions of the structural characters of a UTF-8 JSON document.
+ * <p>
+ * The index is built in one pass over 64-byte blocks, in the style of
+ * simdjson: each block is classified into bit masks for quotes, backslashes,
+ * operators and whitespace, escaped quotes and string contents are masked out
+ * with carry-less bit tricks, and the remaining bits are the positions of
+ * {@code { } [ ] : ,}, of opening quotes and of the first byte of every number
+ * or literal. When the {@code jdk.incubator.vector} module is present the
+ * blocks are classified with SIMD instructions.
+ * </p>
+ * <p>
+ * The index does not validate the document. It only records whether all
+ * strings are closed and all brackets match; everything else is left to the
+ * parser.
+ * </p>
+ */
+public final class StructuralIndex {
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final long ODD_BITS = ~EVEN_BITS;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final int[] positions;
+    private final int count;
+    private final int[] ends;
+    private final int[] sizes;
+    private final boolean balanced;
+
+    private StructuralIndex(final int[] positions, final int count, final int[] ends, final int[] sizes,
+                            final boolean balanced) {
+        this.positions = positions;
+        this.count = count;
+        this.ends = ends;
+        this.sizes = sizes;
+        this.balanced = balanced;
+    }
+
+    /**
+     * Checks whether blocks are classified with the Vector API. This requires
+     * running with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @return true if the vectorized scanner is used
+     */
+    public static boolean isVectorized() {
+        return BlockScanner.VectorSupport.AVAILABLE;
+    }
+
+    /**
+     * Indexes the remaining bytes of the buffer. The buffer's position is not
+     * modified and a leading UTF-8 byte order mark is skipped.
+     *
+     * @param buffer UTF-8 encoded document
+     * @return structural index with absolute buffer positions
+     */
+    public static StructuralIndex build(final ByteBuffer buffer) {
+        return build(buffer, BlockScanner.create());
+    }
+
+    /**
+     * Indexes the buffer without the Vector API, e.g. to verify the vectorized
+     * scanner against it.
+     *
+     * @param buffer UTF-8 encoded document
+     * @return structural index with absolute buffer positions
+     */
+    public static StructuralIndex buildScalar(final ByteBuffer buffer) {
+        return build(buffer, new ScalarBlockScanner());
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Gets the buffer position of a structural character.
+     *
+     * @param i index entry
+     * @return absolute buffer position
+     */
+    public int position(final int i) {
+        return positions[i];
+    }
+
+    /**
+     * Gets the entry of the bracket closing the container opened at the given
+     * entry.
+     *
+     * @param i entry of an opening bracket
+     * @return entry of the matching closing bracket
+     */
+    public int end(final int i) {
+        return ends[i];
+    }
+
+    /**
+     * Gets the number of members or elements of the container opened at the
+     * given entry.
+     *
+     * @param i entry of an opening bracket
+     * @return container size
+     */
+    public int size(final int i) {
+        return sizes[i];
+    }
+
+    /**
+     * Checks whether every string is closed and every bracket has a matching
+     * bracket of the same kind. Only a balanced index can be walked by a
+     * parser.
+     *
+     * @return true if the document is balanced
+     */
+    public boolean isBalanced() {
+        return balanced;
+    }
+
+    private static StructuralIndex build(final ByteBuffer buffer, final BlockScanner scanner) {
+        int start = buffer.position();
+        if (ByteOrderMark.UTF_8.matches(buffer)) {
+            start += ByteOrderMark.UTF_8.length();
+        }
+        final int length = buffer.limit() - start;
+        final byte[] array = buffer.hasArray() ? buffer.array() : null;
+        final byte[] chunk = array == null ? new byte[Math.min(CHUNK_SIZE, length)] : null;
+        final byte[] tail = new byte[BlockScanner.BLOCK_SIZE];
+
+        int[] positions = new int[Math.max(16, length >>> 3)];
+        int count = 0;
+        int chunkStart = -CHUNK_SIZE;
+        long previousOddBackslash = 0;
+        long previousInString = 0;
+        long previousScalar = 0;
+
+        for (int block = 0; block < length; block += BlockScanner.BLOCK_SIZE) {
+            if (block + BlockScanner.BLOCK_SIZE > length) {
+                // Pad the last block with whitespace, which never produces structurals
+                Arrays.fill(tail, (byte) ' ');
+                buffer.get(start + block, tail, 0, length - block);
+                scanner.scan(tail, 0);
+            } else if (array != null) {
+                scanner.scan(array, buffer.arrayOffset() + start + block);
+            } else {
+                if (block - chunkStart >= chunk.length) {
+                    chunkStart = block;
+                    buffer.get(start + block, chunk, 0, Math.min(chunk.length, length - block));
+                }
+                scanner.scan(chunk, block - chunkStart);
+            }
+
+            // Characters after an odd number of backslashes are escaped
+            final long backslash = scanner.backslashes;
+            final long startEdges = backslash & ~(backslash << 1);
+            final long evenStartMask = EVEN_BITS ^ previousOddBackslash;
+            final long evenCarries = backslash + (startEdges & evenStartMask);
+            final long oddStarts = startEdges & ~evenStartMask;
+            long oddCarries = backslash + oddStarts;
+            final boolean oddOverflow = Long.compareUnsigned(oddCarries, backslash) < 0;
+            oddCarries |= previousOddBackslash;
+            previousOddBackslash = oddOverflow ? 1 : 0;
+            final long escaped = (evenCarries & ~backslash & ODD_BITS) | (oddCarries & ~backslash & EVEN_BITS);
+
+            final long quote = scanner.quotes & ~escaped;
+            final long inString = prefixXor(quote) ^ previousInString;
+            previousInString = inString >> 63;
+
+            final long scalar = ~(scanner.operators | scanner.whitespace);
+            final long nonQuoteScalar = scalar & ~quote;
+            final long followsScalar = nonQuoteScalar << 1 | previousScalar;
+            previousScalar = nonQuoteScalar >>> 63;
+
+            final long stringTail = inString ^ quote;
+            long structural = ((scanner.operators & ~inString) | (scalar & ~followsScalar)) & ~stringTail;
+
+            if (count + Long.bitCount(structural) > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length << 1, count + 64));
+            }
+            final int base = start + block;
+            while (structural != 0) {
+                positions[count++] = base + Long.numberOfTrailingZeros(structural);
+                structural &= structural - 1;
+            }
+        }
+
+        final int[] ends = new int[count];
+        final int[] sizes = new int[count];
+        final boolean balanced = previousInString == 0 && matchBrackets(buffer, positions, count, ends, sizes);
+        return new StructuralIndex(positions, count, ends, sizes, balanced);
+    }
+
+    /**
+     * Records the closing entry and the size of every container.
+     */
+    private static boolean matchBrackets(final ByteBuffer buffer, final int[] positions, final int count,
+                                         final int[] ends, final int[] sizes) {
+        int[] open = new int[32];
+        int depth = 0;
+
+        for (int i = 0; i < count; i++) {
+            switch (buffer.get(positions[i])) {
+                case '{', '[' -> {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth << 1);
+                    }
+                    open[depth++] = i;
+                }
+                case '}', ']' -> {
+                    if (depth == 0) {
+                        return false;
+                    }
+                    final int start = open[--depth];
+                    // '[' + 2 == ']' and '{' + 2 == '}'
+                    if (buffer.get(positions[start]) + 2 != buffer.get(positions[i])) {
+                        return false;
+                    }
+                    ends[start] = i;
+                    sizes[start] = i == start + 1 ? 0 : sizes[start] + 1;
+                }
+                case ',' -> {
+                    if (depth > 0) {
+                        sizes[open[depth - 1]]++;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return depth == 0;
+    }
+
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+}
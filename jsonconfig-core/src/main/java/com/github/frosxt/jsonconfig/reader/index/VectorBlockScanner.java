@@ -0,0 +1,49 @@
+package com.github.frosxt.jsonconfig.reader.index;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Block scanner comparing whole vectors of bytes at once with the incubating
+ * Vector API.
+ */
+final class VectorBlockScanner extends BlockScanner {
+    private static final VectorSpecies<Byte> SPECIES = species();
+    private static final int LANES = SPECIES.length();
+
+    private static VectorSpecies<Byte> species() {
+        final VectorSpecies<Byte> preferred = ByteVector.SPECIES_PREFERRED;
+        return preferred.length() > BLOCK_SIZE ? ByteVector.SPECIES_512 : preferred;
+    }
+
+    @Override
+    void scan(final byte[] bytes, final int offset) {
+        long quote = 0;
+        long backslash = 0;
+        long operator = 0;
+        long space = 0;
+
+        for (int lane = 0; lane < BLOCK_SIZE; lane += LANES) {
+            final ByteVector vector = ByteVector.fromArray(SPECIES, bytes, offset + lane);
+
+            quote |= vector.eq((byte) '"').toLong() << lane;
+            backslash |= vector.eq((byte) '\\').toLong() << lane;
+
+            // Setting bit 5 maps '[' and ']' onto '{' and '}', no other byte lands on those
+            final ByteVector folded = vector.or((byte) 0x20);
+            final VectorMask<Byte> brackets = folded.eq((byte) '{').or(folded.eq((byte) '}'));
+            final VectorMask<Byte> separators = vector.eq((byte) ':').or(vector.eq((byte) ','));
+            operator |= brackets.or(separators).toLong() << lane;
+
+            final VectorMask<Byte> spaces = vector.eq((byte) ' ').or(vector.eq((byte) '\n'))
+                    .or(vector.eq((byte) '\r')).or(vector.eq((byte) '\t'));
+            space |= spaces.toLong() << lane;
+        }
+
+        quotes = quote;
+        backslashes = backslash;
+        operators = operator;
+        whitespace = space;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.frosxt.jsonconfig.reader.io;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.FeedableJsonParser;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Parses files read through an {@link AsynchronousFileChannel}.
+ * <p>
+ * Chunks are fed to a {@link FeedableJsonParser} from the channel's completion
+ * handler as they are read, so no thread blocks while waiting for the file.
+ * </p>
+ */
+public final class AsyncFiles {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private AsyncFiles() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Starts parsing a UTF-8 encoded file.
+     *
+     * @param path         file path
+     * @param parseOptions parse options or null for defaults
+     * @return future completed with the root node, or exceptionally if reading
+     *         or parsing fails
+     */
+    public static CompletableFuture<JsonNode> parse(final Path path, final JsonParseOptions parseOptions) {
+        final CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        final AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        } catch (final IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        new ChunkReader(channel, new FeedableJsonParser(parseOptions), result).read();
+        return result;
+    }
+
+    /**
+     * Reads the file chunk by chunk, issuing the next read once a chunk has
+     * been parsed.
+     */
+    private static final class ChunkReader implements CompletionHandler<Integer, Void> {
+        private final AsynchronousFileChannel channel;
+        private final FeedableJsonParser parser;
+        private final CompletableFuture<JsonNode> result;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private long position;
+
+        private ChunkReader(final AsynchronousFileChannel channel, final FeedableJsonParser parser,
+                            final CompletableFuture<JsonNode> result) {
+            this.channel = channel;
+            this.parser = parser;
+            this.result = result;
+        }
+
+        private void read() {
+            try {
+                channel.read(buffer, position, null, this);
+            } catch (final RuntimeException e) {
+                failed(e, null);
+            }
+        }
+
+        @Override
+        public void completed(final Integer count, final Void attachment) {
+            final JsonNode root;
+            try {
+                if (count != -1) {
+                    position += count;
+                    parser.feed(buffer.flip());
+                    buffer.clear();
+                    read();
+                    return;
+                }
+                root = parser.endOfInput();
+            } catch (final IOException | RuntimeException e) {
+                failed(e, null);
+                return;
+            }
+
+            close();
+            result.complete(root);
+        }
+
+        @Override
+        public void failed(final Throwable exception, final Void attachment) {
+            close();
+            result.completeExceptionally(exception);
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (final IOException ignored) {
+                // Nothing is left to read, the result does not depend on it
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.frosxt.jsonconfig.reader.io;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens files as byte buffers for the byte lexer, either by reading them onto
+ * the heap or by memory-mapping them.
+ */
+public final class FileBuffers {
+
+    private FileBuffers() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Opens a file using the load mode of the parse options.
+     *
+     * @param path         file path
+     * @param parseOptions parse options or null for defaults
+     * @return buffer holding the file content
+     * @throws IOException if read fails
+     */
+    public static ByteBuffer open(final Path path, final JsonParseOptions parseOptions) throws IOException {
+        final JsonParseOptions.LoadMode mode = parseOptions != null ? parseOptions.loadMode()
+                : JsonParseOptions.LoadMode.AUTO;
+        final long threshold = parseOptions != null ? parseOptions.mappedThreshold()
+                : JsonParseOptions.DEFAULT_MAPPED_THRESHOLD;
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final boolean mapped = switch (mode) {
+                case MAPPED -> true;
+                case HEAP -> false;
+                case AUTO -> size >= threshold;
+            };
+
+            return mapped ? map(channel, size, path) : read(channel, size, path);
+        }
+    }
+
+    /**
+     * Memory-maps a file read-only. The mapping stays valid after this method
+     * returns and is released once the buffer is garbage collected.
+     *
+     * @param path file path
+     * @return mapped buffer
+     * @throws IOException if mapping fails
+     */
+    public static MappedByteBuffer map(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, channel.size(), path);
+        }
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long size, final Path path)
+            throws IOException {
+        checkSize(size, path);
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final long size, final Path path) throws IOException {
+        checkSize(size, path);
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void checkSize(final long size, final Path path) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("File too large to load (" + size + " bytes): " + path);
+        }
+    }
+}
@@ -0,0 +1,583 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Base class for JSON lexers.
+ * <p>
+ * Holds the token state and the grammar shared by the character based
+ * {@link JsonLexer} and the byte based {@link Utf8JsonLexer}. Subclasses
+ * supply the input through {@link #read()}, decode characters outside the
+ * ASCII range and expose their buffer for runs of plain string characters.
+ * </p>
+ * <p>
+ * Strings are scanned run by run: a run of characters without quotes,
+ * backslashes or control characters is measured in the subclass's buffer and
+ * copied in one step. A string consisting of a single run is created straight
+ * from the buffer without copying it into the token text first.
+ * </p>
+ * <p>
+ * Only the offset is tracked while reading. Lines and columns are computed by
+ * {@link #locate(int)} when a position is asked for, which in practice means
+ * when an error is reported or a container is deferred.
+ * </p>
+ */
+public abstract class AbstractJsonLexer {
+    private static final int SKIP = 0;
+    private static final int VALUE = 1;
+    private static final int KEY = 2;
+    private static final String LONG_LIMIT = "9223372036854775808";
+    private static final int MAX_EXPONENT = 100_000;
+    private static final int INITIAL_TEXT = 64;
+    private static final int MAX_RETAINED_TEXT = 8192;
+
+    protected int current;
+    protected int offset = 0;
+    /** Line computed by the last {@link #locate(int)} call. */
+    protected int line = 1;
+    /** Column computed by the last {@link #locate(int)} call. */
+    protected int column = 0;
+
+    private int tokenStart;
+    private char[] text = new char[INITIAL_TEXT];
+    private int textLength = 0;
+    private String tokenValue;
+    private boolean numberPending;
+    private boolean integralNumber;
+    private long significand;
+    private int significantDigits;
+    private int decimalExponent;
+    private SymbolTable symbolTable;
+
+    /**
+     * Advances to the next input unit, storing it in {@link #current} or -1 at
+     * the end of input.
+     */
+    protected abstract void read() throws IOException;
+
+    /**
+     * Computes the line and column of the input unit read as number
+     * {@code offset}, i.e. of {@link #current} while {@link #offset} has that
+     * value, and stores them in {@link #line} and {@link #column}. After a
+     * line feed the line is already advanced and the column is 0.
+     *
+     * @param offset offset of the unit to locate
+     */
+    protected abstract void locate(int offset);
+
+    /**
+     * Measures the run of plain string characters starting at {@link #current},
+     * which is a plain ASCII character. The run ends before the next quote,
+     * backslash or control character, at a character that must be decoded, or
+     * at the end of the buffered input.
+     *
+     * @return length of the run, at least 1
+     */
+    protected abstract int plainRun();
+
+    /**
+     * Checks whether the buffered character following a run is a quote, so the
+     * run is the rest of the string.
+     *
+     * @param length run length returned by {@link #plainRun()}
+     * @return true if a quote directly follows the run
+     */
+    protected abstract boolean closesString(int length);
+
+    /**
+     * Creates a string from a run without consuming it.
+     *
+     * @param length      run length returned by {@link #plainRun()}
+     * @param symbolTable table to intern the string through, or null
+     * @return the run's characters
+     */
+    protected abstract String runString(int length, SymbolTable symbolTable);
+
+    /**
+     * Consumes a run, leaving the character after it in {@link #current}.
+     *
+     * @param length run length returned by {@link #plainRun()}
+     * @param keep   whether to append the run to the token text
+     */
+    protected abstract void skipRun(int length, boolean keep) throws IOException;
+
+    /**
+     * Clears the position and token state so the lexer can be reused for new
+     * input. A token text buffer that grew for a very long string is released.
+     */
+    protected void resetState() {
+        current = -1;
+        offset = 0;
+        line = 1;
+        column = 0;
+        tokenStart = 0;
+        textLength = 0;
+        tokenValue = null;
+        numberPending = false;
+        integralNumber = false;
+        if (text.length > MAX_RETAINED_TEXT) {
+            text = new char[INITIAL_TEXT];
+        }
+    }
+
+    public String getTokenValue() {
+        if (numberPending) {
+            tokenValue = new String(text, 0, textLength);
+            numberPending = false;
+        }
+        return tokenValue;
+    }
+
+    /**
+     * Checks whether the last number token has neither a fraction nor an
+     * exponent.
+     *
+     * @return true for integer tokens
+     */
+    public boolean isIntegralToken() {
+        return integralNumber;
+    }
+
+    /**
+     * Checks whether the last number token is an integer within the range of a
+     * long, in which case {@link #getTokenLong()} can read it without creating
+     * its text.
+     *
+     * @return true if the number fits a long
+     */
+    public boolean isLongToken() {
+        if (!integralNumber) {
+            return false;
+        }
+
+        final boolean negative = text[0] == '-';
+        final int start = negative ? 1 : 0;
+        final int digits = textLength - start;
+        if (digits != LONG_LIMIT.length()) {
+            return digits < LONG_LIMIT.length();
+        }
+
+        for (int i = 0; i < digits; i++) {
+            final char limit = LONG_LIMIT.charAt(i);
+            final char digit = text[start + i];
+            if (digit != limit) {
+                return digit < limit;
+            }
+        }
+        // Equal to the limit, which only fits as Long.MIN_VALUE
+        return negative;
+    }
+
+    /**
+     * Gets the last number token as a double. The value is computed from the
+     * digits collected while scanning, so no text is created unless the number
+     * has more than 19 significant digits or lies close to a rounding boundary.
+     *
+     * @return nearest double to the token
+     */
+    public double getTokenDouble() {
+        if (significantDigits <= FastDoubleParser.MAX_DIGITS) {
+            final double value = FastDoubleParser.toDouble(text[0] == '-', significand, decimalExponent);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(getTokenValue());
+    }
+
+    /**
+     * Gets the last number token as a long. Only valid if
+     * {@link #isLongToken()} returned true.
+     *
+     * @return token value
+     */
+    public long getTokenLong() {
+        final boolean negative = text[0] == '-';
+        long value = 0;
+        // Accumulate negatively so Long.MIN_VALUE does not overflow
+        for (int i = negative ? 1 : 0; i < textLength; i++) {
+            value = value * 10 - (text[i] - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    public int getLine() {
+        locate(offset);
+        return line;
+    }
+
+    public int getColumn() {
+        locate(offset);
+        return column;
+    }
+
+    public int getOffset() {
+        return offset - 1;
+    }
+
+    /**
+     * Gets the offset of the first character of the most recently read or
+     * peeked token.
+     *
+     * @return token offset
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * Gets the line of the most recently read or peeked token.
+     *
+     * @return token line
+     */
+    public int getTokenLine() {
+        locate(tokenStart + 1);
+        return line;
+    }
+
+    /**
+     * Gets the column of the most recently read or peeked token.
+     *
+     * @return token column
+     */
+    public int getTokenColumn() {
+        locate(tokenStart + 1);
+        return column;
+    }
+
+    /**
+     * Sets the table used to canonicalize strings read by {@link #nextKey()}.
+     *
+     * @param symbolTable table or null to disable interning
+     */
+    public void setSymbolTable(final SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    public TokenType nextToken() throws IOException {
+        return readToken(VALUE);
+    }
+
+    /**
+     * Reads the next token where an object key is expected. A string token is
+     * canonicalized through the symbol table, if one is set.
+     *
+     * @return type of the token
+     * @throws IOException if reading fails
+     */
+    public TokenType nextKey() throws IOException {
+        return readToken(KEY);
+    }
+
+    /**
+     * Reads the next token like {@link #nextToken()} but without building its
+     * value. Strings and numbers are still validated.
+     *
+     * @return type of the skipped token
+     * @throws IOException if reading fails
+     */
+    public TokenType skipToken() throws IOException {
+        return readToken(SKIP);
+    }
+
+    /**
+     * Returns the type of the next token without consuming it. Only whitespace
+     * before the token is consumed; literals and numbers are classified by their
+     * first character and validated once they are read.
+     *
+     * @return type of the next token
+     * @throws IOException if reading fails
+     */
+    public TokenType peekToken() throws IOException {
+        skipWhitespace();
+        tokenStart = offset - 1;
+
+        if (current == -1) {
+            return TokenType.EOF;
+        }
+
+        return switch (current) {
+            case '{' -> TokenType.START_OBJECT;
+            case '}' -> TokenType.END_OBJECT;
+            case '[' -> TokenType.START_ARRAY;
+            case ']' -> TokenType.END_ARRAY;
+            case ':' -> TokenType.COLON;
+            case ',' -> TokenType.COMMA;
+            case '"' -> TokenType.STRING;
+            case 't' -> TokenType.TRUE;
+            case 'f' -> TokenType.FALSE;
+            case 'n' -> TokenType.NULL;
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> TokenType.NUMBER;
+            default ->
+                    throw new JsonParseException("Unexpected character: " + (char) current, getLine(), getColumn(), getOffset());
+        };
+    }
+
+    private TokenType readToken(final int mode) throws IOException {
+        final TokenType type = peekToken();
+
+        return switch (type) {
+            case STRING -> readString(mode);
+            case NUMBER -> readNumber(mode != SKIP);
+            case TRUE -> readTrue();
+            case FALSE -> readFalse();
+            case NULL -> readNull();
+            case EOF -> TokenType.EOF;
+            default -> {
+                read();
+                yield type;
+            }
+        };
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (CharClasses.isWhitespace(current)) {
+            read();
+        }
+    }
+
+    private TokenType readString(final int mode) throws IOException {
+        final boolean keep = mode != SKIP;
+        numberPending = false;
+        integralNumber = false;
+        textLength = 0;
+        read();
+
+        while (current != -1) {
+            if (current < 0x80 && CharClasses.isPlainAscii(current)) {
+                final int length = plainRun();
+                if (keep && textLength == 0 && closesString(length)) {
+                    tokenValue = runString(length, mode == KEY ? symbolTable : null);
+                    skipRun(length, false);
+                    read();
+                    return TokenType.STRING;
+                }
+                skipRun(length, keep);
+            } else if (current == '"') {
+                read();
+                if (mode == KEY && symbolTable != null) {
+                    tokenValue = symbolTable.intern(text, 0, textLength);
+                } else {
+                    tokenValue = keep ? new String(text, 0, textLength) : null;
+                }
+                return TokenType.STRING;
+            } else if (current == '\\') {
+                read();
+                if (current == -1) {
+                    throw new JsonParseException("Unexpected EOF in string", getLine(), getColumn(), getOffset());
+                }
+                switch (current) {
+                    case '"':
+                        appendText('"');
+                        break;
+                    case '\\':
+                        appendText('\\');
+                        break;
+                    case '/':
+                        appendText('/');
+                        break;
+                    case 'b':
+                        appendText('\b');
+                        break;
+                    case 'f':
+                        appendText('\f');
+                        break;
+                    case 'n':
+                        appendText('\n');
+                        break;
+                    case 'r':
+                        appendText('\r');
+                        break;
+                    case 't':
+                        appendText('\t');
+                        break;
+                    case 'u':
+                        appendText(readUnicode());
+                        break;
+                    default:
+                        throw new JsonParseException("Invalid escape sequence: \\" + (char) current, getLine(), getColumn(), getOffset());
+                }
+                read();
+            } else if (current >= 0x80) {
+                readNonAscii(keep);
+            } else {
+                throw new JsonParseException("Illegal unescaped control character: " + String.format("0x%02x", current), getLine(), getColumn(), getOffset());
+            }
+        }
+
+        throw new JsonParseException("Unterminated string", getLine(), getColumn(), getOffset());
+    }
+
+    /**
+     * Consumes a string character outside the ASCII range, appending its UTF-16
+     * form through {@link #appendText(char)} if {@code keep} is set.
+     */
+    protected void readNonAscii(final boolean keep) throws IOException {
+        if (keep) {
+            appendText((char) current);
+        }
+        read();
+    }
+
+    protected final void appendText(final char c) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength << 1);
+        }
+        text[textLength++] = c;
+    }
+
+    protected final void appendText(final char[] chars, final int offset, final int length) {
+        ensureText(length);
+        System.arraycopy(chars, offset, text, textLength, length);
+        textLength += length;
+    }
+
+    /**
+     * Appends ASCII bytes to the token text.
+     */
+    protected final void appendAscii(final ByteBuffer bytes, final int index, final int length) {
+        ensureText(length);
+        for (int i = 0; i < length; i++) {
+            text[textLength + i] = (char) bytes.get(index + i);
+        }
+        textLength += length;
+    }
+
+    private void ensureText(final int length) {
+        if (textLength + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textLength << 1, textLength + length));
+        }
+    }
+
+    private char readUnicode() throws IOException {
+        int val = 0;
+        for (int i = 0; i < 4; i++) {
+            read();
+            if (current == -1) {
+                throw new JsonParseException("Unexpected EOF in unicode escape", getLine(), getColumn(), getOffset());
+            }
+            final int digit = Character.digit(current, 16);
+            if (digit == -1) {
+                throw new JsonParseException("Invalid unicode escape character: " + (char) current, getLine(), getColumn(),
+                        getOffset());
+            }
+            val = (val << 4) | digit;
+        }
+
+        return (char) val;
+    }
+
+    private TokenType readTrue() throws IOException {
+        expect("true");
+        return TokenType.TRUE;
+    }
+
+    private TokenType readFalse() throws IOException {
+        expect("false");
+        return TokenType.FALSE;
+    }
+
+    private TokenType readNull() throws IOException {
+        expect("null");
+        return TokenType.NULL;
+    }
+
+    private void expect(final String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            if (current != expected.charAt(i)) {
+                throw new JsonParseException("Expected '" + expected + "'", getLine(), getColumn(), getOffset());
+            }
+            read();
+        }
+    }
+
+    private TokenType readNumber(final boolean keep) throws IOException {
+        textLength = 0;
+        integralNumber = true;
+        significand = 0;
+        significantDigits = 0;
+        decimalExponent = 0;
+        if (current == '-') {
+            appendText('-');
+            read();
+        }
+
+        if (current == '0') {
+            appendText('0');
+            read();
+            if (isDigit(current)) {
+                throw new JsonParseException("Leading zeros are not allowed", getLine(), getColumn(), getOffset());
+            }
+        } else if (isDigit(current)) {
+            while (isDigit(current)) {
+                addDigit(current);
+                read();
+            }
+        } else {
+            throw new JsonParseException("Invalid number format", getLine(), getColumn(), getOffset());
+        }
+
+        if (current == '.') {
+            integralNumber = false;
+            appendText('.');
+            read();
+            if (!isDigit(current)) {
+                throw new JsonParseException("Invalid fraction part", getLine(), getColumn(), getOffset());
+            }
+            while (isDigit(current)) {
+                addDigit(current);
+                decimalExponent--;
+                read();
+            }
+        }
+
+        if (current == 'e' || current == 'E') {
+            integralNumber = false;
+            appendText((char) current);
+            read();
+            final boolean negativeExponent = current == '-';
+            if (current == '+' || current == '-') {
+                appendText((char) current);
+                read();
+            }
+            if (!isDigit(current)) {
+                throw new JsonParseException("Invalid exponent part", getLine(), getColumn(), getOffset());
+            }
+            int exponent = 0;
+            while (isDigit(current)) {
+                // Anything this large is zero or infinite anyway, stop before overflowing
+                if (exponent < MAX_EXPONENT) {
+                    exponent = exponent * 10 + (current - '0');
+                }
+                appendText((char) current);
+                read();
+            }
+            decimalExponent += negativeExponent ? -exponent : exponent;
+        }
+
+        // The text is only turned into a string if asked for, see getTokenValue()
+        tokenValue = null;
+        numberPending = keep;
+        return TokenType.NUMBER;
+    }
+
+    private void addDigit(final int c) {
+        appendText((char) c);
+        final int digit = c - '0';
+        // Leading zeros of a fraction such as 0.005 are not significant
+        if (significand == 0 && digit == 0) {
+            return;
+        }
+        if (++significantDigits <= FastDoubleParser.MAX_DIGITS) {
+            significand = significand * 10 + digit;
+        }
+    }
+
+    private static boolean isDigit(final int c) {
+        return CharClasses.isDigit(c);
+    }
+}
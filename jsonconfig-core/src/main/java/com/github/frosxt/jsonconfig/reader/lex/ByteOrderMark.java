@@ -0,0 +1,68 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte order marks recognised at the start of byte input.
+ */
+public enum ByteOrderMark {
+    UTF_8(StandardCharsets.UTF_8, 0xEF, 0xBB, 0xBF),
+    UTF_32BE(Charset.forName("UTF-32BE"), 0x00, 0x00, 0xFE, 0xFF),
+    UTF_32LE(Charset.forName("UTF-32LE"), 0xFF, 0xFE, 0x00, 0x00),
+    UTF_16BE(StandardCharsets.UTF_16BE, 0xFE, 0xFF),
+    UTF_16LE(StandardCharsets.UTF_16LE, 0xFF, 0xFE);
+
+    private final Charset charset;
+    private final int[] bytes;
+
+    ByteOrderMark(final Charset charset, final int... bytes) {
+        this.charset = charset;
+        this.bytes = bytes;
+    }
+
+    public Charset charset() {
+        return charset;
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * Checks whether the remaining bytes of the buffer start with this mark.
+     * The buffer's position is not modified.
+     *
+     * @param buffer input
+     * @return true if the mark is present
+     */
+    public boolean matches(final ByteBuffer buffer) {
+        if (buffer.remaining() < bytes.length) {
+            return false;
+        }
+
+        final int start = buffer.position();
+        for (int i = 0; i < bytes.length; i++) {
+            if ((buffer.get(start + i) & 0xFF) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Detects the byte order mark at the start of the remaining bytes.
+     *
+     * @param buffer input
+     * @return detected mark or null if there is none
+     */
+    public static ByteOrderMark detect(final ByteBuffer buffer) {
+        for (final ByteOrderMark mark : values()) {
+            if (mark.matches(buffer)) {
+                return mark;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+/**
+ * Lookup table classifying ASCII characters for the lexers.
+ * <p>
+ * Whitespace is the JSON set only (space, tab, line feed and carriage
+ * return). Characters outside the ASCII range belong to no class; the lexers
+ * decide how to treat them.
+ * </p>
+ */
+final class CharClasses {
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte STRING_SPECIAL = 4;
+    private static final byte[] TABLE = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            TABLE[c] = STRING_SPECIAL;
+        }
+        TABLE['"'] = STRING_SPECIAL;
+        TABLE['\\'] = STRING_SPECIAL;
+        TABLE[' '] = WHITESPACE;
+        TABLE['\t'] |= WHITESPACE;
+        TABLE['\n'] |= WHITESPACE;
+        TABLE['\r'] |= WHITESPACE;
+        for (int c = '0'; c <= '9'; c++) {
+            TABLE[c] = DIGIT;
+        }
+    }
+
+    private CharClasses() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    static boolean isWhitespace(final int c) {
+        return c >= 0 && c < 0x80 && (TABLE[c] & WHITESPACE) != 0;
+    }
+
+    static boolean isDigit(final int c) {
+        return c >= 0 && c < 0x80 && (TABLE[c] & DIGIT) != 0;
+    }
+
+    /**
+     * Checks whether an ASCII character can appear in a string as is, i.e. it
+     * is not a quote, a backslash or a control character.
+     *
+     * @param c character, which must be in the ASCII range
+     * @return true for plain string characters
+     */
+    static boolean isPlainAscii(final int c) {
+        return (TABLE[c] & STRING_SPECIAL) == 0;
+    }
+}
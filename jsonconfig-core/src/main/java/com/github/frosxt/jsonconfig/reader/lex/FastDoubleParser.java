@@ -0,0 +1,148 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal significand and exponent to the nearest double.
+ * <p>
+ * Exact cases are handled with a single floating-point operation (Clinger's
+ * fast path). Everything else uses the Eisel-Lemire algorithm, which
+ * multiplies the significand by a 128-bit approximation of the power of ten.
+ * When that product is too close to a rounding boundary to decide, or the
+ * result would be subnormal or infinite, {@link Double#NaN} is returned and
+ * the caller falls back to {@link Double#parseDouble(String)}.
+ * </p>
+ */
+final class FastDoubleParser {
+    static final int MAX_DIGITS = 19;
+
+    private static final int SMALLEST_POWER = -342;
+    private static final int LARGEST_POWER = 308;
+    private static final double[] EXACT_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FastDoubleParser() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Computes {@code significand * 10^exponent}.
+     *
+     * @param negative    sign of the result
+     * @param significand unsigned decimal significand of at most
+     *                    {@link #MAX_DIGITS} digits
+     * @param exponent    decimal exponent
+     * @return the correctly rounded value, or NaN if the fast path cannot
+     *         decide
+     */
+    static double toDouble(final boolean negative, final long significand, final int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (exponent >= -22 && exponent <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            final double value = (double) significand;
+            final double result = exponent < 0 ? value / EXACT_POWERS[-exponent] : value * EXACT_POWERS[exponent];
+            return negative ? -result : result;
+        }
+
+        if (exponent < SMALLEST_POWER || exponent > LARGEST_POWER) {
+            return Double.NaN;
+        }
+
+        final long bits = eiselLemire(significand, exponent);
+        if (bits < 0) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    /**
+     * Returns the bits of the positive double, or -1 if the result cannot be
+     * decided or is not a normal number.
+     */
+    private static long eiselLemire(long significand, final int exponent) {
+        final int index = (exponent - SMALLEST_POWER) << 1;
+        final long powerHigh = Powers.TABLE[index];
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        significand <<= leadingZeros;
+
+        long lower = significand * powerHigh;
+        long upper = Math.unsignedMultiplyHigh(significand, powerHigh);
+
+        // The truncated power may be off in the low bits; refine with the next 64 bits
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + significand, lower) < 0) {
+            final long powerLow = Powers.TABLE[index + 1];
+            final long productLow = significand * powerLow;
+            final long middle = lower + Math.unsignedMultiplyHigh(significand, powerLow);
+            if (Long.compareUnsigned(middle, lower) < 0) {
+                upper++;
+            }
+            if (middle == -1L && (upper & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + significand, productLow) < 0) {
+                return -1;
+            }
+            lower = middle;
+        }
+
+        final int upperBit = (int) (upper >>> 63);
+        long mantissa = upper >>> (upperBit + 9);
+        leadingZeros += 1 ^ upperBit;
+
+        // Exactly halfway between two doubles, the fast path cannot round to even
+        if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            return -1;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 1L << 53) {
+            mantissa = 1L << 52;
+            leadingZeros--;
+        }
+        mantissa &= ~(1L << 52);
+
+        final long binaryExponent = (((152170L + 65536) * exponent) >> 16) + 1024 + 63 - leadingZeros;
+        if (binaryExponent < 1 || binaryExponent > 2046) {
+            return -1;
+        }
+        return mantissa | binaryExponent << 52;
+    }
+
+    /**
+     * 128-bit approximations of the powers of five from 5^-342 to 5^308,
+     * normalized so the top bit is set. Built on first use only.
+     */
+    private static final class Powers {
+        private static final long[] TABLE = build();
+
+        private static long[] build() {
+            final BigInteger five = BigInteger.valueOf(5);
+            final long[] table = new long[(LARGEST_POWER - SMALLEST_POWER + 1) << 1];
+
+            for (int q = SMALLEST_POWER; q <= LARGEST_POWER; q++) {
+                BigInteger value;
+                if (q < 0) {
+                    final BigInteger power = five.pow(-q);
+                    final int bits = power.bitLength();
+                    final int shift = q >= -27 ? bits + 127 : 2 * bits + 128;
+                    value = BigInteger.ONE.shiftLeft(shift).divide(power).add(BigInteger.ONE);
+                    if (value.bitLength() > 128) {
+                        value = value.shiftRight(value.bitLength() - 128);
+                    }
+                } else {
+                    final BigInteger power = five.pow(q);
+                    final int shift = 128 - power.bitLength();
+                    value = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+                }
+
+                final int index = (q - SMALLEST_POWER) << 1;
+                table[index] = value.shiftRight(64).longValue();
+                table[index + 1] = value.longValue();
+            }
+            return table;
+        }
+    }
+}
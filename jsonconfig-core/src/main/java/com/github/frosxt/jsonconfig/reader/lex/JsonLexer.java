@@ -1,30 +1,69 @@
 package com.github.frosxt.jsonconfig.reader.lex;
 
-import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
-
 import java.io.IOException;
 import java.io.Reader;
 
-public class JsonLexer {
+/**
+ * Lexer reading already decoded characters from a {@link Reader}.
+ * <p>
+ * Lines and columns are computed from the buffered characters when asked for.
+ * Before the buffer is refilled the position at its end is computed, so
+ * positions inside the current buffer are exact; earlier positions are
+ * reported as the start of the buffer.
+ * </p>
+ */
+public class JsonLexer extends AbstractJsonLexer {
     private static final int BUFFER_SIZE = 8192;
-    private final Reader reader;
+    private Reader reader;
     private final char[] buffer = new char[BUFFER_SIZE];
     private int bufferPos = 0;
     private int bufferLimit = 0;
-    private int current;
-    private int line = 1;
-    private int column = 0;
-    private int offset = 0;
-    private final StringBuilder stringBuffer = new StringBuilder();
-
-    private String tokenValue;
+    private int bufferStart = 0;
+    private int startLine = 1;
+    private int startColumn = 0;
+    private int located = 0;
 
     public JsonLexer(final Reader reader) throws IOException {
+        reset(reader);
+    }
+
+    /**
+     * Points the lexer at new input, keeping its buffers, so one lexer can
+     * serve many small parses.
+     *
+     * @param reader next input, or null to only drop the current reader
+     * @throws IOException if reading the first character fails
+     */
+    public void reset(final Reader reader) throws IOException {
+        reset(reader, 1);
+    }
+
+    /**
+     * Points the lexer at input that starts on the given line of a larger
+     * document, e.g. one record of a file holding a record per line. Offsets
+     * count from the start of the input.
+     *
+     * @param reader next input, or null to only drop the current reader
+     * @param line   line of the first character
+     * @throws IOException if reading the first character fails
+     */
+    public void reset(final Reader reader, final int line) throws IOException {
         this.reader = reader;
-        read();
+        resetState();
+        bufferPos = 0;
+        bufferLimit = reader != null ? 0 : -1;
+        bufferStart = 0;
+        startLine = line;
+        startColumn = 0;
+        located = 0;
+        this.line = line;
+        if (reader != null) {
+            read();
+        }
     }
 
-    private void read() throws IOException {
+    @Override
+    protected void read() throws IOException {
         if (bufferLimit == -1) {
             current = -1;
             return;
@@ -40,235 +79,74 @@ public class JsonLexer {
 
         current = buffer[bufferPos++];
         offset++;
-
-        if (current == '\n') {
-            line++;
-            column = 0;
-        } else {
-            column++;
-        }
-    }
-
-    private void fillBuffer() throws IOException {
-        bufferLimit = reader.read(buffer, 0, BUFFER_SIZE);
-        bufferPos = 0;
-    }
-
-    public String getTokenValue() {
-        return tokenValue;
-    }
-
-    public int getLine() {
-        return line;
     }
 
-    public int getColumn() {
-        return column;
-    }
-
-    public int getOffset() {
-        return offset - 1;
-    }
-
-    public TokenType nextToken() throws IOException {
-        skipWhitespace();
-
-        if (current == -1) {
-            return TokenType.EOF;
-        }
-
-        return switch (current) {
-            case '{' -> {
-                read();
-                yield TokenType.START_OBJECT;
-            }
-            case '}' -> {
-                read();
-                yield TokenType.END_OBJECT;
-            }
-            case '[' -> {
-                read();
-                yield TokenType.START_ARRAY;
-            }
-            case ']' -> {
-                read();
-                yield TokenType.END_ARRAY;
-            }
-            case ':' -> {
-                read();
-                yield TokenType.COLON;
-            }
-            case ',' -> {
-                read();
-                yield TokenType.COMMA;
-            }
-            case '"' -> readString();
-            case 't' -> readTrue();
-            case 'f' -> readFalse();
-            case 'n' -> readNull();
-            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> readNumber();
-            default ->
-                    throw new JsonParseException("Unexpected character: " + (char) current, line, column, getOffset());
-        };
-    }
-
-    private void skipWhitespace() throws IOException {
-        while (current != -1 && Character.isWhitespace(current)) {
-            read();
+    @Override
+    protected void locate(final int offset) {
+        final int target = Math.max(bufferStart, Math.min(offset, bufferStart + Math.max(bufferLimit, 0)));
+        if (located > target || located < bufferStart) {
+            located = bufferStart;
+            line = startLine;
+            column = startColumn;
         }
-    }
-
-    private TokenType readString() throws IOException {
-        stringBuffer.setLength(0);
-        read();
 
-        while (current != -1) {
-            if (current == '"') {
-                read();
-                tokenValue = stringBuffer.toString();
-                return TokenType.STRING;
-            } else if (current == '\\') {
-                read();
-                if (current == -1) {
-                    throw new JsonParseException("Unexpected EOF in string", line, column, getOffset());
-                }
-                switch (current) {
-                    case '"':
-                        stringBuffer.append('"');
-                        break;
-                    case '\\':
-                        stringBuffer.append('\\');
-                        break;
-                    case '/':
-                        stringBuffer.append('/');
-                        break;
-                    case 'b':
-                        stringBuffer.append('\b');
-                        break;
-                    case 'f':
-                        stringBuffer.append('\f');
-                        break;
-                    case 'n':
-                        stringBuffer.append('\n');
-                        break;
-                    case 'r':
-                        stringBuffer.append('\r');
-                        break;
-                    case 't':
-                        stringBuffer.append('\t');
-                        break;
-                    case 'u':
-                        stringBuffer.append(readUnicode());
-                        break;
-                    default:
-                        throw new JsonParseException("Invalid escape sequence: \\" + (char) current, line, column, getOffset());
-                }
-                read();
+        for (int i = located - bufferStart; i < target - bufferStart; i++) {
+            if (buffer[i] == '\n') {
+                line++;
+                column = 0;
             } else {
-                if (current < 0x20) {
-                    throw new JsonParseException("Illegal unescaped control character: " + String.format("0x%02x", current), line, column, getOffset());
-                }
-                stringBuffer.append((char) current);
-                read();
+                column++;
             }
         }
-
-        throw new JsonParseException("Unterminated string", line, column, getOffset());
+        located = target;
     }
 
-    private char readUnicode() throws IOException {
-        int val = 0;
-        for (int i = 0; i < 4; i++) {
-            read();
-            if (current == -1) {
-                throw new JsonParseException("Unexpected EOF in unicode escape", line, column, getOffset());
+    @Override
+    protected int plainRun() {
+        final int start = bufferPos - 1;
+        int end = bufferPos;
+        while (end < bufferLimit) {
+            final char c = buffer[end];
+            // Characters are already decoded, so anything outside ASCII is plain
+            if (c < 0x80 && !CharClasses.isPlainAscii(c)) {
+                break;
             }
-            final int digit = Character.digit(current, 16);
-            if (digit == -1) {
-                throw new JsonParseException("Invalid unicode escape character: " + (char) current, line, column,
-                        getOffset());
-            }
-            val = (val << 4) | digit;
+            end++;
         }
-
-        return (char) val;
-    }
-
-    private TokenType readTrue() throws IOException {
-        expect("true");
-        return TokenType.TRUE;
+        return end - start;
     }
 
-    private TokenType readFalse() throws IOException {
-        expect("false");
-        return TokenType.FALSE;
+    @Override
+    protected boolean closesString(final int length) {
+        final int end = bufferPos - 1 + length;
+        return end < bufferLimit && buffer[end] == '"';
     }
 
-    private TokenType readNull() throws IOException {
-        expect("null");
-        return TokenType.NULL;
+    @Override
+    protected String runString(final int length, final SymbolTable symbolTable) {
+        final int start = bufferPos - 1;
+        return symbolTable != null ? symbolTable.intern(buffer, start, length) : new String(buffer, start, length);
     }
 
-    private void expect(final String expected) throws IOException {
-        for (int i = 0; i < expected.length(); i++) {
-            if (current != expected.charAt(i)) {
-                throw new JsonParseException("Expected '" + expected + "'", line, column, getOffset());
-            }
-            read();
+    @Override
+    protected void skipRun(final int length, final boolean keep) throws IOException {
+        if (keep) {
+            appendText(buffer, bufferPos - 1, length);
         }
+        bufferPos += length - 1;
+        offset += length - 1;
+        read();
     }
 
-    private TokenType readNumber() throws IOException {
-        stringBuffer.setLength(0);
-        if (current == '-') {
-            stringBuffer.append('-');
-            read();
-        }
-
-        if (current == '0') {
-            stringBuffer.append('0');
-            read();
-            if (Character.isDigit(current)) {
-                throw new JsonParseException("Leading zeros are not allowed", line, column, getOffset());
-            }
-        } else if (Character.isDigit(current)) {
-            while (Character.isDigit(current)) {
-                stringBuffer.append((char) current);
-                read();
-            }
-        } else {
-            throw new JsonParseException("Invalid number format", line, column, getOffset());
-        }
-
-        if (current == '.') {
-            stringBuffer.append('.');
-            read();
-            if (!Character.isDigit(current)) {
-                throw new JsonParseException("Invalid fraction part", line, column, getOffset());
-            }
-            while (Character.isDigit(current)) {
-                stringBuffer.append((char) current);
-                read();
-            }
-        }
-
-        if (current == 'e' || current == 'E') {
-            stringBuffer.append((char) current);
-            read();
-            if (current == '+' || current == '-') {
-                stringBuffer.append((char) current);
-                read();
-            }
-            if (!Character.isDigit(current)) {
-                throw new JsonParseException("Invalid exponent part", line, column, getOffset());
-            }
-            while (Character.isDigit(current)) {
-                stringBuffer.append((char) current);
-                read();
-            }
+    private void fillBuffer() throws IOException {
+        if (bufferLimit > 0) {
+            // The characters are about to be overwritten, keep the position at their end
+            locate(bufferStart + bufferLimit);
+            bufferStart += bufferLimit;
+            startLine = line;
+            startColumn = column;
         }
-
-        tokenValue = stringBuffer.toString();
-        return TokenType.NUMBER;
+        bufferLimit = reader.read(buffer, 0, BUFFER_SIZE);
+        bufferPos = 0;
     }
 }
@@ -0,0 +1,47 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Creates lexers for byte input, choosing the implementation from the byte
+ * order mark.
+ */
+public final class LexerFactory {
+
+    private LexerFactory() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Creates a lexer over the remaining bytes of the buffer.
+     * <p>
+     * Input without a byte order mark or with a UTF-8 mark is lexed directly
+     * from the bytes. UTF-16 and UTF-32 input is decoded up front and lexed as
+     * characters.
+     * </p>
+     *
+     * @param buffer encoded input
+     * @return lexer positioned on the first character
+     * @throws IOException if the input cannot be decoded
+     */
+    public static AbstractJsonLexer create(final ByteBuffer buffer) throws IOException {
+        final ByteOrderMark mark = ByteOrderMark.detect(buffer);
+        if (mark == null || mark == ByteOrderMark.UTF_8) {
+            return new Utf8JsonLexer(buffer);
+        }
+
+        final ByteBuffer content = buffer.duplicate();
+        content.position(content.position() + mark.length());
+        final CharBuffer chars = mark.charset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(content);
+
+        return new JsonLexer(new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(),
+                chars.remaining()));
+    }
+}
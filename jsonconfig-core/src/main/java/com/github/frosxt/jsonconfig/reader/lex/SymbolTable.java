@@ -0,0 +1,191 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Canonical strings for object keys.
+ * <p>
+ * The lexer hashes key characters in place and returns the stored instance on
+ * a hit, so repeated keys share one {@link String} and no new string is
+ * allocated for them. A table can be shared across loads and threads; lookups
+ * are lock-free and only inserts synchronize. Once {@link #maxSize()} symbols
+ * are stored, new keys are returned without being added.
+ * </p>
+ */
+public final class SymbolTable {
+    public static final int DEFAULT_MAX_SIZE = 16384;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int maxSize;
+    private volatile String[] table = new String[INITIAL_CAPACITY];
+    private int size;
+
+    public SymbolTable() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a table holding at most the given number of symbols.
+     *
+     * @param maxSize maximum number of symbols
+     */
+    public SymbolTable(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size cannot be negative");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the canonical string for the given characters, adding it if the
+     * table is not full.
+     *
+     * @param chars  source characters
+     * @param offset start of the key
+     * @param length length of the key
+     * @return canonical or newly created string
+     */
+    public String intern(final char[] chars, final int offset, final int length) {
+        final int hash = hash(chars, offset, length);
+        final String[] current = table;
+        final int mask = current.length - 1;
+
+        int index = spread(hash) & mask;
+        String candidate;
+        while ((candidate = current[index]) != null) {
+            if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return insert(chars, offset, length, hash);
+    }
+
+    /**
+     * Returns the canonical string for a run of ASCII bytes, adding it if the
+     * table is not full.
+     *
+     * @param bytes  source buffer, read with absolute gets
+     * @param offset start of the key
+     * @param length length of the key
+     * @return canonical or newly created string
+     */
+    public String intern(final ByteBuffer bytes, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes.get(i);
+        }
+
+        final String[] current = table;
+        final int mask = current.length - 1;
+        int index = spread(hash) & mask;
+        String candidate;
+        while ((candidate = current[index]) != null) {
+            if (candidate.hashCode() == hash && matches(candidate, bytes, offset, length)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) bytes.get(offset + i);
+        }
+        return insert(chars, 0, length, hash);
+    }
+
+    private synchronized String insert(final char[] chars, final int offset, final int length, final int hash) {
+        String[] current = table;
+        int mask = current.length - 1;
+
+        int index = spread(hash) & mask;
+        String candidate;
+        while ((candidate = current[index]) != null) {
+            if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+
+        final String symbol = new String(chars, offset, length);
+        if (size >= maxSize) {
+            return symbol;
+        }
+
+        if ((size + 1) * 2 > current.length) {
+            current = rehash(current);
+            mask = current.length - 1;
+            index = spread(hash) & mask;
+            while (current[index] != null) {
+                index = (index + 1) & mask;
+            }
+        }
+
+        current[index] = symbol;
+        size++;
+        table = current;
+        return symbol;
+    }
+
+    private static String[] rehash(final String[] old) {
+        final String[] resized = new String[old.length << 1];
+        final int mask = resized.length - 1;
+
+        for (final String symbol : old) {
+            if (symbol != null) {
+                int index = spread(symbol.hashCode()) & mask;
+                while (resized[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                resized[index] = symbol;
+            }
+        }
+        return resized;
+    }
+
+    private static int hash(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(final String candidate, final ByteBuffer bytes, final int offset,
+                                   final int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != bytes.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(final String candidate, final char[] chars, final int offset, final int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
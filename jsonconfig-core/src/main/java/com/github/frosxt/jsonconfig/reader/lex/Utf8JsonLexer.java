@@ -0,0 +1,246 @@
+package com.github.frosxt.jsonconfig.reader.lex;
+
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lexer reading UTF-8 encoded bytes directly.
+ * <p>
+ * Structural characters, literals and numbers are lexed from the raw bytes;
+ * UTF-8 is only decoded inside string tokens. A leading UTF-8 byte order mark
+ * is skipped. Offsets reported by this lexer are byte indexes into the
+ * buffer, while columns count characters. Lines and columns are computed by
+ * rescanning the buffer when asked for.
+ * </p>
+ */
+public class Utf8JsonLexer extends AbstractJsonLexer {
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final int startPosition;
+    private final int startLine;
+    private final int startColumn;
+    private final int shift;
+    private int position;
+    private int located;
+
+    public Utf8JsonLexer(final byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public Utf8JsonLexer(final byte[] bytes, final int offset, final int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Creates a lexer over the remaining bytes of the buffer. The buffer's
+     * position and limit are not modified.
+     *
+     * @param buffer UTF-8 encoded input
+     */
+    public Utf8JsonLexer(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        if (ByteOrderMark.UTF_8.matches(buffer)) {
+            position += ByteOrderMark.UTF_8.length();
+        }
+        this.offset = position;
+        this.startPosition = position;
+        this.startLine = 1;
+        this.startColumn = 0;
+        this.shift = 0;
+        this.located = position;
+        read();
+    }
+
+    /**
+     * Creates a lexer over a region of a larger document, e.g. a value whose
+     * position was recorded by an earlier pass. Line and column numbers continue
+     * from the given position of the region's first character.
+     *
+     * @param buffer region to lex, from position to limit
+     * @param line   line of the first character
+     * @param column column of the first character
+     */
+    public Utf8JsonLexer(final ByteBuffer buffer, final int line, final int column) {
+        this(buffer, line, column, buffer.position());
+    }
+
+    /**
+     * Creates a lexer over a region whose bytes start at the given offset of
+     * the document, e.g. the unconsumed bytes of a document arriving in
+     * chunks. Offsets reported by the lexer are document offsets.
+     *
+     * @param buffer region to lex, from position to limit
+     * @param line   line of the first character
+     * @param column column of the first character
+     * @param offset document offset of the first character
+     */
+    public Utf8JsonLexer(final ByteBuffer buffer, final int line, final int column, final int offset) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        this.offset = offset;
+        this.startPosition = position;
+        this.startLine = line;
+        this.startColumn = column - 1;
+        this.shift = offset - position;
+        this.located = position;
+        this.line = startLine;
+        this.column = startColumn;
+        read();
+    }
+
+    /**
+     * Moves the lexer to an absolute buffer position, e.g. one taken from a
+     * structural index. Lines and columns are computed from the bytes, so they
+     * stay exact after the jump.
+     *
+     * @param position position of the next character to lex
+     */
+    public void reset(final int position) {
+        this.position = position;
+        this.offset = position + shift;
+        read();
+    }
+
+    /**
+     * Gets the buffer position of the character following the last token,
+     * which is the limit once all input has been read.
+     *
+     * @return position of the lookahead character
+     */
+    public int getPosition() {
+        return current == -1 ? position : position - 1;
+    }
+
+    /**
+     * Gets the buffer this lexer reads from.
+     *
+     * @return source buffer
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    protected void read() {
+        if (position >= limit) {
+            current = -1;
+            return;
+        }
+
+        current = buffer.get(position++) & 0xFF;
+        offset++;
+    }
+
+    @Override
+    protected void locate(final int offset) {
+        final int target = Math.max(startPosition, Math.min(offset - shift, limit));
+        if (located > target) {
+            located = startPosition;
+            line = startLine;
+            column = startColumn;
+        }
+
+        for (; located < target; located++) {
+            final byte b = buffer.get(located);
+            if (b == '\n') {
+                line++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                column++;
+            }
+        }
+    }
+
+    @Override
+    protected int plainRun() {
+        final int start = position - 1;
+        int end = position;
+        // Non-ASCII bytes are negative and end the run, they need decoding
+        while (end < limit) {
+            final byte b = buffer.get(end);
+            if (b < 0 || !CharClasses.isPlainAscii(b)) {
+                break;
+            }
+            end++;
+        }
+        return end - start;
+    }
+
+    @Override
+    protected boolean closesString(final int length) {
+        final int end = position - 1 + length;
+        return end < limit && buffer.get(end) == '"';
+    }
+
+    @Override
+    protected String runString(final int length, final SymbolTable symbolTable) {
+        final int start = position - 1;
+        if (symbolTable != null) {
+            return symbolTable.intern(buffer, start, length);
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.ISO_8859_1);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    protected void skipRun(final int length, final boolean keep) {
+        if (keep) {
+            appendAscii(buffer, position - 1, length);
+        }
+        position += length - 1;
+        offset += length - 1;
+        read();
+    }
+
+    @Override
+    protected void readNonAscii(final boolean keep) {
+        final int lead = current;
+        final int codePoint;
+
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            codePoint = ((lead & 0x1F) << 6) | continuation(0x80, 0xBF);
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            final int min = lead == 0xE0 ? 0xA0 : 0x80;
+            final int max = lead == 0xED ? 0x9F : 0xBF;
+            final int second = continuation(min, max);
+            codePoint = ((lead & 0x0F) << 12) | (second << 6) | continuation(0x80, 0xBF);
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            final int min = lead == 0xF0 ? 0x90 : 0x80;
+            final int max = lead == 0xF4 ? 0x8F : 0xBF;
+            final int second = continuation(min, max);
+            final int third = continuation(0x80, 0xBF);
+            codePoint = ((lead & 0x07) << 18) | (second << 12) | (third << 6) | continuation(0x80, 0xBF);
+        } else {
+            throw new JsonParseException("Invalid UTF-8 byte: " + String.format("0x%02x", lead), getLine(), getColumn(),
+                    getOffset());
+        }
+        read();
+
+        if (!keep) {
+            return;
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            appendText(Character.highSurrogate(codePoint));
+            appendText(Character.lowSurrogate(codePoint));
+        } else {
+            appendText((char) codePoint);
+        }
+    }
+
+    private int continuation(final int min, final int max) {
+        read();
+        if (current < min || current > max) {
+            throw new JsonParseException("Invalid UTF-8 sequence", getLine(), getColumn(), getOffset());
+        }
+        return current & 0x3F;
+    }
+}
@@ -3,24 +3,45 @@ package com.github.frosxt.jsonconfig.runtime.config;
 import com.github.frosxt.jsonconfig.api.JsonConfiguration;
 import com.github.frosxt.jsonconfig.api.JsonOptions;
 import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.JsonSection;
 import com.github.frosxt.jsonconfig.api.merge.MergeStrategy;
+import com.github.frosxt.jsonconfig.path.eval.PathMatcher;
+import com.github.frosxt.jsonconfig.reader.IncrementalJsonParser;
+import com.github.frosxt.jsonconfig.reader.IndexedJsonParser;
 import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParserPool;
+import com.github.frosxt.jsonconfig.reader.NdjsonReader;
+import com.github.frosxt.jsonconfig.reader.ParallelJsonParser;
+import com.github.frosxt.jsonconfig.reader.io.AsyncFiles;
+import com.github.frosxt.jsonconfig.reader.io.FileBuffers;
+import com.github.frosxt.jsonconfig.reader.lex.LexerFactory;
+import com.github.frosxt.jsonconfig.runtime.copy.SubtreeDeduplicator;
 import com.github.frosxt.jsonconfig.runtime.merge.MergeService;
 import com.github.frosxt.jsonconfig.runtime.section.JsonSectionImpl;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.container.JsonObject;
 import com.github.frosxt.jsonconfig.writer.JsonWriter;
+import com.github.frosxt.jsonconfig.writer.NdjsonWriter;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 public class JsonConfigurationImpl extends JsonSectionImpl implements JsonConfiguration {
     private final JsonOptionsImpl options;
     private JsonConfiguration defaults;
+    private IncrementalJsonParser source;
+    private JsonParseOptions sourceOptions;
 
     public JsonConfigurationImpl() {
         super(null, null, "", new JsonObject());
@@ -95,14 +116,55 @@ public class JsonConfigurationImpl extends JsonSectionImpl implements JsonConfig
         Files.writeString(path, data, StandardCharsets.UTF_8);
     }
 
+    @Override
+    public void reload(final Path path) throws IOException {
+        if (source == null) {
+            source = new IncrementalJsonParser(sourceOptions, value);
+        }
+
+        final JsonNode node = source.parse(FileBuffers.open(path, sourceOptions));
+        if (node != value) {
+            // The parser no longer fills this root, so the next reload starts over
+            source = null;
+            throw new IOException("Root of configuration must be a JSON object, found: " + node.getClass().getSimpleName());
+        }
+    }
+
     public static JsonConfiguration loadConfiguration(final Path path) throws IOException {
         return loadConfiguration(path, null);
     }
 
     public static JsonConfiguration loadConfiguration(final Path path, final JsonParseOptions parseOptions) throws IOException {
-        try (final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            return loadConfiguration(reader, parseOptions);
+        if (parseOptions != null && parseOptions.reloadable()) {
+            final JsonConfigurationImpl config = new JsonConfigurationImpl();
+            config.sourceOptions = parseOptions.copy();
+            config.reload(path);
+            return config;
         }
+        return loadConfiguration(FileBuffers.open(path, parseOptions), parseOptions);
+    }
+
+    public static JsonConfiguration loadConfiguration(final Path path, final Collection<String> paths,
+                                                      final JsonParseOptions parseOptions) throws IOException {
+        final PathMatcher matcher = PathMatcher.compile(paths);
+        return fromRoot(new JsonParser(LexerFactory.create(FileBuffers.open(path, parseOptions)), parseOptions)
+                .parse(matcher), parseOptions);
+    }
+
+    public static Stream<JsonNode> streamArray(final Path path, final String arrayPath,
+                                               final JsonParseOptions parseOptions) throws IOException {
+        return new JsonParser(LexerFactory.create(FileBuffers.map(path)), parseOptions).streamArray(arrayPath);
+    }
+
+    public static CompletableFuture<JsonConfiguration> loadConfigurationAsync(final Path path,
+                                                                              final JsonParseOptions parseOptions) {
+        return AsyncFiles.parse(path, parseOptions).thenApply(node -> {
+            try {
+                return fromRoot(node, parseOptions);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        });
     }
 
     public static JsonConfiguration loadConfiguration(final Reader reader) throws IOException {
@@ -111,10 +173,59 @@ public class JsonConfigurationImpl extends JsonSectionImpl implements JsonConfig
 
     public static JsonConfiguration loadConfiguration(final Reader reader, final JsonParseOptions parseOptions)
             throws IOException {
-        final JsonParser parser = new JsonParser(reader, parseOptions);
-        final JsonNode node = parser.parse();
+        return fromRoot(JsonParserPool.shared().parse(reader, parseOptions), parseOptions);
+    }
+
+    public static JsonConfiguration loadConfiguration(final InputStream input, final JsonParseOptions parseOptions)
+            throws IOException {
+        return loadConfiguration(ByteBuffer.wrap(input.readAllBytes()), parseOptions);
+    }
+
+    public static JsonConfiguration loadConfiguration(final ByteBuffer buffer, final JsonParseOptions parseOptions)
+            throws IOException {
+        if (ParallelJsonParser.supports(buffer, parseOptions)) {
+            return fromRoot(new ParallelJsonParser(buffer, parseOptions).parse(), parseOptions);
+        }
+        if (IndexedJsonParser.supports(buffer, parseOptions)) {
+            return fromRoot(new IndexedJsonParser(buffer, parseOptions).parse(), parseOptions);
+        }
+        return fromRoot(new JsonParser(LexerFactory.create(buffer), parseOptions).parse(), parseOptions);
+    }
+
+    public static Stream<JsonConfiguration> loadLines(final Path path, final JsonParseOptions parseOptions)
+            throws IOException {
+        final Stream<JsonNode> records = NdjsonReader.stream(FileBuffers.map(path), parseOptions);
+        final boolean parallel = parseOptions != null && parseOptions.parallel();
+        return (parallel ? records.parallel() : records).map(JsonConfigurationImpl::fromRecord);
+    }
+
+    public static Stream<JsonConfiguration> loadLines(final Reader reader, final JsonParseOptions parseOptions)
+            throws IOException {
+        return new NdjsonReader(reader, parseOptions).stream().map(JsonConfigurationImpl::fromRecord);
+    }
+
+    public static void saveLines(final Path path, final Iterable<? extends JsonSection> records) throws IOException {
+        try (final NdjsonWriter writer = new NdjsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            for (final JsonSection record : records) {
+                writer.write(record);
+            }
+        }
+    }
+
+    private static JsonConfiguration fromRecord(final JsonNode node) {
+        try {
+            return fromRoot(node, null);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    private static JsonConfiguration fromRoot(final JsonNode node, final JsonParseOptions parseOptions)
+            throws IOException {
         if (node instanceof final JsonObject jsonObject) {
+            if (parseOptions != null && parseOptions.deduplicate()) {
+                SubtreeDeduplicator.deduplicate(jsonObject);
+            }
             return new JsonConfigurationImpl(jsonObject);
         } else {
             throw new IOException("Root of configuration must be a JSON object, found: " + node.getClass().getSimpleName());
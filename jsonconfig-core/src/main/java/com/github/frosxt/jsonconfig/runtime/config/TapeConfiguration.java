@@ -0,0 +1,104 @@
+package com.github.frosxt.jsonconfig.runtime.config;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.merge.MergeStrategy;
+import com.github.frosxt.jsonconfig.reader.JsonTape;
+import com.github.frosxt.jsonconfig.reader.io.FileBuffers;
+import com.github.frosxt.jsonconfig.runtime.section.TapeSection;
+import com.github.frosxt.jsonconfig.writer.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Read-only configuration stored on a {@link JsonTape}.
+ * <p>
+ * The whole document is held in a few arrays instead of a node per value, so
+ * large configurations put almost nothing under garbage collector management.
+ * It cannot be modified, merged into or reloaded; load the file again
+ * instead, or copy it into a mutable configuration with
+ * {@link JsonConfigurationImpl#merge(JsonConfiguration, MergeStrategy)}.
+ * </p>
+ */
+public class TapeConfiguration extends TapeSection implements JsonConfiguration {
+    private final JsonOptionsImpl options;
+    private JsonConfiguration defaults;
+
+    private TapeConfiguration(final JsonTape tape) {
+        super(null, null, "", tape, tape.root());
+        this.options = new JsonOptionsImpl();
+    }
+
+    public static JsonConfiguration load(final Path path, final JsonParseOptions parseOptions) throws IOException {
+        return load(FileBuffers.open(path, parseOptions), parseOptions);
+    }
+
+    public static JsonConfiguration load(final ByteBuffer buffer, final JsonParseOptions parseOptions)
+            throws IOException {
+        final JsonTape tape = JsonTape.parse(buffer, parseOptions);
+        if (!tape.isObject(tape.root())) {
+            throw new IOException("Root of configuration must be a JSON object");
+        }
+        return new TapeConfiguration(tape);
+    }
+
+    @Override
+    public JsonConfiguration getRoot() {
+        return this;
+    }
+
+    @Override
+    public JsonOptions options() {
+        return options;
+    }
+
+    @Override
+    public void setDefaults(final JsonConfiguration defaults) {
+        this.defaults = defaults;
+    }
+
+    @Override
+    public JsonConfiguration getDefaults() {
+        return defaults;
+    }
+
+    @Override
+    public String saveToString() {
+        if (options.copyDefaults() && defaults != null) {
+            final JsonConfigurationImpl tempConfig = new JsonConfigurationImpl();
+            tempConfig.options().indent(options.indent());
+            tempConfig.merge(defaults, MergeStrategy.OVERWRITE);
+            tempConfig.merge(this, MergeStrategy.OVERWRITE);
+            return tempConfig.saveToString();
+        }
+
+        final StringWriter writer = new StringWriter();
+        try {
+            new JsonWriter(writer, options.indent()).write(tape.node(index));
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to write to string", e);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public void save(final Path path) throws IOException {
+        Files.writeString(path, saveToString(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void reload(final Path path) {
+        throw new UnsupportedOperationException("Tape configurations cannot be reloaded, load the file again");
+    }
+
+    @Override
+    public void merge(final JsonConfiguration other, final MergeStrategy strategy) {
+        throw new UnsupportedOperationException("Tape configurations are read-only");
+    }
+}
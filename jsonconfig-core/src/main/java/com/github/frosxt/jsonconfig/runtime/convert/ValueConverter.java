@@ -25,6 +25,10 @@ public final class ValueConverter {
 
     /**
      * Wraps a Java object as a JsonNode.
+     * <p>
+     * Small integers, booleans and short strings are returned as shared
+     * nodes, see {@link JsonNumber#exact(long)} and {@link JsonString#of(String)}.
+     * </p>
      */
     public static JsonNode wrap(final Object value) {
         if (value == null) {
@@ -36,7 +40,11 @@ public final class ValueConverter {
         }
 
         if (value instanceof final String string) {
-            return new JsonString(string);
+            return JsonString.of(string);
+        }
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return JsonNumber.exact(((Number) value).longValue());
         }
 
         if (value instanceof final Number number) {
@@ -44,7 +52,7 @@ public final class ValueConverter {
         }
 
         if (value instanceof final Boolean bool) {
-            return new JsonBoolean(bool);
+            return bool ? JsonBoolean.TRUE : JsonBoolean.FALSE;
         }
 
         if (value instanceof Map) {
@@ -66,7 +74,7 @@ public final class ValueConverter {
             return arr;
         }
 
-        return new JsonString(value.toString());
+        return JsonString.of(value.toString());
     }
 
     /**
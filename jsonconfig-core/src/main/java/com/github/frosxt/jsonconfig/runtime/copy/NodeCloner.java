@@ -3,6 +3,8 @@ package com.github.frosxt.jsonconfig.runtime.copy;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.container.JsonArray;
 import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonArray;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
 
 /**
  * Deep clones JsonNode trees.
@@ -43,4 +45,30 @@ public final class NodeCloner {
         // Primitives are immutable - return by reference
         return node;
     }
+
+    /**
+     * Gets a container that can be modified in place.
+     * Persistent containers, such as subtrees shared by
+     * {@link SubtreeDeduplicator}, are copied one level deep; their children
+     * stay shared until they are modified themselves.
+     *
+     * @param node the container
+     * @return the node itself, or a mutable shallow copy of a persistent container
+     */
+    public static JsonNode writable(final JsonNode node) {
+        if (node instanceof final PersistentJsonObject persistent) {
+            final JsonObject obj = new JsonObject(persistent.size());
+            for (final java.util.Map.Entry<String, JsonNode> e : persistent.entrySet()) {
+                obj.add(e.getKey(), e.getValue());
+            }
+            return obj;
+        } else if (node instanceof final PersistentJsonArray persistent) {
+            final JsonArray arr = new JsonArray(persistent.size());
+            for (final JsonNode child : persistent) {
+                arr.add(child);
+            }
+            return arr;
+        }
+        return node;
+    }
 }
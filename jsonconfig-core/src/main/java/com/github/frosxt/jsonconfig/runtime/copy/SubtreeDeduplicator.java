@@ -0,0 +1,165 @@
+package com.github.frosxt.jsonconfig.runtime.copy;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonArray;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces repeated subtrees of a tree with one shared instance.
+ * <p>
+ * Objects and arrays that occur more than once, compared by structural
+ * equality, are replaced by a single {@link PersistentJsonObject} or
+ * {@link PersistentJsonArray}; subtrees that occur once stay mutable, and so
+ * does the root. Shared subtrees are copy-on-write: setting or removing a
+ * value below one occurrence through a configuration, section or
+ * {@link com.github.frosxt.jsonconfig.runtime.mutate.PathMutator} first
+ * replaces the containers on its path with private shallow copies, so the
+ * other occurrences are unaffected.
+ * </p>
+ */
+public final class SubtreeDeduplicator {
+
+    private SubtreeDeduplicator() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Shares the repeated subtrees below a root. Deferred containers are
+     * parsed, since their content has to be compared.
+     *
+     * @param root root of the tree, modified in place
+     * @return number of occurrences replaced by a shared subtree
+     * @throws IllegalArgumentException if the root is persistent
+     */
+    public static int deduplicate(final JsonObject root) {
+        if (root instanceof PersistentJsonObject) {
+            throw new IllegalArgumentException("Root cannot be persistent");
+        }
+
+        // Hashes are computed bottom-up here and stay cached until a container below them changes
+        final Map<JsonNode, int[]> counts = new HashMap<>();
+        count(root, counts);
+
+        final Map<JsonNode, JsonNode> replacements = new IdentityHashMap<>();
+        final Map<JsonNode, JsonNode> canonical = new HashMap<>();
+        collect(root, counts, canonical, replacements);
+        return apply(root, replacements);
+    }
+
+    private static void count(final JsonNode node, final Map<JsonNode, int[]> counts) {
+        if (node instanceof final JsonObject object) {
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                count(member.getValue(), counts);
+            }
+        } else if (node instanceof final JsonArray array) {
+            for (final JsonNode element : array) {
+                count(element, counts);
+            }
+        } else {
+            return;
+        }
+        counts.computeIfAbsent(node, key -> new int[1])[0]++;
+    }
+
+    private static void collect(final JsonNode node, final Map<JsonNode, int[]> counts,
+                                final Map<JsonNode, JsonNode> canonical, final Map<JsonNode, JsonNode> replacements) {
+        for (final JsonNode child : children(node)) {
+            if (!isContainer(child)) {
+                continue;
+            }
+            // Persistent subtrees cannot be changed in place, so they are rebuilt from shared children
+            if (counts.get(child)[0] > 1 || isPersistent(child)) {
+                replacements.put(child, canonicalize(child, canonical));
+            } else {
+                collect(child, counts, canonical, replacements);
+            }
+        }
+    }
+
+    /**
+     * Gets the shared persistent instance of a subtree, building it from the
+     * shared instances of its children the first time.
+     */
+    private static JsonNode canonicalize(final JsonNode node, final Map<JsonNode, JsonNode> canonical) {
+        if (!isContainer(node)) {
+            return node;
+        }
+        final JsonNode existing = canonical.get(node);
+        if (existing != null) {
+            return existing;
+        }
+
+        final JsonNode built;
+        if (node instanceof final JsonObject object) {
+            PersistentJsonObject shared = PersistentJsonObject.empty();
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                shared = shared.withMember(member.getKey(), canonicalize(member.getValue(), canonical));
+            }
+            built = shared;
+        } else {
+            PersistentJsonArray shared = PersistentJsonArray.empty();
+            for (final JsonNode element : (JsonArray) node) {
+                shared = shared.withAdded(canonicalize(element, canonical));
+            }
+            built = shared;
+        }
+        canonical.put(built, built);
+        return built;
+    }
+
+    private static int apply(final JsonNode node, final Map<JsonNode, JsonNode> replacements) {
+        int replaced = 0;
+        if (node instanceof final JsonObject object) {
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                final JsonNode shared = replacements.get(member.getValue());
+                if (shared != null) {
+                    member.setValue(shared);
+                    replaced++;
+                } else {
+                    replaced += apply(member.getValue(), replacements);
+                }
+            }
+        } else if (node instanceof final JsonArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                final JsonNode shared = replacements.get(array.get(i));
+                if (shared != null) {
+                    array.set(i, shared);
+                    replaced++;
+                } else {
+                    replaced += apply(array.get(i), replacements);
+                }
+            }
+        }
+        return replaced;
+    }
+
+    private static Iterable<JsonNode> children(final JsonNode node) {
+        if (node instanceof final JsonObject object) {
+            final List<JsonNode> values = new ArrayList<>(object.size());
+            for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+                values.add(member.getValue());
+            }
+            return values;
+        }
+        if (node instanceof final JsonArray array) {
+            return array;
+        }
+        return List.of();
+    }
+
+    private static boolean isPersistent(final JsonNode node) {
+        return node instanceof PersistentJsonObject || node instanceof PersistentJsonArray;
+    }
+
+    private static boolean isContainer(final JsonNode node) {
+        return node instanceof JsonObject || node instanceof JsonArray;
+    }
+}
@@ -34,19 +34,21 @@ public class MergeService {
                     case OVERWRITE -> target.add(key, NodeCloner.cloneNode(sourceVal));
                     case DEEP_MERGE_OBJECTS -> {
                         if (targetVal instanceof JsonObject && sourceVal instanceof JsonObject) {
-                            mergeObjects((JsonObject) targetVal, (JsonObject) sourceVal, strategy);
+                            mergeObjects((JsonObject) writable(target, key, targetVal), (JsonObject) sourceVal,
+                                    strategy);
                         } else {
                             target.add(key, NodeCloner.cloneNode(sourceVal));
                         }
                     }
                     case CONCAT_ARRAYS -> {
                         if (targetVal instanceof JsonArray && sourceVal instanceof JsonArray) {
-                            final JsonArray targetArr = (JsonArray) targetVal;
+                            final JsonArray targetArr = (JsonArray) writable(target, key, targetVal);
                             for (final JsonNode node : (JsonArray) sourceVal) {
                                 targetArr.add(NodeCloner.cloneNode(node));
                             }
                         } else if (targetVal instanceof JsonObject && sourceVal instanceof JsonObject) {
-                            mergeObjects((JsonObject) targetVal, (JsonObject) sourceVal, strategy);
+                            mergeObjects((JsonObject) writable(target, key, targetVal), (JsonObject) sourceVal,
+                                    strategy);
                         } else {
                             target.add(key, NodeCloner.cloneNode(sourceVal));
                         }
@@ -55,4 +57,15 @@ public class MergeService {
             }
         }
     }
+
+    /**
+     * Replaces a shared persistent member with a mutable copy before merging into it.
+     */
+    private static JsonNode writable(final JsonObject target, final String key, final JsonNode targetVal) {
+        final JsonNode copy = NodeCloner.writable(targetVal);
+        if (copy != targetVal) {
+            target.add(key, copy);
+        }
+        return copy;
+    }
 }
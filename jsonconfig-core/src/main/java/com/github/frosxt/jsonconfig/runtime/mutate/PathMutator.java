@@ -4,6 +4,7 @@ import com.github.frosxt.jsonconfig.api.JsonOptions;
 import com.github.frosxt.jsonconfig.path.JsonPath;
 import com.github.frosxt.jsonconfig.path.cache.PathCache;
 import com.github.frosxt.jsonconfig.runtime.convert.ValueConverter;
+import com.github.frosxt.jsonconfig.runtime.copy.NodeCloner;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.container.JsonArray;
 import com.github.frosxt.jsonconfig.tree.container.JsonObject;
@@ -16,6 +17,7 @@ import java.util.List;
  * - Intermediate container creation
  * - Array index notation
  * - Null removal policy (Spigot-like)
+ * - Copy-on-write of persistent subtrees on the path
  */
 public final class PathMutator {
 
@@ -73,6 +75,8 @@ public final class PathMutator {
                 if (!isContainer(next)) {
                     next = inferContainer(segments, index + 1);
                     jsonObject.add(key, next);
+                } else {
+                    next = writable(jsonObject, key, next);
                 }
                 setRecursive(next, segments, index + 1, valueToSet, options);
             }
@@ -91,6 +95,8 @@ public final class PathMutator {
                     if (!isContainer(next)) {
                         next = inferContainer(segments, index + 1);
                         jsonArray.set(arrayIndex, next);
+                    } else {
+                        next = writable(jsonArray, arrayIndex, next);
                     }
                     setRecursive(next, segments, index + 1, valueToSet, options);
                 }
@@ -113,8 +119,8 @@ public final class PathMutator {
                 jsonObject.remove(key);
             } else {
                 final JsonNode next = jsonObject.get(key);
-                if (next != null) {
-                    removeRecursive(next, segments, index + 1);
+                if (isContainer(next)) {
+                    removeRecursive(writable(jsonObject, key, next), segments, index + 1);
                 }
             }
         } else if (current instanceof final JsonArray jsonArray) {
@@ -124,8 +130,9 @@ public final class PathMutator {
                 if (arrayIndex < jsonArray.size()) {
                     if (isLast) {
                         jsonArray.set(arrayIndex, JsonNull.INSTANCE);
-                    } else {
-                        removeRecursive(jsonArray.get(arrayIndex), segments, index + 1);
+                    } else if (isContainer(jsonArray.get(arrayIndex))) {
+                        removeRecursive(writable(jsonArray, arrayIndex, jsonArray.get(arrayIndex)), segments,
+                                index + 1);
                     }
                 }
             } catch (final NumberFormatException e) {
@@ -134,6 +141,73 @@ public final class PathMutator {
         }
     }
 
+    /**
+     * Resolves the node at a path for writing, replacing each persistent
+     * container on the way with a mutable shallow copy.
+     *
+     * @param root    the root JsonObject
+     * @param path    the path to resolve
+     * @param options configuration options
+     * @return the node at the path, or null if there is none
+     */
+    public static JsonNode unshare(final JsonObject root, final String path, final JsonOptions options) {
+        final JsonOptions.PathCacheMode mode = (options != null) ? options.pathCacheMode()
+                : JsonOptions.PathCacheMode.NONE;
+        JsonNode current = root;
+        for (final String key : PathCache.get(path, mode).getSegments()) {
+            current = unshare(current, key);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets a child of a mutable container for writing. A persistent child,
+     * such as a subtree shared by deduplication, is first replaced with a
+     * mutable shallow copy, so other occurrences are not affected.
+     */
+    private static JsonNode unshare(final JsonNode parent, final String segment) {
+        if (parent instanceof final JsonObject jsonObject) {
+            final JsonNode next = jsonObject.get(segment);
+            return isContainer(next) ? writable(jsonObject, segment, next) : next;
+        }
+        if (parent instanceof final JsonArray jsonArray) {
+            try {
+                final int arrayIndex = Integer.parseInt(segment);
+                if (arrayIndex < 0 || arrayIndex >= jsonArray.size()) {
+                    return null;
+                }
+                final JsonNode next = jsonArray.get(arrayIndex);
+                return isContainer(next) ? writable(jsonArray, arrayIndex, next) : next;
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces a persistent member with a mutable copy before it is modified,
+     * so other occurrences of a shared subtree are not affected.
+     */
+    private static JsonNode writable(final JsonObject parent, final String key, final JsonNode node) {
+        final JsonNode copy = NodeCloner.writable(node);
+        if (copy != node) {
+            parent.add(key, copy);
+        }
+        return copy;
+    }
+
+    private static JsonNode writable(final JsonArray parent, final int index, final JsonNode node) {
+        final JsonNode copy = NodeCloner.writable(node);
+        if (copy != node) {
+            parent.set(index, copy);
+        }
+        return copy;
+    }
+
     /**
      * Infers whether to create an array or object based on the next segment.
      */
@@ -7,11 +7,13 @@ import com.github.frosxt.jsonconfig.path.syntax.PathEscaper;
 
 import com.github.frosxt.jsonconfig.runtime.access.PathAccess;
 import com.github.frosxt.jsonconfig.runtime.convert.ValueConverter;
+import com.github.frosxt.jsonconfig.runtime.copy.NodeCloner;
 import com.github.frosxt.jsonconfig.runtime.defaults.DefaultsService;
 import com.github.frosxt.jsonconfig.runtime.mutate.PathMutator;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.container.JsonArray;
 import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonBoolean;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
@@ -26,7 +28,7 @@ public class JsonSectionImpl implements JsonSection {
     protected final JsonSection parent;
     protected final String relativePath;
     protected final String fullPath;
-    protected final JsonObject value;
+    protected JsonObject value;
 
     public JsonSectionImpl(final JsonConfiguration root, final JsonSection parent, final String relativePath,
             final JsonObject value) {
@@ -203,6 +205,7 @@ public class JsonSectionImpl implements JsonSection {
         }
 
         JsonSection currentSection = this;
+        // Reads never unshare; a section over a shared subtree copies it on its first write
         JsonNode currentNode = this.value;
         final StringBuilder pathBuilder = new StringBuilder();
 
@@ -265,7 +268,7 @@ public class JsonSectionImpl implements JsonSection {
         }
 
         final JsonObject newSection = new JsonObject();
-        PathMutator.set(value, path, newSection, options());
+        PathMutator.set(writableValue(), path, newSection, options());
 
         return getConfigurationSection(path);
     }
@@ -334,7 +337,27 @@ public class JsonSectionImpl implements JsonSection {
             throw new IllegalArgumentException("Cannot set empty path");
         }
 
-        PathMutator.set(this.value, path, value, options());
+        PathMutator.set(writableValue(), path, value, options());
+    }
+
+    /**
+     * Gets the object to modify. A section over a subtree shared by
+     * deduplication first gets a private copy of it in the root's tree;
+     * if the subtree is no longer in the tree, the copy is the section's own.
+     * Until then, the section reads the shared subtree as it was when the
+     * section was created.
+     */
+    private JsonObject writableValue() {
+        if (value instanceof PersistentJsonObject) {
+            final JsonNode rootValue = root != null ? root.getNode("") : null;
+            final JsonNode node = rootValue instanceof final JsonObject rootObject
+                    ? PathMutator.unshare(rootObject, fullPath, options())
+                    : null;
+            value = (JsonObject) (node instanceof JsonObject && !(node instanceof PersistentJsonObject)
+                    ? node
+                    : NodeCloner.writable(value));
+        }
+        return value;
     }
 
     protected JsonOptions options() {
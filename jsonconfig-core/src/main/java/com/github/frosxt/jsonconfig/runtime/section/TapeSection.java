@@ -0,0 +1,558 @@
+package com.github.frosxt.jsonconfig.runtime.section;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonSection;
+import com.github.frosxt.jsonconfig.path.cache.PathCache;
+import com.github.frosxt.jsonconfig.path.syntax.PathEscaper;
+import com.github.frosxt.jsonconfig.reader.JsonTape;
+import com.github.frosxt.jsonconfig.runtime.convert.ValueConverter;
+import com.github.frosxt.jsonconfig.runtime.defaults.DefaultsService;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Read-only section over an object stored on a {@link JsonTape}.
+ * <p>
+ * Paths are resolved by walking the tape, and strings, numbers and booleans
+ * are read from it directly, so typed getters create no nodes. Methods that
+ * return nodes or lists, such as {@link #getNode(String)} and
+ * {@link #getList(String)}, build them from the tape on every call. Methods
+ * that modify the section throw {@link UnsupportedOperationException};
+ * defaults can still be added, since they live in a separate configuration.
+ * </p>
+ */
+public class TapeSection implements JsonSection {
+    protected final JsonConfiguration root;
+    protected final JsonSection parent;
+    protected final String relativePath;
+    protected final String fullPath;
+    protected final JsonTape tape;
+    protected final int index;
+
+    public TapeSection(final JsonConfiguration root, final JsonSection parent, final String relativePath,
+            final JsonTape tape, final int index) {
+        this.root = root;
+        this.parent = parent;
+        this.relativePath = relativePath != null ? relativePath : "";
+        this.tape = tape;
+        this.index = index;
+        this.fullPath = createPath(parent, this.relativePath);
+    }
+
+    private static String createPath(final JsonSection parent, final String relativePath) {
+        if (parent == null) {
+            return "";
+        }
+
+        final String parentPath = parent.getCurrentPath();
+        if (parentPath == null || parentPath.isEmpty()) {
+            return relativePath;
+        }
+
+        if (relativePath.isEmpty()) {
+            return parentPath;
+        }
+
+        return parentPath + "." + relativePath;
+    }
+
+    private List<String> segments(final String path) {
+        return PathCache.get(path, options() != null ? options().pathCacheMode() : JsonOptions.PathCacheMode.NONE)
+                .getSegments();
+    }
+
+    /**
+     * Finds the tape index of the value at a path.
+     *
+     * @return index of the value, or -1 if there is none
+     */
+    private int find(final String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        int current = index;
+        for (final String segment : segments(path)) {
+            current = tape.find(current, segment);
+            if (current < 0) {
+                return -1;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the value at a path in the defaults, for paths that are missing or
+     * null here.
+     */
+    private Object getDefault(final String path) {
+        final JsonConfiguration rootConfig = getRoot();
+        if (rootConfig != null) {
+            final JsonConfiguration defaults = rootConfig.getDefaults();
+            if (defaults != null) {
+                final String effectivePath = fullPath.isEmpty() ? path : fullPath + "." + path;
+                final JsonNode defNode = defaults.getNode(effectivePath);
+                if (defNode != null && !(defNode instanceof JsonNull) && !(defNode instanceof JsonObject)) {
+                    return ValueConverter.unwrap(defNode, options());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> getKeys(final boolean deep) {
+        final Set<String> result = new LinkedHashSet<>();
+        getKeysRecursive(index, "", deep, result);
+
+        if (getRoot() != null && getRoot().options().copyDefaults()) {
+            final JsonConfiguration defaults = getRoot().getDefaults();
+            if (defaults != null) {
+                final JsonSection defaultSection = defaults.getConfigurationSection(getCurrentPath());
+                if (defaultSection != null) {
+                    result.addAll(defaultSection.getKeys(deep));
+                } else if (getCurrentPath().isEmpty()) {
+                    result.addAll(defaults.getKeys(deep));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void getKeysRecursive(final int object, final String currentPath, final boolean deep,
+            final Set<String> keys) {
+        for (int member = tape.first(object); member >= 0; member = tape.next(object, member)) {
+            final String fullKey = PathEscaper.buildPath(currentPath, tape.key(member));
+            keys.add(fullKey);
+
+            if (deep && tape.isObject(tape.value(member))) {
+                getKeysRecursive(tape.value(member), fullKey, deep, keys);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getValues(final boolean deep) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+
+        if (getRoot() != null && getRoot().options().copyDefaults()) {
+            final JsonConfiguration defaults = getRoot().getDefaults();
+            if (defaults != null) {
+                final JsonSection defaultSection = defaults.getConfigurationSection(getCurrentPath());
+                if (defaultSection != null) {
+                    result.putAll(defaultSection.getValues(deep));
+                } else if (getCurrentPath().isEmpty()) {
+                    result.putAll(defaults.getValues(deep));
+                }
+            }
+        }
+
+        getValuesRecursive(this, index, "", deep, result);
+        return result;
+    }
+
+    private void getValuesRecursive(final JsonSection currentSection, final int object, final String currentPath,
+            final boolean deep, final Map<String, Object> values) {
+        for (int member = tape.first(object); member >= 0; member = tape.next(object, member)) {
+            final String key = tape.key(member);
+            final String fullKey = PathEscaper.buildPath(currentPath, key);
+            final int value = tape.value(member);
+
+            if (tape.isObject(value)) {
+                final JsonSection childSection = new TapeSection(getRoot(), currentSection,
+                        PathEscaper.escapeSegment(key), tape, value);
+                values.put(fullKey, childSection);
+                if (deep) {
+                    getValuesRecursive(childSection, value, fullKey, deep, values);
+                }
+            } else {
+                values.put(fullKey, ValueConverter.unwrap(tape.node(value), options()));
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(final String path) {
+        if (find(path) >= 0) {
+            return true;
+        }
+
+        final JsonConfiguration rootConfig = getRoot();
+        if (rootConfig != null) {
+            final JsonConfiguration defaults = rootConfig.getDefaults();
+            if (defaults != null) {
+                final String effectivePath = fullPath.isEmpty() ? path : fullPath + "." + path;
+                return defaults.getNode(effectivePath) != null;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isSet(final String path) {
+        final int value = find(path);
+        return value >= 0 && !tape.isNull(value);
+    }
+
+    @Override
+    public String getCurrentPath() {
+        return fullPath;
+    }
+
+    @Override
+    public String getName() {
+        if (relativePath.isEmpty()) {
+            return "";
+        }
+
+        final List<String> segments = segments(relativePath);
+        return segments.isEmpty() ? relativePath : segments.getLast();
+    }
+
+    @Override
+    public JsonConfiguration getRoot() {
+        return root;
+    }
+
+    @Override
+    public JsonSection getParent() {
+        return parent;
+    }
+
+    @Override
+    public JsonSection getConfigurationSection(final String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        if (path.isEmpty()) {
+            return this;
+        }
+
+        JsonSection currentSection = this;
+        int current = index;
+        final StringBuilder pathBuilder = new StringBuilder();
+
+        for (final String segment : segments(path)) {
+            if (tape.isArray(current)) {
+                pathBuilder.append('[').append(segment).append(']');
+            } else {
+                if (!pathBuilder.isEmpty()) {
+                    pathBuilder.append('.');
+                }
+                pathBuilder.append(PathEscaper.escapeSegment(segment));
+            }
+
+            current = tape.find(current, segment);
+            if (current < 0) {
+                return null;
+            }
+
+            if (tape.isObject(current)) {
+                currentSection = new TapeSection(getRoot(), currentSection, pathBuilder.toString(), tape, current);
+                pathBuilder.setLength(0);
+            }
+        }
+
+        return tape.isObject(current) ? currentSection : null;
+    }
+
+    @Override
+    public JsonSection createSection(final String path) {
+        throw new UnsupportedOperationException("Tape configurations are read-only");
+    }
+
+    @Override
+    public Object get(final String path) {
+        final int value = find(path);
+        if (value < 0 || tape.isNull(value)) {
+            return getDefault(path);
+        }
+
+        if (tape.isObject(value)) {
+            return getConfigurationSection(path);
+        }
+
+        return ValueConverter.unwrap(tape.node(value), options());
+    }
+
+    @Override
+    public Object get(final String path, final Object def) {
+        final Object val = get(path);
+        return (val != null) ? val : def;
+    }
+
+    /**
+     * Builds the node at a path. Every call returns a new copy, which can be
+     * modified without affecting the tape.
+     */
+    @Override
+    public JsonNode getNode(final String path) {
+        final int value = find(path);
+        return value >= 0 ? tape.node(value) : null;
+    }
+
+    @Override
+    public String getString(final String path) {
+        final int value = find(path);
+        if (value >= 0 && tape.isString(value)) {
+            return tape.stringValue(value);
+        }
+
+        if (value >= 0 && tape.isNull(value)) {
+            return null;
+        }
+
+        final Object val = get(path);
+        return (val != null) ? val.toString() : null;
+    }
+
+    @Override
+    public String getString(final String path, final String def) {
+        final String val = getString(path);
+        return (val != null) ? val : def;
+    }
+
+    @Override
+    public int getInt(final String path) {
+        return getInt(path, 0);
+    }
+
+    @Override
+    public int getInt(final String path, final int def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isNumber(value)) {
+            return tape.intValue(value);
+        }
+
+        final Object val = get(path);
+        if (val instanceof final Number number) {
+            return number.intValue();
+        }
+
+        return def;
+    }
+
+    @Override
+    public boolean getBoolean(final String path) {
+        return getBoolean(path, false);
+    }
+
+    @Override
+    public boolean getBoolean(final String path, final boolean def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isBoolean(value)) {
+            return tape.booleanValue(value);
+        }
+
+        final Object val = get(path);
+        if (val instanceof final Boolean bool) {
+            return bool;
+        }
+
+        return def;
+    }
+
+    @Override
+    public double getDouble(final String path) {
+        return getDouble(path, 0.0);
+    }
+
+    @Override
+    public double getDouble(final String path, final double def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isNumber(value)) {
+            return tape.doubleValue(value);
+        }
+
+        final Object val = get(path);
+        if (val instanceof final Number number) {
+            return number.doubleValue();
+        }
+
+        return def;
+    }
+
+    @Override
+    public long getLong(final String path) {
+        return getLong(path, 0);
+    }
+
+    @Override
+    public long getLong(final String path, final long def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isNumber(value)) {
+            return tape.longValue(value);
+        }
+
+        final Object val = get(path);
+        if (val instanceof final Number number) {
+            return number.longValue();
+        }
+        return def;
+    }
+
+    @Override
+    public BigInteger getBigInteger(final String path) {
+        return getBigInteger(path, null);
+    }
+
+    @Override
+    public BigInteger getBigInteger(final String path, final BigInteger def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isNumber(value)) {
+            return ((JsonNumber) tape.node(value)).bigIntegerValue();
+        }
+
+        final Object val = get(path);
+        if (val instanceof final BigInteger bigInteger) {
+            return bigInteger;
+        }
+
+        if (val instanceof final Number number) {
+            return BigInteger.valueOf(number.longValue());
+        }
+
+        return def;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final String path) {
+        return getBigDecimal(path, null);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final String path, final BigDecimal def) {
+        final int value = find(path);
+        if (value >= 0 && tape.isNumber(value)) {
+            return ((JsonNumber) tape.node(value)).bigDecimalValue();
+        }
+
+        final Object val = get(path);
+        if (val instanceof final BigDecimal bigDecimal) {
+            return bigDecimal;
+        }
+        if (val instanceof final Number number) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+
+        return def;
+    }
+
+    @Override
+    public List<?> getList(final String path) {
+        return getList(path, null);
+    }
+
+    @Override
+    public List<?> getList(final String path, final List<?> def) {
+        final Object val = get(path);
+        if (val instanceof final List<?> list) {
+            return list;
+        }
+
+        return def;
+    }
+
+    @Override
+    public List<String> getStringList(final String path) {
+        final List<?> list = getList(path);
+        if (list == null) {
+            return new ArrayList<>();
+        }
+
+        final List<String> result = new ArrayList<>();
+        for (final Object o : list) {
+            if (o instanceof final String string) {
+                result.add(string);
+            } else if (o != null) {
+                result.add(o.toString());
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Integer> getIntegerList(final String path) {
+        final List<?> list = getList(path);
+        if (list == null) {
+            return new ArrayList<>();
+        }
+
+        final List<Integer> result = new ArrayList<>();
+        for (final Object o : list) {
+            if (o instanceof final Number number) {
+                result.add(number.intValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void set(final String path, final Object value) {
+        throw new UnsupportedOperationException("Tape configurations are read-only");
+    }
+
+    @Override
+    public void addDefault(final String path, final Object value) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        final String effectivePath = fullPath.isEmpty() ? path : fullPath + "." + path;
+        DefaultsService.addDefault(getRoot(), effectivePath, value);
+    }
+
+    @Override
+    public boolean isString(final String path) {
+        final int value = find(path);
+        return value >= 0 && tape.isString(value);
+    }
+
+    @Override
+    public boolean isInt(final String path) {
+        final int value = find(path);
+        return value >= 0 && tape.isNumber(value);
+    }
+
+    @Override
+    public boolean isBoolean(final String path) {
+        final int value = find(path);
+        return value >= 0 && tape.isBoolean(value);
+    }
+
+    @Override
+    public boolean isDouble(final String path) {
+        return isInt(path);
+    }
+
+    @Override
+    public boolean isLong(final String path) {
+        return isInt(path);
+    }
+
+    @Override
+    public boolean isList(final String path) {
+        final int value = find(path);
+        return value >= 0 && tape.isArray(value);
+    }
+
+    @Override
+    public boolean isSection(final String path) {
+        final int value = find(path);
+        return value >= 0 && tape.isObject(value);
+    }
+
+    protected JsonOptions options() {
+        return getRoot() != null ? getRoot().options() : null;
+    }
+}
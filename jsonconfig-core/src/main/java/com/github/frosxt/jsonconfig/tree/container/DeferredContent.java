@@ -0,0 +1,17 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+/**
+ * Produces the content of a container that is materialized on first access.
+ *
+ * @param <T> container type
+ */
+@FunctionalInterface
+public interface DeferredContent<T> {
+    /**
+     * Builds the container content.
+     *
+     * @return a fully built container whose content is adopted by the deferred
+     *         container
+     */
+    T load();
+}
@@ -0,0 +1,262 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable hash array mapped trie from string keys to int values.
+ * <p>
+ * Each node consumes five bits of the key's hash and keeps a 32-bit bitmap
+ * of the slots in use, so it only stores the keys and children it has.
+ * Adding or removing a key copies the nodes on the path to it and shares the
+ * rest with the previous trie. Keys whose hashes are equal in all 32 bits
+ * end up together in a collision node.
+ * </p>
+ */
+final class HashTrie {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    static final HashTrie EMPTY = new HashTrie(null);
+
+    private final Node root;
+
+    private HashTrie(final Node root) {
+        this.root = root;
+    }
+
+    private static int hash(final String key) {
+        final int hash = key != null ? key.hashCode() : 0;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key     key to look up
+     * @param missing value returned if the key is absent
+     * @return value of the key or {@code missing}
+     */
+    int get(final String key, final int missing) {
+        return root != null ? root.get(0, hash(key), key, missing) : missing;
+    }
+
+    HashTrie put(final String key, final int value) {
+        final Node node = root != null
+                ? root.put(0, hash(key), key, value)
+                : BitmapNode.single(0, hash(key), key, value);
+        return node != root ? new HashTrie(node) : this;
+    }
+
+    HashTrie remove(final String key) {
+        if (root == null) {
+            return this;
+        }
+        final Node node = root.remove(0, hash(key), key);
+        return node != root ? new HashTrie(node) : this;
+    }
+
+    private abstract static class Node {
+        abstract int get(int shift, int hash, String key, int missing);
+
+        abstract Node put(int shift, int hash, String key, int value);
+
+        /**
+         * Removes a key, returning this node if it was absent or null if the
+         * node is left empty.
+         */
+        abstract Node remove(int shift, int hash, String key);
+    }
+
+    /**
+     * Node whose slots hold either a key with its value or a child node.
+     */
+    private static final class BitmapNode extends Node {
+        private final int bitmap;
+        /** Key, or child node, of each slot in use. */
+        private final Object[] entries;
+        private final int[] values;
+
+        private BitmapNode(final int bitmap, final Object[] entries, final int[] values) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+            this.values = values;
+        }
+
+        static Node single(final int shift, final int hash, final String key, final int value) {
+            return new BitmapNode(bit(shift, hash), new Object[]{key}, new int[]{value});
+        }
+
+        private static int bit(final int shift, final int hash) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int slot(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        int get(final int shift, final int hash, final String key, final int missing) {
+            final int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) {
+                return missing;
+            }
+            final int slot = slot(bit);
+            final Object entry = entries[slot];
+            if (entry instanceof final Node child) {
+                return child.get(shift + BITS, hash, key, missing);
+            }
+            return Objects.equals(key, entry) ? values[slot] : missing;
+        }
+
+        @Override
+        Node put(final int shift, final int hash, final String key, final int value) {
+            final int bit = bit(shift, hash);
+            final int slot = slot(bit);
+            if ((bitmap & bit) == 0) {
+                final int length = entries.length;
+                final Object[] newEntries = new Object[length + 1];
+                final int[] newValues = new int[length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, slot);
+                System.arraycopy(values, 0, newValues, 0, slot);
+                newEntries[slot] = key;
+                newValues[slot] = value;
+                System.arraycopy(entries, slot, newEntries, slot + 1, length - slot);
+                System.arraycopy(values, slot, newValues, slot + 1, length - slot);
+                return new BitmapNode(bitmap | bit, newEntries, newValues);
+            }
+
+            final Object entry = entries[slot];
+            if (entry instanceof final Node child) {
+                final Node newChild = child.put(shift + BITS, hash, key, value);
+                return newChild != child ? withEntry(slot, newChild, 0) : this;
+            }
+            if (Objects.equals(key, entry)) {
+                return values[slot] != value ? withEntry(slot, key, value) : this;
+            }
+
+            final String existing = (String) entry;
+            return withEntry(slot, merge(shift + BITS, existing, hash(existing), values[slot], key, hash, value), 0);
+        }
+
+        private BitmapNode withEntry(final int slot, final Object entry, final int value) {
+            final Object[] newEntries = entries.clone();
+            final int[] newValues = values.clone();
+            newEntries[slot] = entry;
+            newValues[slot] = value;
+            return new BitmapNode(bitmap, newEntries, newValues);
+        }
+
+        private static Node merge(final int shift, final String key1, final int hash1, final int value1,
+                                  final String key2, final int hash2, final int value2) {
+            if (shift >= Integer.SIZE) {
+                return new CollisionNode(new String[]{key1, key2}, new int[]{value1, value2});
+            }
+            final int bit1 = bit(shift, hash1);
+            final int bit2 = bit(shift, hash2);
+            if (bit1 == bit2) {
+                return new BitmapNode(bit1, new Object[]{merge(shift + BITS, key1, hash1, value1, key2, hash2, value2)},
+                        new int[1]);
+            }
+            return Integer.compareUnsigned(bit1, bit2) < 0
+                    ? new BitmapNode(bit1 | bit2, new Object[]{key1, key2}, new int[]{value1, value2})
+                    : new BitmapNode(bit1 | bit2, new Object[]{key2, key1}, new int[]{value2, value1});
+        }
+
+        @Override
+        Node remove(final int shift, final int hash, final String key) {
+            final int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int slot = slot(bit);
+            final Object entry = entries[slot];
+            if (entry instanceof final Node child) {
+                final Node newChild = child.remove(shift + BITS, hash, key);
+                if (newChild == child) {
+                    return this;
+                }
+                return newChild != null ? withEntry(slot, newChild, 0) : without(slot, bit);
+            }
+            return Objects.equals(key, entry) ? without(slot, bit) : this;
+        }
+
+        private BitmapNode without(final int slot, final int bit) {
+            if (bitmap == bit) {
+                return null;
+            }
+            final int length = entries.length;
+            final Object[] newEntries = new Object[length - 1];
+            final int[] newValues = new int[length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, slot);
+            System.arraycopy(values, 0, newValues, 0, slot);
+            System.arraycopy(entries, slot + 1, newEntries, slot, length - slot - 1);
+            System.arraycopy(values, slot + 1, newValues, slot, length - slot - 1);
+            return new BitmapNode(bitmap & ~bit, newEntries, newValues);
+        }
+    }
+
+    /**
+     * Node for keys whose hashes are identical, searched linearly.
+     */
+    private static final class CollisionNode extends Node {
+        private final String[] keys;
+        private final int[] values;
+
+        private CollisionNode(final String[] keys, final int[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private int indexOf(final String key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(key, keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int get(final int shift, final int hash, final String key, final int missing) {
+            final int index = indexOf(key);
+            return index >= 0 ? values[index] : missing;
+        }
+
+        @Override
+        Node put(final int shift, final int hash, final String key, final int value) {
+            final int index = indexOf(key);
+            if (index >= 0) {
+                if (values[index] == value) {
+                    return this;
+                }
+                final int[] newValues = values.clone();
+                newValues[index] = value;
+                return new CollisionNode(keys, newValues);
+            }
+            final String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            final int[] newValues = Arrays.copyOf(values, values.length + 1);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            return new CollisionNode(newKeys, newValues);
+        }
+
+        @Override
+        Node remove(final int shift, final int hash, final String key) {
+            final int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (keys.length == 1) {
+                return null;
+            }
+            final String[] newKeys = new String[keys.length - 1];
+            final int[] newValues = new int[values.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            return new CollisionNode(newKeys, newValues);
+        }
+    }
+}
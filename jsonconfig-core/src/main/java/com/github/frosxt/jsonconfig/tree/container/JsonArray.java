@@ -9,23 +9,97 @@ import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * JSON array.
+ * <p>
+ * Arrays are equal if they have equal elements in the same order. Like
+ * {@link JsonObject}, an array caches its hash until it or a container below
+ * it changes.
+ * </p>
+ */
 public class JsonArray extends JsonNode implements Iterable<JsonNode> {
-    private final List<JsonNode> elements;
+    private List<JsonNode> elements;
+    private volatile DeferredContent<JsonArray> deferred;
+    /** Containers holding this array, see {@link ParentLinks}. */
+    Object parents;
+    private int hash;
+    private volatile boolean hashed;
 
     public JsonArray() {
         this.elements = new ArrayList<>();
     }
 
+    /**
+     * Creates an empty array sized for the given number of elements.
+     *
+     * @param expectedSize expected number of elements
+     */
+    public JsonArray(final int expectedSize) {
+        this.elements = new ArrayList<>(expectedSize);
+    }
+
     public JsonArray(final List<JsonNode> elements) {
         this.elements = new ArrayList<>(elements);
+        for (final JsonNode element : this.elements) {
+            ParentLinks.added(element, this);
+        }
+    }
+
+    /**
+     * Creates an array over persistent elements, used as they are.
+     *
+     * @param elements read-only elements
+     */
+    JsonArray(final PersistentJsonArray.Elements elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Creates an array whose elements are loaded on first access.
+     *
+     * @param deferred source of the elements
+     */
+    public JsonArray(final DeferredContent<JsonArray> deferred) {
+        this.deferred = deferred;
+    }
+
+    /**
+     * Checks whether the elements of this array have been loaded.
+     *
+     * @return false if the array is still deferred
+     */
+    public boolean isLoaded() {
+        return deferred == null;
+    }
+
+    private List<JsonNode> elements() {
+        if (deferred != null) {
+            load();
+        }
+        return elements;
+    }
+
+    private synchronized void load() {
+        final DeferredContent<JsonArray> content = deferred;
+        if (content != null) {
+            final JsonArray loaded = content.load();
+            elements = loaded.elements();
+            for (final JsonNode element : elements) {
+                ParentLinks.moved(element, loaded, this);
+            }
+            deferred = null;
+        }
     }
 
     public void add(JsonNode element) {
         if (element == null) {
             element = JsonNull.INSTANCE;
         }
-        elements.add(element);
+        elements().add(element);
+        ParentLinks.added(element, this);
+        invalidateHash();
     }
 
     public void add(final String string) {
@@ -41,27 +115,105 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
     }
 
     public JsonNode get(final int index) {
-        return elements.get(index);
+        return elements().get(index);
     }
 
     public void set(final int index, JsonNode element) {
         if (element == null) {
             element = JsonNull.INSTANCE;
         }
-        elements.set(index, element);
+        final JsonNode previous = elements().set(index, element);
+        ParentLinks.added(element, this);
+        ParentLinks.removed(previous, this);
+        invalidateHash();
     }
 
     public int size() {
-        return elements.size();
+        return elements().size();
     }
 
     @Override
     public Iterator<JsonNode> iterator() {
-        return elements.iterator();
+        final Iterator<JsonNode> iterator = elements().iterator();
+        return new Iterator<>() {
+            private JsonNode last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public JsonNode next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                ParentLinks.removed(last, JsonArray.this);
+                invalidateHash();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof final JsonArray that)) {
+            return false;
+        }
+        final int size = size();
+        if (hashCode() != that.hashCode() || size != that.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(get(i), that.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashed) {
+            return hash;
+        }
+        final int computed = computeHash();
+        hash = computed;
+        hashed = true;
+        return computed;
+    }
+
+    /**
+     * Clears the cached hash after this array or a container below it
+     * changed, and those of the containers above it.
+     */
+    void invalidateHash() {
+        if (hashed) {
+            hashed = false;
+            ParentLinks.invalidate(parents);
+        }
+    }
+
+    /**
+     * Computes the hash of the elements in order, like {@link List#hashCode()}.
+     */
+    int computeHash() {
+        int result = 1;
+        for (final JsonNode element : elements()) {
+            result = 31 * result + Objects.hashCode(element);
+        }
+        return result;
     }
 
     @Override
     public String toString() {
-        return elements.toString();
+        return elements().toString();
     }
 }
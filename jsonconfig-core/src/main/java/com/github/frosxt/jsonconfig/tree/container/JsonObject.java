@@ -3,54 +3,183 @@ package com.github.frosxt.jsonconfig.tree.container;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+/**
+ * JSON object keeping its members in insertion order.
+ * <p>
+ * Members are stored in a compact map of parallel key and value arrays,
+ * searched linearly while the object is small and through an open-addressing
+ * table once it grows, see {@link MemberMap}.
+ * </p>
+ * <p>
+ * Objects are equal if they have equal members in any order. The hash of an
+ * object is cached until it or a container below it changes, see
+ * {@link ParentLinks}, so comparing large trees whose hashes differ is
+ * immediate and identical subtrees are skipped.
+ * </p>
+ */
 public class JsonObject extends JsonNode {
-    private final Map<String, JsonNode> members;
+    private Map<String, JsonNode> members;
+    private volatile DeferredContent<JsonObject> deferred;
+    /** Containers holding this object, see {@link ParentLinks}. */
+    Object parents;
+    private int hash;
+    private volatile boolean hashed;
 
     public JsonObject() {
-        this.members = new LinkedHashMap<>();
+        this.members = new MemberMap(this);
+    }
+
+    /**
+     * Creates an empty object sized for the given number of members.
+     *
+     * @param expectedSize expected number of members
+     */
+    public JsonObject(final int expectedSize) {
+        this.members = new MemberMap(this, expectedSize);
     }
 
     public JsonObject(final Map<String, JsonNode> members) {
-        this.members = new LinkedHashMap<>(members);
+        this.members = new MemberMap(this, members);
+    }
+
+    /**
+     * Creates an object over persistent members, used as they are.
+     *
+     * @param members read-only members
+     */
+    JsonObject(final PersistentJsonObject.Members members) {
+        this.members = members;
+    }
+
+    /**
+     * Creates an object whose members are loaded on first access.
+     *
+     * @param deferred source of the members
+     */
+    public JsonObject(final DeferredContent<JsonObject> deferred) {
+        this.deferred = deferred;
+    }
+
+    /**
+     * Checks whether the members of this object have been loaded.
+     *
+     * @return false if the object is still deferred
+     */
+    public boolean isLoaded() {
+        return deferred == null;
+    }
+
+    private Map<String, JsonNode> members() {
+        if (deferred != null) {
+            load();
+        }
+        return members;
+    }
+
+    private synchronized void load() {
+        final DeferredContent<JsonObject> content = deferred;
+        if (content != null) {
+            final JsonObject loaded = content.load();
+            members = loaded.members();
+            if (members instanceof final MemberMap map) {
+                map.adopt(loaded, this);
+            }
+            deferred = null;
+        }
     }
 
     public void add(final String property, JsonNode value) {
         if (value == null) {
             value = JsonNull.INSTANCE;
         }
-        members.put(property, value);
+        members().put(property, value);
     }
 
     public JsonNode get(final String property) {
-        return members.get(property);
+        return members().get(property);
     }
 
     public JsonNode remove(final String property) {
-        return members.remove(property);
+        return members().remove(property);
     }
 
     public boolean has(final String property) {
-        return members.containsKey(property);
+        return members().containsKey(property);
     }
 
     public Set<Map.Entry<String, JsonNode>> entrySet() {
-        return members.entrySet();
+        return members().entrySet();
     }
 
     public Set<String> keySet() {
-        return members.keySet();
+        return members().keySet();
     }
 
     public int size() {
-        return members.size();
+        return members().size();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof final JsonObject that)) {
+            return false;
+        }
+        if (hashCode() != that.hashCode() || size() != that.size()) {
+            return false;
+        }
+
+        for (final Map.Entry<String, JsonNode> member : entrySet()) {
+            final JsonNode value = member.getValue();
+            if (!Objects.equals(value, that.get(member.getKey())) || value == null && !that.has(member.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashed) {
+            return hash;
+        }
+        final int computed = computeHash();
+        hash = computed;
+        hashed = true;
+        return computed;
+    }
+
+    /**
+     * Clears the cached hash after this object or a container below it
+     * changed, and those of the containers above it.
+     */
+    void invalidateHash() {
+        if (hashed) {
+            hashed = false;
+            ParentLinks.invalidate(parents);
+        }
+    }
+
+    /**
+     * Computes the hash of the members regardless of their order, like
+     * {@link Map#hashCode()}.
+     */
+    int computeHash() {
+        int result = 0;
+        for (final Map.Entry<String, JsonNode> member : entrySet()) {
+            result += Objects.hashCode(member.getKey()) ^ Objects.hashCode(member.getValue());
+        }
+        return result;
     }
 
     @Override
     public String toString() {
-        return members.toString();
+        return members().toString();
     }
 }
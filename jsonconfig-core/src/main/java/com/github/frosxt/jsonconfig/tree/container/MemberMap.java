@@ -0,0 +1,323 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion-ordered map of object members stored in parallel key and value
+ * arrays.
+ * <p>
+ * Small maps are searched linearly, which for a handful of keys is as fast
+ * as hashing and needs no table. Once a map grows past {@link #LINEAR_LIMIT}
+ * members, an open-addressing table of array indexes is kept alongside the
+ * arrays. Either way a member costs two array slots instead of an entry
+ * object. Replacing a value keeps the member's position; removing a member
+ * shifts the later ones down and rebuilds the table, so removal from large
+ * maps is linear.
+ * </p>
+ * <p>
+ * Changes link and unlink container values to the owning object and clear
+ * its cached hash, see {@link ParentLinks}.
+ * </p>
+ */
+final class MemberMap extends AbstractMap<String, JsonNode> {
+    /** Largest map that is searched without a hash table. */
+    static final int LINEAR_LIMIT = 8;
+
+    private static final String[] NO_KEYS = {};
+    private static final JsonNode[] NO_VALUES = {};
+
+    private JsonObject owner;
+    private String[] keys;
+    private JsonNode[] values;
+    /** Array index plus one of the member in each slot, 0 for a free slot; null while linear. */
+    private int[] table;
+    private int size;
+    private int modCount;
+    private Set<Map.Entry<String, JsonNode>> entrySet;
+
+    MemberMap(final JsonObject owner) {
+        this.owner = owner;
+        this.keys = NO_KEYS;
+        this.values = NO_VALUES;
+    }
+
+    MemberMap(final JsonObject owner, final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        this.owner = owner;
+        this.keys = expectedSize > 0 ? new String[expectedSize] : NO_KEYS;
+        this.values = expectedSize > 0 ? new JsonNode[expectedSize] : NO_VALUES;
+    }
+
+    MemberMap(final JsonObject owner, final Map<String, JsonNode> members) {
+        this(owner, members.size());
+        for (final Map.Entry<String, JsonNode> member : members.entrySet()) {
+            put(member.getKey(), member.getValue());
+        }
+    }
+
+    /**
+     * Hands the members over to the object that adopts them, for a deferred
+     * object whose content was loaded into another one.
+     */
+    void adopt(final JsonObject from, final JsonObject to) {
+        owner = to;
+        for (int i = 0; i < size; i++) {
+            ParentLinks.moved(values[i], from, to);
+        }
+    }
+
+    private int indexOf(final Object key) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(key, keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        final int mask = table.length - 1;
+        for (int slot = hash(key) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            final int index = table[slot] - 1;
+            if (Objects.equals(key, keys[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(final Object key) {
+        final int hash = key != null ? key.hashCode() : 0;
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public JsonNode get(final Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public JsonNode put(final String key, final JsonNode value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return replace(index, value);
+        }
+
+        if (size == keys.length) {
+            final int capacity = Math.max(4, size + (size >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+        ParentLinks.added(value, owner);
+        owner.invalidateHash();
+
+        if (table != null && size * 2 <= table.length) {
+            insert(size - 1);
+        } else if (size > LINEAR_LIMIT) {
+            rehash();
+        }
+        return null;
+    }
+
+    private JsonNode replace(final int index, final JsonNode value) {
+        final JsonNode previous = values[index];
+        values[index] = value;
+        ParentLinks.added(value, owner);
+        ParentLinks.removed(previous, owner);
+        owner.invalidateHash();
+        return previous;
+    }
+
+    @Override
+    public JsonNode remove(final Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    private JsonNode removeAt(final int index) {
+        final JsonNode previous = values[index];
+        final int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        ParentLinks.removed(previous, owner);
+        owner.invalidateHash();
+
+        // Later members moved down, so every slot after them is stale
+        if (size > LINEAR_LIMIT) {
+            rehash();
+        } else {
+            table = null;
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            ParentLinks.removed(values[i], owner);
+        }
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        table = null;
+        modCount++;
+        owner.invalidateHash();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash() {
+        table = new int[Integer.highestOneBit(size) << 2];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(final int index) {
+        final int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonNode>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, JsonNode>> {
+        @Override
+        public Iterator<Map.Entry<String, JsonNode>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            MemberMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, JsonNode>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, JsonNode> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Member(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * View of the member at an array index, valid until members before it
+     * are removed.
+     */
+    private final class Member implements Map.Entry<String, JsonNode> {
+        private final int index;
+
+        private Member(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[index];
+        }
+
+        @Override
+        public JsonNode getValue() {
+            return values[index];
+        }
+
+        @Override
+        public JsonNode setValue(final JsonNode value) {
+            return replace(index, value);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof final Map.Entry<?, ?> entry
+                    && Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
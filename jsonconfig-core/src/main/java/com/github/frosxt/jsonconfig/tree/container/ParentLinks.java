@@ -0,0 +1,126 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Links from mutable containers to the containers holding them, which carry
+ * a change up to the cached hashes it makes stale.
+ * <p>
+ * A container caches its hash until it or a container below it changes. A
+ * change clears the cached hash of the changed container and of each
+ * container above it, and stops at a container without one: hashing a
+ * container hashes everything below it, so nothing above such a container
+ * has a cached hash either. Hashes of other trees, and of subtrees beside the
+ * changed path, stay valid.
+ * </p>
+ * <p>
+ * A container links to each container it is held by, once per occurrence,
+ * as a single parent or a list of them; removing or replacing it drops one
+ * link, so a detached subtree does not keep its old tree reachable.
+ * Persistent containers never change and are not linked. Like the containers
+ * themselves, changes must not run concurrently with hashing, as the write
+ * lock of
+ * {@link com.github.frosxt.jsonconfig.api.concurrent.ConcurrentJsonConfiguration}
+ * ensures.
+ * </p>
+ */
+final class ParentLinks {
+    private ParentLinks() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Links a node added to a container, if it is a mutable container.
+     *
+     * @param node   value or element added
+     * @param parent container it was added to
+     */
+    static void added(final JsonNode node, final JsonNode parent) {
+        if (node instanceof final JsonObject object && !(node instanceof PersistentJsonObject)) {
+            object.parents = link(object.parents, parent);
+        } else if (node instanceof final JsonArray array && !(node instanceof PersistentJsonArray)) {
+            array.parents = link(array.parents, parent);
+        }
+    }
+
+    /**
+     * Drops one link of a node removed or replaced in a container.
+     *
+     * @param node   value or element removed, may be null
+     * @param parent container it was removed from
+     */
+    static void removed(final JsonNode node, final JsonNode parent) {
+        if (node instanceof final JsonObject object && !(node instanceof PersistentJsonObject)) {
+            object.parents = unlink(object.parents, parent);
+        } else if (node instanceof final JsonArray array && !(node instanceof PersistentJsonArray)) {
+            array.parents = unlink(array.parents, parent);
+        }
+    }
+
+    /**
+     * Moves the link of a node from one container to another, for content
+     * adopted by a deferred container.
+     */
+    static void moved(final JsonNode node, final JsonNode from, final JsonNode to) {
+        removed(node, from);
+        added(node, to);
+    }
+
+    /**
+     * Clears the cached hashes of the given parents and the containers above
+     * them.
+     *
+     * @param parents parent links of a changed container
+     */
+    static void invalidate(final Object parents) {
+        if (parents instanceof final List<?> list) {
+            for (final Object parent : list) {
+                invalidateParent(parent);
+            }
+        } else if (parents != null) {
+            invalidateParent(parents);
+        }
+    }
+
+    private static void invalidateParent(final Object parent) {
+        if (parent instanceof final JsonObject object) {
+            object.invalidateHash();
+        } else {
+            ((JsonArray) parent).invalidateHash();
+        }
+    }
+
+    private static Object link(final Object parents, final JsonNode parent) {
+        if (parents == null) {
+            return parent;
+        }
+        if (parents instanceof final List<?> list) {
+            @SuppressWarnings("unchecked") final List<Object> links = (List<Object>) list;
+            links.add(parent);
+            return links;
+        }
+        final List<Object> links = new ArrayList<>(2);
+        links.add(parents);
+        links.add(parent);
+        return links;
+    }
+
+    private static Object unlink(final Object parents, final JsonNode parent) {
+        if (parents == parent) {
+            return null;
+        }
+        if (parents instanceof final List<?> list) {
+            // By identity, as equal containers are still different parents
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == parent) {
+                    list.remove(i);
+                    return list.size() == 1 ? list.get(0) : list;
+                }
+            }
+        }
+        return parents;
+    }
+}
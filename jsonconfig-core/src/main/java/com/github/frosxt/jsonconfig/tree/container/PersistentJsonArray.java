@@ -0,0 +1,119 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable JSON array sharing structure with the versions it was derived
+ * from.
+ * <p>
+ * Elements live in a trie of 32-element arrays, so
+ * {@link #withElement(int, JsonNode)} and {@link #withAdded(JsonNode)} copy
+ * at most a few small arrays and leave the original array unchanged. See
+ * {@link PersistentJsonObject} for updating a whole tree by path.
+ * </p>
+ */
+public final class PersistentJsonArray extends JsonArray {
+    private static final PersistentJsonArray EMPTY = new PersistentJsonArray(Elements.EMPTY);
+
+    private final Elements elements;
+    private int cachedHash;
+
+    private PersistentJsonArray(final Elements elements) {
+        super(elements);
+        this.elements = elements;
+    }
+
+    public static PersistentJsonArray empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Converts an array and everything below it to persistent nodes.
+     *
+     * @param array array to convert
+     * @return persistent copy, or the array itself if it is already persistent
+     */
+    public static PersistentJsonArray copyOf(final JsonArray array) {
+        if (array instanceof final PersistentJsonArray persistent) {
+            return persistent;
+        }
+        PersistentVector vector = PersistentVector.EMPTY;
+        for (final JsonNode element : array) {
+            vector = vector.append(PersistentJsonObject.persistent(element));
+        }
+        return new PersistentJsonArray(new Elements(vector));
+    }
+
+    /**
+     * Returns an array with an element replaced.
+     *
+     * @param index   index of an existing element
+     * @param element new element, null for JSON null
+     * @return new array, or this one if nothing changed
+     * @throws IndexOutOfBoundsException if there is no element at the index
+     */
+    public PersistentJsonArray withElement(final int index, final JsonNode element) {
+        final JsonNode stored = PersistentJsonObject.persistent(element);
+        if (elements.get(index) == stored) {
+            return this;
+        }
+        return new PersistentJsonArray(new Elements(elements.vector.set(index, stored)));
+    }
+
+    /**
+     * Returns an array with an element appended.
+     *
+     * @param element element to append, null for JSON null
+     * @return new array
+     */
+    public PersistentJsonArray withAdded(final JsonNode element) {
+        return new PersistentJsonArray(new Elements(elements.vector.append(PersistentJsonObject.persistent(element))));
+    }
+
+    @Override
+    public int hashCode() {
+        // Nothing below a persistent array can change, so the hash never goes stale
+        int result = cachedHash;
+        if (result == 0) {
+            result = computeHash();
+            cachedHash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void add(final JsonNode element) {
+        throw new UnsupportedOperationException("Persistent arrays cannot be modified, use withAdded instead");
+    }
+
+    @Override
+    public void set(final int index, final JsonNode element) {
+        throw new UnsupportedOperationException("Persistent arrays cannot be modified, use withElement instead");
+    }
+
+    /**
+     * Read-only list view of a persistent vector.
+     */
+    static final class Elements extends AbstractList<JsonNode> implements RandomAccess {
+        static final Elements EMPTY = new Elements(PersistentVector.EMPTY);
+
+        private final PersistentVector vector;
+
+        private Elements(final PersistentVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        public JsonNode get(final int index) {
+            return (JsonNode) vector.get(index);
+        }
+
+        @Override
+        public int size() {
+            return vector.size();
+        }
+    }
+}
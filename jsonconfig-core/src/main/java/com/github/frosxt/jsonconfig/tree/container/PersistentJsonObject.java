@@ -0,0 +1,363 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import com.github.frosxt.jsonconfig.path.JsonPath;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable JSON object sharing structure with the versions it was derived
+ * from.
+ * <p>
+ * {@link #with(String, JsonNode)} and {@link #without(String)} return a new
+ * root, copying only the containers on the path and, within each, the few
+ * trie nodes leading to the changed member. Every earlier root stays valid
+ * and unchanged, so a version can be handed to readers on other threads while
+ * updates continue. Members keep their insertion order. Values stored in a
+ * persistent tree are persistent themselves: mutable containers passed in are
+ * copied once on the way in.
+ * </p>
+ * <p>
+ * The mutating methods inherited from {@link JsonObject} throw
+ * {@link UnsupportedOperationException}; use
+ * {@link com.github.frosxt.jsonconfig.runtime.copy.NodeCloner#cloneNode(JsonNode)}
+ * for a mutable copy.
+ * </p>
+ */
+public final class PersistentJsonObject extends JsonObject {
+    private static final PersistentJsonObject EMPTY = new PersistentJsonObject(Members.EMPTY);
+
+    private final Members members;
+    private int cachedHash;
+
+    private PersistentJsonObject(final Members members) {
+        super(members);
+        this.members = members;
+    }
+
+    public static PersistentJsonObject empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Converts an object and everything below it to persistent nodes.
+     *
+     * @param object object to convert
+     * @return persistent copy, or the object itself if it is already persistent
+     */
+    public static PersistentJsonObject copyOf(final JsonObject object) {
+        if (object instanceof final PersistentJsonObject persistent) {
+            return persistent;
+        }
+        Members members = Members.EMPTY;
+        for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+            members = members.with(member.getKey(), persistent(member.getValue()));
+        }
+        return new PersistentJsonObject(members);
+    }
+
+    /**
+     * Converts any node to its persistent form; scalars are already immutable.
+     */
+    static JsonNode persistent(final JsonNode node) {
+        if (node == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (node instanceof final JsonObject object) {
+            return copyOf(object);
+        }
+        if (node instanceof final JsonArray array) {
+            return PersistentJsonArray.copyOf(array);
+        }
+        return node;
+    }
+
+    /**
+     * Returns an object with a member added or replaced. A replaced member
+     * keeps its position.
+     *
+     * @param property member key
+     * @param value    member value, null for JSON null
+     * @return new object, or this one if nothing changed
+     */
+    public PersistentJsonObject withMember(final String property, final JsonNode value) {
+        final JsonNode stored = persistent(value);
+        if (members.get(property) == stored && members.containsKey(property)) {
+            return this;
+        }
+        return new PersistentJsonObject(members.with(property, stored));
+    }
+
+    /**
+     * Returns an object without a member.
+     *
+     * @param property member key
+     * @return new object, or this one if there was no such member
+     */
+    public PersistentJsonObject withoutMember(final String property) {
+        final Members updated = members.without(property);
+        return updated != members ? new PersistentJsonObject(updated) : this;
+    }
+
+    /**
+     * Returns a root with a value set at a path.
+     * <p>
+     * Follows the rules of a mutable set: missing or scalar intermediate
+     * values become arrays when the next segment is an index and objects
+     * otherwise, arrays are padded with nulls up to the index, and a path
+     * going through an array with a segment that is not an index leaves the
+     * tree unchanged.
+     * </p>
+     *
+     * @param path  dot-separated path
+     * @param value value to set, null for JSON null
+     * @return new root, or this one if nothing changed
+     */
+    public PersistentJsonObject with(final String path, final JsonNode value) {
+        final List<String> segments = segments(path);
+        return (PersistentJsonObject) set(this, segments, 0, persistent(value));
+    }
+
+    /**
+     * Returns a root with the value at a path removed. Array elements are
+     * replaced by null so later indexes do not shift.
+     *
+     * @param path dot-separated path
+     * @return new root, or this one if there was nothing to remove
+     */
+    public PersistentJsonObject without(final String path) {
+        final List<String> segments = segments(path);
+        return (PersistentJsonObject) remove(this, segments, 0);
+    }
+
+    private static List<String> segments(final String path) {
+        final List<String> segments = JsonPath.compile(path).getSegments();
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("Path cannot be empty");
+        }
+        return segments;
+    }
+
+    private static JsonNode set(final JsonNode current, final List<String> segments, final int index,
+                                final JsonNode value) {
+        final String key = segments.get(index);
+        final boolean last = index == segments.size() - 1;
+
+        if (current instanceof final PersistentJsonObject object) {
+            if (last) {
+                return object.withMember(key, value);
+            }
+            JsonNode next = object.get(key);
+            if (!isContainer(next)) {
+                next = inferContainer(segments, index + 1);
+            }
+            return object.withMember(key, set(next, segments, index + 1, value));
+        }
+
+        final PersistentJsonArray array = (PersistentJsonArray) current;
+        final int element = elementIndex(key);
+        if (element < 0) {
+            return array;
+        }
+        PersistentJsonArray padded = array;
+        while (padded.size() <= element) {
+            padded = padded.withAdded(JsonNull.INSTANCE);
+        }
+        if (last) {
+            return padded.withElement(element, value);
+        }
+        JsonNode next = padded.get(element);
+        if (!isContainer(next)) {
+            next = inferContainer(segments, index + 1);
+        }
+        return padded.withElement(element, set(next, segments, index + 1, value));
+    }
+
+    private static JsonNode remove(final JsonNode current, final List<String> segments, final int index) {
+        final String key = segments.get(index);
+        final boolean last = index == segments.size() - 1;
+
+        if (current instanceof final PersistentJsonObject object) {
+            if (last) {
+                return object.withoutMember(key);
+            }
+            final JsonNode next = object.get(key);
+            return isContainer(next) ? object.withMember(key, remove(next, segments, index + 1)) : object;
+        }
+        if (current instanceof final PersistentJsonArray array) {
+            final int element = elementIndex(key);
+            if (element < 0 || element >= array.size()) {
+                return array;
+            }
+            if (last) {
+                return array.withElement(element, JsonNull.INSTANCE);
+            }
+            final JsonNode next = array.get(element);
+            return isContainer(next) ? array.withElement(element, remove(next, segments, index + 1)) : array;
+        }
+        return current;
+    }
+
+    private static int elementIndex(final String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static JsonNode inferContainer(final List<String> segments, final int nextIndex) {
+        return elementIndex(segments.get(nextIndex)) >= 0 ? PersistentJsonArray.empty() : EMPTY;
+    }
+
+    private static boolean isContainer(final JsonNode node) {
+        return node instanceof PersistentJsonObject || node instanceof PersistentJsonArray;
+    }
+
+    @Override
+    public int hashCode() {
+        // Nothing below a persistent object can change, so the hash never goes stale
+        int result = cachedHash;
+        if (result == 0) {
+            result = computeHash();
+            cachedHash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void add(final String property, final JsonNode value) {
+        throw new UnsupportedOperationException("Persistent objects cannot be modified, use withMember instead");
+    }
+
+    @Override
+    public JsonNode remove(final String property) {
+        throw new UnsupportedOperationException("Persistent objects cannot be modified, use withoutMember instead");
+    }
+
+    /**
+     * Read-only member map: a vector of members in insertion order plus a
+     * hash trie from each key to its position in the vector. Removed members
+     * leave a null behind, and the vector is compacted once nulls outnumber
+     * the members.
+     */
+    static final class Members extends AbstractMap<String, JsonNode> {
+        static final Members EMPTY = new Members(HashTrie.EMPTY, PersistentVector.EMPTY, 0);
+
+        private final HashTrie positions;
+        private final PersistentVector entries;
+        private final int size;
+        private Set<Map.Entry<String, JsonNode>> entrySet;
+
+        private Members(final HashTrie positions, final PersistentVector entries, final int size) {
+            this.positions = positions;
+            this.entries = entries;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<String, JsonNode> entry(final int position) {
+            return (Map.Entry<String, JsonNode>) entries.get(position);
+        }
+
+        @Override
+        public JsonNode get(final Object key) {
+            if (!(key instanceof String) && key != null) {
+                return null;
+            }
+            final int position = positions.get((String) key, -1);
+            return position >= 0 ? entry(position).getValue() : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return (key instanceof String || key == null) && positions.get((String) key, -1) >= 0;
+        }
+
+        Members with(final String key, final JsonNode value) {
+            final Map.Entry<String, JsonNode> entry = new SimpleImmutableEntry<>(key, value);
+            final int position = positions.get(key, -1);
+            if (position >= 0) {
+                return new Members(positions, entries.set(position, entry), size);
+            }
+            return new Members(positions.put(key, entries.size()), entries.append(entry), size + 1);
+        }
+
+        Members without(final String key) {
+            final int position = positions.get(key, -1);
+            if (position < 0) {
+                return this;
+            }
+            final Members removed = new Members(positions.remove(key), entries.set(position, null), size - 1);
+            return removed.entries.size() - removed.size > Math.max(removed.size, 32) ? removed.compact() : removed;
+        }
+
+        private Members compact() {
+            Members compacted = EMPTY;
+            for (final Map.Entry<String, JsonNode> member : entrySet()) {
+                compacted = compacted.with(member.getKey(), member.getValue());
+            }
+            return compacted;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public Set<Map.Entry<String, JsonNode>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Map.Entry<String, JsonNode>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return entrySet;
+        }
+
+        private final class EntryIterator implements Iterator<Map.Entry<String, JsonNode>> {
+            private int position;
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map.Entry<String, JsonNode> next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                Object entry;
+                do {
+                    final Object[] leaf = entries.leaf(position);
+                    entry = leaf[position++ & 31];
+                } while (entry == null);
+                remaining--;
+                return (Map.Entry<String, JsonNode>) entry;
+            }
+        }
+    }
+}
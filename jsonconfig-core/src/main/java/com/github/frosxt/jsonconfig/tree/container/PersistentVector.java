@@ -0,0 +1,126 @@
+package com.github.frosxt.jsonconfig.tree.container;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable vector stored as a trie of 32-element arrays with a separate
+ * tail, as in Clojure's persistent vector.
+ * <p>
+ * Setting or appending an element copies only the arrays on the path to it,
+ * so the old and the new vector share everything else. Appends go to the
+ * tail until it holds 32 elements, which is then pushed into the trie.
+ * </p>
+ */
+final class PersistentVector {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final PersistentVector EMPTY = new PersistentVector(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Index of the first element held in the tail.
+     */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Gets the array holding an element, whose slot is {@code index & 31}.
+     */
+    Object[] leaf(final int index) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    Object get(final int index) {
+        return leaf(index)[index & MASK];
+    }
+
+    PersistentVector set(final int index, final Object value) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            final Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector(size, shift, root, newTail);
+        }
+        return new PersistentVector(size, shift, set(shift, root, index, value), tail);
+    }
+
+    private static Object[] set(final int level, final Object[] node, final int index, final Object value) {
+        final Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            final int slot = (index >>> level) & MASK;
+            copy[slot] = set(level - BITS, (Object[]) node[slot], index, value);
+        }
+        return copy;
+    }
+
+    PersistentVector append(final Object value) {
+        if (size - tailOffset() < WIDTH) {
+            final Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector(size + 1, shift, root, newTail);
+        }
+
+        // The tail is full: push it into the trie, adding a level if the trie is full too
+        final Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root);
+        }
+        return new PersistentVector(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    private Object[] pushTail(final int level, final Object[] parent) {
+        final int slot = ((size - 1) >>> level) & MASK;
+        final Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[slot] = tail;
+        } else {
+            final Object[] child = (Object[]) parent[slot];
+            copy[slot] = child != null ? pushTail(level - BITS, child) : newPath(level - BITS, tail);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(final int level, final Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        final Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.frosxt.jsonconfig.tree.scalar;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A decimal JSON number backed by a {@code double}.
+ * <p>
+ * JSON cannot represent infinities or NaN, so only finite values are accepted.
+ * </p>
+ */
+public final class JsonDoubleNumber extends JsonNumber {
+    private final double value;
+
+    public JsonDoubleNumber(final double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JsonNumber value must be finite: " + value);
+        }
+        this.value = value;
+    }
+
+    @Override
+    public Number getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return false;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public long longValue() {
+        return (long) value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return bigDecimalValue().toBigInteger();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return Double.toString(value);
+    }
+}
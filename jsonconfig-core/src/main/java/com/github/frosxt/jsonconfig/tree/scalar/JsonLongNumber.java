@@ -0,0 +1,60 @@
+package com.github.frosxt.jsonconfig.tree.scalar;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * An integral JSON number backed by a {@code long}.
+ */
+public final class JsonLongNumber extends JsonNumber {
+    private final long value;
+
+    public JsonLongNumber(final long value) {
+        this.value = value;
+    }
+
+    @Override
+    public Number getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return true;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return BigInteger.valueOf(value);
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+}
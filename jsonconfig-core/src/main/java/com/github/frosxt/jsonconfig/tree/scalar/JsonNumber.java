@@ -9,6 +9,12 @@ import java.math.BigInteger;
  * Represents a JSON number value.
  * Numbers are normalized to BigInteger (integral) or BigDecimal (decimal) for
  * exactness.
+ * <p>
+ * {@link JsonLongNumber} and {@link JsonDoubleNumber} hold primitive values
+ * instead and are created by {@link #of(long)} and {@link #of(double)}. Numbers
+ * compare equal regardless of their representation as long as they are both
+ * integral or both decimal and have the same value.
+ * </p>
  */
 public class JsonNumber extends JsonNode {
     private final Number value;
@@ -20,6 +26,46 @@ public class JsonNumber extends JsonNode {
         this.value = normalize(value);
     }
 
+    /**
+     * Constructor for subclasses that store their value themselves.
+     */
+    protected JsonNumber() {
+        this.value = null;
+    }
+
+    /**
+     * Gets a node for an integral value. Values from -128 to 1023 share one
+     * node each.
+     *
+     * @param value number value
+     * @return shared or new node
+     */
+    public static JsonNumber of(final long value) {
+        if (value >= SmallNumbers.LOW && value <= SmallNumbers.HIGH) {
+            return SmallNumbers.NODES[(int) value - SmallNumbers.LOW];
+        }
+        return new JsonLongNumber(value);
+    }
+
+    /**
+     * Gets a node holding an integral value as a {@link BigInteger}, the way
+     * exact number parsing stores it. Values from -128 to 1023 share one node
+     * each.
+     *
+     * @param value number value
+     * @return shared or new node
+     */
+    public static JsonNumber exact(final long value) {
+        if (value >= SmallNumbers.LOW && value <= SmallNumbers.HIGH) {
+            return SmallNumbers.EXACT_NODES[(int) value - SmallNumbers.LOW];
+        }
+        return new JsonNumber(BigInteger.valueOf(value));
+    }
+
+    public static JsonNumber of(final double value) {
+        return new JsonDoubleNumber(value);
+    }
+
     private static Number normalize(final Number value) {
         if (value instanceof BigInteger || value instanceof BigDecimal) {
             return value;
@@ -35,6 +81,16 @@ public class JsonNumber extends JsonNode {
         return value;
     }
 
+    /**
+     * Checks whether this number has no fractional part by representation,
+     * i.e. it was written without a fraction or exponent.
+     *
+     * @return true for integral numbers
+     */
+    public boolean isIntegral() {
+        return value instanceof BigInteger;
+    }
+
     public int intValue() {
         return value.intValue();
     }
@@ -79,15 +135,47 @@ public class JsonNumber extends JsonNode {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof final JsonNumber that)) {
+            return false;
+        }
+        if (isIntegral() != that.isIntegral()) {
             return false;
         }
-        final JsonNumber that = (JsonNumber) o;
-        return value.equals(that.value);
+        if (this instanceof JsonLongNumber && that instanceof JsonLongNumber) {
+            return longValue() == that.longValue();
+        }
+        if (this instanceof JsonDoubleNumber && that instanceof JsonDoubleNumber) {
+            return doubleValue() == that.doubleValue();
+        }
+
+        return isIntegral() ? bigIntegerValue().equals(that.bigIntegerValue())
+                : bigDecimalValue().equals(that.bigDecimalValue());
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        if (isIntegral()) {
+            final BigInteger bigInteger = bigIntegerValue();
+            return bigInteger.bitLength() < Long.SIZE ? Long.hashCode(bigInteger.longValue()) : bigInteger.hashCode();
+        }
+
+        return bigDecimalValue().hashCode();
+    }
+
+    /**
+     * Nodes for small integers, created on first use.
+     */
+    private static final class SmallNumbers {
+        static final int LOW = -128;
+        static final int HIGH = 1023;
+        static final JsonLongNumber[] NODES = new JsonLongNumber[HIGH - LOW + 1];
+        static final JsonNumber[] EXACT_NODES = new JsonNumber[HIGH - LOW + 1];
+
+        static {
+            for (int i = 0; i < NODES.length; i++) {
+                NODES[i] = new JsonLongNumber(LOW + i);
+                EXACT_NODES[i] = new JsonNumber(BigInteger.valueOf(LOW + i));
+            }
+        }
     }
 }
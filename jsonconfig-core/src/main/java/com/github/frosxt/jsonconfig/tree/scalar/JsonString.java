@@ -3,6 +3,10 @@ package com.github.frosxt.jsonconfig.tree.scalar;
 import com.github.frosxt.jsonconfig.tree.JsonNode;
 
 public class JsonString extends JsonNode {
+    private static final int CACHE_SIZE = 1024;
+    /** Recently requested short values, each slot overwritten by the next value hashing to it. */
+    private static final JsonString[] CACHE = new JsonString[CACHE_SIZE];
+
     private final String value;
 
     public JsonString(final String value) {
@@ -12,6 +16,36 @@ public class JsonString extends JsonNode {
         this.value = value;
     }
 
+    /**
+     * Gets a node for a value, shared with earlier calls for the same short
+     * value while it stays in a small process-wide cache.
+     * <p>
+     * Unlike a {@link JsonStringTable} the cache never fills up: a value
+     * replaces whatever value last used its slot.
+     * </p>
+     *
+     * @param value string value
+     * @return shared or new node
+     */
+    public static JsonString of(final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("JsonString value cannot be null");
+        }
+        if (value.length() > JsonStringTable.MAX_LENGTH) {
+            return new JsonString(value);
+        }
+
+        final int hash = value.hashCode();
+        final int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        final JsonString cached = CACHE[slot];
+        if (cached != null && cached.value.equals(value)) {
+            return cached;
+        }
+        final JsonString node = new JsonString(value);
+        CACHE[slot] = node;
+        return node;
+    }
+
     public String getValue() {
         return value;
     }
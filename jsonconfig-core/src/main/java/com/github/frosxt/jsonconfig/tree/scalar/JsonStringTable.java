@@ -0,0 +1,127 @@
+package com.github.frosxt.jsonconfig.tree.scalar;
+
+/**
+ * Canonical {@link JsonString} nodes for short string values.
+ * <p>
+ * Configuration files repeat enum-like values such as {@code "enabled"} or
+ * {@code "NORMAL"} many times; through a table every occurrence shares one
+ * node and one {@link String}. Only values of at most {@link #MAX_LENGTH}
+ * characters are stored, and once {@link #maxSize()} values are stored new
+ * values get a node of their own. A table can be shared across loads and
+ * threads; lookups are lock-free and only inserts synchronize.
+ * </p>
+ */
+public final class JsonStringTable {
+    public static final int DEFAULT_MAX_SIZE = 4096;
+    /** Longest value that is stored in a table. */
+    public static final int MAX_LENGTH = 32;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int maxSize;
+    private volatile JsonString[] table = new JsonString[INITIAL_CAPACITY];
+    private int size;
+
+    public JsonStringTable() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a table holding at most the given number of values.
+     *
+     * @param maxSize maximum number of values
+     */
+    public JsonStringTable(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size cannot be negative");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the canonical node for a value, adding it if the value is short
+     * enough and the table is not full.
+     *
+     * @param value string value
+     * @return canonical or newly created node
+     */
+    public JsonString intern(final String value) {
+        if (value.length() > MAX_LENGTH) {
+            return new JsonString(value);
+        }
+
+        final int hash = value.hashCode();
+        final JsonString[] current = table;
+        final int mask = current.length - 1;
+        int index = spread(hash) & mask;
+        JsonString candidate;
+        while ((candidate = current[index]) != null) {
+            if (candidate.getValue().equals(value)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return insert(value, hash);
+    }
+
+    private synchronized JsonString insert(final String value, final int hash) {
+        JsonString[] current = table;
+        int mask = current.length - 1;
+
+        int index = spread(hash) & mask;
+        JsonString candidate;
+        while ((candidate = current[index]) != null) {
+            if (candidate.getValue().equals(value)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+
+        final JsonString node = new JsonString(value);
+        if (size >= maxSize) {
+            return node;
+        }
+
+        if ((size + 1) * 2 > current.length) {
+            current = rehash(current);
+            mask = current.length - 1;
+            index = spread(hash) & mask;
+            while (current[index] != null) {
+                index = (index + 1) & mask;
+            }
+        }
+
+        current[index] = node;
+        size++;
+        table = current;
+        return node;
+    }
+
+    private static JsonString[] rehash(final JsonString[] old) {
+        final JsonString[] resized = new JsonString[old.length << 1];
+        final int mask = resized.length - 1;
+
+        for (final JsonString node : old) {
+            if (node != null) {
+                int index = spread(node.getValue().hashCode()) & mask;
+                while (resized[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                resized[index] = node;
+            }
+        }
+        return resized;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
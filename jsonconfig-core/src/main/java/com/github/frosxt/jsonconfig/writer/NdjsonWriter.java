@@ -0,0 +1,63 @@
+package com.github.frosxt.jsonconfig.writer;
+
+import com.github.frosxt.jsonconfig.api.JsonSection;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer for newline-delimited JSON. Every record is written compactly on a
+ * line of its own, ending with a line feed, so records can be appended one at
+ * a time without keeping them in memory.
+ */
+public class NdjsonWriter implements Closeable, Flushable {
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+
+    /**
+     * Creates a writer.
+     *
+     * @param writer target, closed by {@link #close()}
+     */
+    public NdjsonWriter(final Writer writer) {
+        this.writer = writer;
+        this.jsonWriter = new JsonWriter(writer, 0);
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param record record to write
+     * @throws IOException if writing fails
+     */
+    public void write(final JsonNode record) throws IOException {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+        jsonWriter.write(record);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes the content of a section or configuration as a record.
+     *
+     * @param record section to write
+     * @throws IOException if writing fails
+     */
+    public void write(final JsonSection record) throws IOException {
+        write(record.getNode(""));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading configurations from UTF-8 bytes.
+ */
+public class ByteInputTest {
+    private static final String JSON = "{\"name\": \"café 日本 😀\", \"port\": 25565, \"tags\": [\"a\\u00e9\", \"b\"]}";
+
+    @Test
+    public void testLoadBytesDecodesStrings() throws Exception {
+        final JsonConfiguration config = JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("café 日本 😀", config.getString("name"));
+        assertEquals(25565, config.getInt("port"));
+        assertEquals("aé", config.getStringList("tags").get(0));
+    }
+
+    @Test
+    public void testLoadInputStreamAndBuffer() throws Exception {
+        final byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+
+        final JsonConfiguration fromStream = JsonConfigurations.load(new ByteArrayInputStream(bytes));
+        assertEquals("café 日本 😀", fromStream.getString("name"));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        final JsonConfiguration fromBuffer = JsonConfigurations.load(direct);
+        assertEquals(25565, fromBuffer.getInt("port"));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void testByteOrderMarks() throws Exception {
+        final byte[] utf8 = JSON.getBytes(StandardCharsets.UTF_8);
+        final byte[] withBom = new byte[utf8.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(utf8, 0, withBom, 3, utf8.length);
+        assertEquals(25565, JsonConfigurations.load(withBom).getInt("port"));
+
+        final byte[] utf16 = JSON.getBytes(StandardCharsets.UTF_16);
+        assertEquals("café 日本 😀", JsonConfigurations.load(utf16).getString("name"));
+
+        final byte[] utf16le = ("﻿" + JSON).getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(25565, JsonConfigurations.load(utf16le).getInt("port"));
+    }
+
+    @Test
+    public void testInvalidUtf8() {
+        final byte[] overlong = {'{', '"', 'a', '"', ':', '"', (byte) 0xC0, (byte) 0xAF, '"', '}'};
+        assertThrows(JsonParseException.class, () -> JsonConfigurations.load(overlong));
+
+        final byte[] truncated = {'{', '"', 'a', '"', ':', '"', (byte) 0xE6, (byte) 0x97, '"', '}'};
+        assertThrows(JsonParseException.class, () -> JsonConfigurations.load(truncated));
+    }
+
+    @Test
+    public void testErrorPositionMatchesReader() {
+        final String json = "{\n  \"é\": trux\n}";
+        final JsonParseException fromBytes = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(json.getBytes(StandardCharsets.UTF_8)));
+        final JsonParseException fromReader = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(new StringReader(json)));
+
+        assertEquals(2, fromBytes.getLine());
+        assertEquals(fromReader.getLine(), fromBytes.getLine());
+        assertEquals(fromReader.getColumn(), fromBytes.getColumn());
+    }
+
+    @Test
+    public void testErrorPositionAfterManyLines() {
+        final StringBuilder builder = new StringBuilder("{\n");
+        for (int i = 0; i < 3000; i++) {
+            builder.append("  \"key").append(i).append("\": \"caf\u00e9\",\n");
+        }
+        final String json = builder.append("  \"last\": [1, 2 x]\n}").toString();
+
+        final JsonParseException fromBytes = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(json.getBytes(StandardCharsets.UTF_8)));
+        final JsonParseException fromReader = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(new StringReader(json)));
+
+        assertEquals(3002, fromReader.getLine());
+        assertEquals(17, fromReader.getColumn());
+        assertEquals(fromReader.getLine(), fromBytes.getLine());
+        assertEquals(fromReader.getColumn(), fromBytes.getColumn());
+    }
+}
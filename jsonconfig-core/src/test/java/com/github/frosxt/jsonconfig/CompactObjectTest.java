@@ -0,0 +1,94 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compact member storage of objects, below and above the size
+ * at which lookups switch to a hash table.
+ */
+public class CompactObjectTest {
+
+    private static List<String> keys(final JsonObject object) {
+        return new ArrayList<>(object.keySet());
+    }
+
+    @Test
+    public void testInsertionOrderAcrossTableThreshold() {
+        for (final int size : new int[]{3, 8, 9, 100}) {
+            final JsonObject object = new JsonObject();
+            final List<String> expected = new ArrayList<>();
+            for (int i = size - 1; i >= 0; i--) {
+                object.add("key-" + i, JsonNumber.of(i));
+                expected.add("key-" + i);
+            }
+
+            assertEquals(size, object.size());
+            assertEquals(expected, keys(object));
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, ((JsonNumber) object.get("key-" + i)).intValue());
+            }
+            assertNull(object.get("key-" + size));
+            assertFalse(object.has("missing"));
+
+            // Replacing keeps the position, removing and adding again moves to the end
+            object.add("key-" + (size - 1), JsonNumber.of(-1));
+            assertEquals(expected, keys(object));
+            assertEquals(0, ((JsonNumber) object.remove("key-0")).intValue());
+            object.add("key-0", JsonNumber.of(0));
+            assertEquals("key-0", keys(object).get(size - 1));
+            assertEquals(-1, ((JsonNumber) object.get("key-" + (size - 1))).intValue());
+        }
+    }
+
+    @Test
+    public void testEntryViewsWriteThrough() {
+        final JsonObject object = new JsonObject(4);
+        for (int i = 0; i < 20; i++) {
+            object.add("k" + i, JsonNumber.of(i));
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> it = object.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> member = it.next();
+            final int value = ((JsonNumber) member.getValue()).intValue();
+            if (value % 2 == 0) {
+                it.remove();
+            } else {
+                member.setValue(JsonNumber.of(value * 10));
+            }
+        }
+
+        assertEquals(10, object.size());
+        assertEquals(List.of("k1", "k3", "k5", "k7", "k9", "k11", "k13", "k15", "k17", "k19"), keys(object));
+        assertEquals(190, ((JsonNumber) object.get("k19")).intValue());
+        assertFalse(object.has("k4"));
+        assertEquals("{k1=10, k3=30}", toString(object, 2));
+
+        object.keySet().clear();
+        assertEquals(0, object.size());
+        assertNull(object.get("k1"));
+        object.add("again", null);
+        assertEquals("{again=null}", object.toString());
+    }
+
+    private static String toString(final JsonObject object, final int limit) {
+        final JsonObject head = new JsonObject();
+        for (final Map.Entry<String, JsonNode> member : object.entrySet()) {
+            if (head.size() == limit) {
+                break;
+            }
+            head.add(member.getKey(), member.getValue());
+        }
+        return head.toString();
+    }
+}
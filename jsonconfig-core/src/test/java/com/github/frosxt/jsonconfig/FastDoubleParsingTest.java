@@ -0,0 +1,96 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the lexer's double conversion against {@link Double#parseDouble}.
+ */
+public class FastDoubleParsingTest {
+    private static final String[] CORPUS = {
+            "0", "-0", "0.0", "-0.0", "1", "-1", "0.1", "0.2", "0.3", "1.5", "3.141592653589793",
+            "1e23", "8.41e21", "9007199254740992", "9007199254740993", "9007199254740995",
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308",
+            "2.2250738585072014e-308", "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "1e-400", "1e400",
+            "7.2057594037927933e16", "9.999999999999999e22", "1.00000000000000011102230246251565404236316680908203125",
+            "1.00000000000000011102230246251565404236316680908203124", "0.000000000000000000001",
+            "123456789012345678901234567890", "18446744073709551615", "18446744073709551616",
+            "9999999999999999999", "1.8446744073709552e19", "5e-324", "1e-342", "1e-343", "1e308", "1e309",
+            "4.35679e-10", "0.50000000000000000000001", "2.5e-5", "100000000000000000000000.0",
+            "3.4028235e38", "1.4e-45", "6.02214076e23", "1.602176634e-19", "299792458"
+    };
+
+    @Test
+    public void testCorpusMatchesJdk() throws Exception {
+        for (final String number : CORPUS) {
+            assertSameDouble(number);
+        }
+    }
+
+    @Test
+    public void testRandomDoublesMatchJdk() throws Exception {
+        final Random random = new Random(20240607L);
+        for (int i = 0; i < 20000; i++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+            assertSameDouble(Double.toString(value));
+            assertSameDouble(new BigDecimal(value).round(new MathContext(1 + random.nextInt(20))).toString());
+        }
+    }
+
+    @Test
+    public void testRandomDecimalsMatchJdk() throws Exception {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            if (random.nextBoolean()) {
+                builder.append('-');
+            }
+            builder.append((char) ('1' + random.nextInt(9)));
+            final int digits = random.nextInt(22);
+            for (int j = 0; j < digits; j++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                builder.insert(builder.length() - random.nextInt(digits + 1), '.').append('0');
+            }
+            builder.append('e').append(random.nextInt(700) - 350);
+            assertSameDouble(builder.toString());
+        }
+    }
+
+    @Test
+    public void testFastDoubleModeMatchesExactValues() throws Exception {
+        final String json = "{\"weights\": [0.1, 0.25, 1e-7, 123.456], \"max\": 1.7976931348623157e308}";
+        final JsonConfiguration config = JsonConfigurations.load(json.getBytes(StandardCharsets.UTF_8),
+                new JsonParseOptions().numberMode(JsonOptions.NumberMode.FAST_DOUBLE));
+
+        final List<?> weights = config.getList("weights");
+        assertEquals(0.1, weights.get(0));
+        assertEquals(1e-7, weights.get(2));
+        assertEquals(Double.MAX_VALUE, config.getDouble("max"));
+    }
+
+    private static void assertSameDouble(final String number) throws Exception {
+        final Utf8JsonLexer lexer = new Utf8JsonLexer(number.getBytes(StandardCharsets.US_ASCII));
+        lexer.nextToken();
+        final double expected = Double.parseDouble(number);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(lexer.getTokenDouble()),
+                number);
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.FeedableJsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing input that arrives in chunks.
+ */
+public class FeedableParseTest {
+
+    private static final String DOCUMENT = "{\n  \"name\": \"Café 日本 😀\",\n  \"count\": 12345.678e-2,\n"
+            + "  \"flags\": [true, false, null, -0.5],\n  \"nested\": {\"a\": {\"b\": []}, \"c\": \"\\u0041\\n\"}\n}";
+
+    @Test
+    public void testAnyChunkingMatchesSequentialParse() throws Exception {
+        final byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        final String expected = new JsonParser(new Utf8JsonLexer(bytes), null).parse().toString();
+
+        assertEquals(expected, feed(bytes, 1, null).toString());
+        final Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(expected, feedRandom(bytes, random, null).toString());
+        }
+    }
+
+    @Test
+    public void testLongTokensAcrossManyChunks() throws Exception {
+        // Cut-off tokens are only scanned for their end, not lexed again for every chunk
+        final String json = "{\"text\": \"" + "ab\\\"c\\\\é\\u0041".repeat(100_000) + "\", \"number\": "
+                + "9".repeat(5_000) + ".5e-3, \"end\": true}";
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final String expected = new JsonParser(new Utf8JsonLexer(bytes), null).parse().toString();
+        assertEquals(expected, feed(bytes, 16, null).toString());
+    }
+
+    @Test
+    public void testByteOrderMarkSplitAcrossChunks() throws Exception {
+        final byte[] content = "{\"a\": 1}".getBytes(StandardCharsets.UTF_8);
+        final byte[] bytes = new byte[content.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(content, 0, bytes, 3, content.length);
+
+        assertEquals("{a=1}", feed(bytes, 1, null).toString());
+    }
+
+    @Test
+    public void testErrorsMatchSequentialParse() throws Exception {
+        final String[] documents = {
+                "{\n  \"a\": 1,\n  \"b\": tru\n}",
+                "{\"a\": [1, 2,]}",
+                "{\"a\" 1}",
+                "{\"a\": 1}\n  x",
+                "{\"a\": \"unterminated",
+                "{\"a\": {\"b\": 1}\n",
+                "{\"k\": 1, \"k\": 2}"
+        };
+        final JsonParseOptions options = new JsonParseOptions()
+                .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.ERROR);
+
+        for (final String document : documents) {
+            final byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+            final JsonParseException expected = assertThrows(JsonParseException.class,
+                    () -> new JsonParser(new Utf8JsonLexer(bytes), options).parse());
+
+            for (int chunk = 1; chunk <= 4; chunk++) {
+                final int size = chunk;
+                final JsonParseException actual = assertThrows(JsonParseException.class,
+                        () -> feed(bytes, size, options), document);
+                assertEquals(expected.getMessage(), actual.getMessage(), document);
+                assertEquals(expected.getLine(), actual.getLine());
+                assertEquals(expected.getColumn(), actual.getColumn());
+            }
+        }
+    }
+
+    @Test
+    public void testFeedAfterEndFails() throws Exception {
+        final FeedableJsonParser parser = new FeedableJsonParser(null);
+        parser.feed(ByteBuffer.wrap("[1]".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("[1]", parser.endOfInput().toString());
+        assertThrows(IllegalStateException.class, () -> parser.feed(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void testLoadAsync() throws Exception {
+        final Path file = Files.createTempFile("async", ".json");
+        try {
+            final StringBuilder builder = new StringBuilder("{\"items\": [");
+            for (int i = 0; i < 20_000; i++) {
+                builder.append(i > 0 ? ", " : "").append("{\"id\": ").append(i).append('}');
+            }
+            Files.writeString(file, builder.append("], \"name\": \"async\"}").toString());
+
+            final JsonConfiguration config = JsonConfigurations.loadAsync(file).get();
+            assertEquals("async", config.getString("name"));
+            assertEquals(20_000, config.getList("items").size());
+
+            Files.writeString(file, "{\"a\": }");
+            final ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> JsonConfigurations.loadAsync(file).get());
+            assertInstanceOf(JsonParseException.class, error.getCause());
+
+            Files.writeString(file, "[1]");
+            final ExecutionException notObject = assertThrows(ExecutionException.class,
+                    () -> JsonConfigurations.loadAsync(file).get());
+            assertInstanceOf(IOException.class, notObject.getCause());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static JsonNode feed(final byte[] bytes, final int chunk, final JsonParseOptions options)
+            throws IOException {
+        final FeedableJsonParser parser = new FeedableJsonParser(options);
+        for (int i = 0; i < bytes.length; i += chunk) {
+            parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunk, bytes.length - i)));
+        }
+        return parser.endOfInput();
+    }
+
+    private static JsonNode feedRandom(final byte[] bytes, final Random random, final JsonParseOptions options)
+            throws IOException {
+        final FeedableJsonParser parser = new FeedableJsonParser(options);
+        int position = 0;
+        while (position < bytes.length) {
+            final int length = Math.min(bytes.length - position, random.nextInt(8));
+            parser.feed(ByteBuffer.wrap(bytes, position, length));
+            position += length;
+        }
+        return parser.endOfInput();
+    }
+}
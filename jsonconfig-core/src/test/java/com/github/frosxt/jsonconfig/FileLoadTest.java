@@ -0,0 +1,50 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading configurations from files in each load mode.
+ */
+public class FileLoadTest {
+    private static final String JSON = "{\"server\": {\"name\": \"Lobby ✓\", \"port\": 25565}, \"list\": [1, 2, 3]}";
+
+    @Test
+    public void testLoadModes() throws Exception {
+        final Path file = Files.createTempFile("jsonconfig", ".json");
+        try {
+            Files.writeString(file, JSON, StandardCharsets.UTF_8);
+
+            for (final JsonParseOptions.LoadMode mode : JsonParseOptions.LoadMode.values()) {
+                final JsonConfiguration config = JsonConfigurations.load(file, new JsonParseOptions().loadMode(mode));
+                assertEquals("Lobby ✓", config.getString("server.name"), mode.name());
+                assertEquals(25565, config.getInt("server.port"), mode.name());
+                assertEquals(3, config.getIntegerList("list").size(), mode.name());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testAutoThreshold() throws Exception {
+        final Path file = Files.createTempFile("jsonconfig", ".json");
+        try {
+            Files.writeString(file, JSON, StandardCharsets.UTF_8);
+
+            final JsonParseOptions options = new JsonParseOptions().mappedThreshold(0);
+            assertEquals(25565, JsonConfigurations.load(file, options).getInt("server.port"));
+            assertThrows(IllegalArgumentException.class, () -> new JsonParseOptions().mappedThreshold(-1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
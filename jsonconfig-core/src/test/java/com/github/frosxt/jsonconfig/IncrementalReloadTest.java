@@ -0,0 +1,116 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.IncrementalJsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reparsing only the edited part of a document.
+ */
+public class IncrementalReloadTest {
+
+    private static String document(final int sections) {
+        final StringBuilder builder = new StringBuilder("{\n");
+        for (int i = 0; i < sections; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+            }
+            builder.append("  \"section-").append(i).append("\": {\"enabled\": true, \"records\": [");
+            for (int j = 0; j < 20; j++) {
+                if (j > 0) {
+                    builder.append(", ");
+                }
+                builder.append("{\"id\": ").append(j).append(", \"name\": \"record-").append(i * 100 + j).append("\"}");
+            }
+            builder.append("]}");
+        }
+        return builder.append("\n}\n").toString();
+    }
+
+    private static String parseFully(final String json) throws Exception {
+        return new JsonParser(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8)), null).parse().toString();
+    }
+
+    @Test
+    public void testOnlyEditedSectionIsReparsed() throws Exception {
+        final String original = document(200);
+        final IncrementalJsonParser parser = new IncrementalJsonParser(null);
+        final JsonNode root = parser.parse(ByteBuffer.wrap(original.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(original.length(), parser.getParsedLength());
+
+        final String edited = original.replace("\"record-10005\"", "\"renamed\", \"extra\": [1, 2, 3]");
+        final byte[] bytes = edited.getBytes(StandardCharsets.UTF_8);
+        assertSame(root, parser.parse(ByteBuffer.wrap(bytes)));
+        assertTrue(parser.getParsedLength() > 0 && parser.getParsedLength() < bytes.length / 50);
+        assertEquals(parseFully(edited), root.toString());
+
+        assertSame(root, parser.parse(ByteBuffer.wrap(bytes)));
+        assertEquals(0, parser.getParsedLength());
+
+        // Moving the same edit back must splice at the shifted offsets
+        final String restored = edited.replace("\"renamed\", \"extra\": [1, 2, 3]", "\"record-10005\"")
+                .replace("\"record-19919\"", "\"last\"");
+        assertSame(root, parser.parse(ByteBuffer.wrap(restored.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(parseFully(restored), root.toString());
+    }
+
+    @Test
+    public void testBrokenEditReportsDocumentPosition() throws Exception {
+        final String original = document(50);
+        final IncrementalJsonParser parser = new IncrementalJsonParser(null);
+        final JsonNode root = parser.parse(ByteBuffer.wrap(original.getBytes(StandardCharsets.UTF_8)));
+
+        final String broken = original.replace("\"id\": 7, \"name\": \"record-3007\"", "\"id\": 7,, \"name\": 1");
+        final JsonParseException expected = assertThrows(JsonParseException.class, () -> parseFully(broken));
+        final JsonParseException error = assertThrows(JsonParseException.class,
+                () -> parser.parse(ByteBuffer.wrap(broken.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(expected.getMessage(), error.getMessage());
+        assertEquals(32, error.getLine());
+
+        // The failed parse leaves the last tree in place
+        assertEquals(parseFully(original), root.toString());
+    }
+
+    @Test
+    public void testConfigurationReloadsInPlace() throws Exception {
+        final Path file = Files.createTempFile("reload", ".json");
+        try {
+            final String original = document(100);
+            Files.writeString(file, original);
+            final JsonConfiguration config = JsonConfigurations.load(file, new JsonParseOptions().reloadable(true));
+            assertTrue(config.getBoolean("section-40.enabled"));
+
+            Files.writeString(file, original.replace("\"section-40\": {\"enabled\": true",
+                    "\"section-40\": {\"enabled\": false"));
+            config.reload(file);
+            assertFalse(config.getBoolean("section-40.enabled"));
+            assertEquals("record-4019", config.getString("section-40.records[19].name"));
+
+            Files.writeString(file, "{\"replaced\": 1}");
+            config.reload(file);
+            assertEquals(1, config.getInt("replaced"));
+            assertFalse(config.contains("section-40"));
+
+            final JsonConfiguration plain = JsonConfigurations.load(new StringReader("{\"a\": 1}"));
+            plain.reload(file);
+            assertEquals(1, plain.getInt("replaced"));
+            assertFalse(plain.contains("a"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.IndexedJsonFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for point lookups through a saved offset index.
+ */
+public class IndexedJsonFileTest {
+
+    private static String regions(final int nodes) {
+        final StringBuilder builder = new StringBuilder("{\"version\": 2, \"regions\": {");
+        final String[] names = {"us", "eu"};
+        for (int r = 0; r < names.length; r++) {
+            if (r > 0) {
+                builder.append(", ");
+            }
+            builder.append('"').append(names[r]).append("\": {\"nodes\": [");
+            for (int i = 0; i < nodes; i++) {
+                if (i > 0) {
+                    builder.append(",\n");
+                }
+                builder.append("{\"host\": \"").append(names[r]).append('-').append(i)
+                        .append(".example.org\", \"port\": ").append(8000 + i).append(", \"tags\": [\"a\", \"b\"]}");
+            }
+            builder.append("], \"primary\": true}");
+        }
+        return builder.append("}}").toString();
+    }
+
+    private static void deleteWithIndex(final Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + IndexedJsonFile.INDEX_SUFFIX));
+    }
+
+    @Test
+    public void testLookupsMatchLoadedConfiguration() throws Exception {
+        final Path file = Files.createTempFile("indexed", ".json");
+        try {
+            Files.writeString(file, regions(5_000));
+            for (int depth = 0; depth <= 5; depth++) {
+                final IndexedJsonFile indexed = JsonConfigurations.openIndexed(file,
+                        new JsonParseOptions().indexDepth(depth));
+                assertEquals("eu-4000.example.org", indexed.getString("regions.eu.nodes[4000].host"));
+                assertEquals(8123, indexed.getInt("regions.us.nodes[123].port"));
+                assertEquals("b", indexed.getString("regions.eu.nodes[4999].tags[1]"));
+                assertTrue(indexed.getBoolean("regions.eu.primary"));
+                assertEquals(2, indexed.getLong("version"));
+                assertEquals("[\"a\", \"b\"]", indexed.getNode("regions.us.nodes[0].tags").toString());
+                assertNull(indexed.getNode("regions.eu.nodes[5000]"));
+                assertNull(indexed.getNode("regions.ap.nodes"));
+                assertEquals("fallback", indexed.getString("regions.eu.nodes[1].missing", "fallback"));
+            }
+        } finally {
+            deleteWithIndex(file);
+        }
+    }
+
+    @Test
+    public void testIndexIsReusedUntilFileChanges() throws Exception {
+        final Path file = Files.createTempFile("indexed", ".json");
+        final Path sidecar = file.resolveSibling(file.getFileName() + IndexedJsonFile.INDEX_SUFFIX);
+        try {
+            Files.writeString(file, regions(100));
+            JsonConfigurations.openIndexed(file);
+            assertTrue(Files.exists(sidecar));
+
+            final FileTime marker = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(sidecar, marker);
+            assertEquals("us-7.example.org", JsonConfigurations.openIndexed(file).getString("regions.us.nodes[7].host"));
+            assertEquals(marker, Files.getLastModifiedTime(sidecar));
+
+            // Same length, different content
+            Files.writeString(file, regions(100).replace("us-7.example", "us-7.exampla"));
+            assertEquals("us-7.exampla.org", JsonConfigurations.openIndexed(file).getString("regions.us.nodes[7].host"));
+            assertNotEquals(marker, Files.getLastModifiedTime(sidecar));
+
+            // A damaged index is rebuilt
+            Files.write(sidecar, new byte[]{1, 2, 3});
+            assertEquals(8007, JsonConfigurations.openIndexed(file).getInt("regions.us.nodes[7].port"));
+        } finally {
+            deleteWithIndex(file);
+        }
+    }
+
+    @Test
+    public void testDuplicateKeysFollowPolicy() throws Exception {
+        final Path file = Files.createTempFile("indexed", ".json");
+        try {
+            Files.writeString(file, "{\"a\": {\"b\": {\"c\": {\"d\": 1, \"d\": 2}}},\n \"x\": {\"y\": 1}, \"x\": [3]}");
+            final JsonParseException error = assertThrows(JsonParseException.class,
+                    () -> JsonConfigurations.openIndexed(file, new JsonParseOptions().indexDepth(1)));
+            assertEquals(1, error.getLine());
+
+            final JsonParseOptions first = new JsonParseOptions()
+                    .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.FIRST_WINS);
+            assertEquals(1, JsonConfigurations.openIndexed(file, first).getInt("x.y"));
+            assertEquals(1, JsonConfigurations.openIndexed(file, first).getInt("a.b.c.d"));
+
+            final JsonParseOptions last = new JsonParseOptions()
+                    .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.LAST_WINS);
+            assertEquals(3, JsonConfigurations.openIndexed(file, last).getInt("x[0]"));
+            assertEquals(2, JsonConfigurations.openIndexed(file, last).getInt("a.b.c.d"));
+
+            final JsonParseOptions collect = new JsonParseOptions()
+                    .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.COLLECT);
+            assertEquals("[{y=1}, [3]]", JsonConfigurations.openIndexed(file, collect).getNode("x").toString());
+        } finally {
+            deleteWithIndex(file);
+        }
+    }
+
+    @Test
+    public void testRootMustBeObject() throws Exception {
+        final Path file = Files.createTempFile("indexed", ".json");
+        try {
+            Files.writeString(file, "[1, 2]");
+            assertThrows(IOException.class, () -> JsonConfigurations.openIndexed(file));
+
+            Files.writeString(file, "{\"a\": [1, 2,]}");
+            assertThrows(JsonParseException.class, () -> JsonConfigurations.openIndexed(file));
+        } finally {
+            deleteWithIndex(file);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.JsonParserPool;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing through pooled lexers.
+ */
+public class JsonParserPoolTest {
+
+    @Test
+    public void testReusedLexerStartsClean() throws Exception {
+        final JsonParserPool pool = new JsonParserPool(1);
+
+        final String longValue = "x".repeat(50_000);
+        final JsonObject first = (JsonObject) pool.parse(new StringReader("{\"a\": \"" + longValue + "\"}"), null);
+        assertEquals(longValue, ((JsonString) first.get("a")).getValue());
+
+        final JsonParseException error = assertThrows(JsonParseException.class,
+                () -> pool.parse(new StringReader("{\n\"b\": tru}"), null));
+        assertEquals(2, error.getLine());
+        assertEquals(9, error.getColumn());
+
+        final JsonObject second = (JsonObject) pool.parse(new StringReader("{\"c\": 1}"), null);
+        assertEquals(1, second.size());
+        assertTrue(second.has("c"));
+    }
+
+    @Test
+    public void testKeysAreSharedAcrossParses() throws Exception {
+        final JsonParserPool pool = new JsonParserPool(1);
+        final String first = keyOf(pool.parse(new StringReader("{\"shared\": 1}"), null));
+        final String second = keyOf(pool.parse(new StringReader("{\"shared\": 2}"), null));
+        assertSame(first, second);
+
+        final SymbolTable table = new SymbolTable();
+        pool.parse(new StringReader("{\"own\": 1}"), new JsonParseOptions().symbolTable(table));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testConcurrentParses() throws Exception {
+        final JsonParserPool pool = new JsonParserPool(2);
+        final List<Future<JsonNode>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                final String json = "{\"id\": " + i + ", \"name\": \"n" + i + "\"}";
+                results.add(executor.submit(() -> pool.parse(new StringReader(json), null)));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                final JsonObject object = (JsonObject) results.get(i).get();
+                assertEquals("n" + i, ((JsonString) object.get("name")).getValue());
+            }
+        }
+    }
+
+    private static String keyOf(final JsonNode node) {
+        return ((JsonObject) node).keySet().iterator().next();
+    }
+}
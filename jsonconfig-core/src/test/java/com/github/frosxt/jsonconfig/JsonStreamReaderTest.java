@@ -0,0 +1,85 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.api.stream.JsonStreamReader;
+import com.github.frosxt.jsonconfig.api.stream.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonStreamReaderTest {
+    private static final String JSON = "{\"skip\": {\"deep\": [1, {\"x\": \"\\u00e9\"}, [true, null]]}, "
+            + "\"name\": \"Lobby\", \"port\": 25565, \"ratio\": 0.5, \"flags\": [true, false, null]}";
+
+    @Test
+    public void testReadAndSkip() throws Exception {
+        for (final JsonStreamReader reader : new JsonStreamReader[] {
+                new JsonStreamReader(new StringReader(JSON)),
+                new JsonStreamReader(JSON.getBytes(StandardCharsets.UTF_8)) }) {
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.peek());
+            reader.beginObject();
+
+            assertEquals("skip", reader.nextName());
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.peek());
+            reader.skipValue();
+
+            assertEquals("name", reader.nextName());
+            assertEquals("Lobby", reader.nextString());
+            assertEquals("port", reader.nextName());
+            assertEquals(25565, reader.nextInt());
+            assertEquals(JsonToken.NAME, reader.peek());
+            reader.skipValue();
+
+            assertEquals("flags", reader.nextName());
+            reader.beginArray();
+            assertTrue(reader.nextBoolean());
+            assertFalse(reader.nextBoolean());
+            assertEquals(JsonToken.NULL, reader.peek());
+            reader.nextNull();
+            assertFalse(reader.hasNext());
+            reader.endArray();
+
+            assertFalse(reader.hasNext());
+            reader.endObject();
+            assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testNumbers() throws Exception {
+        final JsonStreamReader reader = new JsonStreamReader(new StringReader("[9007199254740993, 1e3, 2.5, 3000000000]"));
+        reader.beginArray();
+        assertEquals(9007199254740993L, reader.nextLong());
+        assertEquals(1000, reader.nextInt());
+        assertEquals(2.5, reader.nextDouble());
+        assertThrows(JsonParseException.class, reader::nextInt);
+        reader.endArray();
+    }
+
+    @Test
+    public void testMalformedInput() throws Exception {
+        final JsonStreamReader trailing = new JsonStreamReader(new StringReader("[1, 2,]"));
+        trailing.beginArray();
+        trailing.skipValue();
+        trailing.skipValue();
+        assertThrows(JsonParseException.class, trailing::peek);
+
+        final JsonStreamReader missingColon = new JsonStreamReader(new StringReader("{\"a\" 1}"));
+        missingColon.beginObject();
+        assertThrows(JsonParseException.class, missingColon::nextName);
+
+        final JsonStreamReader badSkip = new JsonStreamReader(new StringReader("{\"a\": [1 2]}"));
+        assertThrows(JsonParseException.class, badSkip::skipValue);
+
+        final JsonStreamReader wrongType = new JsonStreamReader(new StringReader("{\"a\": 1}"));
+        assertThrows(JsonParseException.class, wrongType::beginArray);
+
+        final JsonStreamReader extra = new JsonStreamReader(new StringReader("{} {}"));
+        extra.skipValue();
+        assertThrows(JsonParseException.class, extra::peek);
+    }
+}
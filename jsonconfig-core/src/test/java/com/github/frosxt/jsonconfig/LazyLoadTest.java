@@ -0,0 +1,111 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.JsonSection;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for deferred subtree materialization.
+ */
+public class LazyLoadTest {
+    private static final String JSON = "{\n"
+            + "  \"regions\": {\"eu\": {\"host\": \"eu.example.com\", \"nodes\": [1, 2, 3]}, \"us\": {\"host\": \"us\"}},\n"
+            + "  \"catalog\": [{\"id\": 1}, {\"id\": 2}],\n"
+            + "  \"name\": \"main\"\n"
+            + "}";
+
+    @Test
+    public void testContainersAreDeferredUntilAccessed() throws Exception {
+        final JsonConfiguration config = JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8),
+                new JsonParseOptions().lazyDepth(1));
+
+        final JsonObject regions = (JsonObject) config.getNode("regions");
+        final JsonArray catalog = (JsonArray) config.getNode("catalog");
+        assertFalse(regions.isLoaded());
+        assertFalse(catalog.isLoaded());
+        assertEquals("main", config.getString("name"));
+
+        assertEquals("eu.example.com", config.getString("regions.eu.host"));
+        assertTrue(regions.isLoaded());
+        assertFalse(((JsonObject) regions.get("us")).isLoaded());
+        assertFalse(catalog.isLoaded());
+
+        final JsonSection eu = config.getConfigurationSection("regions.eu");
+        assertNotNull(eu);
+        assertEquals(3, eu.getIntegerList("nodes").size());
+        assertEquals(2, config.getInt("catalog[1].id"));
+    }
+
+    @Test
+    public void testReusedInputDoesNotChangeDeferredSections() throws Exception {
+        final byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        final JsonParseOptions options = new JsonParseOptions().lazyDepth(1);
+        final JsonConfiguration fromArray = JsonConfigurations.load(bytes, options);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        final JsonConfiguration fromBuffer = JsonConfigurations.load(buffer, options);
+
+        Arrays.fill(bytes, (byte) ' ');
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) ' ');
+        }
+
+        assertFalse(((JsonObject) fromArray.getNode("regions")).isLoaded());
+        assertEquals("eu.example.com", fromArray.getString("regions.eu.host"));
+        assertEquals(2, fromBuffer.getInt("catalog[1].id"));
+    }
+
+    @Test
+    public void testLazyMatchesEager() throws Exception {
+        final byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        final JsonConfiguration eager = JsonConfigurations.load(bytes);
+        final JsonConfiguration lazy = JsonConfigurations.load(bytes, new JsonParseOptions().lazyDepth(2));
+
+        assertEquals(eager.saveToString(), lazy.saveToString());
+        assertEquals(eager.getKeys(true), lazy.getKeys(true));
+    }
+
+    @Test
+    public void testErrorsInDeferredSections() throws Exception {
+        final byte[] malformed = "{\"a\": {\"b\": [1 2]}}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(malformed, new JsonParseOptions().lazyDepth(1)));
+
+        final byte[] duplicate = "{\"a\":\n {\"b\": 1,\n  \"b\": 2}}".getBytes(StandardCharsets.UTF_8);
+        final JsonConfiguration config = JsonConfigurations.load(duplicate, new JsonParseOptions().lazyDepth(1));
+        final JsonParseException e = assertThrows(JsonParseException.class, () -> config.getInt("a.b"));
+        assertEquals(3, e.getLine());
+
+        // A duplicate closing a deferred section is reported where a load reports it
+        final byte[] closing = ("{\n  \"users\": {\n    \"a\": {\"id\": 1, \"role\": \"admin\",\n"
+                + "          \"id\": 2},\n    \"b\": {}\n  }\n}").getBytes(StandardCharsets.UTF_8);
+        final JsonParseException eager = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.load(closing));
+        final JsonConfiguration lazy = JsonConfigurations.load(closing, new JsonParseOptions().lazyDepth(2));
+        final JsonParseException deferred = assertThrows(JsonParseException.class, () -> lazy.getInt("users.a.id"));
+        assertEquals(4, deferred.getLine());
+        assertEquals(eager.getLine(), deferred.getLine());
+        assertEquals(eager.getColumn(), deferred.getColumn());
+    }
+
+    @Test
+    public void testMutationOfDeferredSection() throws Exception {
+        final JsonConfiguration config = JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8),
+                new JsonParseOptions().lazyDepth(1));
+
+        config.set("regions.eu.port", 443);
+        assertEquals(443, config.getInt("regions.eu.port"));
+        assertEquals("eu.example.com", config.getString("regions.eu.host"));
+    }
+}
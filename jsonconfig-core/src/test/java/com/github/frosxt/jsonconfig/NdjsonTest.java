@@ -0,0 +1,121 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.NdjsonReader;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import com.github.frosxt.jsonconfig.writer.NdjsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for newline-delimited JSON.
+ */
+public class NdjsonTest {
+
+    private static final String RECORDS = "{\"id\": 1, \"name\": \"a\"}\n"
+            + "\n"
+            + "{\"id\": 2, \"name\": \"b\\nc\"}\r\n"
+            + "  {\"id\": 3, \"tags\": [\"x\", \"y\"]}";
+
+    @Test
+    public void testReadFromBytesAndReader() throws Exception {
+        final ByteBuffer bytes = ByteBuffer.wrap(RECORDS.getBytes(StandardCharsets.UTF_8));
+        final List<String> fromBytes = NdjsonReader.stream(bytes, null)
+                .map(JsonNode::toString)
+                .collect(Collectors.toList());
+        assertEquals(3, fromBytes.size());
+
+        final List<String> fromReader = new ArrayList<>();
+        try (NdjsonReader reader = new NdjsonReader(new StringReader(RECORDS), null)) {
+            while (reader.hasNext()) {
+                fromReader.add(reader.next().toString());
+            }
+        }
+        assertEquals(fromBytes, fromReader);
+    }
+
+    @Test
+    public void testErrorsReportRecordLine() {
+        final String records = "{\"a\": 1}\n\n{\"a\": 2} {\"a\": 3}\n";
+        final JsonParseException fromBytes = assertThrows(JsonParseException.class,
+                () -> NdjsonReader.stream(ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8)), null).count());
+        assertEquals(3, fromBytes.getLine());
+
+        final JsonParseException fromReader = assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.loadLines(new StringReader(records)).count());
+        assertEquals(fromBytes.getMessage(), fromReader.getMessage());
+        assertEquals(fromBytes.getColumn(), fromReader.getColumn());
+
+        assertThrows(JsonParseException.class,
+                () -> JsonConfigurations.loadLines(new StringReader("{\n\"a\": 1}")).count());
+    }
+
+    @Test
+    public void testParallelLoadKeepsOrder() throws Exception {
+        final Path file = Files.createTempFile("records", ".ndjson");
+        try {
+            final List<JsonConfiguration> records = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                final JsonConfiguration record = JsonConfigurations.load(new StringReader("{}"));
+                record.set("id", i);
+                record.set("name", "entity-" + i);
+                records.add(record);
+            }
+            JsonConfigurations.saveLines(file, records);
+
+            try (Stream<JsonConfiguration> loaded = JsonConfigurations.loadLines(file,
+                    new JsonParseOptions().parallel(true))) {
+                assertTrue(loaded.isParallel());
+                final List<JsonConfiguration> result = loaded.collect(Collectors.toList());
+                assertEquals(20_000, result.size());
+                for (int i = 0; i < result.size(); i++) {
+                    assertEquals(i, result.get(i).getInt("id"));
+                    assertEquals("entity-" + i, result.get(i).getString("name"));
+                }
+            }
+
+            final List<String> lines = new ArrayList<>(Files.readAllLines(file));
+            lines.set(14_999, "{\"id\": }");
+            Files.write(file, lines);
+            final JsonParseException error = assertThrows(JsonParseException.class,
+                    () -> JsonConfigurations.loadLines(file, new JsonParseOptions().parallel(true)).count());
+            assertEquals(15_000, error.getLine());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testWriterPutsOneRecordPerLine() throws Exception {
+        final StringWriter output = new StringWriter();
+        try (NdjsonWriter writer = new NdjsonWriter(output)) {
+            final JsonObject first = new JsonObject();
+            first.add("text", new JsonString("line\nbreak"));
+            writer.write(first);
+            final JsonObject second = new JsonObject();
+            second.add("n", JsonNumber.of(2L));
+            writer.write(second);
+        }
+
+        assertEquals("{\"text\":\"line\\nbreak\"}\n{\"n\":2}\n", output.toString());
+        assertEquals(2, JsonConfigurations.loadLines(new StringReader(output.toString())).count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.api.stream.JsonStreamReader;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonDoubleNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonLongNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the number modes and primitive number nodes.
+ */
+public class NumberModeTest {
+    private static final String JSON = "{\"small\": 42, \"max\": 9223372036854775807, \"min\": -9223372036854775808, "
+            + "\"big\": 9223372036854775808, \"ratio\": 1.5, \"huge\": 1e400, \"exp\": 2E3}";
+
+    @Test
+    public void testLongOrDoubleUsesPrimitiveNodes() throws Exception {
+        final JsonConfiguration config = load(JsonOptions.NumberMode.LONG_OR_DOUBLE);
+
+        assertInstanceOf(JsonLongNumber.class, config.getNode("small"));
+        assertInstanceOf(JsonLongNumber.class, config.getNode("max"));
+        assertInstanceOf(JsonLongNumber.class, config.getNode("min"));
+        assertInstanceOf(JsonDoubleNumber.class, config.getNode("ratio"));
+        assertInstanceOf(JsonDoubleNumber.class, config.getNode("exp"));
+
+        assertEquals(42, config.getInt("small"));
+        assertEquals(Long.MAX_VALUE, config.getLong("max"));
+        assertEquals(Long.MIN_VALUE, config.getLong("min"));
+        assertEquals(1.5, config.getDouble("ratio"));
+        assertEquals(2000.0, config.getDouble("exp"));
+    }
+
+    @Test
+    public void testLongOrDoubleFallsBackOnOverflow() throws Exception {
+        final JsonConfiguration config = load(JsonOptions.NumberMode.LONG_OR_DOUBLE);
+
+        assertEquals(new BigInteger("9223372036854775808"), config.getBigInteger("big"));
+        assertFalse(config.getNode("big") instanceof JsonLongNumber);
+        assertEquals(new BigDecimal("1e400"), config.getBigDecimal("huge"));
+    }
+
+    @Test
+    public void testExactModeIsUnchanged() throws Exception {
+        final JsonConfiguration config = load(JsonOptions.NumberMode.EXACT);
+
+        assertInstanceOf(BigInteger.class, ((JsonNumber) config.getNode("small")).getValue());
+        assertInstanceOf(BigDecimal.class, ((JsonNumber) config.getNode("ratio")).getValue());
+    }
+
+    @Test
+    public void testFastDoubleKeepsDoubles() throws Exception {
+        final JsonConfiguration config = load(JsonOptions.NumberMode.FAST_DOUBLE);
+
+        assertInstanceOf(JsonDoubleNumber.class, config.getNode("small"));
+        assertEquals(42, config.getInt("small"));
+        assertEquals(new BigDecimal("1e400"), config.getBigDecimal("huge"));
+    }
+
+    @Test
+    public void testEqualityAcrossRepresentations() {
+        assertEquals(JsonNumber.of(5), new JsonNumber(5));
+        assertEquals(new JsonNumber(5L), JsonNumber.of(5));
+        assertEquals(JsonNumber.of(5).hashCode(), new JsonNumber(BigInteger.valueOf(5)).hashCode());
+        assertEquals(JsonNumber.of(1.5), new JsonNumber(1.5));
+        assertEquals(JsonNumber.of(1.5).hashCode(), new JsonNumber(new BigDecimal("1.5")).hashCode());
+        assertNotEquals(JsonNumber.of(1), JsonNumber.of(1.0));
+        assertThrows(IllegalArgumentException.class, () -> JsonNumber.of(Double.NaN));
+    }
+
+    @Test
+    public void testPrimitiveNodesRoundTrip() throws Exception {
+        final JsonConfiguration config = load(JsonOptions.NumberMode.LONG_OR_DOUBLE);
+        final JsonConfiguration reloaded = JsonConfigurations.load(new StringReader(config.saveToString()));
+
+        assertEquals(Long.MIN_VALUE, reloaded.getLong("min"));
+        assertEquals(1.5, reloaded.getDouble("ratio"));
+    }
+
+    @Test
+    public void testStreamReaderReadsLongsDirectly() throws Exception {
+        final String json = "[9223372036854775807, -2147483648, 2147483648, 1.0]";
+        try (JsonStreamReader reader = new JsonStreamReader(json.getBytes(StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            assertEquals(Long.MAX_VALUE, reader.nextLong());
+            assertEquals(Integer.MIN_VALUE, reader.nextInt());
+            assertThrows(JsonParseException.class, reader::nextInt);
+            assertEquals(1, reader.nextInt());
+        }
+    }
+
+    private static JsonConfiguration load(final JsonOptions.NumberMode mode) throws Exception {
+        return JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8), new JsonParseOptions().numberMode(mode));
+    }
+}
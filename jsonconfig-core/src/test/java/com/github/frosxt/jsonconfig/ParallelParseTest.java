@@ -0,0 +1,93 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.ParallelJsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that parsing root members in parallel matches a sequential parse.
+ */
+public class ParallelParseTest {
+
+    @Test
+    public void testLargeDocumentMatchesSequentialParse() throws Exception {
+        final StringBuilder builder = new StringBuilder("\uFEFF{\n");
+        for (int i = 0; i < 2000; i++) {
+            builder.append("  \"member").append(i).append("\": {\"id\": ").append(i)
+                    .append(", \"name\": \"caf\u00e9 ").append(i).append("\", \"tags\": [\"a\", \"b\", 1.5, null]},\n");
+        }
+        builder.append("  \"last\": true\n}");
+        final byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        final String expected = new JsonParser(new Utf8JsonLexer(bytes), null).parse().toString();
+        assertEquals(expected, parallel(bytes, options()).parse().toString());
+
+        final JsonConfiguration config = JsonConfigurations.load(bytes, options());
+        assertEquals(1999, config.getInt("member1999.id"));
+        assertEquals("caf\u00e9 7", config.getString("member7.name"));
+        assertTrue(config.getBoolean("last"));
+    }
+
+    @Test
+    public void testErrorsMatchSequentialParse() {
+        final String[] invalid = {"{\"a\": 1,\n \"b\": [1 2]}", "{\"a\": {\"x\": 1},\n\t\"b\": 12x}",
+                "{\"a\": tru, \"b\": 1}", "{\"a\": 1, \"b\": \"\\q\"}", "{\"a\": 1,}", "{\"a\" 1}", "{\"a\": [}",
+                "{\"a\": 1} 2", "{\"a\": {\"b\": 1, \"b\": 2}}", "{\"\u00e9\": 1,\n \"\u00e9\": 2}",
+                "{\"a\": 1, \"a\": 2}"};
+
+        for (final String json : invalid) {
+            final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            final JsonParseException expected = assertThrows(JsonParseException.class,
+                    () -> new JsonParser(new Utf8JsonLexer(bytes), null).parse(), json);
+            final JsonParseException actual = assertThrows(JsonParseException.class,
+                    () -> parallel(bytes, options()).parse(), json);
+            assertEquals(expected.getMessage(), actual.getMessage(), json);
+            assertEquals(expected.getLine(), actual.getLine(), json);
+            assertEquals(expected.getColumn(), actual.getColumn(), json);
+        }
+    }
+
+    @Test
+    public void testDuplicateKeyPoliciesMatchSequentialParse() throws Exception {
+        final byte[] bytes = "{\"a\": 1, \"b\": {\"x\": 1}, \"a\": 2, \"b\": {\"y\": 2}, \"a\": 3}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        for (final JsonOptions.DuplicateKeyPolicy policy : new JsonOptions.DuplicateKeyPolicy[]{
+                JsonOptions.DuplicateKeyPolicy.LAST_WINS, JsonOptions.DuplicateKeyPolicy.FIRST_WINS,
+                JsonOptions.DuplicateKeyPolicy.COLLECT}) {
+            final JsonParseOptions options = options().duplicateKeyPolicy(policy);
+            final String expected = new JsonParser(new Utf8JsonLexer(bytes), options).parse().toString();
+            assertEquals(expected, parallel(bytes, options).parse().toString(), policy.name());
+        }
+    }
+
+    @Test
+    public void testThresholdAndLazyDepthDisableParallelParse() {
+        final ByteBuffer buffer = ByteBuffer.wrap("{\"a\": 1}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(ParallelJsonParser.supports(buffer, options()));
+        assertFalse(ParallelJsonParser.supports(buffer, new JsonParseOptions().parallel(true)));
+        assertFalse(ParallelJsonParser.supports(buffer, options().lazyDepth(1)));
+        assertFalse(ParallelJsonParser.supports(buffer, new JsonParseOptions().parallelThreshold(0)));
+        assertThrows(IllegalArgumentException.class, () -> new JsonParseOptions().parallelThreshold(-1));
+    }
+
+    private static JsonParseOptions options() {
+        return new JsonParseOptions().parallel(true).parallelThreshold(0);
+    }
+
+    private static ParallelJsonParser parallel(final byte[] bytes, final JsonParseOptions options) {
+        return new ParallelJsonParser(ByteBuffer.wrap(bytes), options);
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
+import com.github.frosxt.jsonconfig.api.parse.ParseHandler;
+import com.github.frosxt.jsonconfig.api.parse.ParsePath;
+import com.github.frosxt.jsonconfig.path.eval.PathMatcher;
+import com.github.frosxt.jsonconfig.reader.FeedableJsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for handlers called while a document is parsed.
+ */
+public class ParseHandlerTest {
+
+    private static final String DOCUMENT = "{\n"
+            + "  \"hostname\": \"localhost\",\n"
+            + "  \"secret\": {\"token\": \"abc\", \"nested\": [1, 2]},\n"
+            + "  \"servers\": [{\"name\": \"a\"}, null, {\"name\": \"${HOME}\"}, {\"name\": \"c\"}]\n"
+            + "}";
+
+    /**
+     * Renames a legacy key, drops the secret section and null elements, and
+     * resolves a placeholder.
+     */
+    private static final class MigratingHandler implements ParseHandler {
+        private final List<String> paths = new ArrayList<>();
+
+        @Override
+        public String onKey(final ParsePath path, final String key) {
+            if (key.equals("secret")) {
+                return null;
+            }
+            return key.equals("hostname") ? "host" : key;
+        }
+
+        @Override
+        public JsonNode onValue(final ParsePath path, final JsonNode value) {
+            paths.add(path.toString());
+            if (value.isNull()) {
+                return null;
+            }
+            if (value instanceof final JsonString string && string.getValue().equals("${HOME}")) {
+                return new JsonString("/home");
+            }
+            return value;
+        }
+
+        @Override
+        public JsonNode onEndObject(final ParsePath path, final JsonObject object) {
+            paths.add(path.toString() + "{}");
+            return object;
+        }
+    }
+
+    @Test
+    public void testHandlerTransformsWhileParsing() throws Exception {
+        final MigratingHandler handler = new MigratingHandler();
+        final JsonConfiguration config = JsonConfigurations.load(DOCUMENT.getBytes(StandardCharsets.UTF_8),
+                new JsonParseOptions().handler(handler));
+
+        assertEquals("localhost", config.getString("host"));
+        assertFalse(config.contains("hostname"));
+        assertFalse(config.contains("secret"));
+        assertEquals(3, config.getList("servers").size());
+        assertEquals("/home", config.getString("servers[1].name"));
+        assertEquals("c", config.getString("servers[2].name"));
+
+        assertEquals(List.of("host", "servers[0].name", "servers[0]{}", "servers[1]", "servers[1].name",
+                "servers[1]{}", "servers[2].name", "servers[2]{}", "servers", "{}"), handler.paths);
+    }
+
+    @Test
+    public void testEveryParserCallsTheHandler() throws Exception {
+        final byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        final JsonParseOptions options = new JsonParseOptions().handler(new MigratingHandler()).lazyDepth(1);
+        final String expected = new JsonParser(new Utf8JsonLexer(bytes), options).parse().toString();
+        assertFalse(expected.contains("secret"));
+
+        final FeedableJsonParser feedable = new FeedableJsonParser(options);
+        for (final byte b : bytes) {
+            feedable.feed(ByteBuffer.wrap(new byte[]{b}));
+        }
+        assertEquals(expected, feedable.endOfInput().toString());
+
+        final JsonNode projected = new JsonParser(new Utf8JsonLexer(bytes), options)
+                .parse(PathMatcher.compile(Set.of("hostname", "secret", "servers")));
+        assertEquals(expected, projected.toString());
+
+        final JsonParseOptions parallel = options.copy().parallel(true).parallelThreshold(0);
+        assertEquals(expected, JsonConfigurations.load(bytes, parallel).getNode("").toString());
+    }
+
+    @Test
+    public void testHandlerCanRejectValues() {
+        final ParseHandler rejectNegative = new ParseHandler() {
+            @Override
+            public JsonNode onValue(final ParsePath path, final JsonNode value) {
+                if (value instanceof final JsonNumber number && number.getValue().doubleValue() < 0) {
+                    throw new JsonConfigException("Negative value at " + path);
+                }
+                return value;
+            }
+        };
+
+        final JsonConfigException error = assertThrows(JsonConfigException.class,
+                () -> JsonConfigurations.load("{\"limits\": {\"max\": [1, -2]}}".getBytes(StandardCharsets.UTF_8),
+                        new JsonParseOptions().handler(rejectNegative)));
+        assertEquals("Negative value at limits.max[1]", error.getMessage());
+    }
+
+    @Test
+    public void testKeysAreEscapedInPaths() throws Exception {
+        final List<String> paths = new ArrayList<>();
+        final ParseHandler handler = new ParseHandler() {
+            @Override
+            public JsonNode onValue(final ParsePath path, final JsonNode value) {
+                paths.add(path.toString());
+                return value;
+            }
+        };
+
+        new JsonParser(new Utf8JsonLexer("{\"a.b\": {\"c\": 1}}".getBytes(StandardCharsets.UTF_8)),
+                new JsonParseOptions().handler(handler)).parse();
+        assertEquals(1, paths.size());
+        assertNotEquals("a.b.c", paths.get(0));
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.runtime.copy.NodeCloner;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonArray;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNull;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for persistent objects and arrays updated by path.
+ */
+public class PersistentTreeTest {
+
+    @Test
+    public void testOldVersionsStayValid() {
+        final PersistentJsonObject v1 = PersistentJsonObject.empty()
+                .with("server.port", JsonNumber.of(8080))
+                .with("server.host", new JsonString("localhost"));
+        final PersistentJsonObject v2 = v1.with("server.port", JsonNumber.of(9090));
+        final PersistentJsonObject v3 = v2.without("server.host");
+
+        assertEquals("{server={port=8080, host=\"localhost\"}}", v1.toString());
+        assertEquals("{server={port=9090, host=\"localhost\"}}", v2.toString());
+        assertEquals("{server={port=9090}}", v3.toString());
+
+        // Untouched branches are shared, not copied
+        final PersistentJsonObject v4 = v2.with("database.url", new JsonString("jdbc:h2:mem"));
+        assertSame(v2.get("server"), v4.get("server"));
+        assertSame(v2, v2.without("missing.path"));
+    }
+
+    @Test
+    public void testPathRulesMatchMutableSet() {
+        final PersistentJsonObject root = PersistentJsonObject.empty()
+                .with("list.2.name", new JsonString("third"))
+                .with("scalar", JsonNumber.of(1))
+                .with("scalar.nested", JsonNumber.of(2))
+                .with("list.notAnIndex", JsonNumber.of(3));
+
+        assertEquals("{list=[null, null, {name=\"third\"}], scalar={nested=2}}", root.toString());
+        assertEquals("{list=[null, null, null], scalar={nested=2}}", root.without("list.2").toString());
+        assertInstanceOf(PersistentJsonArray.class, root.get("list"));
+    }
+
+    @Test
+    public void testMutableValuesAreCopiedIn() {
+        final JsonObject mutable = new JsonObject();
+        final JsonArray tags = new JsonArray();
+        tags.add("a");
+        mutable.add("tags", tags);
+
+        final PersistentJsonObject root = PersistentJsonObject.copyOf(mutable).with("extra", mutable);
+        tags.add("b");
+
+        assertEquals("{tags=[\"a\"], extra={tags=[\"a\"]}}", root.toString());
+        assertInstanceOf(PersistentJsonObject.class, root.get("extra"));
+        assertThrows(UnsupportedOperationException.class, () -> root.add("key", JsonNull.INSTANCE));
+        assertThrows(UnsupportedOperationException.class, () -> ((JsonArray) root.get("tags")).add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> root.keySet().clear());
+
+        final JsonObject copy = (JsonObject) NodeCloner.cloneNode(root);
+        copy.add("key", JsonNull.INSTANCE);
+        assertEquals(3, copy.size());
+        assertEquals(2, root.size());
+    }
+
+    @Test
+    public void testLargeObjectsKeepOrder() {
+        // "Aa" and "BB" share a hash code, so these keys collide in every bit
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                key.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        for (int i = 0; i < 500; i++) {
+            keys.add("key" + i);
+        }
+
+        PersistentJsonObject object = PersistentJsonObject.empty();
+        for (int i = 0; i < keys.size(); i++) {
+            object = object.withMember(keys.get(i), JsonNumber.of(i));
+        }
+        final PersistentJsonObject full = object;
+        for (int i = 0; i < keys.size(); i += 2) {
+            object = object.withoutMember(keys.get(i));
+        }
+
+        assertEquals(keys.size(), full.size());
+        assertEquals(keys, new ArrayList<>(full.keySet()));
+        assertEquals(keys.size() / 2, object.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, ((JsonNumber) full.get(keys.get(i))).intValue());
+            assertEquals(i % 2 == 1, object.has(keys.get(i)));
+        }
+        assertEquals(keys.get(1), object.keySet().iterator().next());
+    }
+
+    @Test
+    public void testArrays() {
+        PersistentJsonArray array = PersistentJsonArray.empty();
+        for (int i = 0; i < 2000; i++) {
+            array = array.withAdded(JsonNumber.of(i));
+        }
+        final PersistentJsonArray updated = array.withElement(1500, JsonNumber.of(-1));
+
+        assertEquals(2000, updated.size());
+        assertEquals(1500, ((JsonNumber) array.get(1500)).intValue());
+        assertEquals(-1, ((JsonNumber) updated.get(1500)).intValue());
+        int expected = 0;
+        for (final JsonNode element : array) {
+            assertEquals(expected++, ((JsonNumber) element).intValue());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> updated.withElement(2000, JsonNull.INSTANCE));
+    }
+}
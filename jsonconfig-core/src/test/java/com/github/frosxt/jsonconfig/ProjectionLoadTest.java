@@ -0,0 +1,77 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.path.eval.PathMatcher;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading selected paths of a document.
+ */
+public class ProjectionLoadTest {
+
+    private static final String DOCUMENT = "{\n"
+            + "  \"database\": {\"host\": \"localhost\", \"port\": 5432, \"pool\": {\"size\": 10}},\n"
+            + "  \"messages\": {\"welcome\": \"Hello\", \"bye\": \"Goodbye\"},\n"
+            + "  \"servers\": [{\"name\": \"a\"}, {\"name\": \"b\"}, {\"name\": \"c\", \"port\": 1}, {\"name\": \"d\"}],\n"
+            + "  \"debug\": false\n"
+            + "}";
+
+    @Test
+    public void testOnlyRequestedPathsAreLoaded() throws Exception {
+        final Path file = Files.createTempFile("projection", ".json");
+        try {
+            Files.writeString(file, DOCUMENT);
+            final JsonConfiguration config = JsonConfigurations.load(file,
+                    Set.of("database.host", "messages", "servers[2].name"));
+
+            assertEquals("localhost", config.getString("database.host"));
+            assertNull(config.get("database.port"));
+            assertNull(config.get("database.pool"));
+            assertEquals("Hello", config.getString("messages.welcome"));
+            assertEquals("Goodbye", config.getString("messages.bye"));
+            assertEquals("c", config.getString("servers[2].name"));
+            assertNull(config.get("servers[2].port"));
+            assertNull(config.get("debug"));
+            assertEquals(3, config.getList("servers").size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testEmptyPathLoadsEverything() throws Exception {
+        assertEquals(parse(DOCUMENT, null), parse(DOCUMENT, List.of("")));
+        assertEquals("{}", parse(DOCUMENT, List.of()));
+        assertEquals("{database={host=\"localhost\", port=5432, pool={size=10}}}",
+                parse(DOCUMENT, List.of("database.pool.size", "database")));
+    }
+
+    @Test
+    public void testSkippedValuesAreValidated() {
+        final JsonParseException error = assertThrows(JsonParseException.class,
+                () -> parse("{\"a\": 1,\n \"b\": [1, tru]}", List.of("a")));
+        assertEquals(2, error.getLine());
+
+        assertThrows(JsonParseException.class, () -> parse("{\"a\": 1, \"b\": {\"c\": 1,}}", List.of("a")));
+        assertThrows(JsonParseException.class, () -> parse("{\"a\": 1} x", List.of("a")));
+    }
+
+    private static String parse(final String json, final List<String> paths) throws Exception {
+        final JsonParser parser = new JsonParser(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8)), null);
+        final JsonNode node = paths == null ? parser.parse() : parser.parse(PathMatcher.compile(paths));
+        return node.toString();
+    }
+}
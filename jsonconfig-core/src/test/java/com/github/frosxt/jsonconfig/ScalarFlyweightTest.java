@@ -0,0 +1,96 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import com.github.frosxt.jsonconfig.runtime.convert.ValueConverter;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonStringTable;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared nodes of small numbers and interned string values.
+ */
+public class ScalarFlyweightTest {
+
+    private static JsonArray parse(final String json, final JsonParseOptions options) throws Exception {
+        return (JsonArray) new JsonParser(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8)), options).parse();
+    }
+
+    @Test
+    public void testSmallNumbersAreShared() throws Exception {
+        assertSame(JsonNumber.of(0), JsonNumber.of(0));
+        assertSame(JsonNumber.of(-128), JsonNumber.of(-128));
+        assertNotSame(JsonNumber.of(1024), JsonNumber.of(1024));
+        assertEquals(JsonNumber.of(1024), JsonNumber.of(1024));
+
+        final JsonArray exact = parse("[1, 1, -1, 5000, 1.0]", null);
+        assertSame(exact.get(0), exact.get(1));
+        assertInstanceOf(BigInteger.class, ((JsonNumber) exact.get(2)).getValue());
+        assertEquals(new BigInteger("5000"), ((JsonNumber) exact.get(3)).getValue());
+        assertFalse(((JsonNumber) exact.get(4)).isIntegral());
+
+        final JsonArray fast = parse("[7, 7]", new JsonParseOptions().numberMode(JsonOptions.NumberMode.LONG_OR_DOUBLE));
+        assertSame(fast.get(0), fast.get(1));
+        assertSame(JsonNumber.exact(7), ValueConverter.wrap(7));
+    }
+
+    @Test
+    public void testSetNumbersKeepTheirType() {
+        final JsonConfiguration config = new JsonConfigurationImpl();
+        config.set("small", 7);
+        config.set("port", 25565);
+        config.set("list", List.of(1, 70000L));
+
+        // Integers set by the caller read back as BigInteger, like exactly parsed ones
+        assertEquals(BigInteger.valueOf(7), config.get("small"));
+        assertEquals(BigInteger.valueOf(25565), config.get("port"));
+        assertEquals(List.of(BigInteger.ONE, BigInteger.valueOf(70000)), config.getList("list"));
+        assertEquals(25565, config.getInt("port"));
+    }
+
+    @Test
+    public void testStringInterning() throws Exception {
+        final String longValue = "x".repeat(JsonStringTable.MAX_LENGTH + 1);
+        final String json = "[\"NORMAL\", \"NORMAL\", \"" + longValue + "\", \"" + longValue + "\"]";
+
+        final JsonArray plain = parse(json, null);
+        assertNotSame(plain.get(0), plain.get(1));
+
+        final JsonStringTable table = new JsonStringTable();
+        final JsonParseOptions options = new JsonParseOptions().internStrings(true).stringTable(table);
+        final JsonArray interned = parse(json, options);
+        assertSame(interned.get(0), interned.get(1));
+        assertNotSame(interned.get(2), interned.get(3));
+        assertEquals(interned.get(2), interned.get(3));
+        assertSame(interned.get(0), parse(json, options).get(0));
+        assertEquals(1, table.size());
+
+        assertSame(ValueConverter.wrap("enabled"), ValueConverter.wrap("enabled"));
+    }
+
+    @Test
+    public void testFullTableStillReturnsNodes() {
+        final JsonStringTable table = new JsonStringTable(2);
+        final JsonString a = table.intern("a");
+        table.intern("b");
+        final JsonString c = table.intern("c");
+
+        assertSame(a, table.intern("a"));
+        assertEquals("c", c.getValue());
+        assertNotSame(c, table.intern("c"));
+        assertEquals(2, table.size());
+        assertThrows(IllegalArgumentException.class, () -> new JsonStringTable(-1));
+    }
+}
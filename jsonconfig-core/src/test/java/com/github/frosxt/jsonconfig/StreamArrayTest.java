@@ -0,0 +1,114 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streaming the elements of an array in a file.
+ */
+public class StreamArrayTest {
+
+    private static Path write(final String content) throws Exception {
+        final Path file = Files.createTempFile("stream", ".json");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    public void testElementsAreStreamedInOrder() throws Exception {
+        final StringBuilder builder = new StringBuilder("{\"meta\": {\"skip\": [1, {\"a\": \"b\"}]},\n \"bans\": [");
+        for (int i = 0; i < 10_000; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("{\"id\": ").append(i).append(", \"reason\": \"r").append(i).append("\"}");
+        }
+        builder.append("], \"after\": [true]}");
+
+        final Path file = write(builder.toString());
+        try {
+            try (Stream<JsonNode> bans = JsonConfigurations.streamArray(file, "bans")) {
+                final List<JsonNode> elements = bans.collect(Collectors.toList());
+                assertEquals(10_000, elements.size());
+                assertEquals("\"r9999\"", ((JsonObject) elements.get(9_999)).get("reason").toString());
+            }
+            assertEquals(List.of("true"), JsonConfigurations.streamArray(file, "after")
+                    .map(JsonNode::toString).collect(Collectors.toList()));
+            assertEquals(List.of("1", "{a=\"b\"}"), JsonConfigurations.streamArray(file, "meta.skip")
+                    .map(JsonNode::toString).collect(Collectors.toList()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testNestedAndIndexedPaths() throws Exception {
+        final Path file = write("{\"routes\": {\"v4\": [[\"a\"], [\"b\", \"c\"]], \"v6\": []}}");
+        try {
+            assertEquals(List.of("\"b\"", "\"c\""), JsonConfigurations.streamArray(file, "routes.v4[1]")
+                    .map(JsonNode::toString).collect(Collectors.toList()));
+            assertEquals(0, JsonConfigurations.streamArray(file, "routes.v6").count());
+            assertThrows(JsonConfigException.class, () -> JsonConfigurations.streamArray(file, "routes.v5"));
+            assertThrows(JsonConfigException.class, () -> JsonConfigurations.streamArray(file, "routes"));
+            assertThrows(JsonConfigException.class, () -> JsonConfigurations.streamArray(file, "routes.v4[2]"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testElementsAreParsedOnDemand() throws Exception {
+        final Path file = write("{\"list\": [1, 2, tru],\n \"x\": 1}");
+        try {
+            assertEquals(2, JsonConfigurations.streamArray(file, "list").limit(2).count());
+            final JsonParseException error = assertThrows(JsonParseException.class,
+                    () -> JsonConfigurations.streamArray(file, "list").count());
+            assertEquals(1, error.getLine());
+
+            Files.writeString(file, "{\"list\": [1, 2],\n \"x\": 1,}");
+            assertThrows(JsonParseException.class, () -> JsonConfigurations.streamArray(file, "list").count());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDuplicateKeys() throws Exception {
+        final String json = "{\"a\": {\"list\": [1, 2], \"x\": 1, \"list\": [3]}, \"b\": true}";
+        final Path file = write(json);
+        try {
+            final JsonParseException error = assertThrows(JsonParseException.class,
+                    () -> JsonConfigurations.streamArray(file, "a.list").count());
+            final JsonParseException loadError = assertThrows(JsonParseException.class,
+                    () -> JsonConfigurations.load(json.getBytes(StandardCharsets.UTF_8), null));
+            assertEquals(loadError.getMessage(), error.getMessage());
+
+            final JsonParseOptions firstWins = new JsonParseOptions()
+                    .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.FIRST_WINS);
+            assertEquals(2, JsonConfigurations.streamArray(file, "a.list", firstWins).count());
+
+            for (final JsonOptions.DuplicateKeyPolicy policy : List.of(JsonOptions.DuplicateKeyPolicy.LAST_WINS,
+                    JsonOptions.DuplicateKeyPolicy.COLLECT)) {
+                assertThrows(IllegalArgumentException.class, () -> JsonConfigurations.streamArray(file, "a.list",
+                        new JsonParseOptions().duplicateKeyPolicy(policy)));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.lex.AbstractJsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.JsonLexer;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.reader.lex.TokenType;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the run-based string and whitespace scanning of both lexers.
+ */
+public class StringScanningTest {
+    private static final String[] STRINGS = {"", "plain", "with space", "a\\\"b", "tab\\there", "\\u0041BC",
+            "café 日本 😀", "trailing\\\\", "x".repeat(20000) + "\\n" + "y".repeat(9000)};
+
+    @Test
+    public void testStringsMatchAcrossLexersAndBufferBoundaries() throws Exception {
+        for (final String string : STRINGS) {
+            final String json = "\"" + string + "\"";
+            final String expected = decode(new JsonLexer(new StringReader(json)));
+
+            assertEquals(expected, decode(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8))), string);
+            for (int chunk = 1; chunk <= 7; chunk++) {
+                assertEquals(expected, decode(new JsonLexer(new ChunkedReader(json, chunk))), string);
+            }
+        }
+        assertEquals("a\"b", decode(new Utf8JsonLexer("\"a\\\"b\"".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testKeysAreInterned() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final AbstractJsonLexer first = new Utf8JsonLexer("\"name\"".getBytes(StandardCharsets.UTF_8));
+        final AbstractJsonLexer second = new JsonLexer(new StringReader("\"name\""));
+        first.setSymbolTable(table);
+        second.setSymbolTable(table);
+
+        first.nextKey();
+        second.nextKey();
+        assertSame(first.getTokenValue(), second.getTokenValue());
+    }
+
+    @Test
+    public void testPositionsAfterRuns() throws Exception {
+        final String json = "{\"key\": \"value\",\n  \"other\": \"a\u0001\"}";
+        final JsonParseException reader = assertThrows(JsonParseException.class,
+                () -> skipAll(new JsonLexer(new ChunkedReader(json, 3))));
+        final JsonParseException bytes = assertThrows(JsonParseException.class,
+                () -> skipAll(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(2, reader.getLine());
+        assertEquals(14, reader.getColumn());
+        assertEquals(reader.getMessage(), bytes.getMessage());
+    }
+
+    @Test
+    public void testOnlyJsonWhitespaceIsSkipped() throws Exception {
+        assertEquals(TokenType.START_ARRAY, new JsonLexer(new StringReader(" \t\r\n[")).nextToken());
+        assertThrows(JsonParseException.class, () -> new JsonLexer(new StringReader("\f[")).nextToken());
+        assertThrows(JsonParseException.class, () -> new JsonLexer(new StringReader(" [")).nextToken());
+        assertThrows(JsonParseException.class,
+                () -> new Utf8JsonLexer("\u000b[".getBytes(StandardCharsets.UTF_8)).nextToken());
+    }
+
+    private static String decode(final AbstractJsonLexer lexer) throws Exception {
+        assertEquals(TokenType.STRING, lexer.nextToken());
+        assertEquals(TokenType.EOF, lexer.nextToken());
+        return lexer.getTokenValue();
+    }
+
+    private static void skipAll(final AbstractJsonLexer lexer) throws Exception {
+        while (lexer.nextToken() != TokenType.EOF) {
+            // Only the error matters
+        }
+    }
+
+    /**
+     * Reader handing out a few characters per call, so tokens straddle the
+     * lexer's buffer refills.
+     */
+    private static final class ChunkedReader extends Reader {
+        private final String text;
+        private final int chunk;
+        private int position;
+
+        private ChunkedReader(final String text, final int chunk) {
+            this.text = text;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            final int count = Math.min(Math.min(length, chunk), text.length() - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.tree.JsonNode;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonNumber;
+import com.github.frosxt.jsonconfig.tree.scalar.JsonString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for structural equality of containers and the invalidation of their
+ * cached hashes.
+ */
+public class StructuralEqualityTest {
+
+    private static JsonObject parse(final String json) throws Exception {
+        return (JsonObject) new JsonParser(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8)), null).parse();
+    }
+
+    @Test
+    public void testStructuralEquality() throws Exception {
+        final JsonObject a = parse("{\"name\": \"x\", \"list\": [1, 2.5, {\"deep\": true}], \"empty\": {}}");
+        final JsonObject b = parse("{\"empty\": {}, \"list\": [1, 2.5, {\"deep\": true}], \"name\": \"x\"}");
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, parse("{\"name\": \"x\", \"list\": [2.5, 1, {\"deep\": true}], \"empty\": {}}"));
+        assertNotEquals(a, parse("{\"name\": \"x\", \"list\": [1, 2.5, {\"deep\": true}]}"));
+        assertNotEquals(a.get("list"), a.get("empty"));
+
+        // Numbers compare by value across representations
+        final JsonArray numbers = new JsonArray();
+        numbers.add(JsonNumber.of(1));
+        numbers.add(new JsonNumber(2.5));
+        final JsonArray parsed = (JsonArray) a.get("list");
+        assertEquals(numbers.get(0), parsed.get(0));
+        assertEquals(numbers.get(1), parsed.get(1));
+
+        assertEquals(a, PersistentJsonObject.copyOf(b));
+        assertEquals(PersistentJsonObject.copyOf(b), a);
+        assertEquals(a.hashCode(), PersistentJsonObject.copyOf(b).hashCode());
+    }
+
+    @Test
+    public void testDeepChangesInvalidateCachedHashes() throws Exception {
+        final JsonObject a = parse("{\"server\": {\"ports\": [1, 2, {\"id\": 3}]}, \"name\": \"x\"}");
+        final JsonObject b = parse("{\"server\": {\"ports\": [1, 2, {\"id\": 3}]}, \"name\": \"x\"}");
+        assertEquals(a, b);
+        final int before = a.hashCode();
+
+        final JsonArray ports = (JsonArray) ((JsonObject) a.get("server")).get("ports");
+        ((JsonObject) ports.get(2)).add("id", JsonNumber.of(4));
+        assertNotEquals(before, a.hashCode());
+        assertNotEquals(a, b);
+
+        ((JsonObject) ports.get(2)).add("id", JsonNumber.of(3));
+        assertEquals(before, a.hashCode());
+        assertEquals(a, b);
+
+        final Iterator<JsonNode> elements = ports.iterator();
+        elements.next();
+        elements.remove();
+        assertNotEquals(a, b);
+        ((JsonArray) ((JsonObject) b.get("server")).get("ports")).set(0, JsonNumber.of(2));
+        ((JsonArray) ((JsonObject) b.get("server")).get("ports")).set(1, new JsonObject());
+        assertNotEquals(a, b);
+
+        for (final Map.Entry<String, JsonNode> member : a.entrySet()) {
+            if (member.getKey().equals("name")) {
+                member.setValue(new JsonString("y"));
+            }
+        }
+        assertEquals(new JsonString("y"), a.get("name"));
+        assertNotEquals(before, a.hashCode());
+    }
+
+    @Test
+    public void testChangesKeepUnrelatedCachedHashes() throws Exception {
+        final CountingNode leaf = new CountingNode();
+        final JsonObject a = parse("{\"kept\": {\"list\": []}, \"changed\": {\"x\": 1}}");
+        ((JsonArray) ((JsonObject) a.get("kept")).get("list")).add(leaf);
+        final JsonObject other = parse("{\"x\": 1}");
+        other.hashCode();
+        final int before = a.hashCode();
+        assertEquals(1, leaf.hashes);
+
+        // A change to another tree leaves the hash cached
+        other.add("x", JsonNumber.of(2));
+        assertEquals(before, a.hashCode());
+        assertEquals(1, leaf.hashes);
+
+        // A change beside the path to the leaf only rehashes the changed path
+        ((JsonObject) a.get("changed")).add("x", JsonNumber.of(2));
+        assertNotEquals(before, a.hashCode());
+        assertEquals(1, leaf.hashes);
+    }
+
+    @Test
+    public void testSharedContainersInvalidateEveryParent() throws Exception {
+        final JsonObject shared = parse("{\"v\": 1}");
+        final JsonArray first = new JsonArray();
+        first.add(shared);
+        final JsonObject second = new JsonObject();
+        second.add("s", shared);
+        second.add("t", shared);
+        second.remove("t");
+        final int firstBefore = first.hashCode();
+        final int secondBefore = second.hashCode();
+
+        shared.add("v", JsonNumber.of(2));
+        assertNotEquals(firstBefore, first.hashCode());
+        assertNotEquals(secondBefore, second.hashCode());
+        assertEquals(parse("{\"s\": {\"v\": 2}}"), second);
+    }
+
+    /**
+     * Leaf counting how often it is hashed.
+     */
+    private static final class CountingNode extends JsonNode {
+        private int hashes;
+
+        @Override
+        public int hashCode() {
+            hashes++;
+            return 7;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.IndexedJsonParser;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.index.StructuralIndex;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the structural index and the parser walking it.
+ */
+public class StructuralIndexTest {
+    private static final String JSON = "{\"name\": \"a\\\"b\", \"list\": [1, 2.5, true], \"empty\": {}, "
+            + "\"nested\": {\"x\": null, \"y\": \"[,]\"}}";
+
+    @Test
+    public void testIndexesStructuralCharacters() {
+        final ByteBuffer buffer = ByteBuffer.wrap("{\"a\" : [1, \"}\\\\\"], \"b\": {}}".getBytes(StandardCharsets.UTF_8));
+        final StructuralIndex index = StructuralIndex.build(buffer);
+
+        final StringBuilder characters = new StringBuilder();
+        for (int i = 0; i < index.count(); i++) {
+            characters.append((char) buffer.get(index.position(i)));
+        }
+        assertEquals("{\":[1,\"],\":{}}", characters.toString());
+        assertTrue(index.isBalanced());
+
+        assertEquals(index.count() - 1, index.end(0));
+        assertEquals(2, index.size(0));
+        assertEquals(2, index.size(3));
+        assertEquals(0, index.size(index.count() - 3));
+    }
+
+    @Test
+    public void testDetectsUnbalancedInput() {
+        assertFalse(StructuralIndex.build(ByteBuffer.wrap("{\"a\": [1}".getBytes(StandardCharsets.UTF_8))).isBalanced());
+        assertFalse(StructuralIndex.build(ByteBuffer.wrap("{\"a\": \"}".getBytes(StandardCharsets.UTF_8))).isBalanced());
+    }
+
+    @Test
+    public void testVectorAndScalarIndexesMatch() {
+        final Random random = new Random(3);
+        final String alphabet = "{}[]:,\"\\ a1\n";
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(300);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+            final StructuralIndex vector = StructuralIndex.build(buffer);
+            final StructuralIndex scalar = StructuralIndex.buildScalar(buffer);
+            assertEquals(scalar.count(), vector.count());
+            for (int j = 0; j < scalar.count(); j++) {
+                assertEquals(scalar.position(j), vector.position(j));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedParseMatchesScalarParse() throws Exception {
+        final byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        final String expected = new JsonParser(new Utf8JsonLexer(bytes), null).parse().toString();
+        assertEquals(expected, new IndexedJsonParser(ByteBuffer.wrap(bytes), null).parse().toString());
+        assertEquals(expected, new IndexedJsonParser(direct, null).parse().toString());
+
+        final JsonConfiguration config = JsonConfigurations.load(bytes, new JsonParseOptions().structuralIndex(true));
+        assertEquals("a\"b", config.getString("name"));
+        assertEquals("[,]", config.getString("nested.y"));
+        assertEquals(3, config.getList("list").size());
+    }
+
+    @Test
+    public void testErrorsMatchScalarParser() {
+        final String[] invalid = {"{\"a\": 1,}", "{\"a\" 1}", "{\"a\": 12x}", "{\"a\": [1 2]}", "{\"a\": tru}",
+                "{\"a\": 1} 2", "{\"a\": 1, \"a\": 2}", "{\"a\": [}", "{\"a\": \"\\q\"}"};
+
+        for (final String json : invalid) {
+            final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            final JsonParseException expected = assertThrows(JsonParseException.class,
+                    () -> new JsonParser(new Utf8JsonLexer(bytes), null).parse(), json);
+            final JsonParseException actual = assertThrows(JsonParseException.class,
+                    () -> new IndexedJsonParser(ByteBuffer.wrap(bytes), null).parse(), json);
+            assertEquals(expected.getMessage(), actual.getMessage(), json);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.JsonSection;
+import com.github.frosxt.jsonconfig.api.concurrent.ConcurrentJsonConfiguration;
+import com.github.frosxt.jsonconfig.api.merge.MergeStrategy;
+import com.github.frosxt.jsonconfig.reader.JsonParser;
+import com.github.frosxt.jsonconfig.reader.lex.Utf8JsonLexer;
+import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import com.github.frosxt.jsonconfig.runtime.copy.SubtreeDeduplicator;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import com.github.frosxt.jsonconfig.tree.container.PersistentJsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sharing identical subtrees and copy-on-write of shared subtrees.
+ */
+public class SubtreeDedupTest {
+    private static final String JSON = "{"
+            + "\"admin\": {\"perms\": {\"chat\": true, \"limits\": [1, 2]}, \"rank\": 1},"
+            + "\"mod\": {\"perms\": {\"chat\": true, \"limits\": [1, 2]}, \"rank\": 2},"
+            + "\"guest\": {\"perms\": {\"chat\": true, \"limits\": [1, 2]}, \"rank\": 3},"
+            + "\"groups\": [{\"perms\": {\"chat\": true, \"limits\": [1, 2]}, \"rank\": 1}, {\"solo\": [1, 2]}]"
+            + "}";
+
+    private static JsonObject parse(final String json) throws Exception {
+        return (JsonObject) new JsonParser(new Utf8JsonLexer(json.getBytes(StandardCharsets.UTF_8)), null).parse();
+    }
+
+    private static JsonConfiguration load() throws Exception {
+        return JsonConfigurationImpl.loadConfiguration(new StringReader(JSON),
+                new JsonParseOptions().deduplicate(true));
+    }
+
+    @Test
+    public void testSharesIdenticalSubtrees() throws Exception {
+        final JsonObject root = parse(JSON);
+        final JsonObject original = parse(JSON);
+
+        assertEquals(5, SubtreeDeduplicator.deduplicate(root));
+        assertEquals(original, root);
+
+        final JsonObject admin = (JsonObject) root.get("admin");
+        final JsonObject group = (JsonObject) ((JsonArray) root.get("groups")).get(0);
+        assertInstanceOf(PersistentJsonObject.class, admin);
+        assertSame(admin, group);
+        assertFalse(root.get("mod") instanceof PersistentJsonObject);
+        assertSame(admin.get("perms"), ((JsonObject) root.get("mod")).get("perms"));
+        assertSame(((JsonObject) admin.get("perms")).get("limits"), ((JsonObject) ((JsonArray) root.get("groups"))
+                .get(1)).get("solo"));
+
+        assertEquals(0, SubtreeDeduplicator.deduplicate(new JsonObject()));
+        assertThrows(IllegalArgumentException.class,
+                () -> SubtreeDeduplicator.deduplicate(PersistentJsonObject.empty()));
+    }
+
+    @Test
+    public void testSetCopiesOnWrite() throws Exception {
+        final JsonConfiguration config = load();
+        assertSame(config.getNode("admin.perms"), config.getNode("guest.perms"));
+
+        config.set("admin.perms.chat", false);
+        config.set("groups[0].perms.limits[1]", 5);
+        config.set("mod.perms.limits", null);
+
+        assertFalse(config.getBoolean("admin.perms.chat"));
+        assertTrue(config.getBoolean("guest.perms.chat"));
+        assertTrue(config.getBoolean("groups[0].perms.chat"));
+        assertEquals(List.of(1, 5), config.getIntegerList("groups[0].perms.limits"));
+        assertEquals(List.of(1, 2), config.getIntegerList("admin.perms.limits"));
+        assertFalse(config.contains("mod.perms.limits"));
+        assertEquals(List.of(1, 2), config.getIntegerList("guest.perms.limits"));
+        assertEquals(List.of(1, 2), config.getIntegerList("groups[1].solo"));
+    }
+
+    @Test
+    public void testRawSharedNodesAreImmutable() throws Exception {
+        final JsonConfiguration config = load();
+        final JsonObject perms = (JsonObject) config.getNode("guest.perms");
+        assertThrows(UnsupportedOperationException.class, () -> perms.add("z", null));
+
+        config.set("guest.perms.z", true);
+        assertTrue(config.getBoolean("guest.perms.z"));
+        assertFalse(config.contains("admin.perms.z"));
+        assertFalse(perms.has("z"));
+    }
+
+    @Test
+    public void testSectionsCopyOnWrite() throws Exception {
+        final JsonConfiguration config = load();
+        final JsonSection perms = config.getConfigurationSection("guest.perms");
+        final JsonSection stale = config.getConfigurationSection("admin.perms");
+
+        perms.set("chat", false);
+        perms.createSection("extra").set("name", "x");
+        assertFalse(perms.getBoolean("chat"));
+        assertFalse(config.getBoolean("guest.perms.chat"));
+        assertEquals("x", config.getString("guest.perms.extra.name"));
+        assertTrue(config.getBoolean("admin.perms.chat"));
+        assertTrue(config.getBoolean("groups[0].perms.chat"));
+
+        // A section taken before its subtree was replaced writes to a copy of its own
+        config.set("admin.perms", "replaced");
+        stale.set("chat", false);
+        assertFalse(stale.getBoolean("chat"));
+        assertEquals("replaced", config.getString("admin.perms"));
+        assertTrue(config.getBoolean("mod.perms.chat"));
+    }
+
+    @Test
+    public void testSectionReadsDoNotUnshare() throws Exception {
+        final JsonConfiguration config = new ConcurrentJsonConfiguration(load());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<JsonSection>> sections = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final String path = i % 2 == 0 ? "admin.perms" : "groups[0].perms";
+                sections.add(executor.submit(() -> {
+                    final JsonSection section = config.getConfigurationSection(path);
+                    assertTrue(section.getBoolean("chat"));
+                    return section;
+                }));
+            }
+
+            // Reading sections leaves the subtrees shared
+            for (final Future<JsonSection> section : sections) {
+                section.get();
+            }
+            assertSame(config.getNode("admin.perms"), config.getNode("guest.perms"));
+
+            // Sections taken by different readers all write to the same tree
+            final List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < sections.size(); i++) {
+                final JsonSection section = sections.get(i).get();
+                final String key = "flag" + i;
+                writes.add(executor.submit(() -> section.set(key, true)));
+            }
+            for (final Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < 64; i++) {
+            final String path = (i % 2 == 0 ? "admin.perms." : "groups[0].perms.") + "flag" + i;
+            assertTrue(config.getBoolean(path), path);
+        }
+        assertFalse(config.contains("guest.perms.flag0"));
+        assertTrue(config.getBoolean("guest.perms.chat"));
+    }
+
+    @Test
+    public void testMergeCopiesOnWrite() throws Exception {
+        final JsonConfiguration config = load();
+        final JsonConfiguration other = new JsonConfigurationImpl();
+        other.set("admin.perms.fly", true);
+        other.set("mod.perms.limits", List.of(3));
+
+        config.merge(other, MergeStrategy.CONCAT_ARRAYS);
+        assertTrue(config.getBoolean("admin.perms.fly"));
+        assertEquals(List.of(1, 2, 3), config.getIntegerList("mod.perms.limits"));
+        assertFalse(config.contains("guest.perms.fly"));
+        assertEquals(List.of(1, 2), config.getIntegerList("guest.perms.limits"));
+        assertEquals(List.of(1, 2), config.getIntegerList("groups[1].solo"));
+    }
+}
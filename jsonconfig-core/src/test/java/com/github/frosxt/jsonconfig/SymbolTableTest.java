@@ -0,0 +1,106 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.stream.JsonStreamReader;
+import com.github.frosxt.jsonconfig.reader.lex.SymbolTable;
+import com.github.frosxt.jsonconfig.tree.container.JsonArray;
+import com.github.frosxt.jsonconfig.tree.container.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for key interning during parsing.
+ */
+public class SymbolTableTest {
+    private static final String JSON = "{\"items\": [{\"id\": 1, \"name\": \"a\"}, {\"id\": 2, \"name\": \"b\"}]}";
+
+    @Test
+    public void testRepeatedKeysShareInstance() throws Exception {
+        final JsonConfiguration config = JsonConfigurations.load(new StringReader(JSON));
+        final JsonArray items = (JsonArray) config.getNode("items");
+
+        assertSame(firstKey((JsonObject) items.get(0)), firstKey((JsonObject) items.get(1)));
+    }
+
+    @Test
+    public void testSharedTableAcrossLoads() throws Exception {
+        final SymbolTable table = new SymbolTable();
+        final JsonParseOptions options = new JsonParseOptions().symbolTable(table);
+
+        final JsonConfiguration first = JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8), options);
+        final JsonConfiguration second = JsonConfigurations.load(new StringReader(JSON), options);
+
+        final JsonArray firstItems = (JsonArray) first.getNode("items");
+        final JsonArray secondItems = (JsonArray) second.getNode("items");
+        assertSame(firstKey((JsonObject) firstItems.get(0)), firstKey((JsonObject) secondItems.get(0)));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void testInterningCanBeDisabled() throws Exception {
+        final JsonConfiguration config = JsonConfigurations.load(new StringReader(JSON),
+                new JsonParseOptions().internKeys(false));
+        final JsonArray items = (JsonArray) config.getNode("items");
+
+        final String first = firstKey((JsonObject) items.get(0));
+        final String second = firstKey((JsonObject) items.get(1));
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testTableStopsGrowingAtMaxSize() {
+        final SymbolTable table = new SymbolTable(2);
+        final char[] chars = "abc".toCharArray();
+
+        final String a = table.intern(chars, 0, 1);
+        assertSame(a, table.intern(chars, 0, 1));
+        table.intern(chars, 1, 1);
+        final String c = table.intern(chars, 2, 1);
+
+        assertEquals("c", c);
+        assertNotSame(c, table.intern(chars, 2, 1));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testTableGrowsPastInitialCapacity() {
+        final SymbolTable table = new SymbolTable();
+        for (int i = 0; i < 1000; i++) {
+            final char[] key = ("key" + i).toCharArray();
+            assertEquals("key" + i, table.intern(key, 0, key.length));
+        }
+
+        final char[] key = "key500".toCharArray();
+        assertSame(table.intern(key, 0, key.length), table.intern(key, 0, key.length));
+        assertEquals(1000, table.size());
+    }
+
+    @Test
+    public void testStreamReaderInternsNames() throws Exception {
+        try (JsonStreamReader reader = new JsonStreamReader(JSON.getBytes(StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            reader.nextName();
+            reader.beginArray();
+
+            reader.beginObject();
+            final String first = reader.nextName();
+            reader.skipValue();
+            reader.skipValue();
+            reader.endObject();
+
+            reader.beginObject();
+            assertSame(first, reader.nextName());
+        }
+    }
+
+    private static String firstKey(final JsonObject object) {
+        return object.keySet().iterator().next();
+    }
+}
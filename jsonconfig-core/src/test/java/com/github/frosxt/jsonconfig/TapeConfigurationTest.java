@@ -0,0 +1,182 @@
+package com.github.frosxt.jsonconfig;
+
+import com.github.frosxt.jsonconfig.api.JsonConfiguration;
+import com.github.frosxt.jsonconfig.api.JsonConfigurations;
+import com.github.frosxt.jsonconfig.api.JsonOptions;
+import com.github.frosxt.jsonconfig.api.JsonParseOptions;
+import com.github.frosxt.jsonconfig.api.JsonSection;
+import com.github.frosxt.jsonconfig.api.exception.JsonConfigException;
+import com.github.frosxt.jsonconfig.api.exception.JsonParseException;
+import com.github.frosxt.jsonconfig.reader.JsonTape;
+import com.github.frosxt.jsonconfig.runtime.config.JsonConfigurationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for read-only configurations stored on a tape.
+ */
+public class TapeConfigurationTest {
+    private static final String JSON = "{"
+            + "\"server\": {\"name\": \"lobby\", \"port\": 25565, \"ratio\": 0.75, \"enabled\": true},"
+            + "\"worlds\": [\"world\", \"nether\"],"
+            + "\"big\": 123456789012345678901234,"
+            + "\"nested\": {\"a\": {\"b\": {\"c\": \"deep\"}}, \"empty\": {}, \"nothing\": null},"
+            + "\"dotted.key\": 1"
+            + "}";
+
+    private static JsonConfiguration readOnly(final String json, final JsonParseOptions options) throws IOException {
+        return JsonConfigurations.loadReadOnly(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), options);
+    }
+
+    @Test
+    public void testReadsLikeLoadedConfiguration() throws Exception {
+        final JsonConfiguration tape = readOnly(JSON, null);
+        final JsonConfiguration loaded = JsonConfigurations.load(JSON.getBytes(StandardCharsets.UTF_8), null);
+
+        assertEquals("lobby", tape.getString("server.name"));
+        assertEquals(25565, tape.getInt("server.port"));
+        assertEquals(0.75, tape.getDouble("server.ratio"));
+        assertTrue(tape.getBoolean("server.enabled"));
+        assertEquals(List.of("world", "nether"), tape.getStringList("worlds"));
+        assertEquals(new BigInteger("123456789012345678901234"), tape.getBigInteger("big"));
+        assertEquals("deep", tape.getString("nested.a.b.c"));
+        assertEquals(1, tape.getInt("dotted\\.key"));
+        assertEquals("fallback", tape.getString("server.missing", "fallback"));
+        assertTrue(tape.contains("nested.nothing"));
+        assertFalse(tape.isSet("nested.nothing"));
+
+        assertEquals(loaded.getKeys(true), tape.getKeys(true));
+        assertEquals(loaded.getNode("nested"), tape.getNode("nested"));
+        assertEquals(loaded.saveToString(), tape.saveToString());
+    }
+
+    @Test
+    public void testSections() throws Exception {
+        final JsonConfiguration config = readOnly(JSON, null);
+        final JsonSection server = config.getConfigurationSection("server");
+        assertEquals("server", server.getCurrentPath());
+        assertEquals(Set.of("name", "port", "ratio", "enabled"), server.getKeys(false));
+        assertEquals(25565, server.getInt("port"));
+
+        final JsonSection b = config.getConfigurationSection("nested.a").getConfigurationSection("b");
+        assertEquals("nested.a.b", b.getCurrentPath());
+        assertEquals("deep", b.getString("c"));
+        assertSame(config, b.getRoot());
+        assertNull(config.getConfigurationSection("worlds"));
+    }
+
+    @Test
+    public void testReadOnly() throws Exception {
+        final JsonConfiguration config = readOnly(JSON, null);
+        assertThrows(UnsupportedOperationException.class, () -> config.set("server.name", "hub"));
+        assertThrows(UnsupportedOperationException.class, () -> config.createSection("extra"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> config.getConfigurationSection("server").set("port", 1));
+        assertThrows(UnsupportedOperationException.class, () -> config.merge(new JsonConfigurationImpl(), null));
+
+        // Defaults live outside the tape
+        config.addDefault("server.motd", "welcome");
+        assertEquals("welcome", config.getString("server.motd"));
+        assertEquals("lobby", config.getString("server.name"));
+    }
+
+    @Test
+    public void testDuplicateKeys() throws Exception {
+        final String json = "{\"a\": 1, \"b\": {\"x\": 1}, \"a\": 2, \"b\": {\"y\": 2}}";
+        final JsonConfiguration lastWins = readOnly(json,
+                new JsonParseOptions().duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.LAST_WINS));
+        assertEquals(List.of("a", "b"), List.copyOf(lastWins.getKeys(false)));
+        assertEquals(2, lastWins.getInt("a"));
+        assertFalse(lastWins.contains("b.x"));
+        assertEquals(2, lastWins.getInt("b.y"));
+
+        final JsonConfiguration firstWins = readOnly(json,
+                new JsonParseOptions().duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.FIRST_WINS));
+        assertEquals(1, firstWins.getInt("a"));
+        assertEquals(1, firstWins.getInt("b.x"));
+
+        assertThrows(JsonParseException.class, () -> readOnly(json, null));
+        assertThrows(IllegalArgumentException.class, () -> readOnly(json,
+                new JsonParseOptions().duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.COLLECT)));
+    }
+
+    @Test
+    public void testInvalidNumbersFailTheLoad() throws Exception {
+        final String json = "{\"a\": [1, 1234567e9012345678901234]}";
+        for (final JsonOptions.NumberMode mode : List.of(JsonOptions.NumberMode.EXACT,
+                JsonOptions.NumberMode.FAST_DOUBLE)) {
+            final JsonParseOptions options = new JsonParseOptions().numberMode(mode);
+            final JsonConfigException error = assertThrows(JsonConfigException.class, () -> readOnly(json, options));
+            final JsonConfigException loadError = assertThrows(JsonConfigException.class,
+                    () -> JsonConfigurations.load(json.getBytes(StandardCharsets.UTF_8), options));
+            assertEquals(loadError.getClass(), error.getClass());
+            assertEquals(loadError.getMessage(), error.getMessage());
+        }
+
+        // A dropped duplicate is still read
+        final JsonParseOptions firstWins = new JsonParseOptions()
+                .duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.FIRST_WINS);
+        assertThrows(JsonConfigException.class, () -> readOnly("{\"a\": 1, \"a\": -92e3372036854775808}", firstWins));
+        assertEquals(1, readOnly("{\"a\": 1, \"a\": {\"b\": 2}, \"c\": 3}", firstWins).getInt("a"));
+    }
+
+    @Test
+    public void testTape() throws Exception {
+        final JsonTape tape = JsonTape.parse(ByteBuffer.wrap(JSON.getBytes(StandardCharsets.UTF_8)), null);
+        final int server = tape.find(tape.root(), "server");
+        assertTrue(tape.isObject(server));
+        assertEquals(4, tape.size(server));
+        assertEquals("lobby", tape.stringValue(tape.find(server, "name")));
+
+        final int worlds = tape.find(tape.root(), "worlds");
+        assertTrue(tape.isArray(worlds));
+        assertEquals("nether", tape.stringValue(tape.find(worlds, "1")));
+        assertEquals(-1, tape.find(worlds, "2"));
+        assertEquals(-1, tape.find(server, "missing"));
+    }
+
+    @Test
+    public void testLargeObjects() throws Exception {
+        final StringBuilder json = new StringBuilder("{\"users\": {");
+        for (int i = 0; i < 100; i++) {
+            json.append("\"user-").append(i).append("\": {\"id\": ").append(i).append(", \"role\": \"member\"}, ");
+        }
+        json.append("\"user-7\": {\"id\": 700}}}");
+
+        final JsonConfiguration config = readOnly(json.toString(),
+                new JsonParseOptions().duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.LAST_WINS));
+        final JsonConfiguration loaded = JsonConfigurations.load(json.toString().getBytes(StandardCharsets.UTF_8),
+                new JsonParseOptions().duplicateKeyPolicy(JsonOptions.DuplicateKeyPolicy.LAST_WINS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(loaded.getInt("users.user-" + i + ".id"), config.getInt("users.user-" + i + ".id"));
+        }
+        assertEquals(700, config.getInt("users.user-7.id"));
+        assertFalse(config.contains("users.user-7.role"));
+        assertFalse(config.contains("users.user-100"));
+        assertEquals(loaded.getKeys(true), config.getKeys(true));
+    }
+
+    @Test
+    public void testLoadFromFile() throws Exception {
+        final Path file = Files.createTempFile("jsonconfig", ".json");
+        try {
+            Files.writeString(file, JSON, StandardCharsets.UTF_8);
+            assertEquals("lobby", JsonConfigurations.loadReadOnly(file).getString("server.name"));
+
+            Files.writeString(file, "[1, 2]", StandardCharsets.UTF_8);
+            assertThrows(IOException.class, () -> JsonConfigurations.loadReadOnly(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}